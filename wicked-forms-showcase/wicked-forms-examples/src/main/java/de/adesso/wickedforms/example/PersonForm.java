@@ -6,7 +6,10 @@ import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
 import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
 import de.adesso.wickedforms.model.elements.fields.Checkbox;
 import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSource;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSources;
 import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.EnumChoiceSource;
 import de.adesso.wickedforms.model.elements.fields.RadioGroup;
 import de.adesso.wickedforms.model.elements.fields.TextArea;
 import de.adesso.wickedforms.model.elements.fields.TextField;
@@ -17,11 +20,20 @@ import de.adesso.wickedforms.model.elements.Text;
 import de.adesso.wickedforms.model.validation.ValidationFeedback;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public class PersonForm extends Form {
 
+	/**
+	 * The choices are shared by all instances of this form, so that only the
+	 * keys of the sources are serialized with each form.
+	 */
+	private static final ChoiceSource<Gender> GENDERS = ChoiceSources.register(new EnumChoiceSource<Gender>(
+			"person.gender", Gender.class, Gender.choiceLabeller()));
+
+	private static final ChoiceSource<Age> AGES = ChoiceSources.register(new EnumChoiceSource<Age>("person.age",
+			Age.class, Age.choiceLabeller()));
+
 	public PersonForm(final Person person) {
 		super("Test Form");
 
@@ -46,28 +58,25 @@ public class PersonForm extends Form {
 		Section personalSection = new Section("Personal data");
 		this.add(personalSection);
 
-		AbstractSingleChoice<Gender> genderField = new DropDown<Gender>("Gender", Arrays.asList(Gender
-				.values()), Gender.choiceLabeller(), new PropertyBinding<Gender>(person, "gender"), Gender.class);
+		AbstractSingleChoice<Gender> genderField = new DropDown<Gender>("Gender", GENDERS,
+				new PropertyBinding<Gender>(person, "gender"), Gender.class);
 		person.setGender(null);
 		genderField.setRequired(true);
 		genderField.setHint("Bla Blub");
 		personalSection.add(genderField);
 
-		AbstractSingleChoice<Age> ageField = new DropDown<Age>("Age", Arrays.asList(Age.values()),
-				Age.choiceLabeller(),
+		AbstractSingleChoice<Age> ageField = new DropDown<Age>("Age", AGES,
 				new PropertyBinding<Age>(person, "age"), Age.class);
 		ageField.setHint("Man or woman?");
 		personalSection.add(ageField);
 
-		AbstractSingleChoice<Age> ageField2 = new RadioGroup<Age>("Age", Arrays.asList(Age.values()),
-				Age.choiceLabeller(),
+		AbstractSingleChoice<Age> ageField2 = new RadioGroup<Age>("Age", AGES,
 				new PropertyBinding<Age>(person, "age"), Age.class);
 		ageField2.setRequired(true);
 		ageField2.setHint("Bla blub");
 		personalSection.add(ageField2);
 
-		AbstractMultiChoice<Age> ageField3 = new CheckboxGroup<Age>("Age", Arrays.asList(Age.values()),
-				Age.choiceLabeller());
+		AbstractMultiChoice<Age> ageField3 = new CheckboxGroup<Age>("Age", AGES);
 		personalSection.add(ageField3);
 
 		AbstractInputField<Boolean> newsletter = new Checkbox("Subscribe Newsletter?");
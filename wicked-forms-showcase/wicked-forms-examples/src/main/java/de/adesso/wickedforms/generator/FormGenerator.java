@@ -0,0 +1,430 @@
+package de.adesso.wickedforms.generator;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.actions.ToggleEnabledAction;
+import de.adesso.wickedforms.model.actions.ToggleVisibilityAction;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.FormElementType;
+import de.adesso.wickedforms.model.elements.Text;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.RadioGroup;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import de.adesso.wickedforms.model.elements.fields.TextArea;
+import de.adesso.wickedforms.model.validation.NumberRangeValidator;
+import de.adesso.wickedforms.model.validation.UrlValidator;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates large forms for load tests, benchmarks and profiling. The forms
+ * are random, but the same settings and the same seed always generate the
+ * same form, so that measurements can be repeated.
+ * <p/>
+ * A generated form consists of nested sections. Each section contains
+ * {@link #setElementsPerSection(int)} elements and, up to
+ * {@link #setDepth(int)} levels, {@link #setFanOut(int)} subsections. The
+ * element types are chosen according to their weights, see
+ * {@link #setWeight(FormElementType, int)}. Some fields are required or have
+ * validators, some sections have a checkbox with an action and some sections
+ * can be repeated by the user with an {@link AddSectionButton}.
+ * <p/>
+ * Use {@link SubmissionGenerator} to generate matching submission data.
+ */
+public class FormGenerator implements Serializable {
+
+	/**
+	 * The range of integer fields with a validator.
+	 */
+	public static final int MIN = 0;
+
+	public static final int MAX = 100;
+
+	private static final String[] WORDS = { "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+			"elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna" };
+
+	private long seed = 1;
+
+	private int depth = 2;
+
+	private int fanOut = 3;
+
+	private int elementsPerSection = 10;
+
+	private int choices = 5;
+
+	private double requiredRate = 0.3;
+
+	private double validatorRate = 0.2;
+
+	private double actionRate = 0.2;
+
+	private double repeaterRate = 0.1;
+
+	private final Map<FormElementType, Integer> weights = new EnumMap<FormElementType, Integer>(
+			FormElementType.class);
+
+	public FormGenerator() {
+		this.weights.put(FormElementType.TEXT, 1);
+		this.weights.put(FormElementType.TEXTFIELD_STRING, 4);
+		this.weights.put(FormElementType.TEXTFIELD_INTEGER, 2);
+		this.weights.put(FormElementType.TEXTAREA, 1);
+		this.weights.put(FormElementType.CHECKBOX, 1);
+		this.weights.put(FormElementType.DROPDOWN, 2);
+		this.weights.put(FormElementType.RADIO, 1);
+		this.weights.put(FormElementType.CHECKBOXGROUP, 1);
+	}
+
+	/**
+	 * Sets the seed of the random generator. The same seed generates the same
+	 * form.
+	 * 
+	 * @return this object for chaining
+	 */
+	public FormGenerator setSeed(final long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Sets the number of levels of subsections below the main section.
+	 * 
+	 * @return this object for chaining
+	 */
+	public FormGenerator setDepth(final int depth) {
+		this.depth = checkNotNegative("depth", depth);
+		return this;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Sets the number of subsections of each section above the lowest level.
+	 * 
+	 * @return this object for chaining
+	 */
+	public FormGenerator setFanOut(final int fanOut) {
+		this.fanOut = checkNotNegative("fanOut", fanOut);
+		return this;
+	}
+
+	public int getFanOut() {
+		return fanOut;
+	}
+
+	/**
+	 * Sets the number of elements of each section, not counting its
+	 * subsections, actions and buttons.
+	 * 
+	 * @return this object for chaining
+	 */
+	public FormGenerator setElementsPerSection(final int elementsPerSection) {
+		this.elementsPerSection = checkNotNegative("elementsPerSection", elementsPerSection);
+		return this;
+	}
+
+	public int getElementsPerSection() {
+		return elementsPerSection;
+	}
+
+	/**
+	 * Sets the number of choices of drop downs, radio groups and checkbox
+	 * groups.
+	 * 
+	 * @return this object for chaining
+	 */
+	public FormGenerator setChoices(final int choices) {
+		if (choices < 1) {
+			throw new IllegalArgumentException(String.format("choices must be at least 1, but is %d!", choices));
+		}
+		this.choices = choices;
+		return this;
+	}
+
+	public int getChoices() {
+		return choices;
+	}
+
+	/**
+	 * Sets the share of input fields that are required.
+	 * 
+	 * @return this object for chaining
+	 */
+	public FormGenerator setRequiredRate(final double requiredRate) {
+		this.requiredRate = checkRate("requiredRate", requiredRate);
+		return this;
+	}
+
+	/**
+	 * Sets the share of text fields that have a validator. String fields get
+	 * a {@link UrlValidator}, integer fields a {@link NumberRangeValidator}
+	 * from {@link #MIN} to {@link #MAX}.
+	 * 
+	 * @return this object for chaining
+	 */
+	public FormGenerator setValidatorRate(final double validatorRate) {
+		this.validatorRate = checkRate("validatorRate", validatorRate);
+		return this;
+	}
+
+	/**
+	 * Sets the share of sections that have a checkbox that shows and hides or
+	 * enables and disables the other fields of the section.
+	 * 
+	 * @return this object for chaining
+	 */
+	public FormGenerator setActionRate(final double actionRate) {
+		this.actionRate = checkRate("actionRate", actionRate);
+		return this;
+	}
+
+	/**
+	 * Sets the share of sections that have an {@link AddSectionButton} to add
+	 * another section of the same structure.
+	 * 
+	 * @return this object for chaining
+	 */
+	public FormGenerator setRepeaterRate(final double repeaterRate) {
+		this.repeaterRate = checkRate("repeaterRate", repeaterRate);
+		return this;
+	}
+
+	/**
+	 * Sets the weight of an element type. The probability of each element to
+	 * be of this type is its weight divided by the sum of all weights.
+	 * 
+	 * @param type
+	 *            one of TEXT, TEXTFIELD_STRING, TEXTFIELD_INTEGER, TEXTAREA,
+	 *            CHECKBOX, DROPDOWN, RADIO and CHECKBOXGROUP.
+	 * @param weight
+	 *            the weight, 0 to generate no elements of this type.
+	 * @return this object for chaining
+	 */
+	public FormGenerator setWeight(final FormElementType type, final int weight) {
+		if (!this.weights.containsKey(type)) {
+			throw new IllegalArgumentException(String.format("Elements of type %s cannot be generated!", type));
+		}
+		this.weights.put(type, checkNotNegative("weight", weight));
+		return this;
+	}
+
+	public int getWeight(final FormElementType type) {
+		Integer weight = weights.get(type);
+		return weight == null ? 0 : weight;
+	}
+
+	/**
+	 * Generates the form.
+	 * 
+	 * @return a new form. Its ids have not been assigned yet.
+	 */
+	public Form generate() {
+		Random random = new Random(this.seed);
+		Form form = new Form(String.format("Generated form (seed %d)", this.seed));
+		form.setTemplateId("generated-" + this.seed);
+		fillSection(form.getMainSection(), "1", 0, random);
+		return form;
+	}
+
+	/**
+	 * Returns the number of sections of a generated form, including the main
+	 * section, before the user adds sections.
+	 */
+	public int countSections() {
+		int sections = 1;
+		int level = 1;
+		for (int i = 0; i < this.depth; i++) {
+			level *= this.fanOut;
+			sections += level;
+		}
+		return sections;
+	}
+
+	/**
+	 * Creates a section of the given level with all of its subsections.
+	 */
+	Section createSection(final String path, final int level, final Random random) {
+		Section section = new Section("Section " + path);
+		fillSection(section, path, level, random);
+		return section;
+	}
+
+	private void fillSection(final Section section, final String path, final int level, final Random random) {
+		List<AbstractInputField<?>> fields = new ArrayList<AbstractInputField<?>>();
+		for (int i = 1; i <= this.elementsPerSection; i++) {
+			AbstractFormElement element = createElement(path + "." + i, random);
+			section.add(element);
+			if (element instanceof AbstractInputField) {
+				fields.add((AbstractInputField<?>) element);
+			}
+		}
+		if (!fields.isEmpty() && random.nextDouble() < this.actionRate) {
+			section.add(createTrigger(fields, random));
+		}
+		if (level < this.depth) {
+			for (int i = 1; i <= this.fanOut; i++) {
+				String subPath = path + "." + (this.elementsPerSection + i);
+				Section subsection = createSection(subPath, level + 1, random);
+				section.add(subsection);
+				if (random.nextDouble() < this.repeaterRate) {
+					section.add(new RepeaterButton(this, subPath, level + 1, random.nextLong()));
+				}
+			}
+		}
+	}
+
+	private AbstractFormElement createElement(final String path, final Random random) {
+		String label = "Question " + path;
+		switch (chooseType(random)) {
+		case TEXT:
+			return new Text(sentence(random, 5 + random.nextInt(20)));
+		case TEXTFIELD_INTEGER:
+			IntegerTextField integerField = new IntegerTextField(label);
+			if (random.nextDouble() < this.validatorRate) {
+				integerField.add(new NumberRangeValidator<Integer>(MIN, MAX));
+				integerField.setHint(String.format("Between %d and %d", MIN, MAX));
+			}
+			return required(integerField, random);
+		case TEXTAREA:
+			return required(new TextArea(label), random);
+		case CHECKBOX:
+			return new Checkbox(label);
+		case DROPDOWN:
+			return required(new DropDown<String>(label, choices(path), String.class), random);
+		case RADIO:
+			return required(new RadioGroup<String>(label, choices(path), String.class), random);
+		case CHECKBOXGROUP:
+			return required(new CheckboxGroup<String>(label, choices(path)), random);
+		default:
+			StringTextField stringField = new StringTextField(label);
+			if (random.nextDouble() < this.validatorRate) {
+				stringField.add(new UrlValidator());
+				stringField.setHint("A URL like http://www.example.org");
+			}
+			return required(stringField, random);
+		}
+	}
+
+	private AbstractFormElement createTrigger(final List<AbstractInputField<?>> fields, final Random random) {
+		Checkbox trigger = new Checkbox("Answer the questions above", Boolean.TRUE);
+		AbstractInputField<?>[] targets = fields.toArray(new AbstractInputField<?>[fields.size()]);
+		if (random.nextBoolean()) {
+			trigger.add(new ToggleVisibilityAction<Boolean>(trigger, Boolean.TRUE, targets));
+		} else {
+			trigger.add(new ToggleEnabledAction<Boolean>(trigger, Boolean.TRUE, targets));
+		}
+		return trigger;
+	}
+
+	private FormElementType chooseType(final Random random) {
+		int total = 0;
+		for (int weight : this.weights.values()) {
+			total += weight;
+		}
+		if (total == 0) {
+			return FormElementType.TEXTFIELD_STRING;
+		}
+		int value = random.nextInt(total);
+		for (Map.Entry<FormElementType, Integer> weight : this.weights.entrySet()) {
+			value -= weight.getValue();
+			if (value < 0) {
+				return weight.getKey();
+			}
+		}
+		throw new IllegalStateException("Unreachable!");
+	}
+
+	private AbstractInputField<?> required(final AbstractInputField<?> field, final Random random) {
+		if (random.nextDouble() < this.requiredRate) {
+			field.setRequired(true);
+		}
+		return field;
+	}
+
+	private List<String> choices(final String path) {
+		List<String> list = new ArrayList<String>(this.choices);
+		for (int i = 1; i <= this.choices; i++) {
+			list.add(String.format("Answer %s.%d", path, i));
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	static String sentence(final Random random, final int words) {
+		StringBuilder sentence = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			if (i > 0) {
+				sentence.append(' ');
+			}
+			sentence.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return sentence.toString();
+	}
+
+	private static int checkNotNegative(final String name, final int value) {
+		if (value < 0) {
+			throw new IllegalArgumentException(String.format("%s must not be negative, but is %d!", name, value));
+		}
+		return value;
+	}
+
+	private static double checkRate(final String name, final double rate) {
+		if (rate < 0 || rate > 1) {
+			throw new IllegalArgumentException(String.format("%s must be between 0 and 1, but is %s!", name, rate));
+		}
+		return rate;
+	}
+
+	/**
+	 * Adds another section with the structure of a generated section. The
+	 * added sections are generated from a seed of their own, so that the same
+	 * clicks add the same sections.
+	 */
+	private static class RepeaterButton extends AddSectionButton {
+
+		private final FormGenerator generator;
+
+		private final String path;
+
+		private final int level;
+
+		private final long seed;
+
+		private int added;
+
+		RepeaterButton(final FormGenerator generator, final String path, final int level, final long seed) {
+			super("Add another section " + path);
+			this.generator = generator;
+			this.path = path;
+			this.level = level;
+			this.seed = seed;
+		}
+
+		@Override
+		public Section createSection() {
+			this.added++;
+			Section section = this.generator.createSection(this.path + "+" + this.added, this.level, new Random(
+					this.seed + this.added));
+			section.setShowRemoveButton(true);
+			return section;
+		}
+
+	}
+
+}
@@ -0,0 +1,179 @@
+package de.adesso.wickedforms.generator;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import de.adesso.wickedforms.model.elements.fields.TextArea;
+import de.adesso.wickedforms.model.validation.FieldValidator;
+import de.adesso.wickedforms.model.validation.NumberRangeValidator;
+import de.adesso.wickedforms.model.validation.UrlValidator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates the values a user might submit for a form generated by
+ * {@link FormGenerator}. The values are keyed by the ids of the input fields
+ * and can be set to the form with
+ * {@link de.adesso.wickedforms.model.draft.Draft#applyTo(Form)}.
+ * <p/>
+ * Valid submissions satisfy the constraints of all fields: required fields
+ * have a value, text fields with a {@link UrlValidator} contain a URL, integer
+ * fields with a {@link NumberRangeValidator} are within {@link FormGenerator#MIN}
+ * and {@link FormGenerator#MAX}, and choice fields contain only their choices.
+ * Invalid submissions violate the constraint of at least one field, if the
+ * form has any constraints. The values are of the type of their fields, so
+ * that invalid submissions are rejected by validation and not by conversion.
+ * Choice fields are only invalid if they are required and have no value,
+ * since they do not accept values that are not one of their choices.
+ */
+public class SubmissionGenerator {
+
+	private final Random random;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param seed
+	 *            the seed of the random generator. The same seed generates the
+	 *            same submissions for the same form.
+	 */
+	public SubmissionGenerator(final long seed) {
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Generates a valid submission.
+	 * 
+	 * @param form
+	 *            the form. Its ids are assigned if this has not been done yet.
+	 * @return the values keyed by the ids of the input fields.
+	 */
+	public Map<String, Object> createValid(final Form form) {
+		Map<String, Object> values = new LinkedHashMap<String, Object>();
+		for (AbstractInputField<?> field : getInputFields(form)) {
+			values.put(field.getId(), createValidValue(field));
+		}
+		return values;
+	}
+
+	/**
+	 * Generates an invalid submission. Each field with a constraint is
+	 * invalid with the given probability, and at least one field is invalid.
+	 * 
+	 * @param form
+	 *            the form. Its ids are assigned if this has not been done yet.
+	 * @param errorRate
+	 *            the probability of each field with a constraint to be
+	 *            invalid.
+	 * @return the values keyed by the ids of the input fields.
+	 */
+	public Map<String, Object> createInvalid(final Form form, final double errorRate) {
+		Map<String, Object> values = new LinkedHashMap<String, Object>();
+		List<AbstractInputField<?>> constrained = new ArrayList<AbstractInputField<?>>();
+		for (AbstractInputField<?> field : getInputFields(form)) {
+			if (isConstrained(field)) {
+				constrained.add(field);
+			}
+			values.put(field.getId(), createValidValue(field));
+		}
+		if (constrained.isEmpty()) {
+			return values;
+		}
+		AbstractInputField<?> invalid = constrained.get(this.random.nextInt(constrained.size()));
+		values.put(invalid.getId(), createInvalidValue(invalid));
+		for (AbstractInputField<?> field : constrained) {
+			if (this.random.nextDouble() < errorRate) {
+				values.put(field.getId(), createInvalidValue(field));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Returns true if a value of the given field can be invalid.
+	 */
+	static boolean isConstrained(final AbstractInputField<?> field) {
+		return field.isRequired() || !field.getValidators().isEmpty();
+	}
+
+	private Object createValidValue(final AbstractInputField<?> field) {
+		if (field instanceof Checkbox) {
+			return this.random.nextBoolean();
+		} else if (field instanceof IntegerTextField) {
+			return FormGenerator.MIN + this.random.nextInt(FormGenerator.MAX - FormGenerator.MIN + 1);
+		} else if (field instanceof AbstractSingleChoice) {
+			List<?> choices = ((AbstractSingleChoice<?>) field).getChoices();
+			return choices.get(this.random.nextInt(choices.size()));
+		} else if (field instanceof AbstractMultiChoice) {
+			List<?> choices = ((AbstractMultiChoice<?>) field).getChoices();
+			List<Object> selection = new ArrayList<Object>();
+			for (Object choice : choices) {
+				if (this.random.nextBoolean()) {
+					selection.add(choice);
+				}
+			}
+			if (selection.isEmpty()) {
+				selection.add(choices.get(this.random.nextInt(choices.size())));
+			}
+			return selection;
+		} else if (hasValidator(field, UrlValidator.class)) {
+			return String.format("http://www.example.org/%s/%d", FormGenerator.sentence(this.random, 1),
+					this.random.nextInt(1000));
+		} else if (field instanceof TextArea) {
+			return FormGenerator.sentence(this.random, 10 + this.random.nextInt(100));
+		} else if (field instanceof StringTextField) {
+			return FormGenerator.sentence(this.random, 1 + this.random.nextInt(3));
+		}
+		throw new IllegalArgumentException(String.format("Fields of type %s are not supported!", field.getClass()));
+	}
+
+	private Object createInvalidValue(final AbstractInputField<?> field) {
+		if (hasValidator(field, NumberRangeValidator.class)) {
+			return this.random.nextBoolean() ? FormGenerator.MIN - 1 - this.random.nextInt(100) : FormGenerator.MAX
+					+ 1 + this.random.nextInt(100);
+		} else if (hasValidator(field, UrlValidator.class)) {
+			return "not a URL";
+		}
+		return null;
+	}
+
+	private static boolean hasValidator(final AbstractInputField<?> field, final Class<?> validatorClass) {
+		for (FieldValidator<?> validator : field.getValidators()) {
+			if (validatorClass.isInstance(validator)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static List<AbstractInputField<?>> getInputFields(final Form form) {
+		form.assignIds();
+		List<AbstractInputField<?>> fields = new ArrayList<AbstractInputField<?>>();
+		collect(form.getMainSection(), fields);
+		return fields;
+	}
+
+	private static void collect(final Section section, final List<AbstractInputField<?>> fields) {
+		for (AbstractFormElement element : section.getFormElements()) {
+			if (element.isDiscarded()) {
+				continue;
+			}
+			if (element instanceof AbstractInputField) {
+				fields.add((AbstractInputField<?>) element);
+			} else if (element instanceof Section) {
+				collect((Section) element, fields);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+package de.adesso.wickedforms.generator;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.validation.FieldValidator;
+import de.adesso.wickedforms.model.validation.ValidationFeedback;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class FormGeneratorTest {
+
+	@Test
+	public void testSameSeedGeneratesSameForm() {
+		FormGenerator generator = new FormGenerator().setSeed(42).setDepth(2).setFanOut(3);
+		Form first = generator.generate();
+		Form second = generator.generate();
+		Assert.assertEquals(describe(first), describe(second));
+		Assert.assertEquals(new SubmissionGenerator(7).createValid(first),
+				new SubmissionGenerator(7).createValid(second));
+		Assert.assertFalse(describe(first).equals(describe(generator.setSeed(43).generate())));
+	}
+
+	@Test
+	public void testStructure() {
+		FormGenerator generator = new FormGenerator().setDepth(2).setFanOut(3).setElementsPerSection(5)
+				.setActionRate(0).setRepeaterRate(0);
+		Assert.assertEquals(13, generator.countSections());
+		List<AbstractFormElement> elements = new ArrayList<AbstractFormElement>();
+		collect(generator.generate().getMainSection(), elements);
+		int sections = 0;
+		for (AbstractFormElement element : elements) {
+			if (element instanceof Section) {
+				sections++;
+			}
+		}
+		Assert.assertEquals(12, sections);
+		Assert.assertEquals(13 * 5 + 12, elements.size());
+	}
+
+	@Test
+	public void testRepeaterAddsSameSections() {
+		FormGenerator generator = new FormGenerator().setRepeaterRate(1);
+		AddSectionButton first = findButton(generator.generate().getMainSection());
+		AddSectionButton second = findButton(generator.generate().getMainSection());
+		Assert.assertEquals(describe(first.createSection()), describe(second.createSection()));
+	}
+
+	@Test
+	public void testValidSubmission() {
+		for (long seed = 1; seed <= 10; seed++) {
+			Form form = new FormGenerator().setSeed(seed).setRequiredRate(0.5).setValidatorRate(0.5).generate();
+			Map<String, Object> values = new SubmissionGenerator(seed).createValid(form);
+			Assert.assertFalse(values.isEmpty());
+			for (Map.Entry<String, Object> value : values.entrySet()) {
+				AbstractInputField<?> field = (AbstractInputField<?>) form.getElementById(value.getKey());
+				Assert.assertTrue(field.getLabel() + ": " + value.getValue(), isValid(field, value.getValue()));
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidSubmission() {
+		for (long seed = 1; seed <= 10; seed++) {
+			Form form = new FormGenerator().setSeed(seed).generate();
+			Map<String, Object> values = new SubmissionGenerator(seed).createInvalid(form, 0);
+			int invalid = 0;
+			for (Map.Entry<String, Object> value : values.entrySet()) {
+				if (!isValid((AbstractInputField<?>) form.getElementById(value.getKey()), value.getValue())) {
+					invalid++;
+				}
+			}
+			Assert.assertEquals(1, invalid);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static boolean isValid(final AbstractInputField<?> field, final Object value) {
+		if (value == null || value instanceof Collection && ((Collection<?>) value).isEmpty()) {
+			return !field.isRequired();
+		}
+		if (field instanceof AbstractSingleChoice && !((AbstractSingleChoice<?>) field).getChoices().contains(value)) {
+			return false;
+		}
+		if (field instanceof AbstractMultiChoice
+				&& !((AbstractMultiChoice<?>) field).getChoices().containsAll((Collection<?>) value)) {
+			return false;
+		}
+		final List<String> errors = new ArrayList<String>();
+		for (FieldValidator validator : field.getValidators()) {
+			validator.validate((AbstractInputField) field, value, new ValidationFeedback() {
+				@Override
+				public void error(final String message) {
+					errors.add(message);
+				}
+			});
+		}
+		return errors.isEmpty();
+	}
+
+	private static String describe(final Form form) {
+		return describe(form.getMainSection());
+	}
+
+	private static String describe(final Section section) {
+		List<AbstractFormElement> elements = new ArrayList<AbstractFormElement>();
+		collect(section, elements);
+		StringBuilder description = new StringBuilder();
+		for (AbstractFormElement element : elements) {
+			description.append(element.getClass().getSimpleName());
+			if (element instanceof AbstractInputField) {
+				AbstractInputField<?> field = (AbstractInputField<?>) element;
+				description.append(' ').append(field.getLabel()).append(field.isRequired() ? "*" : "")
+						.append(field.getValidators().size());
+			}
+			description.append('\n');
+		}
+		return description.toString();
+	}
+
+	private static void collect(final Section section, final List<AbstractFormElement> elements) {
+		for (AbstractFormElement element : section.getFormElements()) {
+			elements.add(element);
+			if (element instanceof Section) {
+				collect((Section) element, elements);
+			}
+		}
+	}
+
+	private static AddSectionButton findButton(final Section section) {
+		List<AbstractFormElement> elements = new ArrayList<AbstractFormElement>();
+		collect(section, elements);
+		for (AbstractFormElement element : elements) {
+			if (element instanceof AddSectionButton) {
+				return (AddSectionButton) element;
+			}
+		}
+		throw new IllegalStateException("No AddSectionButton found!");
+	}
+
+}
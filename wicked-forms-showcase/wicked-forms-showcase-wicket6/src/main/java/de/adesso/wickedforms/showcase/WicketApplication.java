@@ -15,6 +15,8 @@ import de.adesso.wickedforms.showcase.validators.UrlValidatorPage;
 import org.apache.wicket.protocol.http.WebApplication;
 import de.adesso.wickedforms.showcase.metadata.LabelPage;
 import de.adesso.wickedforms.showcase.metadata.RequiredPage;
+import de.adesso.wickedforms.showcase.profiling.GeneratedFormPage;
+import de.adesso.wickedforms.showcase.profiling.PageSizePage;
 import de.adesso.wickedforms.showcase.metadata.UserHintPage;
 import de.adesso.wickedforms.showcase.validators.CustomValidatorPage;
 
@@ -47,6 +49,10 @@ public class WicketApplication extends WebApplication {
 		this.mountPage("numbervalidator", MinMaxValidatorPage.class);
 		this.mountPage("urlvalidator", UrlValidatorPage.class);
 		this.mountPage("customvalidator", CustomValidatorPage.class);
+		this.mountPage("generated", GeneratedFormPage.class);
+		if (this.usesDevelopmentConfig()) {
+			this.mountPage("pagesize", PageSizePage.class);
+		}
 
 	}
 }
@@ -0,0 +1,50 @@
+package de.adesso.wickedforms.showcase.profiling;
+
+import de.adesso.wickedforms.example.Person;
+import de.adesso.wickedforms.example.PersonForm;
+import de.adesso.wickedforms.model.profiling.SizeProfile;
+import de.adesso.wickedforms.model.profiling.SizeProfiler;
+import de.adesso.wickedforms.showcase.BasePage;
+import org.apache.wicket.Application;
+import org.apache.wicket.Page;
+import org.apache.wicket.core.request.handler.PageProvider;
+import org.apache.wicket.core.util.string.ComponentRenderer;
+import org.apache.wicket.request.http.flow.AbortWithHttpErrorCodeException;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+
+/**
+ * Debug page showing the serialized size of a form page broken down by
+ * {@link SizeProfiler}. The page with the parameter <code>form=person</code>
+ * profiles the {@link PersonForm}, all other parameters are passed to a
+ * {@link GeneratedFormPage}, e.g.
+ * <code>pagesize?depth=3&fanOut=4&elements=20</code>. The profiled page is
+ * rendered first, so that its components have been created.
+ * <p/>
+ * The page is only mounted in development mode. Since pages can also be
+ * requested by their class name, it answers with 404 in deployment mode.
+ */
+public class PageSizePage extends BasePage {
+
+	public PageSizePage(final PageParameters parameters) {
+		super(parameters, createContentPanel(parameters));
+	}
+
+	private static PageSizePanel createContentPanel(final PageParameters parameters) {
+		if (!Application.get().usesDevelopmentConfig()) {
+			throw new AbortWithHttpErrorCodeException(404);
+		}
+		Page page;
+		String title;
+		if ("person".equals(parameters.get("form").toOptionalString())) {
+			page = new BasePage(new PersonForm(new Person()), null);
+			title = "Person Form";
+		} else {
+			page = new GeneratedFormPage(parameters);
+			title = "Generated Form";
+		}
+		ComponentRenderer.renderPage(new PageProvider(page));
+		SizeProfile profile = SizeProfiler.profile(page);
+		return new PageSizePanel("contentPanel", title, profile);
+	}
+
+}
@@ -0,0 +1,61 @@
+package de.adesso.wickedforms.showcase.profiling;
+
+import de.adesso.wickedforms.model.profiling.CapturedReference;
+import de.adesso.wickedforms.model.profiling.SizeCategory;
+import de.adesso.wickedforms.model.profiling.SizeProfile;
+import de.adesso.wickedforms.model.profiling.TypeSize;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.html.list.ListItem;
+import org.apache.wicket.markup.html.list.ListView;
+import org.apache.wicket.markup.html.panel.Panel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shows a {@link SizeProfile}: the bytes per category, the largest classes and
+ * the captured references of the form model.
+ */
+public class PageSizePanel extends Panel {
+
+	private static final int TYPES = 20;
+
+	public PageSizePanel(final String id, final String title, final SizeProfile profile) {
+		super(id);
+		add(new Label("title", title));
+		add(new Label("totalBytes", profile.getTotalBytes()));
+		add(new ListView<SizeCategory>("categories", Arrays.asList(SizeCategory.values())) {
+			@Override
+			protected void populateItem(final ListItem<SizeCategory> item) {
+				SizeCategory category = item.getModelObject();
+				item.add(new Label("category", category.getDescription()));
+				item.add(new Label("bytes", profile.getBytes(category)));
+				item.add(new Label("share", String.format("%.1f %%", profile.getShare(category))));
+				item.add(new Label("objects", profile.getObjects(category)));
+			}
+		});
+		List<TypeSize> types = profile.getTypes();
+		add(new ListView<TypeSize>("types", new ArrayList<TypeSize>(types.subList(0,
+				Math.min(TYPES, types.size())))) {
+			@Override
+			protected void populateItem(final ListItem<TypeSize> item) {
+				TypeSize type = item.getModelObject();
+				item.add(new Label("type", type.getType()));
+				item.add(new Label("category", type.getCategory().getDescription()));
+				item.add(new Label("bytes", type.getBytes()));
+				item.add(new Label("objects", type.getObjects()));
+			}
+		});
+		add(new ListView<CapturedReference>("capturedReferences", profile.getCapturedReferences()) {
+			@Override
+			protected void populateItem(final ListItem<CapturedReference> item) {
+				CapturedReference reference = item.getModelObject();
+				item.add(new Label("owner", reference.getOwner()));
+				item.add(new Label("field", reference.getField()));
+				item.add(new Label("target", reference.getTarget()));
+			}
+		});
+	}
+
+}
@@ -10,6 +10,11 @@ import org.apache.wicket.markup.html.panel.Fragment;
 import org.apache.wicket.model.Model;
 import org.apache.wicket.resource.JQueryResourceReference;
 import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.showcase.profiling.GeneratedFormPage;
+import de.adesso.wickedforms.showcase.profiling.PageSizePage;
+import org.apache.wicket.Component;
+import org.apache.wicket.markup.html.link.BookmarkablePageLink;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
 
 public class BasePage extends WebPage {
 
@@ -21,18 +26,44 @@ public class BasePage extends WebPage {
 		initContentPanel(formModel);
 		initCodeContainer(exampleCode);
 		initShowCodeButtonContainer(exampleCode);
+		initProfilingLinks();
+	}
+
+	public BasePage(final PageParameters parameters, final Form formModel, final Class<?> exampleCode) {
+		super(parameters);
+		initContentPanel(formModel);
+		initCodeContainer(exampleCode);
+		initShowCodeButtonContainer(exampleCode);
+		initProfilingLinks();
+	}
+
+	/**
+	 * Constructor for pages with content other than a form or a static
+	 * fragment.
+	 * 
+	 * @param contentPanel
+	 *            the content, its id must be "contentPanel".
+	 */
+	protected BasePage(final PageParameters parameters, final Component contentPanel) {
+		super(parameters);
+		add(contentPanel);
+		initCodeContainer(null);
+		initShowCodeButtonContainer(null);
+		initProfilingLinks();
 	}
 
 	public BasePage(final StaticFragment staticFragment) {
 		initContentPanel(staticFragment);
 		initCodeContainer(null);
 		initShowCodeButtonContainer(null);
+		initProfilingLinks();
 	}
 
 	public BasePage(final StaticFragment staticFragment, final Class<?> exampleCode) {
 		initContentPanel(staticFragment);
 		initCodeContainer(exampleCode);
 		initShowCodeButtonContainer(exampleCode);
+		initProfilingLinks();
 	}
 
 	private void initShowCodeButtonContainer(final Class<?> exampleCode) {
@@ -41,6 +72,27 @@ public class BasePage extends WebPage {
 		add(container);
 	}
 
+	private void initProfilingLinks() {
+		add(new BookmarkablePageLink<Void>("smallGeneratedFormLink", GeneratedFormPage.class,
+				GeneratedFormPage.parameters(1, 3, 10)));
+		add(new BookmarkablePageLink<Void>("mediumGeneratedFormLink", GeneratedFormPage.class,
+				GeneratedFormPage.parameters(2, 4, 10)));
+		add(new BookmarkablePageLink<Void>("largeGeneratedFormLink", GeneratedFormPage.class,
+				GeneratedFormPage.parameters(3, 4, 20)));
+		// the page size profiler is a debugging tool and only mounted in
+		// development mode
+		boolean development = getApplication().usesDevelopmentConfig();
+		WebMarkupContainer pageSizeLinks = new WebMarkupContainer("pageSizeLinks");
+		pageSizeLinks.setVisible(development);
+		add(pageSizeLinks);
+		if (development) {
+			pageSizeLinks.add(new BookmarkablePageLink<Void>("generatedFormPageSizeLink", PageSizePage.class,
+					GeneratedFormPage.parameters(2, 4, 10)));
+			pageSizeLinks.add(new BookmarkablePageLink<Void>("personFormPageSizeLink", PageSizePage.class,
+					new PageParameters().add("form", "person")));
+		}
+	}
+
 	private void initContentPanel(final Form formModel) {
 		add(new FormPanel("contentPanel", Model.of(formModel)) {
 			@Override
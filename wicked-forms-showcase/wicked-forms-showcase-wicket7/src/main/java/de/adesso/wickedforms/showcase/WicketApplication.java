@@ -12,6 +12,8 @@ import de.adesso.wickedforms.showcase.generalusage.UsagePage;
 import de.adesso.wickedforms.showcase.metadata.DisabledPage;
 import de.adesso.wickedforms.showcase.metadata.LabelPage;
 import de.adesso.wickedforms.showcase.metadata.RequiredPage;
+import de.adesso.wickedforms.showcase.profiling.GeneratedFormPage;
+import de.adesso.wickedforms.showcase.profiling.PageSizePage;
 import de.adesso.wickedforms.showcase.validators.CustomValidatorPage;
 import de.adesso.wickedforms.showcase.validators.MinMaxValidatorPage;
 import org.apache.wicket.protocol.http.WebApplication;
@@ -47,6 +49,10 @@ public class WicketApplication extends WebApplication {
 		this.mountPage("numbervalidator", MinMaxValidatorPage.class);
 		this.mountPage("urlvalidator", UrlValidatorPage.class);
 		this.mountPage("customvalidator", CustomValidatorPage.class);
+		this.mountPage("generated", GeneratedFormPage.class);
+		if (this.usesDevelopmentConfig()) {
+			this.mountPage("pagesize", PageSizePage.class);
+		}
 
 	}
 }
@@ -0,0 +1,60 @@
+package de.adesso.wickedforms.showcase.profiling;
+
+import de.adesso.wickedforms.generator.FormGenerator;
+import de.adesso.wickedforms.generator.SubmissionGenerator;
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.draft.Draft;
+import de.adesso.wickedforms.showcase.BasePage;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+
+/**
+ * Shows a large form created by {@link FormGenerator} for manual profiling.
+ * The settings of the generator are taken from the page parameters, e.g.
+ * <code>generated?seed=2&depth=3&fanOut=4&elements=20</code>. The parameter
+ * <code>fill</code> with the value <code>valid</code> or <code>invalid</code>
+ * fills the form with data created by {@link SubmissionGenerator}.
+ */
+public class GeneratedFormPage extends BasePage {
+
+	public GeneratedFormPage(final PageParameters parameters) {
+		super(parameters, createForm(parameters), null);
+	}
+
+	/**
+	 * Creates the parameters of a link to this page.
+	 */
+	public static PageParameters parameters(final int depth, final int fanOut, final int elements) {
+		return new PageParameters().add("depth", depth).add("fanOut", fanOut).add("elements", elements);
+	}
+
+	private static Form createForm(final PageParameters parameters) {
+		FormGenerator generator = new FormGenerator();
+		long seed = parameters.get("seed").toLong(generator.getSeed());
+		generator.setSeed(seed);
+		generator.setDepth(parameters.get("depth").toInt(generator.getDepth()));
+		generator.setFanOut(parameters.get("fanOut").toInt(generator.getFanOut()));
+		generator.setElementsPerSection(parameters.get("elements").toInt(generator.getElementsPerSection()));
+		generator.setChoices(parameters.get("choices").toInt(generator.getChoices()));
+		if (!parameters.get("required").isEmpty()) {
+			generator.setRequiredRate(parameters.get("required").toDouble());
+		}
+		if (!parameters.get("validators").isEmpty()) {
+			generator.setValidatorRate(parameters.get("validators").toDouble());
+		}
+		if (!parameters.get("actions").isEmpty()) {
+			generator.setActionRate(parameters.get("actions").toDouble());
+		}
+		if (!parameters.get("repeaters").isEmpty()) {
+			generator.setRepeaterRate(parameters.get("repeaters").toDouble());
+		}
+		Form form = generator.generate();
+		String fill = parameters.get("fill").toOptionalString();
+		if ("valid".equals(fill)) {
+			new Draft(null, new SubmissionGenerator(seed).createValid(form)).applyTo(form);
+		} else if ("invalid".equals(fill)) {
+			new Draft(null, new SubmissionGenerator(seed).createInvalid(form, 0.1)).applyTo(form);
+		}
+		return form;
+	}
+
+}
@@ -0,0 +1,105 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.benchmarks;
+
+import de.adesso.wickedforms.model.binding.Binding;
+import de.adesso.wickedforms.model.binding.PropertyBinding;
+import de.adesso.wickedforms.model.binding.SimpleBinding;
+import de.adesso.wickedforms.model.metrics.Metrics;
+import de.adesso.wickedforms.model.metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the reflective access of {@link PropertyBinding} compared to a
+ * {@link SimpleBinding}, which holds the value itself, with and without
+ * {@link Metrics} enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean metrics;
+
+	private final Person person = new Person();
+
+	private final Binding<String> propertyBinding = new PropertyBinding<String>(this.person, "name");
+
+	private final Binding<String> simpleBinding = new SimpleBinding<String>("Tom");
+
+	@Setup
+	public void setUp() {
+		if (this.metrics) {
+			Metrics.install(new MetricsRegistry());
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		Metrics.uninstall();
+	}
+
+	@Benchmark
+	public String propertyGet() {
+		return this.propertyBinding.getValue();
+	}
+
+	@Benchmark
+	public void propertySet() {
+		this.propertyBinding.setValue("Tom");
+	}
+
+	@Benchmark
+	public String simpleGet() {
+		return this.simpleBinding.getValue();
+	}
+
+	@Benchmark
+	public void simpleSet() {
+		this.simpleBinding.setValue("Tom");
+	}
+
+	public static class Person {
+
+		private String name = "Tom";
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+	}
+
+}
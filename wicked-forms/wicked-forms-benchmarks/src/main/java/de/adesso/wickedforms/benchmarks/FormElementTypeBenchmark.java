@@ -0,0 +1,71 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.benchmarks;
+
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.FormElementType;
+import de.adesso.wickedforms.model.elements.Text;
+import de.adesso.wickedforms.model.elements.fields.ChoiceMatrix;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FormElementType#ofObject(AbstractFormElement)}, which is
+ * called for each element a panel is created for. The types are checked in
+ * the order of their declaration, so the first type is the fastest and the
+ * last type the slowest to find.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormElementTypeBenchmark {
+
+	private final AbstractFormElement first = new Text("Text");
+
+	private final AbstractFormElement middle = new IntegerTextField("Age", 30);
+
+	private final AbstractFormElement last = new ChoiceMatrix<String>("Matrix", Arrays.asList("Row"),
+			Arrays.asList("Yes", "No"));
+
+	@Benchmark
+	public FormElementType ofObjectFirst() {
+		return FormElementType.ofObject(this.first);
+	}
+
+	@Benchmark
+	public FormElementType ofObjectMiddle() {
+		return FormElementType.ofObject(this.middle);
+	}
+
+	@Benchmark
+	public FormElementType ofObjectLast() {
+		return FormElementType.ofObject(this.last);
+	}
+
+}
@@ -0,0 +1,145 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.benchmarks;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.actions.ToggleVisibilityAction;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.Text;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.RadioGroup;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import de.adesso.wickedforms.model.elements.fields.TextArea;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates the forms the benchmarks work on. A form consists of sections of
+ * {@link #SECTION_SIZE} elements each, which are a mix of all common element
+ * types, so that the benchmarks resemble real questionnaires.
+ */
+public final class Forms {
+
+	public static final int SECTION_SIZE = 100;
+
+	private static final List<String> CHOICES = Arrays.asList("Yes", "No", "Maybe");
+
+	private Forms() {
+	}
+
+	/**
+	 * Creates a form with the given number of elements, not counting the
+	 * sections containing them.
+	 */
+	public static Form createForm(final int elements) {
+		return createForm(elements, false);
+	}
+
+	/**
+	 * Creates a form with the given number of elements, not counting the
+	 * sections containing them.
+	 *
+	 * @param elements
+	 *            the number of elements.
+	 * @param interactive
+	 *            true to add a checkbox with a {@link ToggleVisibilityAction}
+	 *            for the input fields and an {@link AddSectionButton} to each
+	 *            section.
+	 * @return the form.
+	 */
+	public static Form createForm(final int elements, final boolean interactive) {
+		Form form = new Form("Benchmark");
+		Section section = null;
+		List<AbstractInputField<?>> fields = new ArrayList<AbstractInputField<?>>();
+		for (int i = 0; i < elements; i++) {
+			if (i % SECTION_SIZE == 0) {
+				if (interactive && section != null) {
+					addInteraction(section, fields);
+				}
+				section = new Section("Section " + i / SECTION_SIZE);
+				form.add(section);
+			}
+			AbstractFormElement element = createElement(i);
+			section.add(element);
+			if (element instanceof AbstractInputField) {
+				fields.add((AbstractInputField<?>) element);
+			}
+		}
+		if (interactive && section != null) {
+			addInteraction(section, fields);
+		}
+		return form;
+	}
+
+	private static void addInteraction(final Section section, final List<AbstractInputField<?>> fields) {
+		Checkbox trigger = new Checkbox("Show fields", Boolean.TRUE);
+		trigger.add(new ToggleVisibilityAction<Boolean>(trigger, Boolean.TRUE, fields
+				.toArray(new AbstractInputField<?>[fields.size()])));
+		section.add(trigger);
+		section.add(new RepeatSectionButton());
+		fields.clear();
+	}
+
+	/**
+	 * Creates the element at the given position of a form.
+	 */
+	public static AbstractFormElement createElement(final int index) {
+		String label = "Element " + index;
+		switch (index % 8) {
+		case 0:
+			return new Text(label);
+		case 1:
+			return new StringTextField(label, "Tom").setRequired(true);
+		case 2:
+			return new IntegerTextField(label, index);
+		case 3:
+			return new TextArea(label, "Lorem ipsum dolor sit amet");
+		case 4:
+			return new Checkbox(label, Boolean.TRUE);
+		case 5:
+			return new DropDown<String>(label, CHOICES, String.class).setValue("No");
+		case 6:
+			return new RadioGroup<String>(label, CHOICES, String.class).setValue("Yes");
+		default:
+			return new CheckboxGroup<String>(label, CHOICES).setValue(Arrays.asList("Yes", "Maybe"));
+		}
+	}
+
+	/**
+	 * Adds a section with a few fields, like a button to add another address.
+	 */
+	private static class RepeatSectionButton extends AddSectionButton {
+
+		RepeatSectionButton() {
+			super("Add section");
+		}
+
+		@Override
+		public Section createSection() {
+			return new Section("Repeated section").add(new StringTextField("Street"))
+					.add(new IntegerTextField("Number")).add(new Checkbox("Primary"));
+		}
+
+	}
+
+}
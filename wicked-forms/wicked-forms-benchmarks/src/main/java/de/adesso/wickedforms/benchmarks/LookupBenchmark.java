@@ -0,0 +1,76 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.benchmarks;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the recursive search of {@link Section#getElementById(String)}
+ * with the lookup of {@link Form#getElementById(String)}. The element looked
+ * up is the last one of the form, which is the worst case for the search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+	@Param({ "10", "1000", "10000" })
+	private int elements;
+
+	private Form form;
+
+	private String lastId;
+
+	@Setup
+	public void setUp() {
+		this.form = Forms.createForm(this.elements);
+		this.form.assignIds();
+		Section lastSection = (Section) last(this.form.getMainSection());
+		this.lastId = last(lastSection).getId();
+	}
+
+	private static AbstractFormElement last(final Section section) {
+		return section.getFormElements().get(section.getFormElements().size() - 1);
+	}
+
+	@Benchmark
+	public AbstractFormElement sectionGetElementById() {
+		return this.form.getMainSection().getElementById(this.lastId);
+	}
+
+	@Benchmark
+	public AbstractFormElement formGetElementById() {
+		return this.form.getElementById(this.lastId);
+	}
+
+}
@@ -0,0 +1,79 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.benchmarks;
+
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Section#insertBefore(AbstractFormElement, AbstractFormElement)}
+ * and {@link Section#remove(AbstractFormElement)} on a single section with many
+ * elements, as it happens when users add and remove repeated sections. Each
+ * invocation inserts an element before the first one and removes it again, so
+ * that the section keeps its size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SectionBenchmark {
+
+	@Param({ "10", "1000", "10000" })
+	private int elements;
+
+	private Section section;
+
+	private AbstractFormElement first;
+
+	private final AbstractFormElement inserted = new StringTextField("Inserted");
+
+	@Setup
+	public void setUp() {
+		this.section = new Section("Benchmark");
+		for (int i = 0; i < this.elements; i++) {
+			this.section.add(Forms.createElement(i));
+		}
+		this.first = this.section.getFormElements().get(0);
+	}
+
+	@Benchmark
+	public Section insertBeforeAndRemove() {
+		this.section.insertBefore(this.inserted, this.first);
+		return this.section.remove(this.inserted);
+	}
+
+	@Benchmark
+	public Section addAndRemoveLast() {
+		this.section.add(this.inserted);
+		return this.section.remove(this.inserted);
+	}
+
+}
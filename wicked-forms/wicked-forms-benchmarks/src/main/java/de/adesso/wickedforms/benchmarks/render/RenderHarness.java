@@ -0,0 +1,239 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.benchmarks.render;
+
+import de.adesso.wickedforms.benchmarks.Forms;
+import de.adesso.wickedforms.model.Form;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the rendering of forms and the AJAX requests sent while users fill
+ * them in, using the WicketTester of a Wicket version. The harness is
+ * independent of the Wicket version, which is accessed by subclasses only, so
+ * that the Wicket 6 and Wicket 7 interpreters are measured the same way.
+ * <p/>
+ * For each form size, the following scenarios are run:
+ * <ul>
+ * <li><code>render</code>: renders a form consisting of all common field
+ * types.</li>
+ * <li><code>render-interactive</code>: renders the same form with an action
+ * and an {@link de.adesso.wickedforms.model.elements.buttons.AddSectionButton}
+ * in each section.</li>
+ * <li><code>action</code>: toggles the checkboxes triggering the actions of
+ * the interactive form, one AJAX request each.</li>
+ * <li><code>add-section</code>: clicks the buttons of the interactive form, so
+ * that the form grows with each AJAX request.</li>
+ * </ul>
+ * The results are printed and written as JSON to the file given as first
+ * argument. The remaining arguments are the form sizes, 10, 100 and 1000 by
+ * default.
+ */
+public abstract class RenderHarness {
+
+	private static final int WARMUP = 50;
+
+	private static final int ITERATIONS = 200;
+
+	private static final int SECTIONS_ADDED = 50;
+
+	private final List<RequestStatistics> results = new ArrayList<RequestStatistics>();
+
+	/**
+	 * The name of the interpreter, e.g. "wicket7".
+	 */
+	protected abstract String getName();
+
+	/**
+	 * Renders a new page containing a form panel for the given form.
+	 */
+	protected abstract void startPage(Form form);
+
+	/**
+	 * Toggles the trigger of an action on the current page.
+	 *
+	 * @param index
+	 *            the index of the trigger, modulo the number of triggers.
+	 */
+	protected abstract void executeAction(int index);
+
+	/**
+	 * Clicks a button that adds a section on the current page.
+	 *
+	 * @param index
+	 *            the index of the button, modulo the number of buttons.
+	 */
+	protected abstract void addSection(int index);
+
+	/**
+	 * Returns the number of components of the current page.
+	 */
+	protected abstract int countComponents();
+
+	/**
+	 * Returns the size of the current page when serialized by the page store.
+	 */
+	protected abstract long getSerializedPageSize();
+
+	/**
+	 * Releases the WicketTester.
+	 */
+	protected abstract void destroy();
+
+	/**
+	 * Runs all scenarios with the given arguments, see the class comment.
+	 */
+	public void run(final String[] args) throws IOException {
+		int[] sizes = { 10, 100, 1000 };
+		if (args.length > 1) {
+			sizes = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				sizes[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		try {
+			for (int size : sizes) {
+				runScenarios(size);
+			}
+		} finally {
+			destroy();
+		}
+		print();
+		if (args.length > 0) {
+			write(new File(args[0]));
+		}
+	}
+
+	private void runScenarios(final int elements) {
+		final int[] counter = new int[1];
+		Task startInteractivePage = new Task() {
+			@Override
+			public void run() {
+				startPage(Forms.createForm(elements, true));
+			}
+		};
+
+		measure("render", elements, ITERATIONS, null, new Task() {
+			@Override
+			public void run() {
+				startPage(Forms.createForm(elements));
+			}
+		});
+
+		measure("render-interactive", elements, ITERATIONS, null, startInteractivePage);
+
+		measure("action", elements, ITERATIONS, startInteractivePage, new Task() {
+			@Override
+			public void run() {
+				executeAction(counter[0]++);
+			}
+		});
+
+		measure("add-section", elements, SECTIONS_ADDED, startInteractivePage, new Task() {
+			@Override
+			public void run() {
+				addSection(counter[0]++);
+			}
+		});
+	}
+
+	/**
+	 * Runs the warmup and then measures the given number of requests.
+	 *
+	 * @param setUp
+	 *            prepares the page the requests are sent to, both for the
+	 *            warmup and the measurement. May be null.
+	 */
+	private void measure(final String scenario, final int elements, final int iterations, final Task setUp,
+			final Task task) {
+		if (setUp != null) {
+			setUp.run();
+		}
+		for (int i = 0; i < Math.min(WARMUP, iterations); i++) {
+			task.run();
+		}
+		if (setUp != null) {
+			setUp.run();
+		}
+		RequestStatistics statistics = new RequestStatistics(scenario, elements);
+		for (int i = 0; i < iterations; i++) {
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			task.run();
+			long nanos = System.nanoTime() - start;
+			statistics.record(nanos, allocatedBytes() - bytes);
+		}
+		statistics.setComponents(countComponents());
+		statistics.setPageSize(getSerializedPageSize());
+		this.results.add(statistics);
+	}
+
+	private void print() {
+		System.out.println(String.format("%-8s %-20s %8s %10s %10s %10s %10s %12s %10s %12s", "", "scenario",
+				"elements", "p50 us", "p90 us", "p99 us", "max us", "bytes/req", "components", "page bytes"));
+		for (RequestStatistics statistics : this.results) {
+			System.out.println(String.format("%-8s %-20s %8d %10.1f %10.1f %10.1f %10.1f %12d %10d %12d", getName(),
+					statistics.getScenario(), statistics.getElements(), statistics.getPercentile(50) / 1000.0,
+					statistics.getPercentile(90) / 1000.0, statistics.getPercentile(99) / 1000.0,
+					statistics.getPercentile(100) / 1000.0, statistics.getAllocatedBytesPerRequest(),
+					statistics.getComponents(), statistics.getPageSize()));
+		}
+	}
+
+	private void write(final File file) throws IOException {
+		if (file.getParentFile() != null) {
+			file.getParentFile().mkdirs();
+		}
+		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+		try {
+			out.println("[");
+			for (int i = 0; i < this.results.size(); i++) {
+				RequestStatistics statistics = this.results.get(i);
+				out.print(String.format("  {\"interpreter\": \"%s\", \"scenario\": \"%s\", \"elements\": %d, "
+						+ "\"requests\": %d, \"p50Nanos\": %d, \"p90Nanos\": %d, \"p99Nanos\": %d, "
+						+ "\"maxNanos\": %d, \"allocatedBytesPerRequest\": %d, \"components\": %d, "
+						+ "\"pageBytes\": %d}", getName(), statistics.getScenario(), statistics.getElements(),
+						statistics.getRequests(), statistics.getPercentile(50), statistics.getPercentile(90),
+						statistics.getPercentile(99), statistics.getPercentile(100),
+						statistics.getAllocatedBytesPerRequest(), statistics.getComponents(),
+						statistics.getPageSize()));
+				out.println(i < this.results.size() - 1 ? "," : "");
+			}
+			out.println("]");
+		} finally {
+			out.close();
+		}
+	}
+
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	private interface Task {
+		void run();
+	}
+
+}
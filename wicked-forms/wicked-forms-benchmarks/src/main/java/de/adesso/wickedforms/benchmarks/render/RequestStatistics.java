@@ -0,0 +1,120 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.benchmarks.render;
+
+import java.util.Arrays;
+
+/**
+ * The measurements of the requests of a scenario: the latency and the bytes
+ * allocated per request, and the number of components and the serialized size
+ * of the page after the last request.
+ */
+public class RequestStatistics {
+
+	private final String scenario;
+
+	private final int elements;
+
+	private long[] nanos = new long[64];
+
+	private long allocatedBytes;
+
+	private int requests;
+
+	private int components;
+
+	private long pageSize;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param scenario
+	 *            the name of the scenario.
+	 * @param elements
+	 *            the number of elements of the form.
+	 */
+	public RequestStatistics(final String scenario, final int elements) {
+		this.scenario = scenario;
+		this.elements = elements;
+	}
+
+	/**
+	 * Records a request.
+	 *
+	 * @param nanos
+	 *            the latency of the request.
+	 * @param allocatedBytes
+	 *            the bytes allocated by the request.
+	 */
+	public void record(final long nanos, final long allocatedBytes) {
+		if (this.requests == this.nanos.length) {
+			this.nanos = Arrays.copyOf(this.nanos, 2 * this.requests);
+		}
+		this.nanos[this.requests++] = nanos;
+		this.allocatedBytes += allocatedBytes;
+	}
+
+	/**
+	 * Returns the latency that the given share of requests did not exceed.
+	 *
+	 * @param percentile
+	 *            the percentile between 0 and 100.
+	 * @return the latency in nanoseconds.
+	 */
+	public long getPercentile(final double percentile) {
+		if (this.requests == 0) {
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(this.nanos, this.requests);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100 * this.requests) - 1;
+		return sorted[Math.max(0, Math.min(index, this.requests - 1))];
+	}
+
+	public long getAllocatedBytesPerRequest() {
+		return this.requests == 0 ? 0 : this.allocatedBytes / this.requests;
+	}
+
+	public String getScenario() {
+		return scenario;
+	}
+
+	public int getElements() {
+		return elements;
+	}
+
+	public int getRequests() {
+		return requests;
+	}
+
+	public int getComponents() {
+		return components;
+	}
+
+	public RequestStatistics setComponents(final int components) {
+		this.components = components;
+		return this;
+	}
+
+	public long getPageSize() {
+		return pageSize;
+	}
+
+	public RequestStatistics setPageSize(final long pageSize) {
+		this.pageSize = pageSize;
+		return this;
+	}
+
+}
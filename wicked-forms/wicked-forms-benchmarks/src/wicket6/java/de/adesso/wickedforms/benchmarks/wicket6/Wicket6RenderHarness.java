@@ -0,0 +1,142 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.benchmarks.wicket6;
+
+import de.adesso.wickedforms.benchmarks.render.RenderHarness;
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.wicket6.components.FormPanel;
+import de.adesso.wickedforms.wicket6.components.fields.AddSectionButtonPanel;
+import org.apache.wicket.Component;
+import org.apache.wicket.MarkupContainer;
+import org.apache.wicket.ajax.form.AjaxFormSubmitBehavior;
+import org.apache.wicket.ajax.markup.html.form.AjaxSubmitLink;
+import org.apache.wicket.markup.html.form.CheckBox;
+import org.apache.wicket.markup.html.form.FormComponent;
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.util.tester.FormTester;
+import org.apache.wicket.util.tester.WicketTester;
+import org.apache.wicket.util.visit.IVisit;
+import org.apache.wicket.util.visit.IVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the {@link RenderHarness} with the Wicket 6 interpreter. Run it with
+ * <code>gradle :wicked-forms:wicked-forms-benchmarks:renderBenchmarkWicket6</code>.
+ */
+public class Wicket6RenderHarness extends RenderHarness {
+
+	private final WicketTester tester = new WicketTester(new MockApplication());
+
+	public static void main(final String[] args) throws Exception {
+		new Wicket6RenderHarness().run(args);
+	}
+
+	@Override
+	protected String getName() {
+		return "wicket6";
+	}
+
+	@Override
+	protected void startPage(final Form form) {
+		this.tester.startComponentInPage(new BenchmarkFormPanel(form));
+	}
+
+	@Override
+	protected void executeAction(final int index) {
+		final List<FormComponent<?>> triggers = new ArrayList<FormComponent<?>>();
+		page().visitChildren(FormComponent.class, new IVisitor<FormComponent<?>, Void>() {
+			@Override
+			public void component(final FormComponent<?> component, final IVisit<Void> visit) {
+				if (!component.getBehaviors(AjaxFormSubmitBehavior.class).isEmpty()) {
+					triggers.add(component);
+				}
+			}
+		});
+		FormComponent<?> trigger = triggers.get(index % triggers.size());
+		// the form is serialized with a FormTester and only the behavior of
+		// the action is executed, since executeAjaxEvent() would execute the
+		// autosave behavior as well if autosave was enabled
+		FormTester form = this.tester.newFormTester(trigger.getForm().getPageRelativePath());
+		if (trigger instanceof CheckBox) {
+			// toggle the checkbox, so that the fields are hidden and shown
+			form.setValue(trigger, String.valueOf(!Boolean.TRUE.equals(trigger.getDefaultModelObject())));
+		}
+		this.tester.executeBehavior(trigger.getBehaviors(AjaxFormSubmitBehavior.class).get(0));
+	}
+
+	@Override
+	protected void addSection(final int index) {
+		final List<AjaxSubmitLink> buttons = new ArrayList<AjaxSubmitLink>();
+		page().visitChildren(AjaxSubmitLink.class, new IVisitor<AjaxSubmitLink, Void>() {
+			@Override
+			public void component(final AjaxSubmitLink button, final IVisit<Void> visit) {
+				if (button.getParent() instanceof AddSectionButtonPanel) {
+					buttons.add(button);
+				}
+			}
+		});
+		this.tester.executeAjaxEvent(buttons.get(index % buttons.size()), "click");
+	}
+
+	@Override
+	protected int countComponents() {
+		final int[] count = new int[1];
+		page().visitChildren(new IVisitor<Component, Void>() {
+			@Override
+			public void component(final Component component, final IVisit<Void> visit) {
+				count[0]++;
+			}
+		});
+		return count[0];
+	}
+
+	@Override
+	protected long getSerializedPageSize() {
+		byte[] page = this.tester.getApplication().getFrameworkSettings().getSerializer()
+				.serialize(this.tester.getLastRenderedPage());
+		if (page == null) {
+			throw new IllegalStateException("The page could not be serialized!");
+		}
+		return page.length;
+	}
+
+	@Override
+	protected void destroy() {
+		this.tester.destroy();
+	}
+
+	private MarkupContainer page() {
+		return this.tester.getLastRenderedPage();
+	}
+
+	/**
+	 * A form panel that is not an inner class, so that the serialized page
+	 * does not contain the harness.
+	 */
+	private static class BenchmarkFormPanel extends FormPanel {
+
+		BenchmarkFormPanel(final Form form) {
+			super("form", form);
+		}
+
+		@Override
+		public void onSubmit(final Form submittedData) {
+		}
+
+	}
+
+}
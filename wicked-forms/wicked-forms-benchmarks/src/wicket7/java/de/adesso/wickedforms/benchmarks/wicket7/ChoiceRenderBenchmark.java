@@ -0,0 +1,145 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.benchmarks.wicket7;
+
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSource;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSources;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.ListChoiceSource;
+import de.adesso.wickedforms.model.elements.fields.RadioGroup;
+import de.adesso.wickedforms.wicket7.components.WickedFormsChoiceRenderer;
+import de.adesso.wickedforms.wicket7.components.cache.CachedDropDownChoice;
+import de.adesso.wickedforms.wicket7.components.fields.IndexedRadioChoice;
+import org.apache.wicket.Page;
+import org.apache.wicket.markup.Markup;
+import org.apache.wicket.markup.html.form.AbstractChoice;
+import org.apache.wicket.markup.html.form.DropDownChoice;
+import org.apache.wicket.markup.html.form.Form;
+import org.apache.wicket.markup.html.form.RadioChoice;
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.util.tester.WicketTester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass rendering of {@link IndexedRadioChoice} and
+ * {@link CachedDropDownChoice} with the {@link RadioChoice} and
+ * {@link DropDownChoice} of Wicket for a choice field with many options. Each
+ * invocation renders a page that contains nothing but the choice component.
+ * Run it with
+ * <code>gradle :wicked-forms:wicked-forms-benchmarks:choiceBenchmark</code>,
+ * which adds the GC profiler: <code>gc.alloc.rate.norm</code> divided by the
+ * number of choices is the allocation per option, including the share of the
+ * request that does not depend on the choices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChoiceRenderBenchmark {
+
+	@Param({ "10000" })
+	private int choices;
+
+	@Param({ "indexedRadioChoice", "radioChoice", "cachedDropDownChoice", "dropDownChoice" })
+	private String component;
+
+	/**
+	 * Whether the labels are taken from a {@link ChoiceSource}, which escapes
+	 * them once per locale, or from the labeller of the field.
+	 */
+	@Param({ "false", "true" })
+	private boolean choiceSource;
+
+	private WicketTester tester;
+
+	private Page page;
+
+	@Setup
+	public void setUp() {
+		List<String> choiceList = new ArrayList<String>(this.choices);
+		for (int i = 0; i < this.choices; i++) {
+			choiceList.add("Choice <" + i + ">");
+		}
+		String selected = choiceList.get(this.choices / 2);
+
+		this.tester = new WicketTester(new MockApplication());
+		AbstractChoice<String, String> choice;
+		String tag;
+		if (this.component.endsWith("adioChoice")) {
+			RadioGroup<String> field = this.choiceSource ? new RadioGroup<String>("Choice", newSource(choiceList),
+					String.class) : new RadioGroup<String>("Choice", choiceList, String.class);
+			choice = "radioChoice".equals(this.component) ? new RadioChoice<String>("choice", Model.of(selected),
+					field.getChoices()) : new IndexedRadioChoice<String>("choice", Model.of(selected), field);
+			setChoiceRenderer(choice, field);
+			tag = "span";
+		} else {
+			DropDown<String> field = this.choiceSource ? new DropDown<String>("Choice", newSource(choiceList),
+					String.class) : new DropDown<String>("Choice", choiceList, String.class);
+			choice = "dropDownChoice".equals(this.component) ? new DropDownChoice<String>("choice",
+					Model.of(selected), field.getChoices()) : new CachedDropDownChoice<String>("choice",
+					Model.of(selected), field.getChoices(), field);
+			setChoiceRenderer(choice, field);
+			tag = "select";
+		}
+		Form<Void> form = new Form<Void>("form");
+		form.add(choice);
+		this.tester.startComponentInPage(form, Markup.of(String.format(
+				"<html><body><form wicket:id=\"form\"><%s wicket:id=\"choice\"></%s></form></body></html>", tag,
+				tag)));
+		this.page = this.tester.getLastRenderedPage();
+	}
+
+	private ChoiceSource<String> newSource(final List<String> choiceList) {
+		return ChoiceSources.register(new ListChoiceSource<String>("benchmark-" + this.choices, choiceList));
+	}
+
+	private void setChoiceRenderer(final AbstractChoice<String, String> choice, final AbstractSingleChoice<String> field) {
+		if (field.getChoiceSource() != null) {
+			choice.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceSource(field.getChoiceSource(), choice));
+		} else {
+			choice.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(field.getChoiceLabeller()));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.tester.destroy();
+	}
+
+	@Benchmark
+	public void render() {
+		this.tester.startPage(this.page);
+	}
+
+}
@@ -19,7 +19,9 @@ import de.adesso.wickedforms.model.validation.FormValidator;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class is the starting point for creating a dynamic form with Wicked
@@ -40,6 +42,18 @@ public class Form implements Serializable {
 
 	private final String label;
 
+	private final Map<String, AbstractFormElement> elementsById = new HashMap<String, AbstractFormElement>();
+
+	private int nextId = 1;
+
+	private String templateId;
+
+	private long templateVersion;
+
+	private String draftId;
+
+	private String instanceId;
+
 	/**
 	 * Constructor.
 	 * 
@@ -91,14 +105,165 @@ public class Form implements Serializable {
 
 	/**
 	 * Assigns a unique ID to each form element contained in this form if it
-	 * doesn't have an id yet.
+	 * doesn't have an id yet and registers all elements, so that they can be
+	 * found via {@link #getElementById(String)}.
+	 * <p/>
+	 * This method may be called again after elements have been added to the
+	 * form. IDs that are in use or have been in use are never assigned again.
 	 */
 	public void assignIds() {
-		getMainSection().assignIds(1);
+		assignIds(getMainSection());
+	}
+
+	private void assignIds(final AbstractFormElement element) {
+		if (element.getId() == null || "".equals(element.getId())) {
+			String id;
+			do {
+				id = String.valueOf(nextId++);
+			} while (elementsById.containsKey(id));
+			element.setId(id);
+		}
+		elementsById.put(element.getId(), element);
+		if (element instanceof Section) {
+			for (AbstractFormElement child : ((Section) element).getFormElements()) {
+				assignIds(child);
+			}
+		}
+	}
+
+	/**
+	 * Returns the form element with the given ID.
+	 * 
+	 * @param id
+	 *            the ID of the form element.
+	 * @return the form element or null if no element with this ID has been
+	 *         registered by {@link #assignIds()}.
+	 */
+	public AbstractFormElement getElementById(final String id) {
+		return elementsById.get(id);
+	}
+
+	/**
+	 * Physically removes all discarded form elements from their sections and
+	 * frees their IDs. {@link AbstractFormElement#onDiscard()} has already been
+	 * called for these elements when they were discarded.
+	 * 
+	 * @return the number of removed elements.
+	 */
+	public int removeDiscardedElements() {
+		return removeDiscardedElements(getMainSection());
+	}
+
+	private int removeDiscardedElements(final Section section) {
+		int removed = 0;
+		for (AbstractFormElement element : new ArrayList<AbstractFormElement>(section.getFormElements())) {
+			if (element.isDiscarded()) {
+				section.remove(element);
+				unregister(element);
+				removed++;
+			} else if (element instanceof Section) {
+				removed += removeDiscardedElements((Section) element);
+			}
+		}
+		return removed;
+	}
+
+	private void unregister(final AbstractFormElement element) {
+		if (element.getId() != null && elementsById.get(element.getId()) == element) {
+			elementsById.remove(element.getId());
+		}
+		if (element instanceof Section) {
+			for (AbstractFormElement child : ((Section) element).getFormElements()) {
+				unregister(child);
+			}
+		}
 	}
 
 	public Section getMainSection() {
 		return mainSection;
 	}
 
+	/**
+	 * Identifies the definition this form was created from. Wicked Forms
+	 * interpreters may use the template id to cache markup that only depends
+	 * on the definition, like the options of drop downs, across all forms
+	 * created from the same definition. If no template id is set, nothing is
+	 * cached.
+	 * <p/>
+	 * All forms with the same template id and version must have the same
+	 * structure and the same static texts.
+	 * 
+	 * @param templateId
+	 *            the id of the form definition.
+	 * @return this object for chaining
+	 */
+	public Form setTemplateId(final String templateId) {
+		this.templateId = templateId;
+		return this;
+	}
+
+	public String getTemplateId() {
+		return templateId;
+	}
+
+	/**
+	 * Sets the version of the form definition. The version must be increased
+	 * whenever the definition changes, so that cached markup of older versions
+	 * is discarded.
+	 * 
+	 * @param templateVersion
+	 *            the version of the form definition.
+	 * @return this object for chaining
+	 */
+	public Form setTemplateVersion(final long templateVersion) {
+		this.templateVersion = templateVersion;
+		return this;
+	}
+
+	public long getTemplateVersion() {
+		return templateVersion;
+	}
+
+	/**
+	 * Identifies the draft of this form instance. If a draft id is set, Wicked
+	 * Forms interpreters save the input of the user to this draft while the
+	 * form is being filled in, so that it can be restored, e.g. after the
+	 * session has expired. See
+	 * {@link de.adesso.wickedforms.model.draft.DraftAutosaver}.
+	 * 
+	 * @param draftId
+	 *            the id of the draft, unique per user and form instance.
+	 * @return this object for chaining
+	 */
+	public Form setDraftId(final String draftId) {
+		this.draftId = draftId;
+		return this;
+	}
+
+	public String getDraftId() {
+		return draftId;
+	}
+
+	/**
+	 * Identifies this form instance across the nodes of a cluster. If an
+	 * instance id is set and a
+	 * {@link de.adesso.wickedforms.model.state.FormStateStore} is registered,
+	 * Wicked Forms interpreters save the state of the form to the store after
+	 * each request and restore it when the form is created again with the same
+	 * instance id, e.g. on another node. See
+	 * {@link de.adesso.wickedforms.model.state.FormState}.
+	 * 
+	 * @param instanceId
+	 *            the id of the form instance, unique per user and form instance.
+	 * @return this object for chaining
+	 */
+	public Form setInstanceId(final String instanceId) {
+		this.instanceId = instanceId;
+		return this;
+	}
+
+	public String getInstanceId() {
+		return instanceId;
+	}
+
 }
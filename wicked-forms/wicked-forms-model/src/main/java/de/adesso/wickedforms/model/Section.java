@@ -20,6 +20,7 @@ import de.adesso.wickedforms.model.elements.AbstractFormElement;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -42,6 +43,8 @@ public class Section extends AbstractFormElement {
 
 	private boolean showRemoveButton = false;
 
+	private boolean added = false;
+
 	/**
 	 * Constructor.
 	 * 
@@ -92,7 +95,17 @@ public class Section extends AbstractFormElement {
 	}
 
 	public Section remove(final AbstractFormElement elementToRemove) {
-		if (this.formElements.remove(elementToRemove)) {
+		// remove by identity, since elements without an ID are not equal to
+		// themselves
+		boolean removed = false;
+		for (Iterator<AbstractFormElement> iterator = this.formElements.iterator(); iterator.hasNext();) {
+			if (iterator.next() == elementToRemove) {
+				iterator.remove();
+				removed = true;
+				break;
+			}
+		}
+		if (removed) {
 			elementToRemove.setParentSection(null);
 			// shift the index of all form elements behind the new one by one
 			for (AbstractFormElement element : this.formElements) {
@@ -173,7 +186,10 @@ public class Section extends AbstractFormElement {
 	 * @param startValue
 	 *            the ID to start with
 	 * @return the last ID that was assigned
+	 * @deprecated IDs are assigned by {@link Form#assignIds()}, which keeps
+	 *             track of the IDs already in use.
 	 */
+	@Deprecated
 	protected int assignIds(int startValue) {
 		setId("" + startValue++);
 		for (AbstractFormElement formElement : this.getFormElements()) {
@@ -212,6 +228,25 @@ public class Section extends AbstractFormElement {
 		return this.showRemoveButton;
 	}
 
+	/**
+	 * Marks this section as added by the user, see
+	 * {@link de.adesso.wickedforms.model.elements.buttons.AddSectionButton#addSection()}.
+	 * 
+	 * @return this object for chaining
+	 */
+	public Section setAdded(final boolean added) {
+		this.added = added;
+		return this;
+	}
+
+	/**
+	 * Determines if this section has been added by the user instead of being
+	 * part of the form definition.
+	 */
+	public boolean isAdded() {
+		return this.added;
+	}
+
 	/**
 	 * recursive search through the forms sections/elements for the given id
 	 * 
@@ -14,6 +14,8 @@
  */
 package de.adesso.wickedforms.model.binding;
 
+import de.adesso.wickedforms.model.metrics.Metrics;
+import de.adesso.wickedforms.model.metrics.Operation;
 import org.apache.commons.beanutils.PropertyUtils;
 
 /**
@@ -21,6 +23,10 @@ import org.apache.commons.beanutils.PropertyUtils;
  * a specified property of a specified object. Using a {@link PropertyBinding},
  * you can for example bind the "name" attribute of a Person object to a text
  * field within a form.
+ * <p/>
+ * If {@link Metrics} are enabled, the latency of the property access is
+ * recorded per class of the bound object. A binding does not know the form it
+ * is used in, so it is recorded without a form id.
  * 
  * @author Tom Hombergs (tom.hombergs@gmail.com)
  * 
@@ -58,24 +64,34 @@ public class PropertyBinding<T> implements Binding<T> {
 
 	@Override
 	public void setValue(T value) {
+		long start = Metrics.start();
 		try {
 			PropertyUtils.setSimpleProperty(boundObject, property, value);
 		} catch (Exception e) {
 			throw new IllegalStateException(String.format(
 					"Binding error! Setting property '%s' on bound object of class %s failed!", property,
 					boundObject.getClass()), e);
+		} finally {
+			if (start != Metrics.DISABLED) {
+				Metrics.stop(Operation.SET_PROPERTY, boundObject.getClass(), (String) null, start);
+			}
 		}
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public T getValue() {
+		long start = Metrics.start();
 		try {
 			return (T) PropertyUtils.getSimpleProperty(boundObject, property);
 		} catch (Exception e) {
 			throw new IllegalStateException(String.format(
 					"Binding error! Getting property '%s' from bound object of class %s failed!", property,
 					boundObject.getClass()), e);
+		} finally {
+			if (start != Metrics.DISABLED) {
+				Metrics.stop(Operation.GET_PROPERTY, boundObject.getClass(), (String) null, start);
+			}
 		}
 	}
 
@@ -0,0 +1,255 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.cache;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application-wide cache for rendered markup that only depends on the form
+ * definition, like the options of a drop down with many choices. Wicked Forms
+ * interpreters keep one cache per application and share the markup between
+ * all forms with the same {@link Form#getTemplateId()} and
+ * {@link Form#getTemplateVersion()}.
+ * <p/>
+ * Fragments are cached per template id and version, element id and locale.
+ * As documented by {@link Form#setTemplateId(String)}, all forms with the
+ * same template id and version have the same structure and static content,
+ * so a cache hit is a single map lookup and the content of an element is
+ * never compared. Elements of sections that have been added by the user with
+ * {@link AddSectionButton#addSection()} get their ids when they are added, so
+ * the same id may denote different elements in different forms. These
+ * elements are never cached, just like forms without a template id and
+ * elements without an id. When a form with a higher template version is
+ * rendered, all fragments of older versions of that template are discarded.
+ * <p/>
+ * The cache holds at most {@link #setMaxSize(int) maxSize} fragments. When it
+ * is full, the least recently used fragment is discarded.
+ */
+public class MarkupFragmentCache {
+
+	public static final int DEFAULT_MAX_SIZE = 50000;
+
+	/**
+	 * The fragments in access order. All access is synchronized on this map,
+	 * since a lookup moves the fragment to the end.
+	 */
+	private final LinkedHashMap<Key, String[]> fragments = new LinkedHashMap<Key, String[]>(256, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Key, String[]> eldest) {
+			return size() > MarkupFragmentCache.this.maxSize;
+		}
+
+	};
+
+	private final Map<String, Long> versions = new ConcurrentHashMap<String, Long>();
+
+	private volatile int maxSize = DEFAULT_MAX_SIZE;
+
+	/**
+	 * Creates the cache key for the markup of a form element.
+	 *
+	 * @param form
+	 *            the form containing the element.
+	 * @param element
+	 *            the form element the markup belongs to.
+	 * @param locale
+	 *            the locale the markup is rendered in.
+	 * @return the key or null if the markup must not be cached.
+	 */
+	public Key getKey(final Form form, final AbstractFormElement element, final Locale locale) {
+		if (element.getId() == null || form.getTemplateId() == null || isAdded(element)
+				|| !checkVersion(form.getTemplateId(), form.getTemplateVersion())) {
+			return null;
+		}
+		return new Key(form.getTemplateId(), form.getTemplateVersion(), element.getId(), locale);
+	}
+
+	/**
+	 * Determines whether the given element is part of a section that has been
+	 * added by an {@link AddSectionButton}.
+	 */
+	private static boolean isAdded(final AbstractFormElement element) {
+		Section section = element instanceof Section ? (Section) element : element.getParentSection();
+		while (section != null) {
+			if (section.isAdded()) {
+				return true;
+			}
+			section = section.getParentSection();
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a cached fragment.
+	 *
+	 * @param key
+	 *            the key of the fragment.
+	 * @return the markup of the fragment or null if it is not cached.
+	 */
+	public String[] get(final Key key) {
+		synchronized (this.fragments) {
+			return this.fragments.get(key);
+		}
+	}
+
+	/**
+	 * Stores a fragment in the cache. If the cache is full, the least recently
+	 * used fragment is discarded.
+	 *
+	 * @param key
+	 *            the key of the fragment.
+	 * @param markup
+	 *            the markup of the fragment.
+	 */
+	public void put(final Key key, final String[] markup) {
+		synchronized (this.fragments) {
+			this.fragments.put(key, markup);
+		}
+	}
+
+	/**
+	 * Removes all fragments of the given template.
+	 */
+	public void invalidate(final String templateId) {
+		synchronized (this.fragments) {
+			for (Iterator<Key> iterator = this.fragments.keySet().iterator(); iterator.hasNext();) {
+				if (iterator.next().templateId.equals(templateId)) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all fragments.
+	 */
+	public void clear() {
+		synchronized (this.fragments) {
+			this.fragments.clear();
+		}
+		this.versions.clear();
+	}
+
+	public int size() {
+		synchronized (this.fragments) {
+			return this.fragments.size();
+		}
+	}
+
+	/**
+	 * Sets the maximum number of cached fragments. Default is
+	 * {@value #DEFAULT_MAX_SIZE}. If more fragments are cached, the least
+	 * recently used ones are discarded.
+	 *
+	 * @return this object for chaining
+	 */
+	public MarkupFragmentCache setMaxSize(final int maxSize) {
+		synchronized (this.fragments) {
+			this.maxSize = maxSize;
+			Iterator<Key> iterator = this.fragments.keySet().iterator();
+			while (this.fragments.size() > maxSize) {
+				iterator.next();
+				iterator.remove();
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Registers the given template version. If it is newer than the known
+	 * version, all fragments of the template are discarded.
+	 *
+	 * @return false if the version is older than the known version. Fragments
+	 *         of outdated versions are not cached.
+	 */
+	private boolean checkVersion(final String templateId, final long templateVersion) {
+		Long knownVersion = this.versions.get(templateId);
+		if (knownVersion != null && knownVersion.longValue() == templateVersion) {
+			return true;
+		}
+		synchronized (this.versions) {
+			knownVersion = this.versions.get(templateId);
+			if (knownVersion == null || knownVersion.longValue() < templateVersion) {
+				this.versions.put(templateId, Long.valueOf(templateVersion));
+				if (knownVersion != null) {
+					invalidate(templateId);
+				}
+				return true;
+			}
+			return knownVersion.longValue() == templateVersion;
+		}
+	}
+
+	/**
+	 * Key of a cached fragment.
+	 */
+	public static final class Key {
+
+		private final String templateId;
+
+		private final long templateVersion;
+
+		private final String elementId;
+
+		private final Locale locale;
+
+		private final int hashCode;
+
+		public Key(final String templateId, final long templateVersion, final String elementId, final Locale locale) {
+			this.templateId = templateId;
+			this.templateVersion = templateVersion;
+			this.elementId = elementId;
+			this.locale = locale;
+			int hash = templateId.hashCode();
+			hash = 31 * hash + (int) (templateVersion ^ (templateVersion >>> 32));
+			hash = 31 * hash + elementId.hashCode();
+			hash = 31 * hash + (locale == null ? 0 : locale.hashCode());
+			this.hashCode = hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return this.hashCode == other.hashCode && this.templateVersion == other.templateVersion
+					&& this.elementId.equals(other.elementId) && this.templateId.equals(other.templateId)
+					&& (this.locale == null ? other.locale == null : this.locale.equals(other.locale));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+	}
+
+}
@@ -0,0 +1,145 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.draft;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The input of a user who has not submitted a form yet, keyed by the ids of
+ * the input fields. A draft is loaded from a {@link DraftStore} and restored
+ * into a new instance of the form with {@link #applyTo(Form)}.
+ */
+public class Draft implements Serializable {
+
+	/**
+	 * Returned by {@link #resolveChoices(AbstractFormElement, Object)} for
+	 * values that are not choices of a field.
+	 */
+	private static final Object UNRESOLVED = new Object();
+
+	private final String draftId;
+
+	private final Map<String, Object> values;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param draftId
+	 *            the id of the draft, see {@link Form#setDraftId(String)}.
+	 * @param values
+	 *            the input keyed by the ids of the form elements.
+	 */
+	public Draft(final String draftId, final Map<String, ?> values) {
+		this.draftId = draftId;
+		this.values = Collections.unmodifiableMap(new LinkedHashMap<String, Object>(values));
+	}
+
+	public String getDraftId() {
+		return draftId;
+	}
+
+	public Map<String, Object> getValues() {
+		return values;
+	}
+
+	public Object getValue(final String elementId) {
+		return values.get(elementId);
+	}
+
+	/**
+	 * Sets the values of this draft to the input fields of the given form. The
+	 * form must have the same definition as the form the draft was saved from,
+	 * so that its elements get the same ids. Values of elements that do not
+	 * exist in the form anymore are ignored.
+	 * <p/>
+	 * Values of choice fields are replaced by the equal choices of the field.
+	 * A value containing an object that is not a choice of the field anymore
+	 * is ignored as well, since the choices may have changed after the draft
+	 * has been saved. The choices thus need to implement
+	 * {@link Object#equals(Object)} to be restored from a stored draft.
+	 *
+	 * @param form
+	 *            the form to restore the draft into. Its ids are assigned if
+	 *            this has not been done yet.
+	 * @return the number of restored values.
+	 */
+	@SuppressWarnings("unchecked")
+	public int applyTo(final Form form) {
+		form.assignIds();
+		int restored = 0;
+		for (Map.Entry<String, Object> value : values.entrySet()) {
+			AbstractFormElement element = form.getElementById(value.getKey());
+			if (element instanceof AbstractInputField && !element.isDiscarded()) {
+				Object resolved = resolveChoices(element, value.getValue());
+				if (resolved != UNRESOLVED) {
+					((AbstractInputField<Object>) element).setValue(resolved);
+					restored++;
+				}
+			}
+		}
+		return restored;
+	}
+
+	/**
+	 * Replaces the objects of a value of a choice field by the choices of the
+	 * field.
+	 *
+	 * @return the value or {@link #UNRESOLVED} if it contains an object that
+	 *         is not a choice of the field.
+	 */
+	private static Object resolveChoices(final AbstractFormElement element, final Object value) {
+		if (value == null) {
+			return null;
+		}
+		if (element instanceof AbstractSingleChoice) {
+			AbstractSingleChoice<?> field = (AbstractSingleChoice<?>) element;
+			int index = field.indexOf(value);
+			return index == -1 ? UNRESOLVED : field.getChoices().get(index);
+		}
+		if (element instanceof AbstractMultiChoice) {
+			if (!(value instanceof List)) {
+				return UNRESOLVED;
+			}
+			AbstractMultiChoice<?> field = (AbstractMultiChoice<?>) element;
+			List<Object> choices = new ArrayList<Object>(((List<?>) value).size());
+			for (Object choice : (List<?>) value) {
+				int index = field.indexOf(choice);
+				if (index == -1) {
+					return UNRESOLVED;
+				}
+				choices.add(field.getChoices().get(index));
+			}
+			return choices;
+		}
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Draft [draftId=%s, values=%s]", draftId, values);
+	}
+
+}
@@ -0,0 +1,242 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.draft;
+
+import de.adesso.wickedforms.model.Form;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the input of users to a {@link DraftStore} while they fill in a form.
+ * Wicked Forms interpreters call {@link #record(String, String, Object)}
+ * whenever the input of a field changes. The changes are collected per draft
+ * and written as a single delta when the delay has passed since the first
+ * unsaved change, so that a user typing into several fields causes a single
+ * write. Only the latest input of each field is written.
+ * <p/>
+ * All writes are done by a single background thread, so that the deltas of
+ * a draft are stored in the order they were recorded. An autosaver is usually
+ * created once per application and closed on shutdown with {@link #close()}.
+ */
+public class DraftAutosaver {
+
+	public static final long DEFAULT_DELAY = 2000;
+
+	private final DraftStore store;
+
+	private final long delay;
+
+	private final ConcurrentMap<String, Map<String, Object>> pending = new ConcurrentHashMap<String, Map<String, Object>>();
+
+	private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			Thread thread = new Thread(runnable, "wicked-forms-autosave");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	public DraftAutosaver(final DraftStore store) {
+		this(store, DEFAULT_DELAY);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param store
+	 *            the store to write the drafts to.
+	 * @param delay
+	 *            the time in milliseconds that changes are collected before
+	 *            they are written.
+	 */
+	public DraftAutosaver(final DraftStore store, final long delay) {
+		this.store = store;
+		this.delay = delay;
+	}
+
+	public DraftStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Records the changed input of a field. Returns immediately, the input is
+	 * written later. Input of fields without an id is ignored, since it could
+	 * not be restored.
+	 *
+	 * @param draftId
+	 *            the id of the draft, see {@link Form#setDraftId(String)}.
+	 * @param elementId
+	 *            the id of the input field.
+	 * @param value
+	 *            the converted input of the field.
+	 */
+	public void record(final String draftId, final String elementId, final Object value) {
+		if (elementId == null) {
+			return;
+		}
+		while (true) {
+			Map<String, Object> delta = this.pending.get(draftId);
+			if (delta == null) {
+				delta = new LinkedHashMap<String, Object>();
+				delta.put(elementId, value);
+				if (this.pending.putIfAbsent(draftId, delta) == null) {
+					this.writer.schedule((Runnable) new Flush(draftId), this.delay, TimeUnit.MILLISECONDS);
+					return;
+				}
+			} else {
+				synchronized (delta) {
+					// the delta may have been taken for writing in the meantime
+					if (this.pending.get(draftId) == delta) {
+						delta.put(elementId, value);
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the unsaved changes of a draft immediately and waits until they
+	 * have been written.
+	 */
+	public void flush(final String draftId) throws IOException {
+		await(new Flush(draftId));
+	}
+
+	/**
+	 * Discards the unsaved changes of a draft and deletes the draft from the
+	 * store, e.g. after the form has been submitted. Returns immediately, the
+	 * draft is deleted in the background.
+	 */
+	public void discard(final String draftId) {
+		this.pending.remove(draftId);
+		this.writer.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					DraftAutosaver.this.store.delete(draftId);
+				} catch (IOException e) {
+					onError(draftId, e);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Restores a draft into a new instance of a form, including changes that
+	 * have not been written yet. See {@link Draft#applyTo(Form)}.
+	 *
+	 * @param draftId
+	 *            the id of the draft.
+	 * @param form
+	 *            the form to restore the draft into.
+	 * @return true if the draft has been restored, false if it does not exist.
+	 */
+	public boolean restore(final String draftId, final Form form) throws IOException {
+		flush(draftId);
+		Draft draft = this.store.load(draftId);
+		if (draft == null) {
+			return false;
+		}
+		draft.applyTo(form);
+		return true;
+	}
+
+	/**
+	 * Called when the changes of a draft could not be written or the draft
+	 * could not be deleted in the background. Does nothing by default,
+	 * override to log the error.
+	 *
+	 * @param draftId
+	 *            the id of the draft.
+	 * @param exception
+	 *            the exception thrown by the store.
+	 */
+	protected void onError(final String draftId, final IOException exception) {
+	}
+
+	/**
+	 * Writes all unsaved changes and stops the background thread.
+	 */
+	public void close() throws IOException {
+		for (String draftId : new ArrayList<String>(this.pending.keySet())) {
+			flush(draftId);
+		}
+		this.writer.shutdown();
+	}
+
+	private void await(final Callable<Void> task) throws IOException {
+		try {
+			this.writer.submit(task).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for the draft to be written!", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IllegalStateException("The draft could not be written!", e.getCause());
+		}
+	}
+
+	/**
+	 * Writes the unsaved changes of a draft, if there are any.
+	 */
+	private class Flush implements Runnable, Callable<Void> {
+
+		private final String draftId;
+
+		Flush(final String draftId) {
+			this.draftId = draftId;
+		}
+
+		@Override
+		public Void call() throws IOException {
+			Map<String, Object> delta = pending.remove(this.draftId);
+			if (delta == null) {
+				return null;
+			}
+			Map<String, Object> values;
+			synchronized (delta) {
+				values = new LinkedHashMap<String, Object>(delta);
+			}
+			store.append(this.draftId, values);
+			return null;
+		}
+
+		@Override
+		public void run() {
+			try {
+				call();
+			} catch (IOException e) {
+				onError(this.draftId, e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,57 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.draft;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Persists the drafts of forms that have not been submitted yet. A draft is
+ * written as a sequence of deltas, each containing only the inputs that have
+ * changed since the previous one. See {@link FileDraftStore} for the default
+ * implementation.
+ */
+public interface DraftStore {
+
+	/**
+	 * Adds the changed inputs to a draft. Inputs of the same element that
+	 * have been written before are replaced.
+	 *
+	 * @param draftId
+	 *            the id of the draft.
+	 * @param delta
+	 *            the changed inputs keyed by the ids of the form elements.
+	 */
+	void append(String draftId, Map<String, ?> delta) throws IOException;
+
+	/**
+	 * Loads a draft with all of its deltas applied.
+	 *
+	 * @param draftId
+	 *            the id of the draft.
+	 * @return the draft or null if no draft with this id exists.
+	 */
+	Draft load(String draftId) throws IOException;
+
+	/**
+	 * Deletes a draft, e.g. after the form has been submitted. Does nothing
+	 * if the draft does not exist.
+	 *
+	 * @param draftId
+	 *            the id of the draft.
+	 */
+	void delete(String draftId) throws IOException;
+
+}
@@ -0,0 +1,188 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.draft;
+
+import de.adesso.wickedforms.model.state.ValueCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Stores each draft in a file of its own, to which the deltas are appended.
+ * Each delta is written as a frame of its length, a CRC32 checksum and the
+ * changed inputs, so that a delta that has only been written partially, e.g.
+ * because the server crashed, is ignored when the draft is loaded.
+ * <p/>
+ * The values are written with {@link ValueCodec}. When a draft consisting of
+ * many deltas is loaded, its file is rewritten with a single delta.
+ */
+public class FileDraftStore implements DraftStore {
+
+	private static final String SUFFIX = ".draft";
+
+	private static final int COMPACTION_THRESHOLD = 16;
+
+	private static final int LOCKS = 64;
+
+	private final File directory;
+
+	private final Object[] locks = new Object[LOCKS];
+
+	/**
+	 * Constructor.
+	 *
+	 * @param directory
+	 *            the directory to store the drafts in. It is created if it
+	 *            does not exist.
+	 */
+	public FileDraftStore(final File directory) {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IllegalArgumentException(String.format("Directory %s could not be created!", directory));
+		}
+		this.directory = directory;
+		for (int i = 0; i < LOCKS; i++) {
+			this.locks[i] = new Object();
+		}
+	}
+
+	@Override
+	public void append(final String draftId, final Map<String, ?> delta) throws IOException {
+		byte[] frame = encode(delta);
+		synchronized (lock(draftId)) {
+			FileOutputStream out = new FileOutputStream(getFile(draftId), true);
+			try {
+				out.write(frame);
+			} finally {
+				out.close();
+			}
+		}
+	}
+
+	@Override
+	public Draft load(final String draftId) throws IOException {
+		synchronized (lock(draftId)) {
+			File file = getFile(draftId);
+			if (!file.exists()) {
+				return null;
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+			Map<String, Object> values = new LinkedHashMap<String, Object>();
+			int deltas = 0;
+			while (decode(buffer, values)) {
+				deltas++;
+			}
+			if (deltas > COMPACTION_THRESHOLD || buffer.hasRemaining()) {
+				File tmp = new File(this.directory, file.getName() + ".tmp");
+				Files.write(tmp.toPath(), encode(values));
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			}
+			return new Draft(draftId, values);
+		}
+	}
+
+	@Override
+	public void delete(final String draftId) throws IOException {
+		synchronized (lock(draftId)) {
+			Files.deleteIfExists(getFile(draftId).toPath());
+		}
+	}
+
+	private Object lock(final String draftId) {
+		return this.locks[(draftId.hashCode() & Integer.MAX_VALUE) % LOCKS];
+	}
+
+	/**
+	 * Returns the file of a draft. All characters of the id except letters,
+	 * digits, '-' and '_' are escaped, so that any id can be used.
+	 */
+	private File getFile(final String draftId) {
+		StringBuilder name = new StringBuilder(draftId.length() + SUFFIX.length());
+		for (int i = 0; i < draftId.length(); i++) {
+			char c = draftId.charAt(i);
+			if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_') {
+				name.append(c);
+			} else {
+				name.append(String.format("~%04x", (int) c));
+			}
+		}
+		return new File(this.directory, name.append(SUFFIX).toString());
+	}
+
+	private static byte[] encode(final Map<String, ?> delta) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(0);
+		out.writeInt(0);
+		out.writeInt(delta.size());
+		for (Map.Entry<String, ?> value : delta.entrySet()) {
+			out.writeUTF(value.getKey());
+			ValueCodec.writeValue(out, value.getValue());
+		}
+		out.flush();
+
+		byte[] frame = bytes.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(frame, 8, frame.length - 8);
+		ByteBuffer header = ByteBuffer.wrap(frame);
+		header.putInt(frame.length - 8);
+		header.putInt((int) crc.getValue());
+		return frame;
+	}
+
+	/**
+	 * Reads the next delta into the given values.
+	 *
+	 * @return false if there is no further complete delta.
+	 */
+	private static boolean decode(final ByteBuffer buffer, final Map<String, Object> values) throws IOException {
+		if (buffer.remaining() < 8) {
+			return false;
+		}
+		int start = buffer.position();
+		int length = buffer.getInt();
+		int checksum = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			buffer.position(start);
+			return false;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), buffer.position(), length);
+		if ((int) crc.getValue() != checksum) {
+			buffer.position(start);
+			return false;
+		}
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array(), buffer.position(), length));
+		buffer.position(buffer.position() + length);
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String elementId = in.readUTF();
+			values.put(elementId, ValueCodec.readValue(in));
+		}
+		return true;
+	}
+
+}
@@ -97,9 +97,10 @@ public abstract class AbstractFormElement implements Serializable {
 	 * not be evaluated at form submission.
 	 * <p/>
 	 * A use case for discarding a form element is when a user clicks on a
-	 * "remove this section" button. The section is not actually removed from
-	 * the Form but instead marked "discarded", so that frameworks that
-	 * work with list indices still function. Elements marked as "discarded"
+	 * "remove this section" button. Wicked Forms interpreters may afterwards
+	 * physically remove discarded elements from the form by calling
+	 * {@link de.adesso.wickedforms.model.Form#removeDiscardedElements()}.
+	 * Elements marked as "discarded" that are still contained in the form
 	 * should not be evaluated in the form's onSubmit method!
 	 * <p/>
 	 * Note that you should implement {@link #onDiscard()} when you plan to call
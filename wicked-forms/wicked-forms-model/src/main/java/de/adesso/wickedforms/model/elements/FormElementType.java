@@ -18,12 +18,14 @@ import de.adesso.wickedforms.model.Section;
 import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
 import de.adesso.wickedforms.model.elements.fields.Checkbox;
 import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.ChoiceMatrix;
 import de.adesso.wickedforms.model.elements.fields.DropDown;
 import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
 import de.adesso.wickedforms.model.elements.fields.RadioGroup;
 import de.adesso.wickedforms.model.elements.fields.StringTextField;
 import de.adesso.wickedforms.model.elements.fields.TextArea;
 import de.adesso.wickedforms.model.elements.fields.TextField;
+import de.adesso.wickedforms.model.elements.fields.TypeaheadChoice;
 
 /**
  * Enumeration to map the different Wicked Forms models to an enumeration
@@ -57,7 +59,11 @@ public enum FormElementType {
 
 	TEXTFIELD_STRING(StringTextField.class),
 
-	TEXTFIELD_INTEGER(IntegerTextField.class);
+	TEXTFIELD_INTEGER(IntegerTextField.class),
+
+	TYPEAHEAD(TypeaheadChoice.class),
+
+	CHOICEMATRIX(ChoiceMatrix.class);
 
 	public static <T extends AbstractFormElement> FormElementType ofObject(AbstractFormElement formElement) {
 		for (FormElementType elementType : FormElementType.values()) {
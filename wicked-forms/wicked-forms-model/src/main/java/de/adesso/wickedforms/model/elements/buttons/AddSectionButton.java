@@ -18,6 +18,9 @@ import de.adesso.wickedforms.model.Section;
 import de.adesso.wickedforms.model.elements.AbstractFormElement;
 import org.apache.commons.lang.builder.ToStringBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Use this model to add a button to a form that allows to add a new section to
  * the form.
@@ -29,6 +32,8 @@ public abstract class AddSectionButton extends AbstractFormElement {
 
 	private String label;
 
+	private final List<Section> addedSections = new ArrayList<Section>();
+
 	public AddSectionButton(String label) {
 		this.label = label;
 	}
@@ -51,6 +56,69 @@ public abstract class AddSectionButton extends AbstractFormElement {
 	 */
 	public abstract Section createSection();
 
+	/**
+	 * Creates a section with {@link #createSection()} and inserts it directly
+	 * ABOVE this button. Wicked Forms interpreters call this method when the
+	 * button is clicked, so that the added sections can be recreated, e.g.
+	 * when the state of the form is restored on another node (see
+	 * {@link de.adesso.wickedforms.model.state.FormState}).
+	 * 
+	 * @return the added section or null if no section has been created.
+	 * @throws IllegalStateException
+	 *             if this button has not been added to a section.
+	 */
+	public Section addSection() {
+		Section parentSection = getParentSection();
+		if (parentSection == null) {
+			throw new IllegalStateException(String.format("Button %s has not been added to a section!", getLabel()));
+		}
+		Section section = createSection();
+		if (section != null) {
+			section.setAdded(true);
+			parentSection.insertBefore(section, this);
+			this.addedSections.add(section);
+		}
+		return section;
+	}
+
+	/**
+	 * Retrieves the sections that have been added by {@link #addSection()} and
+	 * are still contained in the form, in the order they have been added.
+	 * Sections that have been removed from the form, e.g. by
+	 * {@link de.adesso.wickedforms.model.Form#removeDiscardedElements()}, are
+	 * not contained.
+	 * 
+	 * @return the added sections.
+	 */
+	public List<Section> getAddedSections() {
+		removeDetachedSections();
+		return new ArrayList<Section>(this.addedSections);
+	}
+
+	/**
+	 * Determines whether the given section has been added by
+	 * {@link #addSection()} and is still contained in the form.
+	 */
+	public boolean isAdded(final Section section) {
+		if (section.getParentSection() != getParentSection()) {
+			return false;
+		}
+		for (Section addedSection : this.addedSections) {
+			if (addedSection == section) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void removeDetachedSections() {
+		for (int i = this.addedSections.size() - 1; i >= 0; i--) {
+			if (this.addedSections.get(i).getParentSection() != getParentSection()) {
+				this.addedSections.remove(i);
+			}
+		}
+	}
+
 	@Override
 	public String toString() {
 		return ToStringBuilder.reflectionToString(this);
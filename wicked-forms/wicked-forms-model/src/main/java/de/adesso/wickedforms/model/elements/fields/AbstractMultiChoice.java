@@ -16,12 +16,23 @@ package de.adesso.wickedforms.model.elements.fields;
 
 import de.adesso.wickedforms.model.binding.Binding;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Abstract base class for all input fields that allow a user to select one or
  * more items from a specified selection of items. An input field of this type
  * binds to a list of objects of type T.
+ * <p/>
+ * Unless a binding is given, the selected items are stored as a
+ * {@link ChoiceSelection} of choice indexes, so that checking whether an item
+ * is selected takes constant time. In this case {@link #getValue()} returns a
+ * copy of the selected items in the order of the choices, and
+ * {@link #setValue(List)} throws an {@link IllegalArgumentException} for items
+ * that are not choices of this field. Use {@link #getSelection()} to access
+ * the selection without copying.
  * 
  * @author Tom Hombergs (tom.hombergs@gmail.com)
  * 
@@ -35,10 +46,18 @@ public abstract class AbstractMultiChoice<T> extends
 
 	private final ChoiceLabeller<T> choiceLabeller;
 
+	private final ChoiceSource<T> choiceSource;
+
+	private transient Map<T, Integer> choiceIndexes;
+
+	private transient int indexedSize;
+
 	public AbstractMultiChoice(final String label, final List<T> choices) {
 		super(label);
 		this.choices = choices;
+		this.choiceSource = null;
 		this.choiceLabeller = new ToStringChoiceLabeller<T>();
+		bindSelection();
 	}
 
 	/**
@@ -53,7 +72,9 @@ public abstract class AbstractMultiChoice<T> extends
 	public AbstractMultiChoice(final String label, final List<T> choices, final ChoiceLabeller<T> choiceLabeller) {
 		super(label);
 		this.choices = choices;
+		this.choiceSource = null;
 		this.choiceLabeller = choiceLabeller;
+		bindSelection();
 	}
 
 	/**
@@ -71,7 +92,9 @@ public abstract class AbstractMultiChoice<T> extends
 	    final List<T> value) {
 		super(label, value);
 		this.choices = choices;
+		this.choiceSource = null;
 		this.choiceLabeller = choiceLabeller;
+		bindSelection();
 	}
 
 	/**
@@ -89,12 +112,70 @@ public abstract class AbstractMultiChoice<T> extends
 	    final Binding<List<T>> binding) {
 		super(label, binding);
 		this.choices = choices;
+		this.choiceSource = null;
 		this.choiceLabeller = choiceLabeller;
 	}
 
+	/**
+	 * Constructor with a shared source of choices. Only the key of the source
+	 * is serialized with this field.
+	 * 
+	 * @param label
+	 *          the label of the input field.
+	 * @param choiceSource
+	 *          the source of the choices that are displayed to the user. Its
+	 *          {@link ChoiceLabeller} is used to create the text representation
+	 *          of the choices.
+	 */
+	public AbstractMultiChoice(final String label, final ChoiceSource<T> choiceSource) {
+		super(label);
+		this.choices = choiceSource.asList();
+		this.choiceSource = choiceSource;
+		this.choiceLabeller = choiceSource.getChoiceLabeller();
+		bindSelection();
+	}
+
+	/**
+	 * Constructor with a shared source of choices and initial value.
+	 * 
+	 * @param label
+	 *          the label of the input field.
+	 * @param choiceSource
+	 *          the source of the choices that are displayed to the user.
+	 * @param value
+	 *          the list of items that are initially selected.
+	 */
+	public AbstractMultiChoice(final String label, final ChoiceSource<T> choiceSource, final List<T> value) {
+		super(label, value);
+		this.choices = choiceSource.asList();
+		this.choiceSource = choiceSource;
+		this.choiceLabeller = choiceSource.getChoiceLabeller();
+		bindSelection();
+	}
+
+	/**
+	 * Constructor with a shared source of choices and binding.
+	 * 
+	 * @param label
+	 *          the label of the input field.
+	 * @param choiceSource
+	 *          the source of the choices that are displayed to the user.
+	 * @param binding
+	 *          the binding between this input field and an arbitrary object.
+	 */
+	public AbstractMultiChoice(final String label, final ChoiceSource<T> choiceSource,
+	    final Binding<List<T>> binding) {
+		super(label, binding);
+		this.choices = choiceSource.asList();
+		this.choiceSource = choiceSource;
+		this.choiceLabeller = choiceSource.getChoiceLabeller();
+	}
+
 	public AbstractMultiChoice(final List<T> choices, final ChoiceLabeller<T> choiceLabeller) {
 		this.choices = choices;
+		this.choiceSource = null;
 		this.choiceLabeller = choiceLabeller;
+		bindSelection();
 	}
 
 	/**
@@ -110,4 +191,123 @@ public abstract class AbstractMultiChoice<T> extends
 		return this.choiceLabeller;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Retrieves the shared source of the choices.
+	 * 
+	 * @return the source or null if the choices have been passed as a list.
+	 */
+	public ChoiceSource<T> getChoiceSource() {
+		return this.choiceSource;
+	}
+
+	/**
+	 * Retrieves the selected items as {@link ChoiceSelection}. If this field is
+	 * bound to a list of its own, a selection containing the choices of that
+	 * list is created.
+	 * 
+	 * @return the selected items.
+	 */
+	@SuppressWarnings("unchecked")
+	public ChoiceSelection<T> getSelection() {
+		if (getBinding() instanceof SelectionBinding) {
+			return ((SelectionBinding<T>) getBinding()).selection;
+		}
+		ChoiceSelection<T> selection = new ChoiceSelection<T>(this);
+		List<T> value = getValue();
+		if (value != null) {
+			for (T choice : value) {
+				int index = indexOf(choice);
+				if (index != -1) {
+					selection.select(index);
+				}
+			}
+		}
+		return selection;
+	}
+
+	/**
+	 * Determines the index of a choice in constant time. The indexes are
+	 * created again if choices have been added to or removed from
+	 * {@link #getChoices()} or if a choice has been found at an outdated index.
+	 * 
+	 * @param choice
+	 *          the choice to look up.
+	 * @return the index of the choice in {@link #getChoices()} or -1 if the
+	 *         object is not a choice of this field.
+	 */
+	public int indexOf(final Object choice) {
+		if (this.choiceSource != null) {
+			return this.choiceSource.indexOf(choice);
+		}
+		if (this.choiceIndexes == null || this.indexedSize != this.choices.size()) {
+			indexChoices();
+		}
+		Integer index = this.choiceIndexes.get(choice);
+		if (index != null && !equal(this.choices.get(index), choice)) {
+			// a choice has been replaced within the list
+			indexChoices();
+			index = this.choiceIndexes.get(choice);
+		}
+		return index == null ? -1 : index;
+	}
+
+	private void indexChoices() {
+		this.choiceIndexes = createChoiceIndexes(this.choices);
+		this.indexedSize = this.choices.size();
+	}
+
+	static <T> Map<T, Integer> createChoiceIndexes(final List<T> choices) {
+		Map<T, Integer> indexes = new HashMap<T, Integer>(choices.size() * 2);
+		for (int i = choices.size() - 1; i >= 0; i--) {
+			indexes.put(choices.get(i), i);
+		}
+		return indexes;
+	}
+
+	private static boolean equal(final Object o1, final Object o2) {
+		return o1 == null ? o2 == null : o1.equals(o2);
+	}
+
+	/**
+	 * Replaces the default binding by a {@link ChoiceSelection}, keeping the
+	 * initial value.
+	 */
+	private void bindSelection() {
+		List<T> value = getValue();
+		setBinding(new SelectionBinding<T>(new ChoiceSelection<T>(this)));
+		setValue(value);
+	}
+
+	/**
+	 * Binds a multi choice field to a {@link ChoiceSelection}. Lists passed to
+	 * {@link #setValue(List)} are copied into the selection, and
+	 * {@link #getValue()} returns a copy of the selection, so that values
+	 * taken from the field do not change with it.
+	 */
+	private static class SelectionBinding<T> implements Binding<List<T>> {
+
+		private final ChoiceSelection<T> selection;
+
+		public SelectionBinding(final ChoiceSelection<T> selection) {
+			this.selection = selection;
+		}
+
+		@Override
+		public void setValue(final List<T> value) {
+			if (value == this.selection) {
+				return;
+			}
+			this.selection.clear();
+			if (value != null) {
+				this.selection.addAll(value);
+			}
+		}
+
+		@Override
+		public List<T> getValue() {
+			return new ArrayList<T>(this.selection);
+		}
+
+	}
+
+}
@@ -36,6 +36,8 @@ public abstract class AbstractSingleChoice<T> extends
 
 	private final Class<T> modelClass;
 
+	private final ChoiceSource<T> choiceSource;
+
 	/**
 	 * Constructor defining a {@link ChoiceLabeller}.
 	 * 
@@ -51,6 +53,7 @@ public abstract class AbstractSingleChoice<T> extends
 			Class<T> modelClass) {
 		super(label);
 		this.choices = choices;
+		this.choiceSource = null;
 		this.choiceLabeller = choiceLabeller;
 		this.modelClass = modelClass;
 	}
@@ -67,6 +70,7 @@ public abstract class AbstractSingleChoice<T> extends
 	public AbstractSingleChoice(final String label, final List<T> choices, Class<T> modelClass) {
 		super(label);
 		this.choices = choices;
+		this.choiceSource = null;
 		this.modelClass = modelClass;
 		this.choiceLabeller = new ToStringChoiceLabeller<T>();
 	}
@@ -85,6 +89,7 @@ public abstract class AbstractSingleChoice<T> extends
 			final T value, Class<T> modelClass) {
 		super(label, value);
 		this.choices = choices;
+		this.choiceSource = null;
 		this.choiceLabeller = choiceLabeller;
 		this.modelClass = modelClass;
 	}
@@ -104,12 +109,72 @@ public abstract class AbstractSingleChoice<T> extends
 			final Binding<T> binding, Class<T> modelClass) {
 		super(label, binding);
 		this.choices = choices;
+		this.choiceSource = null;
 		this.choiceLabeller = choiceLabeller;
 		this.modelClass = modelClass;
 	}
 
+	/**
+	 * Constructor with a shared source of choices. Only the key of the source
+	 * is serialized with this field.
+	 * 
+	 * @param label
+	 *            the label of the field.
+	 * @param choiceSource
+	 *            the source of the items the user can choose from. Its
+	 *            {@link ChoiceLabeller} is used to create the text
+	 *            representation of the choices.
+	 */
+	public AbstractSingleChoice(final String label, final ChoiceSource<T> choiceSource, Class<T> modelClass) {
+		super(label);
+		this.choices = choiceSource.asList();
+		this.choiceSource = choiceSource;
+		this.choiceLabeller = choiceSource.getChoiceLabeller();
+		this.modelClass = modelClass;
+	}
+
+	/**
+	 * Constructor with a shared source of choices and initial value.
+	 * 
+	 * @param label
+	 *            the label of the field.
+	 * @param choiceSource
+	 *            the source of the items the user can choose from.
+	 * @param value
+	 *            the initial value of the item.
+	 */
+	public AbstractSingleChoice(final String label, final ChoiceSource<T> choiceSource, final T value,
+			Class<T> modelClass) {
+		super(label, value);
+		this.choices = choiceSource.asList();
+		this.choiceSource = choiceSource;
+		this.choiceLabeller = choiceSource.getChoiceLabeller();
+		this.modelClass = modelClass;
+	}
+
+	/**
+	 * Constructor with a shared source of choices and binding.
+	 * 
+	 * @param label
+	 *            the label of the field.
+	 * @param choiceSource
+	 *            the source of the items the user can choose from.
+	 * @param binding
+	 *            the binding providing the link between this input field's
+	 *            value and an arbitrary java object.
+	 */
+	public AbstractSingleChoice(final String label, final ChoiceSource<T> choiceSource, final Binding<T> binding,
+			Class<T> modelClass) {
+		super(label, binding);
+		this.choices = choiceSource.asList();
+		this.choiceSource = choiceSource;
+		this.choiceLabeller = choiceSource.getChoiceLabeller();
+		this.modelClass = modelClass;
+	}
+
 	public AbstractSingleChoice(final List<T> choices, final ChoiceLabeller<T> choiceLabeller, Class<T> modelClass) {
 		this.choices = choices;
+		this.choiceSource = null;
 		this.choiceLabeller = choiceLabeller;
 		this.modelClass = modelClass;
 	}
@@ -127,6 +192,28 @@ public abstract class AbstractSingleChoice<T> extends
 		return this.choiceLabeller;
 	}
 
+	/**
+	 * Determines the index of a choice. Choices of a {@link ChoiceSource} are
+	 * looked up in constant time.
+	 * 
+	 * @param choice
+	 *            the choice to look up.
+	 * @return the index of the choice in {@link #getChoices()} or -1 if the
+	 *         object is not a choice of this field.
+	 */
+	public int indexOf(final Object choice) {
+		return this.choiceSource != null ? this.choiceSource.indexOf(choice) : this.choices.indexOf(choice);
+	}
+
+	/**
+	 * Retrieves the shared source of the choices.
+	 * 
+	 * @return the source or null if the choices have been passed as a list.
+	 */
+	public ChoiceSource<T> getChoiceSource() {
+		return this.choiceSource;
+	}
+
 	@Override
 	public Class<T> getModelClass() {
 		return this.modelClass;
@@ -48,6 +48,19 @@ public class CheckboxGroup<T> extends
 		super(label, choices, choiceLabeller, binding);
 	}
 
+	public CheckboxGroup(final String label, final ChoiceSource<T> choiceSource) {
+		super(label, choiceSource);
+	}
+
+	public CheckboxGroup(final String label, final ChoiceSource<T> choiceSource, final List<T> value) {
+		super(label, choiceSource, value);
+	}
+
+	public CheckboxGroup(final String label, final ChoiceSource<T> choiceSource,
+	    final Binding<List<T>> binding) {
+		super(label, choiceSource, binding);
+	}
+
 	public CheckboxGroup(final List<T> choices, final ChoiceLabeller<T> choiceLabeller) {
 		super(choices, choiceLabeller);
 	}
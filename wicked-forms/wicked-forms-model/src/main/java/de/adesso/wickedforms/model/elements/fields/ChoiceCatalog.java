@@ -0,0 +1,86 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A large list of choices that is shared by all forms of an application. Each
+ * choice is identified by a string ID and can be searched by the prefix of its
+ * label, so that the choices never have to be held by the form itself.
+ * <p/>
+ * Catalogs are registered under a unique key in {@link ChoiceCatalogs}.
+ * Implementations should only serialize this key (see
+ * {@link ChoiceCatalogs#writeReplace(ChoiceCatalog)}), so that forms
+ * referencing a catalog stay small.
+ *
+ * @param <T>
+ *            type of the objects that the user may select from.
+ */
+public interface ChoiceCatalog<T> extends Serializable {
+
+	/**
+	 * The key under which this catalog is registered in {@link ChoiceCatalogs}.
+	 */
+	String getKey();
+
+	/**
+	 * The number of choices in this catalog.
+	 */
+	int size();
+
+	/**
+	 * Searches the choices whose label starts with the given prefix, ignoring
+	 * case. The matches are sorted by their label.
+	 *
+	 * @param prefix
+	 *            the prefix entered by the user.
+	 * @param first
+	 *            the number of matches to skip, used for paging.
+	 * @param count
+	 *            the maximum number of matches to return.
+	 * @return the IDs of the matching choices.
+	 */
+	List<String> find(String prefix, int first, int count);
+
+	/**
+	 * Counts the choices whose label starts with the given prefix, ignoring
+	 * case.
+	 */
+	int count(String prefix);
+
+	/**
+	 * Resolves the ID of a choice.
+	 *
+	 * @return the choice or null if the ID is unknown.
+	 */
+	T getChoice(String id);
+
+	/**
+	 * Retrieves the label of the choice with the given ID.
+	 *
+	 * @return the label or null if the ID is unknown.
+	 */
+	String getLabel(String id);
+
+	/**
+	 * Retrieves the ID of the given choice.
+	 *
+	 * @return the ID or null if the choice is not contained in this catalog.
+	 */
+	String getId(T choice);
+
+}
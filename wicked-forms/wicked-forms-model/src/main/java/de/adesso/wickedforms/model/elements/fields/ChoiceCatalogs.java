@@ -0,0 +1,75 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.util.Locale;
+
+/**
+ * Registry of all {@link ChoiceCatalog}s of an application. Form elements
+ * referencing a catalog only serialize its key and look the catalog up here
+ * when they are deserialized.
+ */
+public final class ChoiceCatalogs {
+
+	private ChoiceCatalogs() {
+	}
+
+	/**
+	 * Registers a catalog under its key. A catalog that has already been
+	 * registered under the same key is replaced.
+	 *
+	 * @return the registered catalog.
+	 */
+	public static <T, C extends ChoiceCatalog<T>> C register(final C catalog) {
+		return ChoiceRegistry.CATALOGS.register(catalog.getKey(), catalog);
+	}
+
+	/**
+	 * Retrieves the catalog that has been registered under the given key.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if no catalog has been registered under the key.
+	 */
+	public static <T> ChoiceCatalog<T> get(final String key) {
+		return ChoiceRegistry.CATALOGS.getRegistered(key);
+	}
+
+	/**
+	 * Removes the catalog that has been registered under the given key.
+	 */
+	public static void unregister(final String key) {
+		ChoiceRegistry.CATALOGS.unregister(key);
+	}
+
+	/**
+	 * Creates the object to serialize instead of a catalog. Implementations of
+	 * {@link ChoiceCatalog} should return the result of this method from their
+	 * <code>writeReplace()</code> method.
+	 *
+	 * @throws IllegalStateException
+	 *             if the catalog has not been registered.
+	 */
+	public static Object writeReplace(final ChoiceCatalog<?> catalog) {
+		return ChoiceRegistry.CATALOGS.writeReplace(catalog.getKey());
+	}
+
+	/**
+	 * Normalizes a label for searching by prefix.
+	 */
+	static String normalize(final String label) {
+		return label == null ? "" : label.toLowerCase(Locale.ROOT);
+	}
+
+}
@@ -0,0 +1,53 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+/**
+ * Choices that are identified by their position, e.g. in the rendered markup
+ * of a choice field or in a {@link ChoiceCatalog}, use their index as ID.
+ */
+public final class ChoiceIds {
+
+	private ChoiceIds() {
+	}
+
+	/**
+	 * Parses the ID of a choice that is identified by its index. Only plain
+	 * decimal digits are accepted, so parsing does not throw exceptions for
+	 * invalid input.
+	 *
+	 * @param id
+	 *            the ID to parse.
+	 * @param choiceCount
+	 *            the number of choices.
+	 * @return the index of the choice or -1 if the ID is not the index of one
+	 *         of the choices.
+	 */
+	public static int parseIndex(final String id, final int choiceCount) {
+		if (id == null || id.length() == 0 || id.length() > 9) {
+			return -1;
+		}
+		int index = 0;
+		for (int i = 0; i < id.length(); i++) {
+			char digit = id.charAt(i);
+			if (digit < '0' || digit > '9') {
+				return -1;
+			}
+			index = index * 10 + (digit - '0');
+		}
+		return index < choiceCount ? index : -1;
+	}
+
+}
@@ -0,0 +1,166 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.io.ObjectStreamException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ChoiceCatalog} that indexes a list of choices on the heap. The labels
+ * are kept in a sorted array, so that the first match of a prefix is found by
+ * binary search. Each choice is identified by its position in the original
+ * list, so that a submitted ID is resolved in constant time.
+ * <p/>
+ * An index is registered in {@link ChoiceCatalogs} via
+ * {@link #register(String, List, ChoiceLabeller)}.
+ *
+ * @param <T>
+ *            type of the objects that the user may select from.
+ */
+public class ChoiceIndex<T> implements ChoiceCatalog<T> {
+
+	private final String key;
+
+	private final List<T> choices;
+
+	private final String[] labels;
+
+	private final String[] sortedLabels;
+
+	private final int[] sortedIds;
+
+	private final Map<T, Integer> idsByChoice;
+
+	/**
+	 * Creates an index over the given choices and registers it under the given
+	 * key. An index that has already been registered under the same key is
+	 * replaced.
+	 *
+	 * @param key
+	 *            the unique key of the index.
+	 * @param choices
+	 *            the list of items the user can choose from.
+	 * @param choiceLabeller
+	 *            the labeller to use when creating the text representation of
+	 *            the choices. The labels are searched by the user.
+	 * @return the new index.
+	 */
+	public static <T> ChoiceIndex<T> register(final String key, final List<T> choices,
+			final ChoiceLabeller<T> choiceLabeller) {
+		return ChoiceCatalogs.register(new ChoiceIndex<T>(key, choices, choiceLabeller));
+	}
+
+	private ChoiceIndex(final String key, final List<T> choices, final ChoiceLabeller<T> choiceLabeller) {
+		this.key = key;
+		this.choices = Collections.unmodifiableList(new ArrayList<T>(choices));
+		this.labels = new String[choices.size()];
+		this.idsByChoice = new HashMap<T, Integer>(choices.size() * 2);
+		final String[] normalizedLabels = new String[choices.size()];
+		Integer[] ids = new Integer[choices.size()];
+		for (int i = 0; i < this.labels.length; i++) {
+			T choice = this.choices.get(i);
+			this.labels[i] = choiceLabeller.getLabel(choice);
+			normalizedLabels[i] = ChoiceCatalogs.normalize(this.labels[i]);
+			ids[i] = i;
+			if (!this.idsByChoice.containsKey(choice)) {
+				this.idsByChoice.put(choice, i);
+			}
+		}
+		Arrays.sort(ids, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer o1, final Integer o2) {
+				return normalizedLabels[o1].compareTo(normalizedLabels[o2]);
+			}
+		});
+		this.sortedLabels = new String[ids.length];
+		this.sortedIds = new int[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			this.sortedLabels[i] = normalizedLabels[ids[i]];
+			this.sortedIds[i] = ids[i];
+		}
+	}
+
+	@Override
+	public List<String> find(final String prefix, final int first, final int count) {
+		String normalizedPrefix = ChoiceCatalogs.normalize(prefix);
+		List<String> ids = new ArrayList<String>(Math.min(count, 64));
+		for (int i = lowerBound(normalizedPrefix) + first; i < this.sortedLabels.length && ids.size() < count; i++) {
+			if (!this.sortedLabels[i].startsWith(normalizedPrefix)) {
+				break;
+			}
+			ids.add(String.valueOf(this.sortedIds[i]));
+		}
+		return ids;
+	}
+
+	@Override
+	public int count(final String prefix) {
+		String normalizedPrefix = ChoiceCatalogs.normalize(prefix);
+		return lowerBound(normalizedPrefix + Character.MAX_VALUE) - lowerBound(normalizedPrefix);
+	}
+
+	@Override
+	public T getChoice(final String id) {
+		int position = ChoiceIds.parseIndex(id, this.choices.size());
+		return position < 0 ? null : this.choices.get(position);
+	}
+
+	@Override
+	public String getLabel(final String id) {
+		int position = ChoiceIds.parseIndex(id, this.choices.size());
+		return position < 0 ? null : this.labels[position];
+	}
+
+	@Override
+	public String getId(final T choice) {
+		Integer id = choice == null ? null : this.idsByChoice.get(choice);
+		return id == null ? null : String.valueOf(id);
+	}
+
+	@Override
+	public String getKey() {
+		return this.key;
+	}
+
+	@Override
+	public int size() {
+		return this.choices.size();
+	}
+
+	private int lowerBound(final String normalizedPrefix) {
+		int low = 0;
+		int high = this.sortedLabels.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.sortedLabels[middle].compareTo(normalizedPrefix) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private Object writeReplace() throws ObjectStreamException {
+		return ChoiceCatalogs.writeReplace(this);
+	}
+
+}
@@ -0,0 +1,123 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import de.adesso.wickedforms.model.binding.Binding;
+
+import java.util.List;
+
+/**
+ * A grid of questions that are all answered by choosing one of the same
+ * choices, like a rating scale. Each row is a question, each column one of the
+ * choices. A choice matrix is bound to a list containing the selected choice of
+ * each row, in the order of the rows. Rows that have not been answered contain
+ * null.
+ * <p/>
+ * A choice matrix is a single input field, so that a grid of many questions
+ * does not need a separate {@link RadioGroup} for each row. If the matrix is
+ * required, all rows have to be answered.
+ *
+ * @param <T>
+ *            type of the objects that the user may select from.
+ */
+public class ChoiceMatrix<T> extends AbstractInputField<List<T>> {
+
+	private final List<String> rows;
+
+	private final List<T> choices;
+
+	private final ChoiceLabeller<T> choiceLabeller;
+
+	public ChoiceMatrix(final String label, final List<String> rows, final List<T> choices) {
+		this(label, rows, choices, new ToStringChoiceLabeller<T>());
+	}
+
+	/**
+	 * Constructor defining a {@link ChoiceLabeller}.
+	 *
+	 * @param label
+	 *            the label of the field.
+	 * @param rows
+	 *            the labels of the rows, i.e. the questions to answer.
+	 * @param choices
+	 *            the list of items the user can choose from in each row.
+	 * @param choiceLabeller
+	 *            the labeller to use when creating the text representation of
+	 *            the choices.
+	 */
+	public ChoiceMatrix(final String label, final List<String> rows, final List<T> choices,
+			final ChoiceLabeller<T> choiceLabeller) {
+		super(label);
+		this.rows = rows;
+		this.choices = choices;
+		this.choiceLabeller = choiceLabeller;
+	}
+
+	public ChoiceMatrix(final String label, final List<String> rows, final List<T> choices,
+			final ChoiceLabeller<T> choiceLabeller, final List<T> selectedValues) {
+		super(label, selectedValues);
+		this.rows = rows;
+		this.choices = choices;
+		this.choiceLabeller = choiceLabeller;
+	}
+
+	public ChoiceMatrix(final String label, final List<String> rows, final List<T> choices,
+			final ChoiceLabeller<T> choiceLabeller, final Binding<List<T>> binding) {
+		super(label, binding);
+		this.rows = rows;
+		this.choices = choices;
+		this.choiceLabeller = choiceLabeller;
+	}
+
+	public List<String> getRows() {
+		return this.rows;
+	}
+
+	public List<T> getChoices() {
+		return this.choices;
+	}
+
+	public ChoiceLabeller<T> getChoiceLabeller() {
+		return this.choiceLabeller;
+	}
+
+	/**
+	 * Returns the choice selected in the given row.
+	 *
+	 * @param row
+	 *            the index of the row.
+	 * @return the selected choice or null, if the row has not been answered.
+	 */
+	public T getAnswer(final int row) {
+		if (row < 0 || row >= this.rows.size()) {
+			throw new IndexOutOfBoundsException(String.format("The matrix has no row %d!", row));
+		}
+		List<T> answers = getValue();
+		return answers == null || row >= answers.size() ? null : answers.get(row);
+	}
+
+	/**
+	 * Returns true if every row of this matrix has been answered.
+	 */
+	public boolean isComplete() {
+		for (int i = 0; i < this.rows.size(); i++) {
+			if (getAnswer(i) == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,130 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registries of the objects that are shared by all forms of an application,
+ * i.e. {@link ChoiceSource}s and {@link ChoiceCatalog}s. A registered object is
+ * serialized as a reference to its key and looked up in its registry again
+ * when it is deserialized. Use {@link ChoiceSources} and
+ * {@link ChoiceCatalogs} to access the registries.
+ */
+enum ChoiceRegistry {
+
+	SOURCES("ChoiceSource"),
+
+	CATALOGS("ChoiceCatalog");
+
+	private final String typeName;
+
+	private final Map<String, Object> entries = new ConcurrentHashMap<String, Object>();
+
+	private ChoiceRegistry(final String typeName) {
+		this.typeName = typeName;
+	}
+
+	/**
+	 * Registers an object under the given key. An object that has already been
+	 * registered under the same key is replaced.
+	 *
+	 * @return the registered object.
+	 */
+	<V> V register(final String key, final V entry) {
+		if (key == null) {
+			throw new IllegalArgumentException(String.format("The key of a %s must not be null!", this.typeName));
+		}
+		this.entries.put(key, entry);
+		return entry;
+	}
+
+	/**
+	 * Retrieves the object that has been registered under the given key.
+	 *
+	 * @return the object or null if no object has been registered under the
+	 *         key.
+	 */
+	@SuppressWarnings("unchecked")
+	<V> V get(final String key) {
+		return key == null ? null : (V) this.entries.get(key);
+	}
+
+	/**
+	 * Retrieves the object that has been registered under the given key.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if no object has been registered under the key.
+	 */
+	<V> V getRegistered(final String key) {
+		V entry = get(key);
+		if (entry == null) {
+			throw new IllegalArgumentException(notRegistered(key));
+		}
+		return entry;
+	}
+
+	void unregister(final String key) {
+		this.entries.remove(key);
+	}
+
+	/**
+	 * Creates the object to serialize instead of a registered object.
+	 *
+	 * @throws IllegalStateException
+	 *             if no object has been registered under the key, since it
+	 *             could not be deserialized again.
+	 */
+	Object writeReplace(final String key) {
+		if (get(key) == null) {
+			throw new IllegalStateException(notRegistered(key));
+		}
+		return new Reference(name(), key);
+	}
+
+	private String notRegistered(final String key) {
+		return String.format("No %s has been registered with key '%s'!", this.typeName, key);
+	}
+
+	/**
+	 * Serialized form of a registered object. Only contains the names of its
+	 * registry and its key, which is smaller than a reference to the enum.
+	 */
+	private static class Reference implements Serializable {
+
+		private final String registry;
+
+		private final String key;
+
+		public Reference(final String registry, final String key) {
+			this.registry = registry;
+			this.key = key;
+		}
+
+		private Object readResolve() throws ObjectStreamException {
+			ChoiceRegistry choiceRegistry = ChoiceRegistry.valueOf(this.registry);
+			Object entry = choiceRegistry.get(this.key);
+			if (entry == null) {
+				throw new IllegalStateException(choiceRegistry.notRegistered(this.key));
+			}
+			return entry;
+		}
+
+	}
+
+}
@@ -0,0 +1,188 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The selected choices of an {@link AbstractMultiChoice}, stored as a set of
+ * choice indexes. Checking whether a choice is selected takes constant time,
+ * regardless of the number of choices and selected choices.
+ * <p/>
+ * The selection is a {@link java.util.List} view of the selected choices in
+ * the order of the choices of the field, so that it can be used wherever the
+ * value of a multi choice field is expected. Only choices of the field can be
+ * added to the selection.
+ *
+ * @param <T>
+ *            the type of an item that can be selected by the user.
+ */
+public class ChoiceSelection<T> extends AbstractList<T> implements Serializable {
+
+	private final AbstractMultiChoice<T> field;
+
+	private final BitSet selectedIndexes = new BitSet();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param field
+	 *            the field whose choices are selected.
+	 */
+	public ChoiceSelection(final AbstractMultiChoice<T> field) {
+		this.field = field;
+	}
+
+	/**
+	 * Checks if the choice with the given index is selected.
+	 */
+	public boolean isSelected(final int index) {
+		return index >= 0 && this.selectedIndexes.get(index);
+	}
+
+	/**
+	 * Selects the choice with the given index.
+	 */
+	public void select(final int index) {
+		if (index < 0 || index >= this.field.getChoices().size()) {
+			throw new IndexOutOfBoundsException(String.format("There is no choice with index %d!", index));
+		}
+		this.selectedIndexes.set(index);
+		this.modCount++;
+	}
+
+	/**
+	 * Deselects the choice with the given index.
+	 */
+	public void deselect(final int index) {
+		if (index >= 0) {
+			this.selectedIndexes.clear(index);
+			this.modCount++;
+		}
+	}
+
+	/**
+	 * Retrieves the indexes of the selected choices.
+	 *
+	 * @return a copy of the selected indexes.
+	 */
+	public BitSet getSelectedIndexes() {
+		return (BitSet) this.selectedIndexes.clone();
+	}
+
+	@Override
+	public boolean contains(final Object choice) {
+		return isSelected(this.field.indexOf(choice));
+	}
+
+	/**
+	 * Selects the given choice.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the given object is not a choice of the field.
+	 */
+	@Override
+	public boolean add(final T choice) {
+		int index = this.field.indexOf(choice);
+		if (index == -1) {
+			throw new IllegalArgumentException(String.format("'%s' is not a choice of this field!", choice));
+		}
+		if (this.selectedIndexes.get(index)) {
+			return false;
+		}
+		select(index);
+		return true;
+	}
+
+	@Override
+	public boolean remove(final Object choice) {
+		int index = this.field.indexOf(choice);
+		if (!isSelected(index)) {
+			return false;
+		}
+		deselect(index);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		this.selectedIndexes.clear();
+		this.modCount++;
+	}
+
+	@Override
+	public T get(final int position) {
+		if (position < 0) {
+			throw new IndexOutOfBoundsException(String.valueOf(position));
+		}
+		int index = this.selectedIndexes.nextSetBit(0);
+		for (int i = 0; i < position && index != -1; i++) {
+			index = this.selectedIndexes.nextSetBit(index + 1);
+		}
+		if (index == -1) {
+			throw new IndexOutOfBoundsException(String.valueOf(position));
+		}
+		return this.field.getChoices().get(index);
+	}
+
+	@Override
+	public int size() {
+		return this.selectedIndexes.cardinality();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.selectedIndexes.isEmpty();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+
+			private int nextIndex = ChoiceSelection.this.selectedIndexes.nextSetBit(0);
+
+			private int lastIndex = -1;
+
+			@Override
+			public boolean hasNext() {
+				return this.nextIndex != -1;
+			}
+
+			@Override
+			public T next() {
+				if (this.nextIndex == -1) {
+					throw new NoSuchElementException();
+				}
+				this.lastIndex = this.nextIndex;
+				this.nextIndex = ChoiceSelection.this.selectedIndexes.nextSetBit(this.nextIndex + 1);
+				return ChoiceSelection.this.field.getChoices().get(this.lastIndex);
+			}
+
+			@Override
+			public void remove() {
+				if (this.lastIndex == -1) {
+					throw new IllegalStateException();
+				}
+				deselect(this.lastIndex);
+				this.lastIndex = -1;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,210 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides the choices of choice fields like {@link DropDown},
+ * {@link RadioGroup} or {@link CheckboxGroup}. A source is registered once per
+ * application in {@link ChoiceSources} and shared by all fields using it.
+ * Fields created with a source only serialize the key of the source instead of
+ * the list of choices.
+ * <p/>
+ * The labels of the choices are created once per locale by the source's
+ * {@link ChoiceLabeller} and memoized. Use a {@link LocalizedChoiceLabeller} if
+ * the labels depend on the locale.
+ *
+ * @param <T>
+ *            type of the objects that the user may select from.
+ */
+public abstract class ChoiceSource<T> implements Serializable {
+
+	private final String key;
+
+	private final ChoiceLabeller<T> choiceLabeller;
+
+	private final ConcurrentMap<Locale, Labels<T>> labels = new ConcurrentHashMap<Locale, Labels<T>>();
+
+	private final List<T> choiceList = new ChoiceList<T>(this);
+
+	private volatile Map<T, Integer> choiceIndexes;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param key
+	 *            the unique key under which the source is registered.
+	 * @param choiceLabeller
+	 *            the labeller to use when creating the text representation of
+	 *            the choices.
+	 */
+	protected ChoiceSource(final String key, final ChoiceLabeller<T> choiceLabeller) {
+		if (key == null) {
+			throw new IllegalArgumentException("The key of a ChoiceSource must not be null!");
+		}
+		this.key = key;
+		this.choiceLabeller = choiceLabeller;
+	}
+
+	/**
+	 * Retrieves the choices of this source. The returned list must not be
+	 * modified.
+	 */
+	public abstract List<T> getChoices();
+
+	/**
+	 * Returns a view of the choices of this source that is resolved each time
+	 * it is accessed and only serializes the key of this source.
+	 */
+	public List<T> asList() {
+		return this.choiceList;
+	}
+
+	/**
+	 * Retrieves the labels of all choices in the order of
+	 * {@link #getChoices()}. The returned array must not be modified.
+	 */
+	public String[] getLabels(final Locale locale) {
+		return getMemoizedLabels(locale).byIndex;
+	}
+
+	/**
+	 * Retrieves the label of a single choice.
+	 */
+	public String getLabel(final T choice, final Locale locale) {
+		String label = getMemoizedLabels(locale).byChoice.get(choice);
+		return label != null ? label : createLabel(choice, locale);
+	}
+
+	/**
+	 * Determines the index of a choice in constant time.
+	 *
+	 * @return the index of the choice in {@link #getChoices()} or -1 if the
+	 *         object is not a choice of this source.
+	 */
+	public int indexOf(final Object choice) {
+		Map<T, Integer> indexes = this.choiceIndexes;
+		if (indexes == null) {
+			indexes = AbstractMultiChoice.createChoiceIndexes(getChoices());
+			this.choiceIndexes = indexes;
+		}
+		Integer index = indexes.get(choice);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Discards the memoized labels and indexes, for example after the choices
+	 * of this source have changed.
+	 */
+	protected void clearLabels() {
+		this.labels.clear();
+		this.choiceIndexes = null;
+	}
+
+	private Labels<T> getMemoizedLabels(final Locale locale) {
+		Locale labelLocale = locale == null ? Locale.ROOT : locale;
+		Labels<T> memoizedLabels = this.labels.get(labelLocale);
+		if (memoizedLabels == null) {
+			List<T> choices = getChoices();
+			memoizedLabels = new Labels<T>(choices.size());
+			for (int i = 0; i < choices.size(); i++) {
+				memoizedLabels.byIndex[i] = createLabel(choices.get(i), labelLocale);
+				memoizedLabels.byChoice.put(choices.get(i), memoizedLabels.byIndex[i]);
+			}
+			Labels<T> existingLabels = this.labels.putIfAbsent(labelLocale, memoizedLabels);
+			if (existingLabels != null) {
+				memoizedLabels = existingLabels;
+			}
+		}
+		return memoizedLabels;
+	}
+
+	private String createLabel(final T choice, final Locale locale) {
+		if (this.choiceLabeller instanceof LocalizedChoiceLabeller) {
+			return ((LocalizedChoiceLabeller<T>) this.choiceLabeller).getLabel(choice, locale);
+		}
+		return this.choiceLabeller.getLabel(choice);
+	}
+
+	public String getKey() {
+		return this.key;
+	}
+
+	public ChoiceLabeller<T> getChoiceLabeller() {
+		return this.choiceLabeller;
+	}
+
+	/**
+	 * Only the key of a source is serialized.
+	 */
+	protected final Object writeReplace() throws ObjectStreamException {
+		return ChoiceSources.writeReplace(this);
+	}
+
+	private static class Labels<T> {
+
+		private final String[] byIndex;
+
+		private final Map<T, String> byChoice;
+
+		public Labels(final int size) {
+			this.byIndex = new String[size];
+			this.byChoice = new HashMap<T, String>(size * 2);
+		}
+
+	}
+
+	/**
+	 * List view of the choices of a source.
+	 */
+	private static class ChoiceList<T> extends AbstractList<T> implements RandomAccess, Serializable {
+
+		private final ChoiceSource<T> source;
+
+		public ChoiceList(final ChoiceSource<T> source) {
+			this.source = source;
+		}
+
+		@Override
+		public T get(final int index) {
+			return this.source.getChoices().get(index);
+		}
+
+		@Override
+		public int size() {
+			return this.source.getChoices().size();
+		}
+
+		/**
+		 * The source is serialized by its key, so the deserialized list is the
+		 * list of the registered source.
+		 */
+		private Object readResolve() throws ObjectStreamException {
+			return this.source.asList();
+		}
+
+	}
+
+}
@@ -0,0 +1,70 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+/**
+ * Registry of all {@link ChoiceSource}s of an application. Register your
+ * sources when your application starts, for example:
+ *
+ * <pre>
+ * ChoiceSources.register(new EnumChoiceSource&lt;Gender&gt;(&quot;gender&quot;, Gender.class, Gender.choiceLabeller()));
+ * </pre>
+ *
+ * Fields using a source only serialize its key and look the source up here
+ * when they are deserialized.
+ */
+public final class ChoiceSources {
+
+	private ChoiceSources() {
+	}
+
+	/**
+	 * Registers a source under its key. A source that has already been
+	 * registered under the same key is replaced.
+	 *
+	 * @return the registered source.
+	 */
+	public static <T, S extends ChoiceSource<T>> S register(final S source) {
+		return ChoiceRegistry.SOURCES.register(source.getKey(), source);
+	}
+
+	/**
+	 * Retrieves the source that has been registered under the given key.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if no source has been registered under the key.
+	 */
+	public static <T> ChoiceSource<T> get(final String key) {
+		return ChoiceRegistry.SOURCES.getRegistered(key);
+	}
+
+	/**
+	 * Removes the source that has been registered under the given key.
+	 */
+	public static void unregister(final String key) {
+		ChoiceRegistry.SOURCES.unregister(key);
+	}
+
+	/**
+	 * Creates the object to serialize instead of a source.
+	 *
+	 * @throws IllegalStateException
+	 *             if the source has not been registered.
+	 */
+	static Object writeReplace(final ChoiceSource<?> source) {
+		return ChoiceRegistry.SOURCES.writeReplace(source.getKey());
+	}
+
+}
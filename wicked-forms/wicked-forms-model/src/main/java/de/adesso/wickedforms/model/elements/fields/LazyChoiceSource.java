@@ -0,0 +1,69 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link ChoiceSource} that loads its choices when they are needed for the
+ * first time, for example from a database. The choices are kept until
+ * {@link #reload()} is called.
+ */
+public abstract class LazyChoiceSource<T> extends ChoiceSource<T> {
+
+	private volatile List<T> choices;
+
+	public LazyChoiceSource(final String key) {
+		this(key, new ToStringChoiceLabeller<T>());
+	}
+
+	public LazyChoiceSource(final String key, final ChoiceLabeller<T> choiceLabeller) {
+		super(key, choiceLabeller);
+	}
+
+	/**
+	 * Loads the choices of this source.
+	 */
+	protected abstract List<T> load();
+
+	@Override
+	public List<T> getChoices() {
+		List<T> loadedChoices = this.choices;
+		if (loadedChoices == null) {
+			synchronized (this) {
+				loadedChoices = this.choices;
+				if (loadedChoices == null) {
+					loadedChoices = Collections.unmodifiableList(new ArrayList<T>(load()));
+					this.choices = loadedChoices;
+				}
+			}
+		}
+		return loadedChoices;
+	}
+
+	/**
+	 * Discards the loaded choices, so that they are loaded again when they are
+	 * needed the next time.
+	 */
+	public void reload() {
+		synchronized (this) {
+			this.choices = null;
+			clearLabels();
+		}
+	}
+
+}
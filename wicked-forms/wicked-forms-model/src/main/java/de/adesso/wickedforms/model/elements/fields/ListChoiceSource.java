@@ -0,0 +1,42 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link ChoiceSource} providing a fixed list of choices.
+ */
+public class ListChoiceSource<T> extends ChoiceSource<T> {
+
+	private final List<T> choices;
+
+	public ListChoiceSource(final String key, final List<T> choices) {
+		this(key, choices, new ToStringChoiceLabeller<T>());
+	}
+
+	public ListChoiceSource(final String key, final List<T> choices, final ChoiceLabeller<T> choiceLabeller) {
+		super(key, choiceLabeller);
+		this.choices = Collections.unmodifiableList(new ArrayList<T>(choices));
+	}
+
+	@Override
+	public List<T> getChoices() {
+		return this.choices;
+	}
+
+}
@@ -0,0 +1,28 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.util.Locale;
+
+/**
+ * {@link ChoiceLabeller} whose labels depend on the locale of the user. The
+ * labels of a {@link ChoiceSource} are created by
+ * {@link #getLabel(Object, Locale)} if its labeller implements this interface.
+ */
+public interface LocalizedChoiceLabeller<T> extends ChoiceLabeller<T> {
+
+	String getLabel(final T choice, final Locale locale);
+
+}
@@ -0,0 +1,344 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ChoiceCatalog} of string codes that is read from a memory-mapped
+ * file, so that even huge code lists do not take up any heap space. The choices
+ * of this catalog are the codes, their labels are displayed to the user.
+ * <p/>
+ * The file is created by {@link #write(File, Map)} and contains a header, an
+ * offset index and the UTF-8 encoded entries sorted by their normalized
+ * label. The ID of a choice is its position in the sorted entries, so that an
+ * ID is resolved by reading a single offset. Prefix searches and lookups by
+ * code are done by binary search directly on the mapped bytes, so that only
+ * the returned labels and codes are copied onto the heap.
+ * <p/>
+ * The file must not be modified while it is mapped. A catalog is opened and
+ * registered in {@link ChoiceCatalogs} via {@link #open(String, File)}.
+ */
+public class MappedChoiceCatalog implements ChoiceCatalog<String> {
+
+	private static final int MAGIC = 0x57464343;
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_LENGTH = 12;
+
+	private static final int MAX_FIELD_LENGTH = 0xFFFF;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final String key;
+
+	private final int size;
+
+	/**
+	 * The offsets of the entries in the payload, ordered by ID, followed by
+	 * the IDs ordered by code.
+	 */
+	private final MappedByteBuffer index;
+
+	/**
+	 * The entries. Each entry consists of the normalized label, the label and
+	 * the code, each prefixed with its length as unsigned short.
+	 */
+	private final MappedByteBuffer payload;
+
+	/**
+	 * Opens a catalog file created by {@link #write(File, Map)} and registers
+	 * it under the given key. A catalog that has already been registered under
+	 * the same key is replaced.
+	 *
+	 * @param key
+	 *            the unique key of the catalog.
+	 * @param file
+	 *            the catalog file.
+	 * @return the opened catalog.
+	 */
+	public static MappedChoiceCatalog open(final String key, final File file) throws IOException {
+		return ChoiceCatalogs.register(new MappedChoiceCatalog(key, file));
+	}
+
+	private MappedChoiceCatalog(final String key, final File file) throws IOException {
+		this.key = key;
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			// the mappings stay valid after the file has been closed
+			FileChannel channel = randomAccessFile.getChannel();
+			if (channel.size() < HEADER_LENGTH) {
+				throw new IllegalArgumentException(String.format("%s is not a choice catalog file!", file));
+			}
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+			if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+				throw new IllegalArgumentException(String.format("%s is not a choice catalog file!", file));
+			}
+			this.size = header.getInt(8);
+			long indexLength = 8L * this.size;
+			this.index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_LENGTH, indexLength);
+			this.payload = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_LENGTH + indexLength, channel.size()
+					- HEADER_LENGTH - indexLength);
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	/**
+	 * Writes a catalog file.
+	 *
+	 * @param file
+	 *            the file to write. An existing file is overwritten.
+	 * @param labelsByCode
+	 *            the codes of the catalog mapped to their labels.
+	 */
+	public static void write(final File file, final Map<String, String> labelsByCode) throws IOException {
+		final List<byte[][]> entries = new ArrayList<byte[][]>(labelsByCode.size());
+		for (Map.Entry<String, String> entry : labelsByCode.entrySet()) {
+			String label = entry.getValue() == null ? "" : entry.getValue();
+			entries.add(new byte[][] { encode(ChoiceCatalogs.normalize(label)), encode(label),
+					encode(entry.getKey()) });
+		}
+		final byte[][][] sorted = entries.toArray(new byte[entries.size()][][]);
+		Arrays.sort(sorted, new Comparator<byte[][]>() {
+			@Override
+			public int compare(final byte[][] o1, final byte[][] o2) {
+				int result = compareBytes(o1[0], o2[0]);
+				return result != 0 ? result : compareBytes(o1[2], o2[2]);
+			}
+		});
+
+		Integer[] idsByCode = new Integer[sorted.length];
+		for (int i = 0; i < idsByCode.length; i++) {
+			idsByCode[i] = i;
+		}
+		Arrays.sort(idsByCode, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer o1, final Integer o2) {
+				return compareBytes(sorted[o1][2], sorted[o2][2]);
+			}
+		});
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(sorted.length);
+			int offset = 0;
+			for (byte[][] entry : sorted) {
+				out.writeInt(offset);
+				offset += 6 + entry[0].length + entry[1].length + entry[2].length;
+				if (offset < 0) {
+					throw new IllegalArgumentException("The catalog is too large!");
+				}
+			}
+			for (Integer id : idsByCode) {
+				out.writeInt(id);
+			}
+			for (byte[][] entry : sorted) {
+				for (byte[] field : entry) {
+					out.writeShort(field.length);
+					out.write(field);
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	@Override
+	public List<String> find(final String prefix, final int first, final int count) {
+		byte[] normalizedPrefix = encode(ChoiceCatalogs.normalize(prefix));
+		List<String> ids = new ArrayList<String>(Math.min(count, 64));
+		for (int id = lowerBound(normalizedPrefix) + first; id < this.size && ids.size() < count; id++) {
+			if (!startsWith(entryOffset(id), normalizedPrefix)) {
+				break;
+			}
+			ids.add(String.valueOf(id));
+		}
+		return ids;
+	}
+
+	@Override
+	public int count(final String prefix) {
+		byte[] normalizedPrefix = encode(ChoiceCatalogs.normalize(prefix));
+		int first = lowerBound(normalizedPrefix);
+		int low = first;
+		int high = this.size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (startsWith(entryOffset(middle), normalizedPrefix)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low - first;
+	}
+
+	@Override
+	public String getChoice(final String id) {
+		int position = ChoiceIds.parseIndex(id, this.size);
+		return position < 0 ? null : decode(codeOffset(entryOffset(position)));
+	}
+
+	@Override
+	public String getLabel(final String id) {
+		int position = ChoiceIds.parseIndex(id, this.size);
+		return position < 0 ? null : decode(labelOffset(entryOffset(position)));
+	}
+
+	@Override
+	public String getId(final String code) {
+		if (code == null) {
+			return null;
+		}
+		byte[] encodedCode = encode(code);
+		int low = 0;
+		int high = this.size - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int id = this.index.getInt(4 * (this.size + middle));
+			int result = compareField(codeOffset(entryOffset(id)), encodedCode);
+			if (result < 0) {
+				low = middle + 1;
+			} else if (result > 0) {
+				high = middle - 1;
+			} else {
+				return String.valueOf(id);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String getKey() {
+		return this.key;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	private int lowerBound(final byte[] normalizedPrefix) {
+		int low = 0;
+		int high = this.size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (compareField(entryOffset(middle), normalizedPrefix) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private int entryOffset(final int id) {
+		return this.index.getInt(4 * id);
+	}
+
+	private int labelOffset(final int entryOffset) {
+		return entryOffset + 2 + fieldLength(entryOffset);
+	}
+
+	private int codeOffset(final int entryOffset) {
+		int labelOffset = labelOffset(entryOffset);
+		return labelOffset + 2 + fieldLength(labelOffset);
+	}
+
+	private int fieldLength(final int fieldOffset) {
+		return this.payload.getShort(fieldOffset) & MAX_FIELD_LENGTH;
+	}
+
+	/**
+	 * Compares the field at the given offset of the payload with the given
+	 * bytes without copying the field.
+	 */
+	private int compareField(final int fieldOffset, final byte[] bytes) {
+		int length = fieldLength(fieldOffset);
+		int start = fieldOffset + 2;
+		for (int i = 0; i < length && i < bytes.length; i++) {
+			int result = (this.payload.get(start + i) & 0xFF) - (bytes[i] & 0xFF);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return length - bytes.length;
+	}
+
+	private boolean startsWith(final int fieldOffset, final byte[] prefix) {
+		int length = fieldLength(fieldOffset);
+		if (length < prefix.length) {
+			return false;
+		}
+		int start = fieldOffset + 2;
+		for (int i = 0; i < prefix.length; i++) {
+			if (this.payload.get(start + i) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String decode(final int fieldOffset) {
+		byte[] bytes = new byte[fieldLength(fieldOffset)];
+		int start = fieldOffset + 2;
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = this.payload.get(start + i);
+		}
+		return new String(bytes, UTF8);
+	}
+
+	private static byte[] encode(final String value) {
+		byte[] bytes = value.getBytes(UTF8);
+		if (bytes.length > MAX_FIELD_LENGTH) {
+			throw new IllegalArgumentException(String.format("The value '%s...' is too long for a choice catalog!",
+					value.substring(0, 20)));
+		}
+		return bytes;
+	}
+
+	private static int compareBytes(final byte[] bytes1, final byte[] bytes2) {
+		for (int i = 0; i < bytes1.length && i < bytes2.length; i++) {
+			int result = (bytes1[i] & 0xFF) - (bytes2[i] & 0xFF);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return bytes1.length - bytes2.length;
+	}
+
+	private Object writeReplace() throws ObjectStreamException {
+		return ChoiceCatalogs.writeReplace(this);
+	}
+
+}
@@ -39,6 +39,19 @@ public class RadioGroup<T> extends
 		super(label, choices, choiceLabeller, modelClass);
 	}
 
+	public RadioGroup(final String label, final ChoiceSource<T> choiceSource, Class<T> modelClass) {
+		super(label, choiceSource, modelClass);
+	}
+
+	public RadioGroup(final String label, final ChoiceSource<T> choiceSource, final T selectedValue, Class<T> modelClass) {
+		super(label, choiceSource, selectedValue, modelClass);
+	}
+
+	public RadioGroup(final String label, final ChoiceSource<T> choiceSource, final Binding<T> binding,
+			Class<T> modelClass) {
+		super(label, choiceSource, binding, modelClass);
+	}
+
 	public RadioGroup(final String label, final List<T> choices, final ChoiceLabeller<T> choiceLabeller,
 			final T selectedValue, Class<T> modelClass) {
 		super(label, choices, choiceLabeller, selectedValue, modelClass);
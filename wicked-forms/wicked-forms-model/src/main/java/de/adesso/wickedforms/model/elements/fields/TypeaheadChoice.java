@@ -0,0 +1,112 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import de.adesso.wickedforms.model.binding.Binding;
+
+/**
+ * A single choice field for very large lists of choices. Instead of rendering
+ * all choices, the user types the beginning of a label and the matching
+ * choices are searched in a {@link ChoiceCatalog} on the server. Only the
+ * selected value and the key of the catalog are kept in the form.
+ *
+ * @param <T>
+ *            type of the objects that the user may select from.
+ */
+public class TypeaheadChoice<T> extends AbstractInputField<T> {
+
+	private final ChoiceCatalog<T> choiceCatalog;
+
+	private final Class<T> modelClass;
+
+	private int pageSize = 20;
+
+	private int minInputLength = 1;
+
+	public TypeaheadChoice(final String label, final ChoiceCatalog<T> choiceCatalog, final Class<T> modelClass) {
+		super(label);
+		this.choiceCatalog = choiceCatalog;
+		this.modelClass = modelClass;
+	}
+
+	/**
+	 * Constructor referencing a catalog that has been registered in
+	 * {@link ChoiceCatalogs}.
+	 *
+	 * @param label
+	 *            the label of the field.
+	 * @param catalogKey
+	 *            the key of the catalog containing the choices.
+	 * @throws IllegalArgumentException
+	 *             if no catalog has been registered under the key.
+	 */
+	public TypeaheadChoice(final String label, final String catalogKey, final Class<T> modelClass) {
+		this(label, ChoiceCatalogs.<T> get(catalogKey), modelClass);
+	}
+
+	public TypeaheadChoice(final String label, final ChoiceCatalog<T> choiceCatalog, final T selectedValue,
+			final Class<T> modelClass) {
+		super(label, selectedValue);
+		this.choiceCatalog = choiceCatalog;
+		this.modelClass = modelClass;
+	}
+
+	public TypeaheadChoice(final String label, final ChoiceCatalog<T> choiceCatalog, final Binding<T> binding,
+			final Class<T> modelClass) {
+		super(label, binding);
+		this.choiceCatalog = choiceCatalog;
+		this.modelClass = modelClass;
+	}
+
+	public ChoiceCatalog<T> getChoiceCatalog() {
+		return this.choiceCatalog;
+	}
+
+	/**
+	 * Sets the maximum number of matches that are displayed to the user at
+	 * once. Further matches are loaded on demand.
+	 *
+	 * @return this object for chaining
+	 */
+	public TypeaheadChoice<T> setPageSize(final int pageSize) {
+		this.pageSize = pageSize;
+		return this;
+	}
+
+	public int getPageSize() {
+		return this.pageSize;
+	}
+
+	/**
+	 * Sets the number of characters the user has to type before the choices
+	 * are searched.
+	 *
+	 * @return this object for chaining
+	 */
+	public TypeaheadChoice<T> setMinInputLength(final int minInputLength) {
+		this.minInputLength = minInputLength;
+		return this;
+	}
+
+	public int getMinInputLength() {
+		return this.minInputLength;
+	}
+
+	@Override
+	public Class<T> getModelClass() {
+		return this.modelClass;
+	}
+
+}
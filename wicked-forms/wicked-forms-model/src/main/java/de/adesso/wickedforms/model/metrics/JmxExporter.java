@@ -0,0 +1,233 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+import de.adesso.wickedforms.model.submission.SubmissionPipeline;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers {@link MetricsRegistry}s and {@link SubmissionPipeline}s as MBeans,
+ * so that they can be monitored with JConsole, VisualVM or any other JMX
+ * client. The MBeans are registered in the domain {@link #DOMAIN} with the
+ * types "Metrics" and "SubmissionPipeline" and the given name. Call
+ * {@link #unexportAll()} when the application is stopped.
+ */
+public class JmxExporter {
+
+	public static final String DOMAIN = "de.adesso.wickedforms";
+
+	private final MBeanServer server;
+
+	private final List<ObjectName> exported = new ArrayList<ObjectName>();
+
+	/**
+	 * Constructor using the platform MBean server.
+	 */
+	public JmxExporter() {
+		this(ManagementFactory.getPlatformMBeanServer());
+	}
+
+	public JmxExporter(final MBeanServer server) {
+		this.server = server;
+	}
+
+	/**
+	 * Registers a metrics registry. An MBean registered before under the same
+	 * name is replaced.
+	 * 
+	 * @param name
+	 *            the name of the MBean, e.g. the name of the application.
+	 * @param registry
+	 *            the registry.
+	 * @return the name the MBean has been registered under.
+	 */
+	public ObjectName export(final String name, final MetricsRegistry registry) {
+		return register("Metrics", name, new MetricsBean(registry));
+	}
+
+	/**
+	 * Registers the counters of a submission pipeline. An MBean registered
+	 * before under the same name is replaced.
+	 * 
+	 * @param name
+	 *            the name of the MBean, e.g. the name of the application.
+	 * @param pipeline
+	 *            the pipeline.
+	 * @return the name the MBean has been registered under.
+	 */
+	public ObjectName export(final String name, final SubmissionPipeline pipeline) {
+		return register("SubmissionPipeline", name, new SubmissionPipelineBean(pipeline));
+	}
+
+	/**
+	 * Unregisters all MBeans registered by this exporter.
+	 */
+	public synchronized void unexportAll() {
+		for (ObjectName objectName : this.exported) {
+			try {
+				if (this.server.isRegistered(objectName)) {
+					this.server.unregisterMBean(objectName);
+				}
+			} catch (JMException e) {
+				throw new IllegalStateException(String.format("MBean %s could not be unregistered!", objectName), e);
+			}
+		}
+		this.exported.clear();
+	}
+
+	private synchronized ObjectName register(final String type, final String name, final Object bean) {
+		try {
+			ObjectName objectName = new ObjectName(String.format("%s:type=%s,name=%s", DOMAIN, type,
+					ObjectName.quote(name)));
+			if (this.server.isRegistered(objectName)) {
+				this.server.unregisterMBean(objectName);
+			}
+			this.server.registerMBean(bean, objectName);
+			if (!this.exported.contains(objectName)) {
+				this.exported.add(objectName);
+			}
+			return objectName;
+		} catch (JMException e) {
+			throw new IllegalStateException(String.format("MBean %s of type %s could not be registered!", name, type),
+					e);
+		}
+	}
+
+	private static class MetricsBean implements MetricsMXBean {
+
+		private final MetricsRegistry registry;
+
+		MetricsBean(final MetricsRegistry registry) {
+			this.registry = registry;
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return Metrics.getCollector() == this.registry;
+		}
+
+		@Override
+		public void setEnabled(final boolean enabled) {
+			if (enabled) {
+				Metrics.install(this.registry);
+			} else if (isEnabled()) {
+				Metrics.uninstall();
+			}
+		}
+
+		@Override
+		public List<MetricsSnapshot> getSnapshots() {
+			return this.registry.getSnapshots();
+		}
+
+		@Override
+		public long getCreatePanelCount() {
+			return this.registry.getCount(Operation.CREATE_PANEL);
+		}
+
+		@Override
+		public long getPropertyAccessCount() {
+			return this.registry.getCount(Operation.GET_PROPERTY) + this.registry.getCount(Operation.SET_PROPERTY);
+		}
+
+		@Override
+		public long getFieldValidationCount() {
+			return this.registry.getCount(Operation.VALIDATE_FIELD);
+		}
+
+		@Override
+		public long getFormValidationCount() {
+			return this.registry.getCount(Operation.VALIDATE_FORM);
+		}
+
+		@Override
+		public long getActionCount() {
+			return this.registry.getCount(Operation.EXECUTE_ACTION);
+		}
+
+		@Override
+		public long getCreateSectionCount() {
+			return this.registry.getCount(Operation.CREATE_SECTION);
+		}
+
+		@Override
+		public void reset() {
+			this.registry.reset();
+		}
+
+	}
+
+	private static class SubmissionPipelineBean implements SubmissionPipelineMXBean {
+
+		private final SubmissionPipeline pipeline;
+
+		SubmissionPipelineBean(final SubmissionPipeline pipeline) {
+			this.pipeline = pipeline;
+		}
+
+		@Override
+		public boolean isRunning() {
+			return this.pipeline.isRunning();
+		}
+
+		@Override
+		public int getCapacity() {
+			return this.pipeline.getCapacity();
+		}
+
+		@Override
+		public int getQueueDepth() {
+			return this.pipeline.getQueueDepth();
+		}
+
+		@Override
+		public long getAccepted() {
+			return this.pipeline.getAccepted();
+		}
+
+		@Override
+		public long getRejected() {
+			return this.pipeline.getRejected();
+		}
+
+		@Override
+		public long getDropped() {
+			return this.pipeline.getDropped();
+		}
+
+		@Override
+		public long getProcessed() {
+			return this.pipeline.getProcessed();
+		}
+
+		@Override
+		public long getRetried() {
+			return this.pipeline.getRetried();
+		}
+
+		@Override
+		public long getFailed() {
+			return this.pipeline.getFailed();
+		}
+
+	}
+
+}
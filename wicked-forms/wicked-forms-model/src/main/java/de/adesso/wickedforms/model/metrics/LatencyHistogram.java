@@ -0,0 +1,112 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe histogram of latencies in nanoseconds. Latencies are counted
+ * in buckets bounded by powers of two, so that recording a
+ * latency takes constant time and space, and percentiles are accurate to a
+ * factor of two.
+ */
+public class LatencyHistogram {
+
+	private static final int BUCKETS = 64;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong totalNanos = new AtomicLong();
+
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	/**
+	 * Records a latency. Negative latencies, which can occur if the clock is
+	 * adjusted, are recorded as 0.
+	 */
+	public void record(final long nanos) {
+		long value = Math.max(0, nanos);
+		this.buckets.incrementAndGet(bucket(value));
+		this.count.incrementAndGet();
+		this.totalNanos.addAndGet(value);
+		long max = this.maxNanos.get();
+		while (value > max && !this.maxNanos.compareAndSet(max, value)) {
+			max = this.maxNanos.get();
+		}
+	}
+
+	/**
+	 * Returns the index of the bucket of a latency: 0 for 0, i for latencies
+	 * from 2^(i-1) to 2^i - 1.
+	 */
+	private static int bucket(final long value) {
+		return BUCKETS - Long.numberOfLeadingZeros(value);
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.get();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	public long getMeanNanos() {
+		long n = count.get();
+		return n == 0 ? 0 : totalNanos.get() / n;
+	}
+
+	/**
+	 * Returns an upper bound of the given percentile, which is at most twice
+	 * the exact value.
+	 * 
+	 * @param percentile
+	 *            the percentile between 0 and 100, e.g. 99 for the latency 99%
+	 *            of all operations are faster than.
+	 * @return the latency in nanoseconds, 0 if nothing has been recorded.
+	 */
+	public long getPercentileNanos(final double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException(String.format("percentile must be between 0 and 100, but is %s!",
+					percentile));
+		}
+		long n = count.get();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(n * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += buckets.get(i);
+			if (seen >= rank) {
+				return Math.min(upperBound(i), getMaxNanos());
+			}
+		}
+		return getMaxNanos();
+	}
+
+	private static long upperBound(final int bucket) {
+		// overflows to Long.MAX_VALUE for the last bucket
+		return (1L << bucket) - 1;
+	}
+
+}
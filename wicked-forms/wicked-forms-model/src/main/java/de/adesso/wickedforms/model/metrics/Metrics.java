@@ -0,0 +1,141 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+import de.adesso.wickedforms.model.Form;
+
+/**
+ * Measures the latency of the operations of Wicked Forms that are called for
+ * each form element and each request, see {@link Operation}. Metrics are
+ * disabled by default and enabled for the whole JVM by installing a
+ * {@link MetricsCollector}:
+ * 
+ * <pre>
+ * MetricsRegistry registry = new MetricsRegistry();
+ * Metrics.install(registry);
+ * new JmxExporter().export(&quot;myApp&quot;, registry);
+ * </pre>
+ * 
+ * An operation is measured like this:
+ * 
+ * <pre>
+ * long start = Metrics.start();
+ * doSomething();
+ * if (start != Metrics.DISABLED) {
+ * 	Metrics.stop(Operation.EXECUTE_ACTION, action.getClass(), form, start);
+ * }
+ * </pre>
+ * 
+ * While metrics are disabled, {@link #start()} only reads a field, so that
+ * the measured operations allocate no objects and read no clock. The check
+ * for {@link #DISABLED} is only needed if the arguments of
+ * {@link #stop(Operation, Class, Form, long)} are expensive to compute.
+ */
+public final class Metrics {
+
+	/**
+	 * Returned by {@link #start()} while metrics are disabled.
+	 */
+	public static final long DISABLED = Long.MIN_VALUE;
+
+	private static volatile MetricsCollector collector;
+
+	private Metrics() {
+	}
+
+	/**
+	 * Enables metrics and passes all recorded latencies to the given
+	 * collector. Replaces the collector installed before.
+	 */
+	public static void install(final MetricsCollector collector) {
+		if (collector == null) {
+			throw new IllegalArgumentException("collector must not be null!");
+		}
+		Metrics.collector = collector;
+	}
+
+	/**
+	 * Disables metrics.
+	 */
+	public static void uninstall() {
+		Metrics.collector = null;
+	}
+
+	public static MetricsCollector getCollector() {
+		return collector;
+	}
+
+	public static boolean isEnabled() {
+		return collector != null;
+	}
+
+	/**
+	 * Starts measuring an operation.
+	 * 
+	 * @return the start time to pass to {@link #stop}, or {@link #DISABLED}
+	 *         if metrics are disabled.
+	 */
+	public static long start() {
+		return collector == null ? DISABLED : System.nanoTime();
+	}
+
+	/**
+	 * Records the latency of an operation. Does nothing if the operation was
+	 * started while metrics were disabled or metrics have been disabled in the
+	 * meantime.
+	 * 
+	 * @param operation
+	 *            the operation.
+	 * @param type
+	 *            the type the operation is recorded for, see {@link Operation}.
+	 * @param formId
+	 *            the id of the form or null if it is unknown.
+	 * @param start
+	 *            the value returned by {@link #start()}.
+	 */
+	public static void stop(final Operation operation, final Class<?> type, final String formId, final long start) {
+		MetricsCollector current = collector;
+		if (start != DISABLED && current != null) {
+			current.record(operation, type, formId, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Records the latency of an operation, see
+	 * {@link #stop(Operation, Class, String, long)}.
+	 * 
+	 * @param form
+	 *            the form, see {@link #formId(Form)}.
+	 */
+	public static void stop(final Operation operation, final Class<?> type, final Form form, final long start) {
+		if (start != DISABLED) {
+			stop(operation, type, formId(form), start);
+		}
+	}
+
+	/**
+	 * Returns the id the metrics of a form are recorded under: its template
+	 * id. The instance id is not used, so that the metrics of all instances of
+	 * a form are recorded together. Forms without a template id are recorded
+	 * as unknown forms, since their labels are free text that may be
+	 * localized or contain user data and would create a histogram per label.
+	 * 
+	 * @return the id or null if the form is null or has no template id.
+	 */
+	public static String formId(final Form form) {
+		return form == null ? null : form.getTemplateId();
+	}
+
+}
@@ -0,0 +1,43 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+/**
+ * Receives the latencies recorded by {@link Metrics}. Implement this interface
+ * to pass the latencies to a metrics library of your choice, or use
+ * {@link MetricsRegistry}, which keeps a histogram per operation, type and
+ * form and can be exported via JMX with {@link JmxExporter}.
+ * <p/>
+ * Implementations are called on the request threads of the application and
+ * must therefore be thread-safe and fast.
+ */
+public interface MetricsCollector {
+
+	/**
+	 * Records the latency of an operation.
+	 * 
+	 * @param operation
+	 *            the operation.
+	 * @param type
+	 *            the type the operation is recorded for, see {@link Operation}.
+	 * @param formId
+	 *            the id of the form, see {@link Metrics#formId}, or null if it
+	 *            is unknown.
+	 * @param nanos
+	 *            the latency in nanoseconds.
+	 */
+	void record(Operation operation, Class<?> type, String formId, long nanos);
+
+}
@@ -0,0 +1,55 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+import java.util.List;
+
+/**
+ * The JMX interface of a {@link MetricsRegistry}, see {@link JmxExporter}.
+ */
+public interface MetricsMXBean {
+
+	/**
+	 * Returns true if the registry is installed with
+	 * {@link Metrics#install(MetricsCollector)}.
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Installs or uninstalls the registry, so that metrics can be enabled only
+	 * while a problem is analyzed.
+	 */
+	void setEnabled(boolean enabled);
+
+	List<MetricsSnapshot> getSnapshots();
+
+	long getCreatePanelCount();
+
+	long getPropertyAccessCount();
+
+	long getFieldValidationCount();
+
+	long getFormValidationCount();
+
+	long getActionCount();
+
+	long getCreateSectionCount();
+
+	/**
+	 * Discards all recorded latencies.
+	 */
+	void reset();
+
+}
@@ -0,0 +1,147 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link MetricsCollector} that keeps a {@link LatencyHistogram} per
+ * operation, type and form. Once the histogram of a combination exists,
+ * recording a latency allocates no objects. Export the registry via JMX with
+ * {@link JmxExporter}.
+ * <p/>
+ * Types are kept by their name only, so that a registry outliving a web
+ * application, e.g. one installed by the container, does not keep the classes
+ * and thus the class loader of the application from being unloaded.
+ */
+public class MetricsRegistry implements MetricsCollector {
+
+	/**
+	 * The key of the histograms of operations whose form is unknown.
+	 */
+	private static final String NO_FORM = "";
+
+	private final Map<Operation, ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>>> histograms = new EnumMap<Operation, ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>>>(
+			Operation.class);
+
+	public MetricsRegistry() {
+		for (Operation operation : Operation.values()) {
+			this.histograms.put(operation, new ConcurrentHashMap<String, ConcurrentMap<String, LatencyHistogram>>());
+		}
+	}
+
+	@Override
+	public void record(final Operation operation, final Class<?> type, final String formId, final long nanos) {
+		ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> byType = this.histograms.get(operation);
+		// Class.getName() is cached by the class, so that the lookup allocates
+		// no objects either
+		String typeName = type.getName();
+		ConcurrentMap<String, LatencyHistogram> byForm = byType.get(typeName);
+		if (byForm == null) {
+			byForm = new ConcurrentHashMap<String, LatencyHistogram>();
+			ConcurrentMap<String, LatencyHistogram> existing = byType.putIfAbsent(typeName, byForm);
+			if (existing != null) {
+				byForm = existing;
+			}
+		}
+		String key = formId == null ? NO_FORM : formId;
+		LatencyHistogram histogram = byForm.get(key);
+		if (histogram == null) {
+			histogram = new LatencyHistogram();
+			LatencyHistogram existing = byForm.putIfAbsent(key, histogram);
+			if (existing != null) {
+				histogram = existing;
+			}
+		}
+		histogram.record(nanos);
+	}
+
+	/**
+	 * Returns the histogram of an operation, type and form.
+	 * 
+	 * @param formId
+	 *            the id of the form or null for operations whose form is
+	 *            unknown.
+	 * @return the histogram or null if nothing has been recorded for this
+	 *         combination.
+	 */
+	public LatencyHistogram getHistogram(final Operation operation, final Class<?> type, final String formId) {
+		ConcurrentMap<String, LatencyHistogram> byForm = this.histograms.get(operation).get(type.getName());
+		return byForm == null ? null : byForm.get(formId == null ? NO_FORM : formId);
+	}
+
+	/**
+	 * Returns the number of recorded operations of the given kind over all
+	 * types and forms.
+	 */
+	public long getCount(final Operation operation) {
+		long count = 0;
+		for (ConcurrentMap<String, LatencyHistogram> byForm : this.histograms.get(operation).values()) {
+			for (LatencyHistogram histogram : byForm.values()) {
+				count += histogram.getCount();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a snapshot of all histograms, sorted by operation, type and form
+	 * id.
+	 */
+	public List<MetricsSnapshot> getSnapshots() {
+		List<MetricsSnapshot> snapshots = new ArrayList<MetricsSnapshot>();
+		for (Map.Entry<Operation, ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>>> byType : this.histograms
+				.entrySet()) {
+			for (Map.Entry<String, ConcurrentMap<String, LatencyHistogram>> byForm : byType.getValue().entrySet()) {
+				for (Map.Entry<String, LatencyHistogram> histogram : byForm.getValue().entrySet()) {
+					String formId = NO_FORM.equals(histogram.getKey()) ? null : histogram.getKey();
+					snapshots.add(new MetricsSnapshot(byType.getKey(), byForm.getKey(), formId, histogram
+							.getValue()));
+				}
+			}
+		}
+		Collections.sort(snapshots, new Comparator<MetricsSnapshot>() {
+			@Override
+			public int compare(final MetricsSnapshot a, final MetricsSnapshot b) {
+				int result = a.getOperation().compareTo(b.getOperation());
+				if (result == 0) {
+					result = a.getType().compareTo(b.getType());
+				}
+				if (result == 0) {
+					result = String.valueOf(a.getFormId()).compareTo(String.valueOf(b.getFormId()));
+				}
+				return result;
+			}
+		});
+		return snapshots;
+	}
+
+	/**
+	 * Discards all histograms.
+	 */
+	public void reset() {
+		for (ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> byType : this.histograms.values()) {
+			byType.clear();
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+
+/**
+ * The counts and latencies of an operation, type and form at a point in time.
+ * All latencies are in nanoseconds, the percentiles are upper bounds as
+ * described in {@link LatencyHistogram#getPercentileNanos(double)}.
+ */
+public class MetricsSnapshot implements Serializable {
+
+	private final String operation;
+
+	private final String type;
+
+	private final String formId;
+
+	private final long count;
+
+	private final long meanNanos;
+
+	private final long p50Nanos;
+
+	private final long p90Nanos;
+
+	private final long p99Nanos;
+
+	private final long maxNanos;
+
+	@ConstructorProperties({ "operation", "type", "formId", "count", "meanNanos", "p50Nanos", "p90Nanos",
+			"p99Nanos", "maxNanos" })
+	public MetricsSnapshot(final String operation, final String type, final String formId, final long count,
+			final long meanNanos, final long p50Nanos, final long p90Nanos, final long p99Nanos, final long maxNanos) {
+		this.operation = operation;
+		this.type = type;
+		this.formId = formId;
+		this.count = count;
+		this.meanNanos = meanNanos;
+		this.p50Nanos = p50Nanos;
+		this.p90Nanos = p90Nanos;
+		this.p99Nanos = p99Nanos;
+		this.maxNanos = maxNanos;
+	}
+
+	MetricsSnapshot(final Operation operation, final String type, final String formId,
+			final LatencyHistogram histogram) {
+		this(operation.name(), type, formId, histogram.getCount(), histogram.getMeanNanos(), histogram
+				.getPercentileNanos(50), histogram.getPercentileNanos(90), histogram.getPercentileNanos(99), histogram
+				.getMaxNanos());
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getFormId() {
+		return formId;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getMeanNanos() {
+		return meanNanos;
+	}
+
+	public long getP50Nanos() {
+		return p50Nanos;
+	}
+
+	public long getP90Nanos() {
+		return p90Nanos;
+	}
+
+	public long getP99Nanos() {
+		return p99Nanos;
+	}
+
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %s [form=%s]: count=%d, mean=%dns, p50=%dns, p90=%dns, p99=%dns, max=%dns",
+				operation, type, formId, count, meanNanos, p50Nanos, p90Nanos, p99Nanos, maxNanos);
+	}
+
+}
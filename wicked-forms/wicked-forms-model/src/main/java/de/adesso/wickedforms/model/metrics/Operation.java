@@ -0,0 +1,69 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+/**
+ * The operations of Wicked Forms whose latency is recorded by {@link Metrics}.
+ * Each operation is recorded per type, which is given in the description of
+ * the operation, and per form.
+ */
+public enum Operation {
+
+	/**
+	 * The creation of the panel of a form element by a panel factory, per
+	 * class of the form element.
+	 */
+	CREATE_PANEL,
+
+	/**
+	 * Reading a property by a {@link de.adesso.wickedforms.model.binding.PropertyBinding},
+	 * per class of the bound object. Bindings do not know their form, so the
+	 * form id is always null.
+	 */
+	GET_PROPERTY,
+
+	/**
+	 * Writing a property by a {@link de.adesso.wickedforms.model.binding.PropertyBinding},
+	 * per class of the bound object. Bindings do not know their form, so the
+	 * form id is always null.
+	 */
+	SET_PROPERTY,
+
+	/**
+	 * The execution of a {@link de.adesso.wickedforms.model.validation.FieldValidator},
+	 * per class of the validator.
+	 */
+	VALIDATE_FIELD,
+
+	/**
+	 * The execution of a {@link de.adesso.wickedforms.model.validation.FormValidator},
+	 * per class of the validator.
+	 */
+	VALIDATE_FORM,
+
+	/**
+	 * The execution of a {@link de.adesso.wickedforms.model.actions.FormAction},
+	 * per class of the action.
+	 */
+	EXECUTE_ACTION,
+
+	/**
+	 * The creation of a section by an
+	 * {@link de.adesso.wickedforms.model.elements.buttons.AddSectionButton},
+	 * per class of the button.
+	 */
+	CREATE_SECTION
+
+}
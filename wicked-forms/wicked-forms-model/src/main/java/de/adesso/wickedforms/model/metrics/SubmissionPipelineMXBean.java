@@ -0,0 +1,42 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+/**
+ * The JMX interface of a
+ * {@link de.adesso.wickedforms.model.submission.SubmissionPipeline}, see
+ * {@link JmxExporter}.
+ */
+public interface SubmissionPipelineMXBean {
+
+	boolean isRunning();
+
+	int getCapacity();
+
+	int getQueueDepth();
+
+	long getAccepted();
+
+	long getRejected();
+
+	long getDropped();
+
+	long getProcessed();
+
+	long getRetried();
+
+	long getFailed();
+
+}
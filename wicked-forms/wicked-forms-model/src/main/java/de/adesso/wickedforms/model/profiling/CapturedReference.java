@@ -0,0 +1,74 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.profiling;
+
+import java.io.Serializable;
+
+/**
+ * A reference that an anonymous, local or inner class holds implicitly: the
+ * outer instance of the class or a captured local variable. Captured
+ * references of validators, actions, bindings and choices are a common cause
+ * of large pages, since they serialize whatever they refer to with each
+ * page.
+ */
+public class CapturedReference implements Serializable {
+
+	private final String owner;
+
+	private final SizeCategory category;
+
+	private final String field;
+
+	private final String target;
+
+	CapturedReference(final String owner, final SizeCategory category, final String field, final String target) {
+		this.owner = owner;
+		this.category = category;
+		this.field = field;
+		this.target = target;
+	}
+
+	/**
+	 * The name of the class holding the reference.
+	 */
+	public String getOwner() {
+		return owner;
+	}
+
+	public SizeCategory getCategory() {
+		return category;
+	}
+
+	/**
+	 * The name of the synthetic field, e.g. "this$0" for the outer instance
+	 * or "val$name" for the captured variable "name".
+	 */
+	public String getField() {
+		return field;
+	}
+
+	/**
+	 * The name of the class of the referenced object.
+	 */
+	public String getTarget() {
+		return target;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s.%s -> %s", owner, field, target);
+	}
+
+}
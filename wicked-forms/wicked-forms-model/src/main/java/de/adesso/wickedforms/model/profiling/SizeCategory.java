@@ -0,0 +1,71 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.profiling;
+
+/**
+ * The categories {@link SizeProfiler} breaks the serialized size of an object
+ * graph down into.
+ */
+public enum SizeCategory {
+
+	/**
+	 * The form, its sections and elements and their flags and ids.
+	 */
+	STRUCTURE("Template structure"),
+
+	/**
+	 * Labels, hints, titles, placeholders, messages and other texts of the
+	 * form elements.
+	 */
+	TEXTS("Labels and hints"),
+
+	/**
+	 * The choices of choice fields, their labellers, sources and catalogs.
+	 */
+	CHOICES("Choice lists"),
+
+	/**
+	 * Bindings and the beans and values they refer to.
+	 */
+	BINDINGS("Bindings and bound beans"),
+
+	/**
+	 * Field validators, form validators and actions, including everything
+	 * they capture, e.g. the outer instance of an anonymous class.
+	 */
+	VALIDATORS_AND_ACTIONS("Validators and actions"),
+
+	/**
+	 * Wicket components, behaviors, models and their internal data.
+	 */
+	WICKET("Wicket components and behaviors"),
+
+	/**
+	 * Everything else, e.g. the objects of the application referenced by a
+	 * page.
+	 */
+	OTHER("Other");
+
+	private final String description;
+
+	private SizeCategory(final String description) {
+		this.description = description;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+}
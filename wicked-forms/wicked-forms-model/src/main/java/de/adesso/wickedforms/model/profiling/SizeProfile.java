@@ -0,0 +1,117 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.profiling;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The serialized size of an object graph broken down into
+ * {@link SizeCategory}s and classes, created by {@link SizeProfiler}.
+ */
+public class SizeProfile implements Serializable {
+
+	private final long totalBytes;
+
+	private final Map<SizeCategory, Long> bytes = new EnumMap<SizeCategory, Long>(SizeCategory.class);
+
+	private final Map<SizeCategory, Integer> objects = new EnumMap<SizeCategory, Integer>(SizeCategory.class);
+
+	private final List<TypeSize> types;
+
+	private final List<CapturedReference> capturedReferences;
+
+	SizeProfile(final long totalBytes, final long[] bytes, final int[] objects, final List<TypeSize> types,
+			final List<CapturedReference> capturedReferences) {
+		this.totalBytes = totalBytes;
+		for (SizeCategory category : SizeCategory.values()) {
+			this.bytes.put(category, bytes[category.ordinal()]);
+			this.objects.put(category, objects[category.ordinal()]);
+		}
+		this.types = Collections.unmodifiableList(new ArrayList<TypeSize>(types));
+		this.capturedReferences = Collections.unmodifiableList(new ArrayList<CapturedReference>(
+				capturedReferences));
+	}
+
+	/**
+	 * The serialized size of the whole object graph in bytes, including the
+	 * header of the stream.
+	 */
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	/**
+	 * The number of serialized bytes attributed to a category.
+	 */
+	public long getBytes(final SizeCategory category) {
+		return bytes.get(category);
+	}
+
+	/**
+	 * The share of a category in the total size in percent.
+	 */
+	public double getShare(final SizeCategory category) {
+		return totalBytes == 0 ? 0 : 100.0 * getBytes(category) / totalBytes;
+	}
+
+	/**
+	 * The number of objects of a category.
+	 */
+	public int getObjects(final SizeCategory category) {
+		return objects.get(category);
+	}
+
+	/**
+	 * The sizes per class and category, largest first.
+	 */
+	public List<TypeSize> getTypes() {
+		return types;
+	}
+
+	/**
+	 * The implicit references of anonymous, local and inner classes of the
+	 * form model, see {@link CapturedReference}.
+	 */
+	public List<CapturedReference> getCapturedReferences() {
+		return capturedReferences;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format("Total: %d bytes%n", totalBytes));
+		for (SizeCategory category : SizeCategory.values()) {
+			builder.append(String.format("  %-32s %10d bytes %6.1f%% %8d objects%n", category.getDescription(),
+					getBytes(category), getShare(category), getObjects(category)));
+		}
+		builder.append(String.format("Largest types:%n"));
+		for (TypeSize type : types.subList(0, Math.min(10, types.size()))) {
+			builder.append(String.format("  %s%n", type));
+		}
+		if (!capturedReferences.isEmpty()) {
+			builder.append(String.format("Captured references:%n"));
+			for (CapturedReference reference : capturedReferences) {
+				builder.append(String.format("  %s%n", reference));
+			}
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,396 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.profiling;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.actions.FormAction;
+import de.adesso.wickedforms.model.binding.Binding;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.fields.ChoiceCatalog;
+import de.adesso.wickedforms.model.elements.fields.ChoiceLabeller;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSource;
+import de.adesso.wickedforms.model.validation.FieldValidator;
+import de.adesso.wickedforms.model.validation.FormValidator;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Breaks the serialized size of an object graph, e.g. a Wicket page containing
+ * a form, down into {@link SizeCategory}s, so that the cause of large pages
+ * and sessions can be found. Use it in tests to keep the size of pages in
+ * check:
+ * 
+ * <pre>
+ * SizeProfile profile = SizeProfiler.profile(page);
+ * assertTrue(profile.toString(), profile.getBytes(SizeCategory.BINDINGS) &lt; 1000);
+ * </pre>
+ * 
+ * The object graph is serialized with Java serialization, and the bytes
+ * written for each object are attributed to its category. An object belongs to
+ * a category by its type, e.g. a {@link FieldValidator} to
+ * {@link SizeCategory#VALIDATORS_AND_ACTIONS}, or else to the category of the
+ * object it is first reached from, e.g. a bean to the category of its
+ * {@link Binding}. Strings held by form elements count as
+ * {@link SizeCategory#TEXTS}, and the choice lists of choice fields as
+ * {@link SizeCategory#CHOICES}. Wicket classes are recognized by their package
+ * name, so that the profiler works with any Wicket version.
+ * <p/>
+ * The profile is meant for diagnosis, not for production use: it walks the
+ * object graph by reflection and flushes the stream once per object, which
+ * adds a few bytes for classes with custom serialization.
+ */
+public final class SizeProfiler {
+
+	private static final String WICKET_PACKAGE = "org.apache.wicket.";
+
+	private SizeProfiler() {
+	}
+
+	/**
+	 * Profiles the serialized size of the given object graph.
+	 * 
+	 * @param root
+	 *            the root of the object graph, e.g. a page.
+	 * @return the profile.
+	 * @throws IllegalArgumentException
+	 *             if the object graph cannot be serialized.
+	 */
+	public static SizeProfile profile(final Object root) {
+		GraphWalker walker = new GraphWalker();
+		walker.walk(root);
+		CountingOutputStream counter = new CountingOutputStream();
+		ProfilingOutputStream out;
+		try {
+			out = new ProfilingOutputStream(counter, walker.categories);
+			out.writeObject(root);
+			out.finish();
+		} catch (IOException e) {
+			throw new IllegalArgumentException(String.format("%s could not be serialized!", root), e);
+		}
+		List<TypeSize> types = new ArrayList<TypeSize>(out.types.values());
+		Collections.sort(types, new Comparator<TypeSize>() {
+			@Override
+			public int compare(final TypeSize a, final TypeSize b) {
+				return a.getBytes() < b.getBytes() ? 1 : a.getBytes() > b.getBytes() ? -1 : 0;
+			}
+		});
+		return new SizeProfile(counter.count, out.bytes, out.objects, types, walker.captured);
+	}
+
+	/**
+	 * Returns the category of objects of the given class regardless of where
+	 * they are referenced from, or null if the class has no such category.
+	 */
+	static SizeCategory getTypeCategory(final Class<?> type) {
+		if (FieldValidator.class.isAssignableFrom(type) || FormValidator.class.isAssignableFrom(type)
+				|| FormAction.class.isAssignableFrom(type)) {
+			return SizeCategory.VALIDATORS_AND_ACTIONS;
+		} else if (Binding.class.isAssignableFrom(type)) {
+			return SizeCategory.BINDINGS;
+		} else if (ChoiceSource.class.isAssignableFrom(type) || ChoiceLabeller.class.isAssignableFrom(type)
+				|| ChoiceCatalog.class.isAssignableFrom(type)) {
+			return SizeCategory.CHOICES;
+		} else if (Form.class.isAssignableFrom(type) || AbstractFormElement.class.isAssignableFrom(type)) {
+			return SizeCategory.STRUCTURE;
+		} else if (isWicketType(type)) {
+			return SizeCategory.WICKET;
+		}
+		return null;
+	}
+
+	private static boolean isWicketType(final Class<?> type) {
+		for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+			if (c.getName().startsWith(WICKET_PACKAGE)) {
+				return true;
+			}
+			for (Class<?> i : c.getInterfaces()) {
+				if (isWicketType(i)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Walks the object graph in the order of Java serialization and assigns a
+	 * category to each object.
+	 */
+	private static class GraphWalker {
+
+		private final Map<Object, SizeCategory> categories = new IdentityHashMap<Object, SizeCategory>();
+
+		private final List<CapturedReference> captured = new ArrayList<CapturedReference>();
+
+		private final Map<Class<?>, List<Field>> fields = new HashMap<Class<?>, List<Field>>();
+
+		private final Map<Class<?>, SizeCategory> typeCategories = new HashMap<Class<?>, SizeCategory>();
+
+		void walk(final Object root) {
+			// depth first with an explicit stack, since the graphs of large
+			// pages are too deep for recursion
+			Deque<Node> stack = new ArrayDeque<Node>();
+			stack.push(new Node(root, categorize(root, null, null, SizeCategory.OTHER)));
+			List<Node> children = new ArrayList<Node>();
+			while (!stack.isEmpty()) {
+				Node node = stack.pop();
+				if (this.categories.containsKey(node.object)) {
+					continue;
+				}
+				this.categories.put(node.object, node.category);
+				children.clear();
+				addChildren(node.object, node.category, children);
+				for (int i = children.size() - 1; i >= 0; i--) {
+					stack.push(children.get(i));
+				}
+			}
+		}
+
+		private void addChildren(final Object object, final SizeCategory category, final List<Node> children) {
+			Class<?> type = object.getClass();
+			if (isLeaf(type)) {
+				return;
+			}
+			if (type.isArray()) {
+				for (Object element : (Object[]) object) {
+					addChild(element, object, null, category, children);
+				}
+			} else if (object instanceof Collection && type.getName().startsWith("java.")) {
+				for (Object element : (Collection<?>) object) {
+					addChild(element, object, null, category, children);
+				}
+			} else if (object instanceof Map && type.getName().startsWith("java.")) {
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+					addChild(entry.getKey(), object, null, category, children);
+					addChild(entry.getValue(), object, null, category, children);
+				}
+			} else {
+				SizeCategory typeCategory = getCachedTypeCategory(type);
+				for (Field field : getSerializedFields(type)) {
+					Object value;
+					try {
+						value = field.get(object);
+					} catch (IllegalAccessException e) {
+						throw new IllegalStateException(String.format("Field %s could not be read!", field), e);
+					}
+					if (value != null && field.isSynthetic() && typeCategory != null
+							&& typeCategory != SizeCategory.WICKET) {
+						this.captured.add(new CapturedReference(type.getName(), typeCategory, field.getName(), value
+								.getClass().getName()));
+					}
+					addChild(value, object, field, category, children);
+				}
+			}
+		}
+
+		private void addChild(final Object child, final Object parent, final Field field,
+				final SizeCategory parentCategory, final List<Node> children) {
+			if (child != null && !this.categories.containsKey(child)) {
+				children.add(new Node(child, categorize(child, parent, field, parentCategory)));
+			}
+		}
+
+		private SizeCategory categorize(final Object object, final Object parent, final Field field,
+				final SizeCategory parentCategory) {
+			SizeCategory typeCategory = getCachedTypeCategory(object.getClass());
+			if (typeCategory != null) {
+				return typeCategory;
+			}
+			if (parentCategory == SizeCategory.STRUCTURE
+					&& (parent instanceof Form || parent instanceof AbstractFormElement)) {
+				if (object instanceof String) {
+					return field != null && isIdField(field.getName()) ? SizeCategory.STRUCTURE : SizeCategory.TEXTS;
+				}
+				if (field != null && "choices".equals(field.getName())) {
+					return SizeCategory.CHOICES;
+				}
+			}
+			return parentCategory;
+		}
+
+		private static boolean isIdField(final String name) {
+			return "id".equals(name) || name.endsWith("Id");
+		}
+
+		private static boolean isLeaf(final Class<?> type) {
+			return type == String.class || type.isEnum() || type.isPrimitive() || Number.class.isAssignableFrom(type)
+					&& type.getName().startsWith("java.") || type == Boolean.class || type == Character.class
+					|| type == Class.class || type.isArray() && type.getComponentType().isPrimitive();
+		}
+
+		private SizeCategory getCachedTypeCategory(final Class<?> type) {
+			if (!this.typeCategories.containsKey(type)) {
+				this.typeCategories.put(type, getTypeCategory(type));
+			}
+			return this.typeCategories.get(type);
+		}
+
+		/**
+		 * Returns the fields of the given class and its superclasses that are
+		 * written by default serialization and are not primitive.
+		 */
+		private List<Field> getSerializedFields(final Class<?> type) {
+			List<Field> result = this.fields.get(type);
+			if (result != null) {
+				return result;
+			}
+			List<Class<?>> hierarchy = new ArrayList<Class<?>>();
+			for (Class<?> c = type; c != null && Serializable.class.isAssignableFrom(c); c = c.getSuperclass()) {
+				hierarchy.add(0, c);
+			}
+			result = new ArrayList<Field>();
+			for (Class<?> c : hierarchy) {
+				ObjectStreamClass descriptor = ObjectStreamClass.lookup(c);
+				if (descriptor == null) {
+					continue;
+				}
+				for (ObjectStreamField streamField : descriptor.getFields()) {
+					if (streamField.isPrimitive()) {
+						continue;
+					}
+					try {
+						Field field = c.getDeclaredField(streamField.getName());
+						if (!Modifier.isStatic(field.getModifiers())) {
+							field.setAccessible(true);
+							result.add(field);
+						}
+					} catch (NoSuchFieldException e) {
+						// a field declared by serialPersistentFields only
+					}
+				}
+			}
+			this.fields.put(type, result);
+			return result;
+		}
+
+	}
+
+	private static class Node {
+
+		private final Object object;
+
+		private final SizeCategory category;
+
+		Node(final Object object, final SizeCategory category) {
+			this.object = object;
+			this.category = category;
+		}
+
+	}
+
+	/**
+	 * Attributes the bytes written for each object to its category and class.
+	 * The bytes written between two objects belong to the first one, which
+	 * includes its class descriptor and its primitive fields.
+	 */
+	private static class ProfilingOutputStream extends ObjectOutputStream {
+
+		private final CountingOutputStream counter;
+
+		private final Map<Object, SizeCategory> categories;
+
+		private final long[] bytes = new long[SizeCategory.values().length];
+
+		private final int[] objects = new int[SizeCategory.values().length];
+
+		private final Map<String, TypeSize> types = new HashMap<String, TypeSize>();
+
+		private SizeCategory category = SizeCategory.OTHER;
+
+		private TypeSize type;
+
+		private long mark;
+
+		ProfilingOutputStream(final CountingOutputStream counter, final Map<Object, SizeCategory> categories)
+				throws IOException {
+			super(counter);
+			this.counter = counter;
+			this.categories = categories;
+			enableReplaceObject(true);
+			// the stream header belongs to no category
+			flush();
+			this.mark = counter.count;
+		}
+
+		@Override
+		protected Object replaceObject(final Object object) throws IOException {
+			account();
+			SizeCategory objectCategory = this.categories.get(object);
+			// objects not found by the walker, e.g. those written by custom
+			// serialization, stay in the category of the object before
+			if (objectCategory != null) {
+				this.category = objectCategory;
+			}
+			this.objects[this.category.ordinal()]++;
+			String key = object.getClass().getName() + "/" + this.category;
+			this.type = this.types.get(key);
+			if (this.type == null) {
+				this.type = new TypeSize(object.getClass().getName(), this.category);
+				this.types.put(key, this.type);
+			}
+			this.type.add(0, true);
+			return object;
+		}
+
+		void finish() throws IOException {
+			account();
+		}
+
+		private void account() throws IOException {
+			flush();
+			long written = this.counter.count - this.mark;
+			this.mark = this.counter.count;
+			this.bytes[this.category.ordinal()] += written;
+			if (this.type != null) {
+				this.type.add(written, false);
+			}
+		}
+
+	}
+
+	private static class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(final int b) {
+			this.count++;
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+			this.count += len;
+		}
+
+	}
+
+}
@@ -0,0 +1,68 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.profiling;
+
+import java.io.Serializable;
+
+/**
+ * The number and serialized size of the objects of a class within a category.
+ */
+public class TypeSize implements Serializable {
+
+	private final String type;
+
+	private final SizeCategory category;
+
+	private int objects;
+
+	private long bytes;
+
+	TypeSize(final String type, final SizeCategory category) {
+		this.type = type;
+		this.category = category;
+	}
+
+	void add(final long bytes, final boolean newObject) {
+		this.bytes += bytes;
+		if (newObject) {
+			this.objects++;
+		}
+	}
+
+	/**
+	 * The name of the class.
+	 */
+	public String getType() {
+		return type;
+	}
+
+	public SizeCategory getCategory() {
+		return category;
+	}
+
+	public int getObjects() {
+		return objects;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%s): %d objects, %d bytes", type, category, objects, bytes);
+	}
+
+}
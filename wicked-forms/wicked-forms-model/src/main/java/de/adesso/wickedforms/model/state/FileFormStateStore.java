@@ -0,0 +1,122 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.state;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores the state of each form instance in a file of its own. A state is
+ * written to a temporary file first, which then atomically replaces the
+ * previous state, so that a node reading the state never sees a partially
+ * written file. The directory may thus be shared by all nodes of a cluster,
+ * e.g. via NFS.
+ * <p/>
+ * The state is written with {@link FormState#write(java.io.DataOutput)}
+ * instead of Java serialization, which keeps the files small and independent
+ * of the classes of the form elements.
+ */
+public class FileFormStateStore implements FormStateStore {
+
+	private static final String SUFFIX = ".state";
+
+	private static final int MAGIC = 0x57465331;
+
+	private final File directory;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param directory
+	 *            the directory to store the states in. It is created if it
+	 *            does not exist.
+	 */
+	public FileFormStateStore(final File directory) {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IllegalArgumentException(String.format("Directory %s could not be created!", directory));
+		}
+		this.directory = directory;
+	}
+
+	@Override
+	public void save(final String instanceId, final FormState state) throws IOException {
+		File file = getFile(instanceId);
+		File tmp = File.createTempFile(file.getName(), ".tmp", this.directory);
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+			try {
+				out.writeInt(MAGIC);
+				state.write(out);
+			} finally {
+				out.close();
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp.toPath());
+		}
+	}
+
+	@Override
+	public FormState load(final String instanceId) throws IOException {
+		DataInputStream in;
+		try {
+			in = new DataInputStream(new BufferedInputStream(new FileInputStream(getFile(instanceId))));
+		} catch (FileNotFoundException e) {
+			return null;
+		}
+		try {
+			if (in.readInt() != MAGIC) {
+				throw new IOException(String.format("The state of form instance %s has an unknown format!",
+						instanceId));
+			}
+			return FormState.read(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	@Override
+	public void remove(final String instanceId) throws IOException {
+		Files.deleteIfExists(getFile(instanceId).toPath());
+	}
+
+	/**
+	 * Returns the file of a form instance. All characters of the id except
+	 * letters, digits, '-' and '_' are escaped, so that any id can be used.
+	 */
+	private File getFile(final String instanceId) {
+		StringBuilder name = new StringBuilder(instanceId.length() + SUFFIX.length());
+		for (int i = 0; i < instanceId.length(); i++) {
+			char c = instanceId.charAt(i);
+			if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_') {
+				name.append(c);
+			} else {
+				name.append(String.format("~%04x", (int) c));
+			}
+		}
+		return new File(this.directory, name.append(SUFFIX).toString());
+	}
+
+}
@@ -0,0 +1,478 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.state;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractBoundField;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The mutable state of a form instance: the values and user input of its
+ * fields and the flags of all of its elements. The structure of the form,
+ * its labels, choices and validators are not part of the state, since they
+ * are defined by the form definition.
+ * <p/>
+ * A form instance can thus be recreated on any node of a cluster by creating
+ * the form from its definition and applying the state with
+ * {@link #applyTo(Form)}. Sections that have been added by the user with an
+ * {@link AddSectionButton} are recreated with
+ * {@link AddSectionButton#addSection()}, which must create a section of the
+ * same structure each time. Other elements that have been added to the form
+ * after it has been created cannot be recreated, so {@link #applyTo(Form)}
+ * fails for states containing such elements.
+ * <p/>
+ * The values of choice fields are kept as the indexes of the selected
+ * choices, so that choices without {@link Object#equals(Object)} are restored
+ * as well. Values whose indexes are outside of the choices of the form are
+ * not restored.
+ */
+public class FormState implements Serializable {
+
+	private static final byte VISIBLE = 1;
+
+	private static final byte ENABLED = 2;
+
+	private static final byte DISCARDED = 4;
+
+	private static final byte BOUND = 8;
+
+	private static final byte INPUT_FIELD = 16;
+
+	private static final byte HIDDEN = 32;
+
+	/**
+	 * The value and the user input are stored as choice indexes, see
+	 * {@link ElementState#toIndexes(AbstractFormElement, Object)}.
+	 */
+	private static final byte CHOICE = 64;
+
+	/**
+	 * Returned by {@link ElementState#fromIndexes(AbstractFormElement, Object)}
+	 * for indexes that do not denote a choice of the field.
+	 */
+	private static final Object STALE = new Object();
+
+	private final Map<String, ElementState> elements;
+
+	/**
+	 * The ids of the sections added by each {@link AddSectionButton}, each
+	 * section with the ids of all of its elements in the order of
+	 * {@link #collectIds(AbstractFormElement, List)}.
+	 */
+	private final Map<String, List<List<String>>> addedSections;
+
+	private FormState(final Map<String, ElementState> elements, final Map<String, List<List<String>>> addedSections) {
+		this.elements = Collections.unmodifiableMap(elements);
+		this.addedSections = Collections.unmodifiableMap(addedSections);
+	}
+
+	/**
+	 * Captures the state of the given form.
+	 *
+	 * @param form
+	 *            the form. Ids are assigned to elements that do not have one
+	 *            yet, ids of the other elements are kept.
+	 * @return the state.
+	 */
+	public static FormState of(final Form form) {
+		form.assignIds();
+		Map<String, ElementState> elements = new LinkedHashMap<String, ElementState>();
+		Map<String, List<List<String>>> addedSections = new LinkedHashMap<String, List<List<String>>>();
+		collect(form.getMainSection(), elements, addedSections);
+		return new FormState(elements, addedSections);
+	}
+
+	private static void collect(final Section section, final Map<String, ElementState> elements,
+			final Map<String, List<List<String>>> addedSections) {
+		for (AbstractFormElement element : section.getFormElements()) {
+			elements.put(element.getId(), ElementState.of(element));
+			if (element instanceof Section) {
+				collect((Section) element, elements, addedSections);
+			} else if (element instanceof AddSectionButton) {
+				List<Section> added = ((AddSectionButton) element).getAddedSections();
+				if (!added.isEmpty()) {
+					List<List<String>> ids = new ArrayList<List<String>>(added.size());
+					for (Section addedSection : added) {
+						List<String> sectionIds = new ArrayList<String>();
+						collectIds(addedSection, sectionIds);
+						ids.add(sectionIds);
+					}
+					addedSections.put(element.getId(), ids);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the ids of the given element and all of its children, parents
+	 * before their children.
+	 */
+	private static void collectIds(final AbstractFormElement element, final List<String> ids) {
+		ids.add(element.getId());
+		if (element instanceof Section) {
+			for (AbstractFormElement child : ((Section) element).getFormElements()) {
+				collectIds(child, ids);
+			}
+		}
+	}
+
+	private static int assignIds(final AbstractFormElement element, final List<String> ids, final int next) {
+		int index = next;
+		if (index < ids.size()) {
+			element.setId(ids.get(index));
+		}
+		index++;
+		if (element instanceof Section) {
+			for (AbstractFormElement child : ((Section) element).getFormElements()) {
+				index = assignIds(child, ids, index);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Applies this state to the given form, which must have been created from
+	 * the same definition as the form the state was captured from. Sections
+	 * that have been added by the user are recreated first and get the ids
+	 * they had before. Elements that are discarded in this state are
+	 * discarded in the form, so that {@link AbstractFormElement#onDiscard()}
+	 * is called again.
+	 *
+	 * @param form
+	 *            the form. Its ids are assigned if this has not been done yet.
+	 * @return the number of elements whose state has been applied.
+	 * @throws IllegalStateException
+	 *             if an element of this state cannot be found in the form,
+	 *             e.g. because it has been added to the form without an
+	 *             {@link AddSectionButton}, or if an {@link AddSectionButton}
+	 *             creates a section of another structure than before.
+	 */
+	public int applyTo(final Form form) {
+		form.assignIds();
+		for (Map.Entry<String, List<List<String>>> button : this.addedSections.entrySet()) {
+			recreateSections(form, button.getKey(), button.getValue());
+		}
+		int applied = 0;
+		for (Map.Entry<String, ElementState> element : this.elements.entrySet()) {
+			AbstractFormElement target = form.getElementById(element.getKey());
+			if (target == null) {
+				throw new IllegalStateException(String.format(
+						"Form element %s cannot be restored, since it is not part of form %s!", element.getKey(),
+						form.getLabel()));
+			}
+			element.getValue().applyTo(target);
+			applied++;
+		}
+		return applied;
+	}
+
+	/**
+	 * Adds the sections of the given button that are missing in the form. The
+	 * buttons are recreated in the order they have been captured, so that
+	 * buttons within added sections exist when their sections are recreated.
+	 */
+	private static void recreateSections(final Form form, final String buttonId, final List<List<String>> sections) {
+		AbstractFormElement element = form.getElementById(buttonId);
+		if (!(element instanceof AddSectionButton)) {
+			throw new IllegalStateException(String.format(
+					"Sections added by button %s cannot be restored, since the button is not part of form %s!",
+					buttonId, form.getLabel()));
+		}
+		AddSectionButton button = (AddSectionButton) element;
+		for (int i = button.getAddedSections().size(); i < sections.size(); i++) {
+			List<String> ids = sections.get(i);
+			Section section = button.addSection();
+			if (section == null || assignIds(section, ids, 0) != ids.size()) {
+				throw new IllegalStateException(String.format(
+						"Button %s of form %s did not create a section of the same structure as before!",
+						button.getLabel(), form.getLabel()));
+			}
+			for (String id : ids) {
+				if (form.getElementById(id) != null) {
+					throw new IllegalStateException(String.format(
+							"Id %s of a section added by button %s is already in use in form %s!", id,
+							button.getLabel(), form.getLabel()));
+				}
+			}
+			form.assignIds();
+		}
+	}
+
+	/**
+	 * The number of elements whose state is contained.
+	 */
+	public int size() {
+		return this.elements.size();
+	}
+
+	/**
+	 * Writes this state in the compact form of {@link ValueCodec}.
+	 */
+	public void write(final DataOutput out) throws IOException {
+		out.writeInt(this.addedSections.size());
+		for (Map.Entry<String, List<List<String>>> button : this.addedSections.entrySet()) {
+			out.writeUTF(button.getKey());
+			out.writeInt(button.getValue().size());
+			for (List<String> section : button.getValue()) {
+				out.writeInt(section.size());
+				for (String id : section) {
+					out.writeUTF(id);
+				}
+			}
+		}
+		out.writeInt(this.elements.size());
+		for (Map.Entry<String, ElementState> element : this.elements.entrySet()) {
+			out.writeUTF(element.getKey());
+			ElementState state = element.getValue();
+			out.writeByte(state.flags);
+			if ((state.flags & BOUND) != 0) {
+				ValueCodec.writeValue(out, state.value);
+			}
+			if ((state.flags & INPUT_FIELD) != 0) {
+				ValueCodec.writeValue(out, state.userInput);
+			}
+		}
+	}
+
+	/**
+	 * Reads a state written by {@link #write(DataOutput)}.
+	 */
+	public static FormState read(final DataInput in) throws IOException {
+		int buttons = in.readInt();
+		Map<String, List<List<String>>> addedSections = new LinkedHashMap<String, List<List<String>>>();
+		for (int i = 0; i < buttons; i++) {
+			String buttonId = in.readUTF();
+			int sectionCount = in.readInt();
+			List<List<String>> sections = new ArrayList<List<String>>(sectionCount);
+			for (int j = 0; j < sectionCount; j++) {
+				int idCount = in.readInt();
+				List<String> ids = new ArrayList<String>(idCount);
+				for (int k = 0; k < idCount; k++) {
+					ids.add(in.readUTF());
+				}
+				sections.add(ids);
+			}
+			addedSections.put(buttonId, sections);
+		}
+		int count = in.readInt();
+		Map<String, ElementState> elements = new LinkedHashMap<String, ElementState>();
+		for (int i = 0; i < count; i++) {
+			String elementId = in.readUTF();
+			byte flags = in.readByte();
+			Object value = (flags & BOUND) != 0 ? ValueCodec.readValue(in) : null;
+			Object userInput = (flags & INPUT_FIELD) != 0 ? ValueCodec.readValue(in) : null;
+			elements.put(elementId, new ElementState(flags, value, userInput));
+		}
+		return new FormState(elements, addedSections);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (!(obj instanceof FormState)) {
+			return false;
+		}
+		FormState that = (FormState) obj;
+		return this.elements.equals(that.elements) && this.addedSections.equals(that.addedSections);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.elements.hashCode();
+	}
+
+	/**
+	 * The state of a single form element.
+	 */
+	private static class ElementState implements Serializable {
+
+		private final byte flags;
+
+		private final Object value;
+
+		private final Object userInput;
+
+		ElementState(final byte flags, final Object value, final Object userInput) {
+			this.flags = flags;
+			this.value = value;
+			this.userInput = userInput;
+		}
+
+		static ElementState of(final AbstractFormElement element) {
+			int flags = 0;
+			Object value = null;
+			Object userInput = null;
+			if (element.isVisible()) {
+				flags |= VISIBLE;
+			}
+			if (element.isDiscarded()) {
+				flags |= DISCARDED;
+			}
+			if (element instanceof Section && ((Section) element).isHidden()) {
+				flags |= HIDDEN;
+			}
+			if (element instanceof AbstractBoundField) {
+				flags |= BOUND;
+				value = ((AbstractBoundField<?>) element).getValue();
+			}
+			if (element instanceof AbstractInputField) {
+				AbstractInputField<?> field = (AbstractInputField<?>) element;
+				flags |= INPUT_FIELD;
+				if (field.isEnabled()) {
+					flags |= ENABLED;
+				}
+				userInput = field.getUserInput();
+			}
+			if (element instanceof AbstractMultiChoice) {
+				flags |= CHOICE;
+				value = toList(((AbstractMultiChoice<?>) element).getSelection().getSelectedIndexes());
+				userInput = toIndexes(element, userInput);
+			} else if (element instanceof AbstractSingleChoice) {
+				flags |= CHOICE;
+				value = toIndexes(element, value);
+				userInput = toIndexes(element, userInput);
+			}
+			return new ElementState((byte) flags, value, userInput);
+		}
+
+		/**
+		 * Replaces the choices of a value of a choice field by their indexes:
+		 * the index of the choice for a single choice field and a list of
+		 * indexes for a multi choice field. Objects that are not choices of
+		 * the field are left out.
+		 */
+		private static Object toIndexes(final AbstractFormElement element, final Object value) {
+			if (value == null) {
+				return null;
+			}
+			if (element instanceof AbstractSingleChoice) {
+				int index = ((AbstractSingleChoice<?>) element).indexOf(value);
+				return index == -1 ? null : index;
+			}
+			BitSet indexes = new BitSet();
+			for (Object choice : (List<?>) value) {
+				int index = ((AbstractMultiChoice<?>) element).indexOf(choice);
+				if (index != -1) {
+					indexes.set(index);
+				}
+			}
+			return toList(indexes);
+		}
+
+		private static List<Integer> toList(final BitSet indexes) {
+			List<Integer> list = new ArrayList<Integer>(indexes.cardinality());
+			for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+				list.add(i);
+			}
+			return list;
+		}
+
+		/**
+		 * Resolves the indexes created by
+		 * {@link #toIndexes(AbstractFormElement, Object)} to the choices of the
+		 * given field.
+		 *
+		 * @return the value or {@link #STALE} if an index does not denote a
+		 *         choice of the field, e.g. because its choices have changed.
+		 */
+		private static Object fromIndexes(final AbstractFormElement element, final Object indexes) {
+			if (!(element instanceof AbstractSingleChoice) && !(element instanceof AbstractMultiChoice)) {
+				return STALE;
+			}
+			if (indexes == null) {
+				return null;
+			}
+			if (element instanceof AbstractSingleChoice) {
+				return choiceAt(((AbstractSingleChoice<?>) element).getChoices(), (Integer) indexes);
+			}
+			List<?> choices = ((AbstractMultiChoice<?>) element).getChoices();
+			List<Object> value = new ArrayList<Object>(((List<?>) indexes).size());
+			for (Object index : (List<?>) indexes) {
+				Object choice = choiceAt(choices, (Integer) index);
+				if (choice == STALE) {
+					return STALE;
+				}
+				value.add(choice);
+			}
+			return value;
+		}
+
+		private static Object choiceAt(final List<?> choices, final int index) {
+			return index >= 0 && index < choices.size() ? choices.get(index) : STALE;
+		}
+
+		@SuppressWarnings("unchecked")
+		void applyTo(final AbstractFormElement element) {
+			element.setVisible((this.flags & VISIBLE) != 0);
+			if ((this.flags & DISCARDED) != 0 && !element.isDiscarded()) {
+				element.discard();
+			}
+			if (element instanceof Section) {
+				((Section) element).setHidden((this.flags & HIDDEN) != 0);
+			}
+			boolean choice = (this.flags & CHOICE) != 0;
+			if ((this.flags & BOUND) != 0 && element instanceof AbstractBoundField) {
+				Object restoredValue = choice ? fromIndexes(element, this.value) : this.value;
+				if (restoredValue != STALE) {
+					((AbstractBoundField<Object>) element).setValue(restoredValue);
+				}
+			}
+			if ((this.flags & INPUT_FIELD) != 0 && element instanceof AbstractInputField) {
+				AbstractInputField<Object> field = (AbstractInputField<Object>) element;
+				field.setEnabled((this.flags & ENABLED) != 0);
+				Object restoredInput = choice ? fromIndexes(element, this.userInput) : this.userInput;
+				if (restoredInput != STALE) {
+					field.setUserInput(restoredInput);
+				}
+			}
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof ElementState)) {
+				return false;
+			}
+			ElementState that = (ElementState) obj;
+			return this.flags == that.flags && equal(this.value, that.value)
+					&& equal(this.userInput, that.userInput);
+		}
+
+		private static boolean equal(final Object a, final Object b) {
+			return a == null ? b == null : a.equals(b);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.flags + (this.value == null ? 0 : this.value.hashCode());
+		}
+
+	}
+
+}
@@ -0,0 +1,57 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.state;
+
+import java.io.IOException;
+
+/**
+ * Persists the state of form instances outside of the user's session, so that
+ * any node of a cluster can continue a form that has been started on another
+ * node. See {@link FileFormStateStore} for the default implementation, which
+ * can be pointed at a directory shared by all nodes. Implementations backed by
+ * a distributed cache or a database are plugged in the same way.
+ */
+public interface FormStateStore {
+
+	/**
+	 * Saves the state of a form instance, replacing any state saved before.
+	 *
+	 * @param instanceId
+	 *            the id of the form instance, see
+	 *            {@link de.adesso.wickedforms.model.Form#setInstanceId(String)}.
+	 * @param state
+	 *            the state of the form instance.
+	 */
+	void save(String instanceId, FormState state) throws IOException;
+
+	/**
+	 * Loads the state of a form instance.
+	 *
+	 * @param instanceId
+	 *            the id of the form instance.
+	 * @return the state or null if no state has been saved for this instance.
+	 */
+	FormState load(String instanceId) throws IOException;
+
+	/**
+	 * Removes the state of a form instance, e.g. after the form has been
+	 * submitted. Does nothing if no state has been saved for this instance.
+	 *
+	 * @param instanceId
+	 *            the id of the form instance.
+	 */
+	void remove(String instanceId) throws IOException;
+
+}
@@ -0,0 +1,277 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.state;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Writes the values of form elements in a compact binary form. It is used for
+ * form states, drafts and the records of the submission store, so that all of
+ * them encode values the same way.
+ * <p/>
+ * Each value is prefixed with a tag byte denoting its type. Strings,
+ * booleans, integers, longs, floats, doubles, big decimals, dates and
+ * collections of these are written with their content only. Enums, which are
+ * the most common values of choice fields, are written as the name of their
+ * class and the name of the constant. All other values must be
+ * {@link Serializable} and are written with Java serialization. Lengths and
+ * integral values are written as variable length integers, strings as UTF-8.
+ * Collections are read as lists.
+ */
+public final class ValueCodec {
+
+	private static final byte NULL = 0;
+
+	private static final byte STRING = 1;
+
+	private static final byte TRUE = 2;
+
+	private static final byte FALSE = 3;
+
+	private static final byte INTEGER = 4;
+
+	private static final byte LONG = 5;
+
+	private static final byte FLOAT = 6;
+
+	private static final byte DOUBLE = 7;
+
+	private static final byte BIG_DECIMAL = 8;
+
+	private static final byte DATE = 9;
+
+	private static final byte LIST = 10;
+
+	private static final byte SERIALIZED = 11;
+
+	private static final byte ENUM = 12;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private ValueCodec() {
+	}
+
+	/**
+	 * Writes a value with its type.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the value is not serializable.
+	 */
+	public static void writeValue(final DataOutput out, final Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL);
+		} else if (value instanceof String) {
+			out.writeByte(STRING);
+			writeString(out, (String) value);
+		} else if (value instanceof Boolean) {
+			out.writeByte((Boolean) value ? TRUE : FALSE);
+		} else if (value instanceof Integer) {
+			out.writeByte(INTEGER);
+			writeVarLong(out, zigZag((Integer) value));
+		} else if (value instanceof Long) {
+			out.writeByte(LONG);
+			writeVarLong(out, zigZag((Long) value));
+		} else if (value instanceof Float) {
+			out.writeByte(FLOAT);
+			out.writeFloat((Float) value);
+		} else if (value instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double) value);
+		} else if (value instanceof BigDecimal) {
+			out.writeByte(BIG_DECIMAL);
+			writeString(out, value.toString());
+		} else if (value.getClass() == Date.class) {
+			out.writeByte(DATE);
+			writeVarLong(out, zigZag(((Date) value).getTime()));
+		} else if (value instanceof Enum) {
+			out.writeByte(ENUM);
+			writeString(out, ((Enum<?>) value).getDeclaringClass().getName());
+			writeString(out, ((Enum<?>) value).name());
+		} else if (value instanceof Collection) {
+			Collection<?> collection = (Collection<?>) value;
+			out.writeByte(LIST);
+			writeVarInt(out, collection.size());
+			for (Object item : collection) {
+				writeValue(out, item);
+			}
+		} else if (value instanceof Serializable) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+			ObjectOutputStream object = new ObjectOutputStream(bytes);
+			object.writeObject(value);
+			object.close();
+			out.writeByte(SERIALIZED);
+			writeVarInt(out, bytes.size());
+			out.write(bytes.toByteArray());
+		} else {
+			throw new IllegalArgumentException(String.format("Value %s of type %s is not serializable!", value,
+					value.getClass().getName()));
+		}
+	}
+
+	/**
+	 * Reads a value written by {@link #writeValue(DataOutput, Object)}.
+	 */
+	public static Object readValue(final DataInput in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case NULL:
+			return null;
+		case STRING:
+			return readString(in);
+		case TRUE:
+			return Boolean.TRUE;
+		case FALSE:
+			return Boolean.FALSE;
+		case INTEGER:
+			return Integer.valueOf((int) unZigZag(readVarLong(in)));
+		case LONG:
+			return Long.valueOf(unZigZag(readVarLong(in)));
+		case FLOAT:
+			return in.readFloat();
+		case DOUBLE:
+			return in.readDouble();
+		case BIG_DECIMAL:
+			return new BigDecimal(readString(in));
+		case DATE:
+			return new Date(unZigZag(readVarLong(in)));
+		case LIST:
+			int size = readVarInt(in);
+			List<Object> list = new ArrayList<Object>(size);
+			for (int i = 0; i < size; i++) {
+				list.add(readValue(in));
+			}
+			return list;
+		case ENUM:
+			return readEnum(in);
+		case SERIALIZED:
+			byte[] bytes = new byte[readVarInt(in)];
+			in.readFully(bytes);
+			ObjectInputStream object = new ObjectInputStream(new ByteArrayInputStream(bytes));
+			try {
+				return object.readObject();
+			} catch (ClassNotFoundException e) {
+				throw new IOException("The class of a value could not be found!", e);
+			} finally {
+				object.close();
+			}
+		default:
+			throw new IOException(String.format("Unknown value type %d!", type));
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object readEnum(final DataInput in) throws IOException {
+		String className = readString(in);
+		String name = readString(in);
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		try {
+			Class type = Class.forName(className, false, classLoader != null ? classLoader
+					: ValueCodec.class.getClassLoader());
+			return Enum.valueOf(type, name);
+		} catch (ClassNotFoundException e) {
+			throw new IOException(String.format("Enum %s could not be found!", className), e);
+		} catch (IllegalArgumentException e) {
+			throw new IOException(String.format("%s is not a constant of enum %s!", name, className), e);
+		}
+	}
+
+	/**
+	 * Writes a string as its UTF-8 length followed by its UTF-8 bytes. Unlike
+	 * {@link DataOutput#writeUTF(String)}, the length of the string is not
+	 * limited to 64k, which is too short for text areas.
+	 */
+	public static void writeString(final DataOutput out, final String value) throws IOException {
+		byte[] bytes = value.getBytes(UTF8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Reads a string written by {@link #writeString(DataOutput, String)}.
+	 */
+	public static String readString(final DataInput in) throws IOException {
+		byte[] bytes = new byte[readVarInt(in)];
+		in.readFully(bytes);
+		return new String(bytes, UTF8);
+	}
+
+	/**
+	 * Writes a length or another non-negative int as variable length integer.
+	 */
+	public static void writeVarInt(final DataOutput out, final int value) throws IOException {
+		writeVarLong(out, value & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Reads an int written by {@link #writeVarInt(DataOutput, int)}.
+	 */
+	public static int readVarInt(final DataInput in) throws IOException {
+		long value = readVarLong(in);
+		if (value > Integer.MAX_VALUE) {
+			throw new IOException(String.format("Invalid length %d!", value));
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Writes a long as variable length integer of 7 bits per byte. Negative
+	 * values take 10 bytes, so signed values should be zig-zag encoded first.
+	 */
+	public static void writeVarLong(final DataOutput out, final long value) throws IOException {
+		long remaining = value;
+		while ((remaining & ~0x7FL) != 0) {
+			out.writeByte((int) ((remaining & 0x7F) | 0x80));
+			remaining >>>= 7;
+		}
+		out.writeByte((int) remaining);
+	}
+
+	/**
+	 * Reads a long written by {@link #writeVarLong(DataOutput, long)}.
+	 */
+	public static long readVarLong(final DataInput in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = in.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length integer!");
+	}
+
+	private static long zigZag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(final long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+}
@@ -0,0 +1,47 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.submission;
+
+/**
+ * Defines what a {@link SubmissionPipeline} does with a submission when its
+ * queue is full.
+ */
+public enum BackpressurePolicy {
+
+	/**
+	 * The request thread waits for free space in the queue up to the
+	 * configured timeout. If there is still no space, the submission is
+	 * rejected.
+	 */
+	BLOCK,
+
+	/**
+	 * The submission is rejected immediately.
+	 */
+	REJECT,
+
+	/**
+	 * The oldest queued submission is dropped to make space for the new one.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * The submission is processed on the request thread, which slows down
+	 * the submitting users until the queue has space again. The handler is
+	 * called only once, a failed submission is not retried.
+	 */
+	CALLER_RUNS
+
+}
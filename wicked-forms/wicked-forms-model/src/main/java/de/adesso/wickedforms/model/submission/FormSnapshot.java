@@ -0,0 +1,156 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.submission;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of the values of a submitted form. Since the {@link Form}
+ * itself is changed by the user interface after the submission, a snapshot is
+ * taken on the request thread and handed over to a
+ * {@link SubmissionPipeline}, which processes it later on another thread.
+ * <p/>
+ * The values are keyed by the ids of the input fields. Collections and dates
+ * are copied, all other values are expected to be immutable.
+ */
+public class FormSnapshot implements Serializable {
+
+	private final String formId;
+
+	private final String label;
+
+	private final long timestamp;
+
+	private final Map<String, Object> values;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param formId
+	 *            the id of the submitted form.
+	 * @param label
+	 *            the title of the submitted form.
+	 * @param timestamp
+	 *            the time of submission in milliseconds since the epoch.
+	 * @param values
+	 *            the submitted values keyed by the ids of the form elements.
+	 */
+	public FormSnapshot(final String formId, final String label, final long timestamp, final Map<String, ?> values) {
+		this.formId = formId;
+		this.label = label;
+		this.timestamp = timestamp;
+		Map<String, Object> copy = new LinkedHashMap<String, Object>();
+		for (Map.Entry<String, ?> value : values.entrySet()) {
+			copy.put(value.getKey(), copy(value.getValue()));
+		}
+		this.values = Collections.unmodifiableMap(copy);
+	}
+
+	/**
+	 * Takes a snapshot of the current values of all input fields of the given
+	 * form that have not been discarded. The form is identified by its
+	 * template id or, if it has none, by its label.
+	 *
+	 * @param form
+	 *            the submitted form. Its ids must have been assigned with
+	 *            {@link Form#assignIds()}.
+	 * @return the snapshot.
+	 */
+	public static FormSnapshot of(final Form form) {
+		Map<String, Object> values = new LinkedHashMap<String, Object>();
+		collect(form.getMainSection(), values);
+		String formId = form.getTemplateId() != null ? form.getTemplateId() : form.getLabel();
+		return new FormSnapshot(formId, form.getLabel(), System.currentTimeMillis(), values);
+	}
+
+	private static void collect(final Section section, final Map<String, Object> values) {
+		for (AbstractFormElement element : section.getFormElements()) {
+			if (element.isDiscarded()) {
+				continue;
+			}
+			if (element instanceof Section) {
+				collect((Section) element, values);
+			} else if (element instanceof AbstractInputField) {
+				if (element.getId() == null) {
+					throw new IllegalArgumentException(String.format(
+							"Form element %s has no id! Call Form.assignIds() before taking a snapshot.", element));
+				}
+				values.put(element.getId(), ((AbstractInputField<?>) element).getValue());
+			}
+		}
+	}
+
+	private static Object copy(final Object value) {
+		if (value instanceof Collection) {
+			List<Object> list = new ArrayList<Object>(((Collection<?>) value).size());
+			for (Object item : (Collection<?>) value) {
+				list.add(copy(item));
+			}
+			return Collections.unmodifiableList(list);
+		}
+		if (value instanceof Date) {
+			return new Date(((Date) value).getTime());
+		}
+		return value;
+	}
+
+	public String getFormId() {
+		return formId;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public Map<String, Object> getValues() {
+		return values;
+	}
+
+	/**
+	 * Returns the submitted value of the form element with the given id.
+	 * Dates are copied, so that the snapshot cannot be changed through them.
+	 *
+	 * @param elementId
+	 *            the id of the form element.
+	 * @return the value or null if the element has no value or is not part of
+	 *         this snapshot.
+	 */
+	public Object getValue(final String elementId) {
+		Object value = values.get(elementId);
+		return value instanceof Date ? copy(value) : value;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("FormSnapshot [formId=%s, timestamp=%d, values=%s]", formId, timestamp, values);
+	}
+
+}
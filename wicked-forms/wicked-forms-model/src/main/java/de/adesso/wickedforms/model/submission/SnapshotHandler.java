@@ -0,0 +1,33 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.submission;
+
+/**
+ * Processes the submitted forms taken from a {@link SubmissionPipeline}, for
+ * example by generating a document or by storing them.
+ */
+public interface SnapshotHandler {
+
+	/**
+	 * Processes a submitted form. If an exception is thrown, the submission
+	 * is retried as configured in the pipeline, so this method should be
+	 * idempotent.
+	 *
+	 * @param snapshot
+	 *            the values of the submitted form.
+	 */
+	void handle(FormSnapshot snapshot) throws Exception;
+
+}
@@ -0,0 +1,483 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.submission;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Processes submitted forms asynchronously, so that slow processing does not
+ * hold the request threads. A snapshot of each submitted form is put into a
+ * bounded queue, from which a number of workers pass it to a
+ * {@link SnapshotHandler}. The user can be shown that the submission has been
+ * accepted as soon as {@link #submit(FormSnapshot)} returns true.
+ * <p/>
+ * When the queue is full, the {@link BackpressurePolicy} decides whether the
+ * request thread waits, the submission is rejected, the oldest submission is
+ * dropped or the submission is processed on the request thread. A submission
+ * whose handling fails on a worker is retried with an exponentially growing
+ * delay; when all attempts have failed,
+ * {@link #onFailure(FormSnapshot, Exception)} is called.
+ * <p/>
+ * The workers run on virtual threads if the JVM supports them and on daemon
+ * threads otherwise, unless an executor is set with
+ * {@link #setExecutor(ExecutorService)}. A pipeline is usually created once
+ * per application, started on startup with {@link #start()} and shut down
+ * with {@link #shutdown(long)}.
+ */
+public class SubmissionPipeline {
+
+	public static final int DEFAULT_WORKERS = 4;
+
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	public static final long DEFAULT_RETRY_DELAY = 1000;
+
+	public static final long DEFAULT_BLOCK_TIMEOUT = 1000;
+
+	private static final long POLL_INTERVAL = 100;
+
+	private final SnapshotHandler handler;
+
+	private final BlockingQueue<FormSnapshot> queue;
+
+	private final int capacity;
+
+	private BackpressurePolicy policy = BackpressurePolicy.BLOCK;
+
+	private long blockTimeout = DEFAULT_BLOCK_TIMEOUT;
+
+	private int workers = DEFAULT_WORKERS;
+
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+	private long retryDelay = DEFAULT_RETRY_DELAY;
+
+	private ExecutorService executor;
+
+	private boolean ownExecutor;
+
+	private CountDownLatch stopped;
+
+	private volatile boolean running;
+
+	/**
+	 * Held by {@link #submit(FormSnapshot)} for reading and by
+	 * {@link #shutdown(long)} for writing, so that no submission is enqueued
+	 * after the workers have been told to stop.
+	 */
+	private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+
+	private final AtomicLong accepted = new AtomicLong();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	private final AtomicLong processed = new AtomicLong();
+
+	private final AtomicLong retried = new AtomicLong();
+
+	private final AtomicLong failed = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param handler
+	 *            the handler that processes the submissions.
+	 * @param capacity
+	 *            the maximum number of submissions waiting in the queue.
+	 */
+	public SubmissionPipeline(final SnapshotHandler handler, final int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity of the queue must be positive!");
+		}
+		this.handler = handler;
+		this.capacity = capacity;
+		this.queue = new ArrayBlockingQueue<FormSnapshot>(capacity);
+	}
+
+	/**
+	 * Sets the policy that applies when the queue is full. Default is
+	 * {@link BackpressurePolicy#BLOCK}.
+	 *
+	 * @return this object for chaining
+	 */
+	public SubmissionPipeline setPolicy(final BackpressurePolicy policy) {
+		this.policy = policy;
+		return this;
+	}
+
+	/**
+	 * Sets the time in milliseconds that a request thread waits for space in
+	 * the queue with {@link BackpressurePolicy#BLOCK}.
+	 *
+	 * @return this object for chaining
+	 */
+	public SubmissionPipeline setBlockTimeout(final long blockTimeout) {
+		this.blockTimeout = blockTimeout;
+		return this;
+	}
+
+	/**
+	 * Sets the number of submissions that are processed in parallel.
+	 *
+	 * @return this object for chaining
+	 */
+	public SubmissionPipeline setWorkers(final int workers) {
+		if (workers < 1) {
+			throw new IllegalArgumentException("The number of workers must be positive!");
+		}
+		checkNotStarted();
+		this.workers = workers;
+		return this;
+	}
+
+	/**
+	 * Sets how often the handling of a submission is attempted before it is
+	 * given up.
+	 *
+	 * @return this object for chaining
+	 */
+	public SubmissionPipeline setMaxAttempts(final int maxAttempts) {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException("The number of attempts must be positive!");
+		}
+		this.maxAttempts = maxAttempts;
+		return this;
+	}
+
+	/**
+	 * Sets the delay in milliseconds before the first retry. The delay is
+	 * doubled for each further retry.
+	 *
+	 * @return this object for chaining
+	 */
+	public SubmissionPipeline setRetryDelay(final long retryDelay) {
+		this.retryDelay = retryDelay;
+		return this;
+	}
+
+	/**
+	 * Sets the executor that runs the workers. It must be able to run as many
+	 * tasks in parallel as there are workers. An executor set here is not
+	 * shut down by the pipeline.
+	 *
+	 * @return this object for chaining
+	 */
+	public SubmissionPipeline setExecutor(final ExecutorService executor) {
+		checkNotStarted();
+		this.executor = executor;
+		return this;
+	}
+
+	private void checkNotStarted() {
+		if (this.stopped != null) {
+			throw new IllegalStateException("The pipeline has already been started!");
+		}
+	}
+
+	/**
+	 * Starts the workers.
+	 *
+	 * @return this object for chaining
+	 */
+	public synchronized SubmissionPipeline start() {
+		checkNotStarted();
+		if (this.executor == null) {
+			this.executor = newExecutor(this.workers);
+			this.ownExecutor = true;
+		}
+		this.stopped = new CountDownLatch(this.workers);
+		this.running = true;
+		for (int i = 0; i < this.workers; i++) {
+			this.executor.execute(new Worker());
+		}
+		return this;
+	}
+
+	/**
+	 * Creates an executor with virtual threads if the JVM supports them.
+	 */
+	private static ExecutorService newExecutor(final int workers) {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (Exception e) {
+			final AtomicInteger threads = new AtomicInteger();
+			return Executors.newFixedThreadPool(workers, new ThreadFactory() {
+				@Override
+				public Thread newThread(final Runnable runnable) {
+					Thread thread = new Thread(runnable, "wicked-forms-submission-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Enqueues a submission for processing.
+	 *
+	 * @param snapshot
+	 *            the values of the submitted form, see
+	 *            {@link FormSnapshot#of(de.adesso.wickedforms.model.Form)}.
+	 * @return true if the submission has been accepted, false if it has been
+	 *         rejected because the queue is full.
+	 * @throws IllegalStateException
+	 *             if the pipeline is not running.
+	 */
+	public boolean submit(final FormSnapshot snapshot) {
+		this.submitLock.readLock().lock();
+		try {
+			if (!this.running) {
+				throw new IllegalStateException("The pipeline is not running!");
+			}
+			return enqueue(snapshot);
+		} finally {
+			this.submitLock.readLock().unlock();
+		}
+	}
+
+	private boolean enqueue(final FormSnapshot snapshot) {
+		boolean enqueued;
+		switch (this.policy) {
+		case BLOCK:
+			try {
+				enqueued = this.queue.offer(snapshot, this.blockTimeout, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				enqueued = false;
+			}
+			break;
+		case DROP_OLDEST:
+			enqueued = this.queue.offer(snapshot);
+			while (!enqueued) {
+				FormSnapshot oldest = this.queue.poll();
+				if (oldest != null) {
+					this.dropped.incrementAndGet();
+					onDropped(oldest);
+				}
+				enqueued = this.queue.offer(snapshot);
+			}
+			break;
+		case CALLER_RUNS:
+			enqueued = this.queue.offer(snapshot);
+			if (!enqueued) {
+				// no retries, the request thread must not sleep between them
+				this.accepted.incrementAndGet();
+				process(snapshot, 1);
+				return true;
+			}
+			break;
+		default:
+			enqueued = this.queue.offer(snapshot);
+		}
+		if (enqueued) {
+			this.accepted.incrementAndGet();
+		} else {
+			this.rejected.incrementAndGet();
+		}
+		return enqueued;
+	}
+
+	/**
+	 * Passes a submission to the handler until it succeeds or all attempts
+	 * have failed.
+	 */
+	private void process(final FormSnapshot snapshot, final int attempts) {
+		long delay = this.retryDelay;
+		for (int attempt = 1;; attempt++) {
+			try {
+				this.handler.handle(snapshot);
+				this.processed.incrementAndGet();
+				return;
+			} catch (Exception e) {
+				if (attempt >= attempts) {
+					this.failed.incrementAndGet();
+					onFailure(snapshot, e);
+					return;
+				}
+				this.retried.incrementAndGet();
+				try {
+					Thread.sleep(delay);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					this.failed.incrementAndGet();
+					onFailure(snapshot, e);
+					return;
+				}
+				delay *= 2;
+			}
+		}
+	}
+
+	/**
+	 * Called when a submission could not be processed within the configured
+	 * number of attempts. Does nothing by default, override to log the
+	 * submission or to store it for manual processing.
+	 *
+	 * @param snapshot
+	 *            the values of the submitted form.
+	 * @param exception
+	 *            the exception thrown by the last attempt.
+	 */
+	protected void onFailure(final FormSnapshot snapshot, final Exception exception) {
+	}
+
+	/**
+	 * Called when a submission has been dropped from the queue with
+	 * {@link BackpressurePolicy#DROP_OLDEST} or because it was still queued
+	 * when {@link #shutdown(long)} timed out. Does nothing by default.
+	 *
+	 * @param snapshot
+	 *            the values of the dropped form.
+	 */
+	protected void onDropped(final FormSnapshot snapshot) {
+	}
+
+	/**
+	 * Stops accepting submissions and waits until the queued submissions
+	 * have been processed. Submissions that are still queued when the timeout
+	 * elapses are passed to {@link #onDropped(FormSnapshot)}.
+	 *
+	 * @param timeout
+	 *            the maximum time to wait in milliseconds.
+	 * @return true if all submissions have been processed, false if the
+	 *         timeout elapsed before.
+	 */
+	public synchronized boolean shutdown(final long timeout) throws InterruptedException {
+		if (this.stopped == null) {
+			return true;
+		}
+		this.submitLock.writeLock().lock();
+		try {
+			this.running = false;
+		} finally {
+			this.submitLock.writeLock().unlock();
+		}
+		boolean terminated = this.stopped.await(timeout, TimeUnit.MILLISECONDS);
+		if (!terminated) {
+			List<FormSnapshot> remaining = new ArrayList<FormSnapshot>();
+			this.queue.drainTo(remaining);
+			for (FormSnapshot snapshot : remaining) {
+				this.dropped.incrementAndGet();
+				onDropped(snapshot);
+			}
+		}
+		if (this.ownExecutor) {
+			this.executor.shutdown();
+		}
+		return terminated;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * The number of submissions currently waiting in the queue.
+	 */
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * The number of submissions that have been accepted by
+	 * {@link #submit(FormSnapshot)}.
+	 */
+	public long getAccepted() {
+		return accepted.get();
+	}
+
+	/**
+	 * The number of submissions that have been rejected because the queue was
+	 * full.
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	/**
+	 * The number of accepted submissions that have been dropped from the
+	 * queue, see {@link #onDropped(FormSnapshot)}.
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	/**
+	 * The number of submissions that have been processed successfully.
+	 */
+	public long getProcessed() {
+		return processed.get();
+	}
+
+	/**
+	 * The number of retries over all submissions.
+	 */
+	public long getRetried() {
+		return retried.get();
+	}
+
+	/**
+	 * The number of submissions that have been given up after all attempts
+	 * failed.
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * Takes submissions from the queue until the pipeline is shut down and
+	 * the queue is empty.
+	 */
+	private class Worker implements Runnable {
+
+		@Override
+		public void run() {
+			try {
+				while (running || !queue.isEmpty()) {
+					FormSnapshot snapshot = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+					if (snapshot != null) {
+						process(snapshot, maxAttempts);
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				stopped.countDown();
+			}
+		}
+
+	}
+
+}
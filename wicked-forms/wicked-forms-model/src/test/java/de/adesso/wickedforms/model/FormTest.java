@@ -0,0 +1,76 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model;
+
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import de.adesso.wickedforms.model.state.FormState;
+import de.adesso.wickedforms.model.submission.FormSnapshot;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class FormTest {
+
+	@Test
+	public void testAddAssignIdsAndRemove() {
+		StringTextField name = new StringTextField("Name");
+		AddSectionButton button = new AddSectionButton("Add child") {
+			@Override
+			public Section createSection() {
+				return new Section("Child").add(new StringTextField("Child name"));
+			}
+		};
+		Form form = new Form("Family").add(name).add(button);
+		form.assignIds();
+		String nameId = name.getId();
+		String buttonId = button.getId();
+
+		Section child = button.createSection();
+		form.getMainSection().insertBefore(child, button);
+		form.assignIds();
+		StringTextField childName = (StringTextField) child.getFormElements().get(0);
+		Assert.assertEquals(nameId, name.getId());
+		Assert.assertEquals(buttonId, button.getId());
+		Assert.assertNotNull(child.getId());
+		Assert.assertNotNull(childName.getId());
+		Assert.assertSame(child, form.getElementById(child.getId()));
+		Assert.assertSame(childName, form.getElementById(childName.getId()));
+		Assert.assertEquals(4, FormState.of(form).size());
+		childName.setValue("Bob");
+		Assert.assertEquals("Bob", FormSnapshot.of(form).getValue(childName.getId()));
+
+		child.discard();
+		Assert.assertEquals(1, form.removeDiscardedElements());
+		Assert.assertFalse(form.getMainSection().getFormElements().contains(child));
+		Assert.assertNull(form.getElementById(child.getId()));
+		Assert.assertNull(form.getElementById(childName.getId()));
+		Assert.assertEquals(2, FormState.of(form).size());
+
+		Section secondChild = button.createSection();
+		form.getMainSection().insertBefore(secondChild, button);
+		form.assignIds();
+		Set<String> ids = new HashSet<String>();
+		ids.add(nameId);
+		ids.add(buttonId);
+		ids.add(child.getId());
+		ids.add(childName.getId());
+		Assert.assertTrue(ids.add(secondChild.getId()));
+		Assert.assertTrue(ids.add(secondChild.getFormElements().get(0).getId()));
+	}
+
+}
@@ -0,0 +1,120 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.cache;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public class MarkupFragmentCacheTest {
+
+	private static final String[] MARKUP = { "<option>cat</option>", "<option>dog</option>" };
+
+	private final MarkupFragmentCache cache = new MarkupFragmentCache();
+
+	private static Form newForm(final long version, final List<String> choices) {
+		Form form = new Form("Survey").setTemplateId("survey").setTemplateVersion(version)
+				.add(new DropDown<String>("Pet", choices, String.class));
+		form.assignIds();
+		return form;
+	}
+
+	private MarkupFragmentCache.Key getKey(final Form form) {
+		return this.cache.getKey(form, form.getMainSection().getFormElements().get(0), Locale.GERMAN);
+	}
+
+	@Test
+	public void testSharedByTemplateAndElement() {
+		Form form = newForm(1, Arrays.asList("cat", "dog"));
+		this.cache.put(getKey(form), MARKUP);
+
+		Assert.assertSame(MARKUP, this.cache.get(getKey(newForm(1, Arrays.asList("cat", "dog")))));
+		Assert.assertNull(this.cache.get(this.cache.getKey(form, form.getMainSection().getFormElements().get(0),
+				Locale.ENGLISH)));
+	}
+
+	@Test
+	public void testAddedSectionsNotCached() {
+		AddSectionButton button = new AddSectionButton("Add pet") {
+			@Override
+			public Section createSection() {
+				return new Section("Pet").add(new DropDown<String>("Kind", Arrays.asList("cat"), String.class));
+			}
+		};
+		Form form = newForm(1, Arrays.asList("cat", "dog")).add(button);
+		Section pet = button.addSection();
+		form.assignIds();
+		Assert.assertNotNull(getKey(form));
+		Assert.assertNull(this.cache.getKey(form, pet, Locale.GERMAN));
+		Assert.assertNull(this.cache.getKey(form, pet.getFormElements().get(0), Locale.GERMAN));
+
+		// also when the added section contains other sections
+		Section owner = new Section("Owner").add(new DropDown<String>("Title", Arrays.asList("Dr."), String.class));
+		pet.add(owner);
+		form.assignIds();
+		Assert.assertNull(this.cache.getKey(form, owner.getFormElements().get(0), Locale.GERMAN));
+	}
+
+	@Test
+	public void testNotCached() {
+		Form form = new Form("Survey").add(new DropDown<String>("Pet", Arrays.asList("cat"), String.class));
+		form.assignIds();
+		Assert.assertNull(getKey(form));
+		form.setTemplateId("survey");
+		Assert.assertNotNull(getKey(form));
+		Assert.assertNull(this.cache.getKey(form, new DropDown<String>("Added", Arrays.asList("cat"), String.class),
+				Locale.GERMAN));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedDiscarded() {
+		this.cache.setMaxSize(2);
+		MarkupFragmentCache.Key cat = new MarkupFragmentCache.Key("survey", 1, "cat", Locale.GERMAN);
+		MarkupFragmentCache.Key dog = new MarkupFragmentCache.Key("survey", 1, "dog", Locale.GERMAN);
+		MarkupFragmentCache.Key fish = new MarkupFragmentCache.Key("survey", 1, "fish", Locale.GERMAN);
+		this.cache.put(cat, MARKUP);
+		this.cache.put(dog, MARKUP);
+		Assert.assertSame(MARKUP, this.cache.get(cat));
+
+		this.cache.put(fish, MARKUP);
+		Assert.assertEquals(2, this.cache.size());
+		Assert.assertSame(MARKUP, this.cache.get(cat));
+		Assert.assertNull(this.cache.get(dog));
+		Assert.assertSame(MARKUP, this.cache.get(fish));
+
+		this.cache.setMaxSize(1);
+		Assert.assertEquals(1, this.cache.size());
+		Assert.assertSame(MARKUP, this.cache.get(fish));
+	}
+
+	@Test
+	public void testNewVersionInvalidatesOldOne() {
+		List<String> choices = Arrays.asList("cat", "dog");
+		this.cache.put(getKey(newForm(1, choices)), MARKUP);
+		Assert.assertEquals(1, this.cache.size());
+
+		Assert.assertNotNull(getKey(newForm(2, choices)));
+		Assert.assertEquals(0, this.cache.size());
+		Assert.assertNull(getKey(newForm(1, choices)));
+	}
+
+}
@@ -0,0 +1,196 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.draft;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class DraftAutosaverTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private CountingStore store;
+
+	private DraftAutosaver autosaver;
+
+	@Before
+	public void setUp() {
+		this.store = new CountingStore(this.folder.getRoot());
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		if (this.autosaver != null) {
+			this.autosaver.close();
+		}
+	}
+
+	@Test
+	public void testStoreValues() throws IOException {
+		Map<String, Object> values = new LinkedHashMap<String, Object>();
+		values.put("1", "Alice");
+		values.put("2", 42);
+		values.put("3", Arrays.asList("cat", null));
+		values.put("4", new Date(1000));
+		values.put("5", new BigDecimal("1.50"));
+		values.put("6", Boolean.TRUE);
+		values.put("7", Locale.GERMANY);
+		values.put("8", null);
+		this.store.append("user 1/form", values);
+
+		Assert.assertEquals(values, this.store.load("user 1/form").getValues());
+		Assert.assertNull(this.store.load("other"));
+	}
+
+	@Test
+	public void testIncompleteDeltaIsIgnored() throws IOException {
+		this.store.append("draft", Collections.singletonMap("1", "first"));
+		this.store.append("draft", Collections.singletonMap("1", "second"));
+		File file = this.folder.getRoot().listFiles()[0];
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		raf.setLength(raf.length() - 1);
+		raf.close();
+
+		Assert.assertEquals("first", this.store.load("draft").getValue("1"));
+		this.store.append("draft", Collections.singletonMap("2", "third"));
+		Draft draft = this.store.load("draft");
+		Assert.assertEquals("first", draft.getValue("1"));
+		Assert.assertEquals("third", draft.getValue("2"));
+
+		this.store.delete("draft");
+		Assert.assertNull(this.store.load("draft"));
+	}
+
+	@Test
+	public void testCompaction() throws IOException {
+		for (int i = 0; i < 100; i++) {
+			this.store.append("draft", Collections.singletonMap(String.valueOf(i % 3), i));
+		}
+		File file = this.folder.getRoot().listFiles()[0];
+		long length = file.length();
+		Draft draft = this.store.load("draft");
+		Assert.assertTrue(file.length() < length / 10);
+		Assert.assertEquals(99, draft.getValue("0"));
+		Assert.assertEquals(97, draft.getValue("1"));
+		Assert.assertEquals(98, draft.getValue("2"));
+		Assert.assertEquals(draft.getValues(), this.store.load("draft").getValues());
+	}
+
+	@Test
+	public void testChangesAreCoalesced() throws IOException {
+		this.autosaver = new DraftAutosaver(this.store, 60000);
+		this.autosaver.record("draft", "1", "A");
+		this.autosaver.record("draft", "1", "Al");
+		this.autosaver.record("draft", "2", 42);
+		this.autosaver.record("other", "1", "Bob");
+		this.autosaver.record("draft", null, "no id");
+		Assert.assertEquals(0, this.store.appends);
+
+		this.autosaver.flush("draft");
+		Assert.assertEquals(1, this.store.appends);
+		Draft draft = this.store.load("draft");
+		Assert.assertEquals("Al", draft.getValue("1"));
+		Assert.assertEquals(42, draft.getValue("2"));
+		Assert.assertEquals(2, draft.getValues().size());
+
+		this.autosaver.close();
+		Assert.assertEquals(2, this.store.appends);
+		this.autosaver = null;
+	}
+
+	@Test
+	public void testRestore() throws IOException {
+		this.autosaver = new DraftAutosaver(this.store, 0);
+		Form form = newForm();
+		StringTextField name = (StringTextField) form.getMainSection().getFormElements().get(0);
+		IntegerTextField age = (IntegerTextField) form.getMainSection().getFormElements().get(1);
+		this.autosaver.record("draft", name.getId(), "Alice");
+		this.autosaver.record("draft", age.getId(), 42);
+
+		Form restored = newForm();
+		Assert.assertTrue(this.autosaver.restore("draft", restored));
+		Assert.assertEquals("Alice", ((StringTextField) restored.getElementById(name.getId())).getValue());
+		Assert.assertEquals(42, ((IntegerTextField) restored.getElementById(age.getId())).getValue().intValue());
+
+		this.autosaver.discard("draft");
+		Assert.assertFalse(this.autosaver.restore("draft", newForm()));
+	}
+
+	@Test
+	public void testRestoreChangedChoices() throws IOException {
+		this.autosaver = new DraftAutosaver(this.store, 0);
+		Form form = newForm();
+		StringTextField name = (StringTextField) form.getMainSection().getFormElements().get(0);
+		CheckboxGroup<?> pets = (CheckboxGroup<?>) form.getMainSection().getFormElements().get(2);
+		this.autosaver.record("draft", name.getId(), "Alice");
+		this.autosaver.record("draft", pets.getId(), Arrays.asList("dog", "hamster"));
+
+		// hamsters are not a choice anymore, the other fields are restored
+		Form restored = newForm();
+		Assert.assertTrue(this.autosaver.restore("draft", restored));
+		Assert.assertEquals("Alice", ((StringTextField) restored.getElementById(name.getId())).getValue());
+		Assert.assertTrue(((CheckboxGroup<?>) restored.getElementById(pets.getId())).getValue().isEmpty());
+
+		this.autosaver.record("draft", pets.getId(), Arrays.asList("dog"));
+		restored = newForm();
+		Assert.assertTrue(this.autosaver.restore("draft", restored));
+		Assert.assertEquals(Arrays.asList("dog"), ((CheckboxGroup<?>) restored.getElementById(pets.getId()))
+				.getValue());
+	}
+
+	private static Form newForm() {
+		Form form = new Form("Survey").add(new StringTextField("Name")).add(new IntegerTextField("Age"))
+				.add(new CheckboxGroup<String>("Pets", Arrays.asList("cat", "dog")));
+		form.assignIds();
+		return form;
+	}
+
+	private static class CountingStore extends FileDraftStore {
+
+		private int appends;
+
+		CountingStore(final File directory) {
+			super(directory);
+		}
+
+		@Override
+		public void append(final String draftId, final Map<String, ?> delta) throws IOException {
+			this.appends++;
+			super.append(draftId, delta);
+		}
+
+	}
+
+}
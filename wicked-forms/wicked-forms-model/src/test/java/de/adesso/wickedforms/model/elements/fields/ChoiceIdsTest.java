@@ -0,0 +1,35 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChoiceIdsTest {
+
+	@Test
+	public void testParseIndex() {
+		Assert.assertEquals(0, ChoiceIds.parseIndex("0", 3));
+		Assert.assertEquals(2, ChoiceIds.parseIndex("2", 3));
+		Assert.assertEquals(-1, ChoiceIds.parseIndex("3", 3));
+		Assert.assertEquals(-1, ChoiceIds.parseIndex(null, 3));
+		Assert.assertEquals(-1, ChoiceIds.parseIndex("", 3));
+		Assert.assertEquals(-1, ChoiceIds.parseIndex("-1", 3));
+		Assert.assertEquals(-1, ChoiceIds.parseIndex("+1", 3));
+		Assert.assertEquals(-1, ChoiceIds.parseIndex("1a", 3));
+		Assert.assertEquals(-1, ChoiceIds.parseIndex("99999999999", Integer.MAX_VALUE));
+	}
+
+}
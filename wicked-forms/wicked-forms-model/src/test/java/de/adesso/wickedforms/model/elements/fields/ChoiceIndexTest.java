@@ -0,0 +1,70 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChoiceIndexTest {
+
+	private final ChoiceIndex<String> index = ChoiceIndex.register("cities",
+			Arrays.asList("Dortmund", "Berlin", "Bochum", "Bonn", "Bremen", "Dresden"),
+			new ToStringChoiceLabeller<String>());
+
+	@After
+	public void tearDown() {
+		ChoiceCatalogs.unregister("cities");
+	}
+
+	@Test
+	public void testFind() {
+		List<String> ids = index.find("bo", 0, 10);
+		Assert.assertEquals(Arrays.asList("2", "3"), ids);
+		Assert.assertEquals("Bochum", index.getChoice(ids.get(0)));
+		Assert.assertEquals(2, index.count("BO"));
+		Assert.assertEquals(Arrays.asList("3", "4"), index.find("b", 2, 2));
+		Assert.assertTrue(index.find("x", 0, 10).isEmpty());
+	}
+
+	@Test
+	public void testIds() {
+		Assert.assertEquals("5", index.getId("Dresden"));
+		Assert.assertEquals("Dresden", index.getLabel("5"));
+		Assert.assertNull(index.getId("Essen"));
+		Assert.assertNull(index.getChoice("6"));
+		Assert.assertNull(index.getChoice("-1"));
+		Assert.assertNull(index.getChoice("abc"));
+	}
+
+	@Test
+	public void testOnlyKeyIsSerialized() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(index);
+		out.close();
+		Assert.assertTrue(bytes.size() < 200);
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		Assert.assertSame(index, in.readObject());
+	}
+
+}
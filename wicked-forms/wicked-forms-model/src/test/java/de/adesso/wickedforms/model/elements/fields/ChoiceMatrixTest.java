@@ -0,0 +1,53 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChoiceMatrixTest {
+
+	private final List<String> rows = Arrays.asList("Speed", "Price", "Support");
+
+	private final List<Integer> choices = Arrays.asList(1, 2, 3, 4, 5);
+
+	@Test
+	public void testAnswers() {
+		ChoiceMatrix<Integer> matrix = new ChoiceMatrix<Integer>("Rating", this.rows, this.choices,
+				new ToStringChoiceLabeller<Integer>(), Arrays.asList(5, null, 2));
+		Assert.assertEquals(Integer.valueOf(5), matrix.getAnswer(0));
+		Assert.assertNull(matrix.getAnswer(1));
+		Assert.assertFalse(matrix.isComplete());
+
+		matrix.setValue(Arrays.asList(5, 4, 2));
+		Assert.assertTrue(matrix.isComplete());
+	}
+
+	@Test
+	public void testWithoutValue() {
+		ChoiceMatrix<Integer> matrix = new ChoiceMatrix<Integer>("Rating", this.rows, this.choices);
+		Assert.assertNull(matrix.getAnswer(2));
+		Assert.assertFalse(matrix.isComplete());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testUnknownRow() {
+		new ChoiceMatrix<Integer>("Rating", this.rows, this.choices).getAnswer(3);
+	}
+
+}
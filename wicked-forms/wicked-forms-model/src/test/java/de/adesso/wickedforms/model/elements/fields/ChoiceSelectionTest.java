@@ -0,0 +1,118 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.adesso.wickedforms.model.binding.SimpleBinding;
+
+public class ChoiceSelectionTest {
+
+	private final List<String> choices = Arrays.asList("cat", "dog", "horse", "mouse");
+
+	@Test
+	public void testValueIsStoredAsSelection() {
+		CheckboxGroup<String> group = new CheckboxGroup<String>("Pets", this.choices,
+				new ToStringChoiceLabeller<String>(), Arrays.asList("mouse", "dog"));
+		ChoiceSelection<String> selection = group.getSelection();
+		Assert.assertEquals(Arrays.asList("dog", "mouse"), group.getValue());
+		Assert.assertTrue(selection.isSelected(1));
+		Assert.assertFalse(selection.isSelected(2));
+		Assert.assertTrue(selection.contains("mouse"));
+		Assert.assertFalse(selection.contains("cat"));
+		Assert.assertFalse(selection.contains("lion"));
+
+		group.setValue(new ArrayList<String>(Arrays.asList("cat")));
+		Assert.assertEquals(Arrays.asList("cat"), group.getValue());
+		Assert.assertEquals(1, selection.getSelectedIndexes().cardinality());
+
+		selection.remove("cat");
+		selection.add("horse");
+		Assert.assertEquals("horse", selection.get(0));
+		Assert.assertEquals(1, selection.size());
+	}
+
+	@Test
+	public void testValueIsCopied() {
+		CheckboxGroup<String> group = new CheckboxGroup<String>("Pets", this.choices,
+				new ToStringChoiceLabeller<String>(), Arrays.asList("dog"));
+		List<String> value = group.getValue();
+		Assert.assertNotSame(group.getSelection(), value);
+		group.getSelection().add("cat");
+		Assert.assertEquals(Arrays.asList("dog"), value);
+		value.add("lion");
+		Assert.assertEquals(Arrays.asList("cat", "dog"), group.getValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownChoiceIsRejected() {
+		new CheckboxGroup<String>("Pets", this.choices).getSelection().add("lion");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownValueIsRejected() {
+		new CheckboxGroup<String>("Pets", this.choices).setValue(Arrays.asList("dog", "lion"));
+	}
+
+	@Test
+	public void testSelectionOfBoundList() {
+		SimpleBinding<List<String>> binding = new SimpleBinding<List<String>>(Arrays.asList("horse", "lion"));
+		CheckboxGroup<String> group = new CheckboxGroup<String>("Pets", this.choices,
+				new ToStringChoiceLabeller<String>(), binding);
+		Assert.assertSame(binding, group.getBinding());
+		Assert.assertEquals(Arrays.asList("horse"), group.getSelection());
+		Assert.assertTrue(group.getSelection().isSelected(2));
+	}
+
+	@Test
+	public void testIndexOfModifiedChoices() {
+		List<String> modifiableChoices = new ArrayList<String>(this.choices);
+		CheckboxGroup<String> group = new CheckboxGroup<String>("Pets", modifiableChoices);
+		Assert.assertEquals(3, group.indexOf("mouse"));
+		modifiableChoices.add(0, "lion");
+		Assert.assertEquals(4, group.indexOf("mouse"));
+		Assert.assertEquals(0, group.indexOf("lion"));
+		Assert.assertEquals(-1, group.indexOf("tiger"));
+		modifiableChoices.set(0, "tiger");
+		Assert.assertEquals(-1, group.indexOf("lion"));
+	}
+
+	@Test
+	public void testLookupOfUnknownChoiceKeepsIndexes() {
+		final int[] reads = new int[1];
+		List<String> countingChoices = new ArrayList<String>(this.choices) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String get(final int index) {
+				reads[0]++;
+				return super.get(index);
+			}
+		};
+		CheckboxGroup<String> group = new CheckboxGroup<String>("Pets", countingChoices);
+		Assert.assertEquals(1, group.indexOf("dog"));
+		int readsAfterIndexing = reads[0];
+		for (int i = 0; i < 10; i++) {
+			Assert.assertEquals(-1, group.indexOf("lion"));
+		}
+		Assert.assertEquals(readsAfterIndexing, reads[0]);
+	}
+
+}
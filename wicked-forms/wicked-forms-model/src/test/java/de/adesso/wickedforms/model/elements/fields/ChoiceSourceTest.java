@@ -0,0 +1,117 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChoiceSourceTest {
+
+	public enum Color {
+		RED, GREEN
+	}
+
+	private static int labelCalls = 0;
+
+	private final ChoiceSource<Color> source = ChoiceSources.register(new EnumChoiceSource<Color>("colors",
+			Color.class, new ColorLabeller()));
+
+	private static class ColorLabeller implements LocalizedChoiceLabeller<Color> {
+
+		@Override
+		public String getLabel(final Color choice) {
+			return getLabel(choice, Locale.ENGLISH);
+		}
+
+		@Override
+		public String getLabel(final Color choice, final Locale locale) {
+			labelCalls++;
+			if (Locale.GERMAN.equals(locale)) {
+				return choice == Color.RED ? "rot" : "grün";
+			}
+			return choice.name().toLowerCase();
+		}
+
+	}
+
+	@After
+	public void tearDown() {
+		ChoiceSources.unregister("colors");
+		labelCalls = 0;
+	}
+
+	@Test
+	public void testLabelsAreMemoizedPerLocale() {
+		Assert.assertArrayEquals(new String[] { "rot", "grün" }, source.getLabels(Locale.GERMAN));
+		Assert.assertEquals("grün", source.getLabel(Color.GREEN, Locale.GERMAN));
+		Assert.assertEquals("red", source.getLabel(Color.RED, Locale.ENGLISH));
+		source.getLabels(Locale.GERMAN);
+		source.getLabels(Locale.ENGLISH);
+		Assert.assertEquals(4, labelCalls);
+	}
+
+	@Test
+	public void testOnlyKeyIsSerialized() throws Exception {
+		DropDown<Color> dropDown = new DropDown<Color>("Color", source, Color.GREEN, Color.class);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(dropDown);
+		out.close();
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		DropDown<?> copy = (DropDown<?>) in.readObject();
+		Assert.assertSame(source, copy.getChoiceSource());
+		Assert.assertEquals(Arrays.asList(Color.values()), copy.getChoices());
+		Assert.assertSame(source.asList(), copy.getChoices());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownSource() {
+		ChoiceSources.get("unknown");
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testUnregisteredSourceIsNotSerialized() throws Exception {
+		ChoiceSource<Color> unregistered = new EnumChoiceSource<Color>("unregistered", Color.class,
+				new ColorLabeller());
+		DropDown<Color> dropDown = new DropDown<Color>("Color", unregistered, Color.GREEN, Color.class);
+		new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(dropDown);
+	}
+
+	@Test
+	public void testLazySource() {
+		LazyChoiceSource<String> lazySource = new LazyChoiceSource<String>("lazy") {
+			@Override
+			protected List<String> load() {
+				labelCalls++;
+				return Arrays.asList("a", "b");
+			}
+		};
+		List<String> choices = lazySource.asList();
+		Assert.assertEquals(0, labelCalls);
+		Assert.assertEquals("b", choices.get(1));
+		Assert.assertEquals(2, choices.size());
+		Assert.assertEquals(1, labelCalls);
+	}
+
+}
@@ -0,0 +1,101 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.elements.fields;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedChoiceCatalogTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private MappedChoiceCatalog catalog;
+
+	@Before
+	public void setUp() throws Exception {
+		Map<String, String> labelsByCode = new HashMap<String, String>();
+		labelsByCode.put("05913000", "Dortmund");
+		labelsByCode.put("11000000", "Berlin");
+		labelsByCode.put("05911000", "Bochum");
+		labelsByCode.put("05314000", "Bonn");
+		labelsByCode.put("04011000", "Bremen");
+		labelsByCode.put("14612000", "Dresden");
+		labelsByCode.put("09162000", "München");
+		File file = folder.newFile("municipalities.catalog");
+		MappedChoiceCatalog.write(file, labelsByCode);
+		catalog = MappedChoiceCatalog.open("municipalities", file);
+	}
+
+	@After
+	public void tearDown() {
+		ChoiceCatalogs.unregister("municipalities");
+	}
+
+	@Test
+	public void testFind() {
+		List<String> ids = catalog.find("BO", 0, 10);
+		Assert.assertEquals(2, ids.size());
+		Assert.assertEquals("Bochum", catalog.getLabel(ids.get(0)));
+		Assert.assertEquals("05314000", catalog.getChoice(ids.get(1)));
+		Assert.assertEquals(2, catalog.count("bo"));
+		Assert.assertEquals(4, catalog.count("b"));
+		Assert.assertEquals(Arrays.asList(ids.get(1)), catalog.find("b", 2, 1));
+		Assert.assertEquals(1, catalog.find("mün", 0, 10).size());
+		Assert.assertTrue(catalog.find("x", 0, 10).isEmpty());
+		Assert.assertEquals(7, catalog.find("", 0, 10).size());
+	}
+
+	@Test
+	public void testIds() {
+		String id = catalog.getId("14612000");
+		Assert.assertEquals("Dresden", catalog.getLabel(id));
+		Assert.assertEquals("14612000", catalog.getChoice(id));
+		Assert.assertNull(catalog.getId("99999999"));
+		Assert.assertNull(catalog.getChoice("7"));
+		Assert.assertNull(catalog.getLabel("abc"));
+	}
+
+	@Test
+	public void testOnlyKeyIsSerialized() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(new TypeaheadChoice<String>("Municipality", "municipalities", String.class));
+		out.close();
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		TypeaheadChoice<?> choice = (TypeaheadChoice<?>) in.readObject();
+		Assert.assertSame(catalog, choice.getChoiceCatalog());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownCatalog() {
+		ChoiceCatalogs.get("unknown");
+	}
+
+}
@@ -0,0 +1,165 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.metrics;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.binding.PropertyBinding;
+import de.adesso.wickedforms.model.submission.FormSnapshot;
+import de.adesso.wickedforms.model.submission.SnapshotHandler;
+import de.adesso.wickedforms.model.submission.SubmissionPipeline;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.util.List;
+
+public class MetricsTest {
+
+	@After
+	public void tearDown() {
+		Metrics.uninstall();
+	}
+
+	@Test
+	public void testDisabled() {
+		Assert.assertFalse(Metrics.isEnabled());
+		long start = Metrics.start();
+		Assert.assertEquals(Metrics.DISABLED, start);
+		MetricsRegistry registry = new MetricsRegistry();
+		Metrics.install(registry);
+		// operations started while metrics were disabled are not recorded
+		Metrics.stop(Operation.CREATE_PANEL, String.class, "form", start);
+		Assert.assertEquals(0, registry.getCount(Operation.CREATE_PANEL));
+	}
+
+	@Test
+	public void testPropertyBinding() {
+		MetricsRegistry registry = new MetricsRegistry();
+		Metrics.install(registry);
+		Person person = new Person();
+		PropertyBinding<String> binding = new PropertyBinding<String>(person, "name");
+		binding.setValue("Alice");
+		Assert.assertEquals("Alice", binding.getValue());
+		Assert.assertEquals("Alice", binding.getValue());
+		Assert.assertEquals(1, registry.getHistogram(Operation.SET_PROPERTY, Person.class, null).getCount());
+		Assert.assertEquals(2, registry.getHistogram(Operation.GET_PROPERTY, Person.class, null).getCount());
+
+		Metrics.uninstall();
+		binding.getValue();
+		Assert.assertEquals(2, registry.getCount(Operation.GET_PROPERTY));
+	}
+
+	@Test
+	public void testRegistry() {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.record(Operation.VALIDATE_FIELD, String.class, "survey", 100);
+		registry.record(Operation.VALIDATE_FIELD, String.class, "survey", 200);
+		registry.record(Operation.VALIDATE_FIELD, String.class, "other", 300);
+		registry.record(Operation.VALIDATE_FIELD, Integer.class, null, 400);
+		Assert.assertEquals(4, registry.getCount(Operation.VALIDATE_FIELD));
+		Assert.assertEquals(0, registry.getCount(Operation.VALIDATE_FORM));
+		Assert.assertEquals(2, registry.getHistogram(Operation.VALIDATE_FIELD, String.class, "survey").getCount());
+		Assert.assertEquals(1, registry.getHistogram(Operation.VALIDATE_FIELD, Integer.class, null).getCount());
+
+		List<MetricsSnapshot> snapshots = registry.getSnapshots();
+		Assert.assertEquals(3, snapshots.size());
+		Assert.assertEquals(Integer.class.getName(), snapshots.get(0).getType());
+		Assert.assertNull(snapshots.get(0).getFormId());
+		Assert.assertEquals("other", snapshots.get(1).getFormId());
+		Assert.assertEquals("survey", snapshots.get(2).getFormId());
+		Assert.assertEquals(150, snapshots.get(2).getMeanNanos());
+		Assert.assertEquals(200, snapshots.get(2).getMaxNanos());
+
+		registry.reset();
+		Assert.assertTrue(registry.getSnapshots().isEmpty());
+	}
+
+	@Test
+	public void testHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		Assert.assertEquals(0, histogram.getPercentileNanos(99));
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		histogram.record(-1);
+		Assert.assertEquals(1001, histogram.getCount());
+		Assert.assertEquals(1000000, histogram.getMaxNanos());
+		long median = histogram.getPercentileNanos(50);
+		Assert.assertTrue(String.valueOf(median), median >= 500000 && median < 1000000);
+		Assert.assertEquals(1000000, histogram.getPercentileNanos(100));
+		Assert.assertEquals(0, histogram.getPercentileNanos(0));
+	}
+
+	@Test
+	public void testFormId() {
+		Form form = new Form("Survey");
+		Assert.assertNull(Metrics.formId(form));
+		form.setTemplateId("survey-1");
+		Assert.assertEquals("survey-1", Metrics.formId(form));
+		Assert.assertNull(Metrics.formId(null));
+	}
+
+	@Test
+	public void testJmxExport() throws Exception {
+		MBeanServer server = MBeanServerFactory.newMBeanServer();
+		JmxExporter exporter = new JmxExporter(server);
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.record(Operation.EXECUTE_ACTION, String.class, "survey", 1000);
+		ObjectName metricsName = exporter.export("test", registry);
+		SubmissionPipeline pipeline = new SubmissionPipeline(new SnapshotHandler() {
+			@Override
+			public void handle(final FormSnapshot snapshot) {
+			}
+		}, 10);
+		ObjectName pipelineName = exporter.export("test", pipeline);
+
+		Assert.assertEquals(1L, server.getAttribute(metricsName, "ActionCount"));
+		CompositeData[] snapshots = (CompositeData[]) server.getAttribute(metricsName, "Snapshots");
+		Assert.assertEquals(1, snapshots.length);
+		Assert.assertEquals("EXECUTE_ACTION", snapshots[0].get("operation"));
+		Assert.assertEquals("survey", snapshots[0].get("formId"));
+		Assert.assertEquals(10, server.getAttribute(pipelineName, "Capacity"));
+
+		Assert.assertEquals(Boolean.FALSE, server.getAttribute(metricsName, "Enabled"));
+		server.setAttribute(metricsName, new Attribute("Enabled", Boolean.TRUE));
+		Assert.assertSame(registry, Metrics.getCollector());
+		server.invoke(metricsName, "reset", null, null);
+		Assert.assertEquals(0L, server.getAttribute(metricsName, "ActionCount"));
+
+		exporter.unexportAll();
+		Assert.assertFalse(server.isRegistered(metricsName));
+		Assert.assertFalse(server.isRegistered(pipelineName));
+	}
+
+	public static class Person {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+	}
+
+}
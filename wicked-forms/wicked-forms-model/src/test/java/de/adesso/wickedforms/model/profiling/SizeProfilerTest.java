@@ -0,0 +1,155 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.profiling;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.binding.PropertyBinding;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import de.adesso.wickedforms.model.validation.FormValidator;
+import de.adesso.wickedforms.model.validation.ValidationFeedback;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SizeProfilerTest {
+
+	@Test
+	public void testCategories() throws IOException {
+		Person person = new Person();
+		person.setBiography(repeat('x', 10000));
+		SurveyForm form = new SurveyForm(person);
+		SizeProfile profile = SizeProfiler.profile(form);
+
+		long total = serializedSize(form);
+		Assert.assertTrue(profile.toString(), profile.getTotalBytes() >= total);
+		Assert.assertTrue(profile.toString(), profile.getTotalBytes() < total * 1.1);
+
+		Assert.assertTrue(profile.toString(), profile.getBytes(SizeCategory.BINDINGS) > 10000);
+		Assert.assertTrue(profile.toString(), profile.getBytes(SizeCategory.CHOICES) > 500 * 10);
+		Assert.assertTrue(profile.toString(), profile.getBytes(SizeCategory.TEXTS) > 1000);
+		Assert.assertTrue(profile.toString(), profile.getBytes(SizeCategory.STRUCTURE) > 0);
+		Assert.assertTrue(profile.toString(), profile.getBytes(SizeCategory.VALIDATORS_AND_ACTIONS) > 0);
+		Assert.assertEquals(0, profile.getBytes(SizeCategory.WICKET));
+		Assert.assertEquals(1, profile.getObjects(SizeCategory.VALIDATORS_AND_ACTIONS));
+
+		long sum = 0;
+		for (SizeCategory category : SizeCategory.values()) {
+			sum += profile.getBytes(category);
+		}
+		Assert.assertTrue(sum <= profile.getTotalBytes() && sum > profile.getTotalBytes() - 10);
+
+		TypeSize largest = profile.getTypes().get(0);
+		Assert.assertEquals(String.class.getName(), largest.getType());
+		Assert.assertEquals(SizeCategory.BINDINGS, largest.getCategory());
+	}
+
+	@Test
+	public void testCapturedReferences() {
+		SizeProfile profile = SizeProfiler.profile(new SurveyForm(new Person()));
+		List<String> captured = new ArrayList<String>();
+		for (CapturedReference reference : profile.getCapturedReferences()) {
+			Assert.assertEquals(SizeCategory.VALIDATORS_AND_ACTIONS, reference.getCategory());
+			captured.add(reference.getField() + "=" + reference.getTarget());
+		}
+		Collections.sort(captured);
+		Assert.assertEquals(
+				Arrays.asList("this$0=" + SurveyForm.class.getName(), "val$name=" + StringTextField.class.getName()),
+				captured);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotSerializable() {
+		SizeProfiler.profile(Collections.singletonList(new Object()));
+	}
+
+	private static long serializedSize(final Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(object);
+		out.close();
+		return bytes.size();
+	}
+
+	private static String repeat(final char c, final int count) {
+		char[] chars = new char[count];
+		Arrays.fill(chars, c);
+		return new String(chars);
+	}
+
+	/**
+	 * A form with an anonymous validator like the PersonForm of the examples.
+	 */
+	public static class SurveyForm extends Form {
+
+		public SurveyForm(final Person person) {
+			super("Survey");
+			Section section = new Section("Personal data");
+			add(section);
+			final StringTextField name = new StringTextField("Name");
+			name.setHint(repeat('h', 1000));
+			section.add(name);
+			AbstractInputField<String> biography = new StringTextField("Biography", new PropertyBinding<String>(
+					person, "biography"));
+			section.add(biography);
+			List<String> choices = new ArrayList<String>();
+			for (int i = 0; i < 500; i++) {
+				choices.add("Choice number " + i);
+			}
+			section.add(new DropDown<String>("Choice", choices, String.class));
+			add(new FormValidator() {
+
+				@Override
+				public List<AbstractInputField<?>> getRelevantInputFields() {
+					return Collections.<AbstractInputField<?>> singletonList(name);
+				}
+
+				@Override
+				public void validate(final ValidationFeedback feedback) {
+					if (name.getUserInput() == null) {
+						feedback.error("Name is missing!");
+					}
+				}
+
+			});
+		}
+
+	}
+
+	public static class Person implements Serializable {
+
+		private String biography;
+
+		public String getBiography() {
+			return this.biography;
+		}
+
+		public void setBiography(final String biography) {
+			this.biography = biography;
+		}
+
+	}
+
+}
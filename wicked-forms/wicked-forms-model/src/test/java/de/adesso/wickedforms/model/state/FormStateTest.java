@@ -0,0 +1,266 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.state;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import de.adesso.wickedforms.model.elements.fields.TextArea;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class FormStateTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private FormStateStore store;
+
+	@Before
+	public void setUp() {
+		this.store = new FileFormStateStore(this.folder.getRoot());
+	}
+
+	@Test
+	public void testRestoreOnAnotherInstance() throws IOException {
+		Form form = newForm();
+		StringTextField name = (StringTextField) form.getMainSection().getFormElements().get(0);
+		IntegerTextField age = (IntegerTextField) form.getMainSection().getFormElements().get(1);
+		Section details = (Section) form.getMainSection().getFormElements().get(2);
+		@SuppressWarnings("unchecked")
+		CheckboxGroup<String> pets = (CheckboxGroup<String>) details.getFormElements().get(0);
+		TextArea comment = (TextArea) details.getFormElements().get(1);
+		name.setValue("Alice");
+		age.setUserInput(42);
+		age.setEnabled(false);
+		pets.setValue(Arrays.asList("dog"));
+		details.setHidden(true);
+		comment.setVisible(false);
+		this.store.save("user 1/survey", FormState.of(form));
+
+		Form restored = newForm();
+		FormState state = this.store.load("user 1/survey");
+		Assert.assertEquals(FormState.of(form), state);
+		Assert.assertEquals(5, state.applyTo(restored));
+		Assert.assertEquals("Alice", ((StringTextField) restored.getElementById(name.getId())).getValue());
+		IntegerTextField restoredAge = (IntegerTextField) restored.getElementById(age.getId());
+		Assert.assertEquals(42, restoredAge.getUserInput().intValue());
+		Assert.assertFalse(restoredAge.isEnabled());
+		Assert.assertEquals(Arrays.asList("dog"), ((CheckboxGroup<?>) restored.getElementById(pets.getId())).getValue());
+		Assert.assertTrue(((Section) restored.getElementById(details.getId())).isHidden());
+		Assert.assertFalse(restored.getElementById(comment.getId()).isVisible());
+		Assert.assertEquals(state, FormState.of(restored));
+	}
+
+	@Test
+	public void testDiscardedElements() throws IOException {
+		Form form = newForm();
+		Section details = (Section) form.getMainSection().getFormElements().get(2);
+		details.discard();
+		this.store.save("survey", FormState.of(form));
+
+		Form restored = newForm();
+		this.store.load("survey").applyTo(restored);
+		Assert.assertTrue(restored.getElementById(details.getId()).isDiscarded());
+		Assert.assertFalse(restored.getElementById("1").isDiscarded());
+	}
+
+	@Test
+	public void testAddedSections() throws IOException {
+		Form form = newFamily();
+		AddSectionButton button = (AddSectionButton) form.getMainSection().getFormElements().get(1);
+		Section bob = button.addSection();
+		Section carol = button.addSection();
+		Section dave = button.addSection();
+		form.assignIds();
+		((StringTextField) bob.getFormElements().get(0)).setValue("Bob");
+		((StringTextField) carol.getFormElements().get(0)).setValue("Carol");
+		dave.discard();
+		bob.discard();
+		form.removeDiscardedElements();
+		dave = button.addSection();
+		((StringTextField) dave.getFormElements().get(0)).setValue("Dave");
+		this.store.save("family", FormState.of(form));
+
+		Form restored = newFamily();
+		FormState state = this.store.load("family");
+		Assert.assertEquals(8, state.applyTo(restored));
+		AddSectionButton restoredButton = (AddSectionButton) restored.getElementById(button.getId());
+		Assert.assertEquals(2, restoredButton.getAddedSections().size());
+		Section restoredCarol = restoredButton.getAddedSections().get(0);
+		Assert.assertEquals(carol.getId(), restoredCarol.getId());
+		Assert.assertEquals("Carol", ((StringTextField) restored.getElementById(carol.getFormElements().get(0)
+				.getId())).getValue());
+		Assert.assertEquals("Dave", ((StringTextField) restored.getElementById(dave.getFormElements().get(0)
+				.getId())).getValue());
+		Assert.assertNull(restored.getElementById(bob.getId()));
+		Assert.assertEquals(state, FormState.of(restored));
+
+		// sections added after the state has been restored get new ids
+		Section eve = restoredButton.addSection();
+		restored.assignIds();
+		Assert.assertSame(eve, restored.getElementById(eve.getId()));
+		Assert.assertSame(restoredCarol, restored.getElementById(carol.getId()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testAddedElementsWithoutButton() throws IOException {
+		Form form = newForm();
+		Section details = (Section) form.getMainSection().getFormElements().get(2);
+		form.getMainSection().insertBefore(new Section("Added").add(new StringTextField("Nickname")), details);
+		FormState state = FormState.of(form);
+		Assert.assertEquals(7, state.size());
+		this.store.save("survey", state);
+		this.store.load("survey").applyTo(newForm());
+	}
+
+	@Test
+	public void testChoicesWithoutEquals() throws IOException {
+		Form form = newShop(3);
+		CheckboxGroup<Product> products = getProducts(form);
+		DropDown<Product> favorite = getFavorite(form);
+		products.setValue(Arrays.asList(products.getChoices().get(0), products.getChoices().get(2)));
+		products.setUserInput(Arrays.asList(products.getChoices().get(1)));
+		favorite.setValue(favorite.getChoices().get(1));
+		this.store.save("shop", FormState.of(form));
+
+		// the restored form has choices of its own, which are not equal to
+		// the choices of the saved form
+		Form restored = newShop(3);
+		FormState state = this.store.load("shop");
+		Assert.assertEquals(2, state.applyTo(restored));
+		CheckboxGroup<Product> restoredProducts = getProducts(restored);
+		Assert.assertEquals(2, restoredProducts.getValue().size());
+		Assert.assertSame(restoredProducts.getChoices().get(0), restoredProducts.getValue().get(0));
+		Assert.assertSame(restoredProducts.getChoices().get(2), restoredProducts.getValue().get(1));
+		Assert.assertSame(restoredProducts.getChoices().get(1), restoredProducts.getUserInput().get(0));
+		Assert.assertSame(getFavorite(restored).getChoices().get(1), getFavorite(restored).getValue());
+		Assert.assertEquals(state, FormState.of(restored));
+	}
+
+	@Test
+	public void testStaleChoiceIndexes() throws IOException {
+		Form form = newShop(3);
+		CheckboxGroup<Product> products = getProducts(form);
+		products.setValue(Arrays.asList(products.getChoices().get(2)));
+		getFavorite(form).setValue(getFavorite(form).getChoices().get(2));
+		this.store.save("shop", FormState.of(form));
+
+		// choices have been removed from the definition in the meantime
+		Form restored = newShop(2);
+		getFavorite(restored).setValue(getFavorite(restored).getChoices().get(0));
+		this.store.load("shop").applyTo(restored);
+		Assert.assertTrue(getProducts(restored).getValue().isEmpty());
+		Assert.assertSame(getFavorite(restored).getChoices().get(0), getFavorite(restored).getValue());
+	}
+
+	@Test
+	public void testLongText() throws IOException {
+		char[] text = new char[100000];
+		Arrays.fill(text, 'ä');
+		Form form = newForm();
+		TextArea comment = (TextArea) ((Section) form.getMainSection().getFormElements().get(2)).getFormElements()
+				.get(1);
+		comment.setValue(new String(text));
+		this.store.save("survey", FormState.of(form));
+
+		Form restored = newForm();
+		this.store.load("survey").applyTo(restored);
+		Assert.assertEquals(new String(text), ((TextArea) restored.getElementById(comment.getId())).getValue());
+	}
+
+	@Test
+	public void testRemove() throws IOException {
+		this.store.save("survey", FormState.of(newForm()));
+		Assert.assertNotNull(this.store.load("survey"));
+		this.store.remove("survey");
+		Assert.assertNull(this.store.load("survey"));
+		this.store.remove("survey");
+		Assert.assertEquals(Collections.emptyList(), Arrays.asList(this.folder.getRoot().list()));
+	}
+
+	private static Form newFamily() {
+		Form form = new Form("Family").add(new StringTextField("Name")).add(new AddSectionButton("Add child") {
+			@Override
+			public Section createSection() {
+				return new Section("Child").add(new StringTextField("Child name")).add(new IntegerTextField("Age"));
+			}
+		});
+		form.assignIds();
+		return form;
+	}
+
+	private static Form newShop(final int productCount) {
+		List<Product> choices = new ArrayList<Product>();
+		for (int i = 0; i < productCount; i++) {
+			choices.add(new Product("Product " + i));
+		}
+		Form form = new Form("Shop").add(new CheckboxGroup<Product>("Products", choices))
+				.add(new DropDown<Product>("Favorite", choices, Product.class));
+		form.assignIds();
+		return form;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static CheckboxGroup<Product> getProducts(final Form form) {
+		return (CheckboxGroup<Product>) form.getMainSection().getFormElements().get(0);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static DropDown<Product> getFavorite(final Form form) {
+		return (DropDown<Product>) form.getMainSection().getFormElements().get(1);
+	}
+
+	private static Form newForm() {
+		Form form = new Form("Survey").add(new StringTextField("Name")).add(new IntegerTextField("Age"))
+				.add(new Section("Details").add(new CheckboxGroup<String>("Pets", Arrays.asList("cat", "dog")))
+						.add(new TextArea("Comment")));
+		form.assignIds();
+		return form;
+	}
+
+	/**
+	 * A choice that does not implement {@link Object#equals(Object)}.
+	 */
+	private static class Product implements Serializable {
+
+		private final String name;
+
+		Product(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+	}
+
+}
@@ -0,0 +1,211 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.model.submission;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SubmissionPipelineTest {
+
+	private static FormSnapshot snapshot(final String value) {
+		return new FormSnapshot("form", "Form", 0, Collections.singletonMap("1", value));
+	}
+
+	@Test
+	public void testSnapshot() {
+		StringTextField name = new StringTextField("Name");
+		CheckboxGroup<String> pets = new CheckboxGroup<String>("Pets", Arrays.asList("cat", "dog"));
+		Form form = new Form("Survey").add(name).add(pets);
+		form.assignIds();
+		name.setValue("Alice");
+		pets.setValue(new ArrayList<String>(Arrays.asList("cat")));
+
+		FormSnapshot snapshot = FormSnapshot.of(form);
+		name.setValue("Bob");
+		pets.setValue(Arrays.asList("dog"));
+
+		Assert.assertEquals("Survey", snapshot.getFormId());
+		Assert.assertEquals("Alice", snapshot.getValue(name.getId()));
+		Assert.assertEquals(Arrays.asList("cat"), snapshot.getValue(pets.getId()));
+	}
+
+	@Test
+	public void testProcessing() throws InterruptedException {
+		final List<Object> handled = Collections.synchronizedList(new ArrayList<Object>());
+		SubmissionPipeline pipeline = new SubmissionPipeline(new SnapshotHandler() {
+			@Override
+			public void handle(final FormSnapshot snapshot) {
+				handled.add(snapshot.getValue("1"));
+			}
+		}, 10).setWorkers(2).start();
+		for (int i = 0; i < 100; i++) {
+			Assert.assertTrue(pipeline.submit(snapshot("value " + i)));
+		}
+		Assert.assertTrue(pipeline.shutdown(5000));
+
+		Assert.assertEquals(100, handled.size());
+		Assert.assertEquals(100, pipeline.getAccepted());
+		Assert.assertEquals(100, pipeline.getProcessed());
+		Assert.assertEquals(0, pipeline.getQueueDepth());
+	}
+
+	@Test
+	public void testRetry() throws InterruptedException {
+		final AtomicInteger attempts = new AtomicInteger();
+		final List<FormSnapshot> failures = new ArrayList<FormSnapshot>();
+		SubmissionPipeline pipeline = new SubmissionPipeline(new SnapshotHandler() {
+			@Override
+			public void handle(final FormSnapshot snapshot) throws Exception {
+				attempts.incrementAndGet();
+				if ("fail".equals(snapshot.getValue("1"))) {
+					throw new Exception("failed");
+				}
+			}
+		}, 10) {
+			@Override
+			protected void onFailure(final FormSnapshot snapshot, final Exception exception) {
+				failures.add(snapshot);
+			}
+		}.setWorkers(1).setMaxAttempts(3).setRetryDelay(1).start();
+		pipeline.submit(snapshot("fail"));
+		pipeline.submit(snapshot("succeed"));
+		Assert.assertTrue(pipeline.shutdown(5000));
+
+		Assert.assertEquals(4, attempts.get());
+		Assert.assertEquals(2, pipeline.getRetried());
+		Assert.assertEquals(1, pipeline.getFailed());
+		Assert.assertEquals(1, pipeline.getProcessed());
+		Assert.assertEquals(1, failures.size());
+	}
+
+	@Test
+	public void testBackpressure() throws InterruptedException {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<Object> handled = Collections.synchronizedList(new ArrayList<Object>());
+		SnapshotHandler handler = new SnapshotHandler() {
+			@Override
+			public void handle(final FormSnapshot snapshot) throws Exception {
+				if ("block".equals(snapshot.getValue("1"))) {
+					blocked.countDown();
+					release.await();
+				}
+				handled.add(snapshot.getValue("1"));
+			}
+		};
+
+		SubmissionPipeline pipeline = new SubmissionPipeline(handler, 1).setWorkers(1)
+				.setPolicy(BackpressurePolicy.REJECT).start();
+		pipeline.submit(snapshot("block"));
+		Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+		Assert.assertTrue(pipeline.submit(snapshot("queued")));
+		Assert.assertFalse(pipeline.submit(snapshot("rejected")));
+		Assert.assertEquals(1, pipeline.getQueueDepth());
+		Assert.assertEquals(1, pipeline.getRejected());
+
+		pipeline.setPolicy(BackpressurePolicy.DROP_OLDEST);
+		Assert.assertTrue(pipeline.submit(snapshot("newest")));
+		Assert.assertEquals(1, pipeline.getDropped());
+
+		pipeline.setPolicy(BackpressurePolicy.CALLER_RUNS);
+		Assert.assertTrue(pipeline.submit(snapshot("caller")));
+		Assert.assertEquals(Arrays.asList("caller"), handled);
+
+		pipeline.setPolicy(BackpressurePolicy.BLOCK).setBlockTimeout(10);
+		Assert.assertFalse(pipeline.submit(snapshot("timeout")));
+
+		release.countDown();
+		Assert.assertTrue(pipeline.shutdown(5000));
+		Assert.assertEquals(Arrays.asList("caller", "block", "newest"), handled);
+	}
+
+	@Test
+	public void testCallerRunsWithoutRetry() throws InterruptedException {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger attempts = new AtomicInteger();
+		final List<Object> failures = Collections.synchronizedList(new ArrayList<Object>());
+		SubmissionPipeline pipeline = new SubmissionPipeline(new SnapshotHandler() {
+			@Override
+			public void handle(final FormSnapshot snapshot) throws Exception {
+				if ("block".equals(snapshot.getValue("1"))) {
+					blocked.countDown();
+					release.await();
+				} else if ("fail".equals(snapshot.getValue("1"))) {
+					attempts.incrementAndGet();
+					throw new Exception("failed");
+				}
+			}
+		}, 1) {
+			@Override
+			protected void onFailure(final FormSnapshot snapshot, final Exception exception) {
+				failures.add(snapshot.getValue("1"));
+			}
+		}.setWorkers(1).setMaxAttempts(3).setRetryDelay(60000).setPolicy(BackpressurePolicy.CALLER_RUNS).start();
+		pipeline.submit(snapshot("block"));
+		Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+		pipeline.submit(snapshot("queued"));
+
+		Assert.assertTrue(pipeline.submit(snapshot("fail")));
+		Assert.assertEquals(1, attempts.get());
+		Assert.assertEquals(0, pipeline.getRetried());
+		Assert.assertEquals(Arrays.asList("fail"), failures);
+
+		release.countDown();
+		Assert.assertTrue(pipeline.shutdown(5000));
+	}
+
+	@Test
+	public void testShutdownTimeout() throws InterruptedException {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<Object> dropped = Collections.synchronizedList(new ArrayList<Object>());
+		SubmissionPipeline pipeline = new SubmissionPipeline(new SnapshotHandler() {
+			@Override
+			public void handle(final FormSnapshot snapshot) throws Exception {
+				blocked.countDown();
+				release.await();
+			}
+		}, 10) {
+			@Override
+			protected void onDropped(final FormSnapshot snapshot) {
+				dropped.add(snapshot.getValue("1"));
+			}
+		}.setWorkers(1).start();
+		pipeline.submit(snapshot("processing"));
+		Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+		pipeline.submit(snapshot("queued 1"));
+		pipeline.submit(snapshot("queued 2"));
+
+		Assert.assertFalse(pipeline.shutdown(10));
+		Assert.assertEquals(Arrays.asList("queued 1", "queued 2"), dropped);
+		Assert.assertEquals(2, pipeline.getDropped());
+		Assert.assertEquals(0, pipeline.getQueueDepth());
+		Assert.assertFalse(pipeline.isRunning());
+		release.countDown();
+	}
+
+}
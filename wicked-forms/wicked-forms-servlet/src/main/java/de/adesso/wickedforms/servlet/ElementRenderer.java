@@ -0,0 +1,42 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+
+import java.io.IOException;
+
+/**
+ * An {@link ElementRenderer} writes the HTML of one type of
+ * {@link AbstractFormElement}. Implementations should be stateless so that a
+ * single instance can be shared by all requests.
+ *
+ * @param <E>
+ *            the type of form element rendered by this renderer.
+ */
+public interface ElementRenderer<E extends AbstractFormElement> {
+
+	/**
+	 * Renders the given element.
+	 *
+	 * @param element
+	 *            the form element to render.
+	 * @param context
+	 *            the context providing the writer to render into as well as
+	 *            the submitted input and validation messages, if any.
+	 */
+	void render(E element, RenderContext context) throws IOException;
+
+}
@@ -0,0 +1,222 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.model.elements.fields.ChoiceIds;
+import de.adesso.wickedforms.model.validation.FieldValidator;
+import de.adesso.wickedforms.model.validation.FormValidator;
+import de.adesso.wickedforms.model.validation.ValidationFeedback;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Binds the parameters of a submitted request to a {@link Form}. The binder
+ * follows the same rules as the Wicket <code>FormPanel</code>: the submitted
+ * input is converted and validated first, the form validators are only called
+ * if all input fields are valid and the values of the input fields are only
+ * updated if the whole form is valid.
+ * <p/>
+ * Only visible and enabled input fields are bound. A {@link FormBinder} is
+ * stateless and thread safe.
+ */
+public class FormBinder {
+
+	private final ValueConverter converter;
+
+	public FormBinder() {
+		this(new ValueConverter());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param converter
+	 *            the converter used to convert the input of text fields.
+	 */
+	public FormBinder(final ValueConverter converter) {
+		this.converter = converter;
+	}
+
+	/**
+	 * Binds the submitted parameters to the given form.
+	 *
+	 * @param form
+	 *            the form to bind to. Its IDs must be the same as when it was
+	 *            rendered.
+	 * @param parameters
+	 *            the submitted request parameters, as returned by
+	 *            <code>ServletRequest.getParameterMap()</code>.
+	 * @param locale
+	 *            the locale of the user.
+	 * @return the submission containing the validation messages. If
+	 *         {@link FormSubmission#hasErrors()} returns false, the values of
+	 *         the form have been updated.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public FormSubmission bind(final Form form, final Map<String, String[]> parameters, final Locale locale) {
+		FormSubmission submission = new FormSubmission(parameters);
+		List<AbstractInputField<?>> fields = new ArrayList<AbstractInputField<?>>();
+		collectInputFields(form.getMainSection(), fields);
+
+		Map<AbstractInputField, Object> values = new LinkedHashMap<AbstractInputField, Object>();
+		for (AbstractInputField field : fields) {
+			Object value;
+			try {
+				value = convert(field, submission, locale);
+			} catch (ValueConverter.ConversionException e) {
+				submission.error(field.getId(), e.getMessage());
+				continue;
+			}
+			if (isEmpty(value)) {
+				if (field.isRequired()) {
+					submission.error(field.getId(), getRequiredMessage(field));
+					continue;
+				}
+			} else {
+				FieldFeedback feedback = new FieldFeedback(submission, field.getId());
+				for (FieldValidator validator : (List<FieldValidator>) field.getValidators()) {
+					validator.validate(field, value, feedback);
+				}
+			}
+			field.setUserInput(value);
+			values.put(field, value);
+		}
+
+		if (!submission.hasErrors()) {
+			FormFeedback feedback = new FormFeedback(submission);
+			for (FormValidator validator : form.getValidators()) {
+				validator.validate(feedback);
+			}
+		}
+
+		if (!submission.hasErrors()) {
+			for (Map.Entry<AbstractInputField, Object> entry : values.entrySet()) {
+				entry.getKey().setValue(entry.getValue());
+			}
+		}
+		return submission;
+	}
+
+	/**
+	 * Converts the submitted input of a single input field into its model
+	 * class. Override this method to support custom input fields.
+	 *
+	 * @return the converted value or null if nothing was submitted.
+	 * @throws ValueConverter.ConversionException
+	 *             if the input is invalid.
+	 */
+	protected Object convert(final AbstractInputField<?> field, final FormSubmission submission, final Locale locale) {
+		if (field instanceof Checkbox) {
+			return Boolean.valueOf(submission.getInput(field.getId()) != null);
+		} else if (field instanceof AbstractMultiChoice) {
+			List<?> choices = ((AbstractMultiChoice<?>) field).getChoices();
+			List<Object> selected = new ArrayList<Object>();
+			for (String input : submission.getInputs(field.getId())) {
+				selected.add(choices.get(parseIndex(input, choices.size())));
+			}
+			return selected;
+		} else if (field instanceof AbstractSingleChoice) {
+			String input = submission.getInput(field.getId());
+			if (input == null || "".equals(input)) {
+				return null;
+			}
+			List<?> choices = ((AbstractSingleChoice<?>) field).getChoices();
+			return choices.get(parseIndex(input, choices.size()));
+		}
+		String input = submission.getInput(field.getId());
+		if (input == null || "".equals(input.trim())) {
+			return null;
+		}
+		return this.converter.convertToObject(input, field.getModelClass(), locale);
+	}
+
+	private int parseIndex(final String input, final int choiceCount) {
+		int index = ChoiceIds.parseIndex(input, choiceCount);
+		if (index < 0) {
+			throw new ValueConverter.ConversionException(input, Integer.class);
+		}
+		return index;
+	}
+
+	private boolean isEmpty(final Object value) {
+		return value == null || (value instanceof List && ((List<?>) value).isEmpty());
+	}
+
+	private String getRequiredMessage(final AbstractInputField<?> field) {
+		if (field.getRequiredMessage() != null) {
+			return field.getRequiredMessage();
+		}
+		return MessageFormat.format("Please fill out the required field ''{0}''.", field.getLabel());
+	}
+
+	private void collectInputFields(final Section section, final List<AbstractInputField<?>> fields) {
+		for (AbstractFormElement element : section.getFormElements()) {
+			if (!element.isVisible() || element.isDiscarded()) {
+				continue;
+			}
+			if (element instanceof Section) {
+				collectInputFields((Section) element, fields);
+			} else if (element instanceof AbstractInputField && ((AbstractInputField<?>) element).isEnabled()) {
+				fields.add((AbstractInputField<?>) element);
+			}
+		}
+	}
+
+	private static class FieldFeedback implements ValidationFeedback {
+
+		private final FormSubmission submission;
+
+		private final String elementId;
+
+		public FieldFeedback(final FormSubmission submission, final String elementId) {
+			this.submission = submission;
+			this.elementId = elementId;
+		}
+
+		@Override
+		public void error(final String message) {
+			this.submission.error(this.elementId, message);
+		}
+
+	}
+
+	private static class FormFeedback implements ValidationFeedback {
+
+		private final FormSubmission submission;
+
+		public FormFeedback(final FormSubmission submission) {
+			this.submission = submission;
+		}
+
+		@Override
+		public void error(final String message) {
+			this.submission.error(message);
+		}
+
+	}
+
+}
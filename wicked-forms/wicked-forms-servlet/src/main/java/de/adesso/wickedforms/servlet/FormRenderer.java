@@ -0,0 +1,202 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.FormElementType;
+import de.adesso.wickedforms.servlet.elements.CheckboxGroupRenderer;
+import de.adesso.wickedforms.servlet.elements.CheckboxRenderer;
+import de.adesso.wickedforms.servlet.elements.DropDownRenderer;
+import de.adesso.wickedforms.servlet.elements.RadioGroupRenderer;
+import de.adesso.wickedforms.servlet.elements.SectionRenderer;
+import de.adesso.wickedforms.servlet.elements.TextAreaRenderer;
+import de.adesso.wickedforms.servlet.elements.TextFieldRenderer;
+import de.adesso.wickedforms.servlet.elements.TextRenderer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders a {@link Form} as HTML straight into a {@link Writer} without
+ * building a component tree. Each form element type is rendered by an
+ * {@link ElementRenderer} that writes precompiled {@link Template}s. The
+ * generated markup uses the same structure and CSS classes as the Wicket
+ * <code>FormPanel</code>, so that the same stylesheet can be used.
+ * <p/>
+ * A {@link FormRenderer} is stateless and thread safe, so a single instance
+ * should be shared by all requests.
+ * <p/>
+ * You can extend this renderer to add your own custom form elements like this:
+ *
+ * <pre>
+ * public class MyFormRenderer extends FormRenderer {
+ *
+ * 	protected ElementRenderer&lt;?&gt; getRenderer(final AbstractFormElement element) {
+ * 		if (element instanceof MyVeryOwnFormElement) {
+ * 			return new MyVeryOwnFormElementRenderer();
+ * 		}
+ * 		return super.getRenderer(element);
+ * 	}
+ *
+ * }
+ * </pre>
+ * <p/>
+ * {@link de.adesso.wickedforms.model.elements.buttons.AddSectionButton}s are
+ * not rendered, since adding sections requires the form to be kept on the
+ * server between requests.
+ */
+public class FormRenderer {
+
+	private static final Template FORM_START = Template.compile(
+			"<form class=\"wickedForm\" method=\"post\" action=\"${action}\"><div class=\"formFields\"><h1>${title}</h1>",
+			"action", "title");
+
+	private static final String FEEDBACK_START = "<div class=\"feedback\"><ul>";
+
+	private static final Template FEEDBACK_MESSAGE = Template.compile("<li class=\"feedbackPanelERROR\">${message}</li>",
+			"message");
+
+	private static final String FEEDBACK_END = "</ul></div>";
+
+	private static final String FORM_END = "</div><input type=\"submit\" /></form>";
+
+	private final Map<FormElementType, ElementRenderer<?>> renderers = new EnumMap<FormElementType, ElementRenderer<?>>(
+			FormElementType.class);
+
+	private final Map<Class<?>, FormElementType> elementTypes = new ConcurrentHashMap<Class<?>, FormElementType>();
+
+	private final ValueConverter converter;
+
+	public FormRenderer() {
+		this(new ValueConverter());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param converter
+	 *            the converter used to display the values of text fields.
+	 */
+	public FormRenderer(final ValueConverter converter) {
+		this.converter = converter;
+		this.renderers.put(FormElementType.TEXT, new TextRenderer());
+		this.renderers.put(FormElementType.SECTION, new SectionRenderer());
+		this.renderers.put(FormElementType.TEXTFIELD, new TextFieldRenderer());
+		this.renderers.put(FormElementType.TEXTFIELD_STRING, new TextFieldRenderer());
+		this.renderers.put(FormElementType.TEXTFIELD_INTEGER, new TextFieldRenderer());
+		this.renderers.put(FormElementType.TEXTAREA, new TextAreaRenderer());
+		this.renderers.put(FormElementType.CHECKBOX, new CheckboxRenderer());
+		this.renderers.put(FormElementType.DROPDOWN, new DropDownRenderer());
+		this.renderers.put(FormElementType.RADIO, new RadioGroupRenderer());
+		this.renderers.put(FormElementType.CHECKBOXGROUP, new CheckboxGroupRenderer());
+	}
+
+	/**
+	 * Renders a form that is displayed for the first time.
+	 *
+	 * @param form
+	 *            the form to render. Its IDs must have been assigned via
+	 *            {@link Form#assignIds()}.
+	 * @param out
+	 *            the writer to render into.
+	 * @param action
+	 *            the URL the form is posted to.
+	 * @param locale
+	 *            the locale used to display values.
+	 */
+	public void render(final Form form, final Writer out, final String action, final Locale locale)
+			throws IOException {
+		render(form, out, action, locale, null);
+	}
+
+	/**
+	 * Renders a form together with the input and validation messages of a
+	 * submission that failed validation.
+	 *
+	 * @param submission
+	 *            the failed submission or null if the form is displayed for
+	 *            the first time.
+	 */
+	public void render(final Form form, final Writer out, final String action, final Locale locale,
+			final FormSubmission submission) throws IOException {
+		RenderContext context = new RenderContext(out, this, submission, locale);
+		FORM_START.render(out, action, form.getLabel());
+		if (submission != null && submission.hasErrors()) {
+			out.write(FEEDBACK_START);
+			for (String message : submission.getErrors()) {
+				FEEDBACK_MESSAGE.render(out, message);
+			}
+			out.write(FEEDBACK_END);
+		}
+		renderElement(form.getMainSection(), context);
+		out.write(FORM_END);
+	}
+
+	/**
+	 * Renders a single form element. Elements that are invisible or discarded
+	 * are skipped.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void renderElement(final AbstractFormElement element, final RenderContext context) throws IOException {
+		if (!element.isVisible() || element.isDiscarded()) {
+			return;
+		}
+		ElementRenderer renderer = getRenderer(element);
+		if (renderer != null) {
+			renderer.render(element, context);
+		}
+	}
+
+	/**
+	 * Returns the renderer responsible for the given element. Override this
+	 * method to support custom form elements.
+	 *
+	 * @return the renderer or null if the element should not be rendered.
+	 * @throws IllegalArgumentException
+	 *             if the element is unknown.
+	 */
+	protected ElementRenderer<?> getRenderer(final AbstractFormElement element) {
+		FormElementType elementType = getElementType(element);
+		if (elementType == FormElementType.ADDSECTIONBUTTON) {
+			return null;
+		}
+		ElementRenderer<?> renderer = elementType == null ? null : this.renderers.get(elementType);
+		if (renderer == null) {
+			throw new IllegalArgumentException("Unknown Wicked Forms element: " + element.getClass().getName());
+		}
+		return renderer;
+	}
+
+	private FormElementType getElementType(final AbstractFormElement element) {
+		FormElementType elementType = this.elementTypes.get(element.getClass());
+		if (elementType == null) {
+			elementType = FormElementType.ofObject(element);
+			if (elementType != null) {
+				this.elementTypes.put(element.getClass(), elementType);
+			}
+		}
+		return elementType;
+	}
+
+	public ValueConverter getConverter() {
+		return this.converter;
+	}
+
+}
@@ -0,0 +1,128 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import de.adesso.wickedforms.model.Form;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A servlet that displays a Wicked Form and processes its submission without
+ * keeping any state in the HTTP session. The form is created anew for each
+ * request, so {@link #createForm(HttpServletRequest)} must always create the
+ * same structure.
+ * <p/>
+ * Subclasses only need to create the form and handle a valid submission:
+ *
+ * <pre>
+ * public class PersonFormServlet extends FormServlet {
+ *
+ * 	protected Form createForm(HttpServletRequest request) {
+ * 		return new PersonForm(new Person());
+ * 	}
+ *
+ * 	protected void onSubmit(Form form, HttpServletRequest request, HttpServletResponse response)
+ * 			throws IOException {
+ * 		response.sendRedirect(&quot;thanks.html&quot;);
+ * 	}
+ *
+ * }
+ * </pre>
+ */
+public abstract class FormServlet extends HttpServlet {
+
+	private final FormRenderer renderer;
+
+	private final FormBinder binder;
+
+	public FormServlet() {
+		this(new FormRenderer(), new FormBinder());
+	}
+
+	public FormServlet(final FormRenderer renderer, final FormBinder binder) {
+		this.renderer = renderer;
+		this.binder = binder;
+	}
+
+	@Override
+	protected void doGet(final HttpServletRequest request, final HttpServletResponse response)
+			throws ServletException, IOException {
+		Form form = createForm(request);
+		form.assignIds();
+		renderPage(form, null, request, response);
+	}
+
+	@Override
+	protected void doPost(final HttpServletRequest request, final HttpServletResponse response)
+			throws ServletException, IOException {
+		request.setCharacterEncoding("UTF-8");
+		Form form = createForm(request);
+		form.assignIds();
+		FormSubmission submission = this.binder.bind(form, request.getParameterMap(), request.getLocale());
+		if (submission.hasErrors()) {
+			renderPage(form, submission, request, response);
+		} else {
+			onSubmit(form, request, response);
+		}
+	}
+
+	/**
+	 * Renders the HTML page containing the form.
+	 *
+	 * @param submission
+	 *            the submission that failed validation or null if the form is
+	 *            displayed for the first time.
+	 */
+	protected void renderPage(final Form form, final FormSubmission submission, final HttpServletRequest request,
+			final HttpServletResponse response) throws IOException {
+		response.setContentType("text/html");
+		response.setCharacterEncoding("UTF-8");
+		Writer out = new BufferedWriter(response.getWriter(), 8192);
+		out.write("<!DOCTYPE html><html><head><meta charset=\"utf-8\" /><title>");
+		Html.escape(out, form.getLabel());
+		out.write("</title>");
+		renderHead(out);
+		out.write("</head><body>");
+		this.renderer.render(form, out, request.getRequestURI(), request.getLocale(), submission);
+		out.write("</body></html>");
+		out.flush();
+	}
+
+	/**
+	 * Called while rendering the head of the HTML page. Override this method
+	 * to include stylesheets or scripts.
+	 */
+	protected void renderHead(final Writer out) throws IOException {
+	}
+
+	/**
+	 * Creates the form to be displayed.
+	 */
+	protected abstract Form createForm(HttpServletRequest request);
+
+	/**
+	 * Called when a submitted form has been validated successfully. The values
+	 * of the form have already been updated.
+	 */
+	protected abstract void onSubmit(Form form, HttpServletRequest request, HttpServletResponse response)
+			throws IOException;
+
+}
@@ -0,0 +1,117 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of binding a submitted request to a form with
+ * {@link FormBinder}. It contains the raw request parameters, so that a form
+ * that failed validation can be rendered again with the user's input, as well
+ * as the validation messages.
+ */
+public class FormSubmission {
+
+	private final Map<String, String[]> parameters;
+
+	private final Map<String, List<String>> fieldErrors = new HashMap<String, List<String>>();
+
+	private final List<String> errors = new ArrayList<String>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param parameters
+	 *            the submitted request parameters, keyed by parameter name.
+	 */
+	public FormSubmission(final Map<String, String[]> parameters) {
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Returns the first raw value that was submitted for the input with the
+	 * given name.
+	 *
+	 * @param name
+	 *            the name of the input, which is the id of the form element.
+	 * @return the submitted value or null if no value was submitted.
+	 */
+	public String getInput(final String name) {
+		String[] values = this.parameters.get(name);
+		if (values == null || values.length == 0) {
+			return null;
+		}
+		return values[0];
+	}
+
+	/**
+	 * Returns all raw values that were submitted for the input with the given
+	 * name.
+	 *
+	 * @param name
+	 *            the name of the input, which is the id of the form element.
+	 * @return the submitted values. Never null.
+	 */
+	public String[] getInputs(final String name) {
+		String[] values = this.parameters.get(name);
+		return values == null ? new String[0] : values;
+	}
+
+	/**
+	 * Adds a validation message that belongs to a single form element.
+	 */
+	public void error(final String elementId, final String message) {
+		List<String> messages = this.fieldErrors.get(elementId);
+		if (messages == null) {
+			messages = new ArrayList<String>(1);
+			this.fieldErrors.put(elementId, messages);
+		}
+		messages.add(message);
+		this.errors.add(message);
+	}
+
+	/**
+	 * Adds a validation message that belongs to the form as a whole.
+	 */
+	public void error(final String message) {
+		this.errors.add(message);
+	}
+
+	/**
+	 * Returns the validation messages of a single form element.
+	 *
+	 * @return the messages. Never null.
+	 */
+	public List<String> getErrors(final String elementId) {
+		List<String> messages = this.fieldErrors.get(elementId);
+		return messages == null ? Collections.<String> emptyList() : messages;
+	}
+
+	/**
+	 * Returns all validation messages in the order in which they occurred.
+	 */
+	public List<String> getErrors() {
+		return Collections.unmodifiableList(this.errors);
+	}
+
+	public boolean hasErrors() {
+		return !this.errors.isEmpty();
+	}
+
+}
@@ -0,0 +1,77 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * HTML utilities used by the renderers.
+ */
+public final class Html {
+
+	private Html() {
+	}
+
+	/**
+	 * Writes the given text into the writer, escaping all characters that have
+	 * a special meaning in HTML text and attribute values. Text that does not
+	 * need escaping is written in one piece.
+	 *
+	 * @param out
+	 *            the writer to write into.
+	 * @param text
+	 *            the text to write. May be null, in which case nothing is
+	 *            written.
+	 */
+	public static void escape(final Writer out, final String text) throws IOException {
+		if (text == null) {
+			return;
+		}
+		int length = text.length();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			String replacement = replacementFor(text.charAt(i));
+			if (replacement != null) {
+				if (i > start) {
+					out.write(text, start, i - start);
+				}
+				out.write(replacement);
+				start = i + 1;
+			}
+		}
+		if (start < length) {
+			out.write(text, start, length - start);
+		}
+	}
+
+	private static String replacementFor(final char c) {
+		switch (c) {
+		case '<':
+			return "&lt;";
+		case '>':
+			return "&gt;";
+		case '&':
+			return "&amp;";
+		case '"':
+			return "&quot;";
+		case '\'':
+			return "&#039;";
+		default:
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * State of a single rendering run of a {@link FormRenderer}. A new context is
+ * created for each form that is rendered.
+ */
+public class RenderContext {
+
+	private final Writer writer;
+
+	private final FormRenderer renderer;
+
+	private final FormSubmission submission;
+
+	private final Locale locale;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param writer
+	 *            the writer to render into.
+	 * @param renderer
+	 *            the renderer responsible for rendering nested elements.
+	 * @param submission
+	 *            the submission that failed validation or null if the form is
+	 *            rendered for the first time.
+	 * @param locale
+	 *            the locale used for displaying values.
+	 */
+	public RenderContext(final Writer writer, final FormRenderer renderer, final FormSubmission submission,
+			final Locale locale) {
+		this.writer = writer;
+		this.renderer = renderer;
+		this.submission = submission;
+		this.locale = locale;
+	}
+
+	public Writer getWriter() {
+		return this.writer;
+	}
+
+	public Locale getLocale() {
+		return this.locale;
+	}
+
+	public ValueConverter getConverter() {
+		return this.renderer.getConverter();
+	}
+
+	/**
+	 * Renders a nested form element, for example an element within a section.
+	 */
+	public void render(final AbstractFormElement element) throws IOException {
+		this.renderer.renderElement(element, this);
+	}
+
+	/**
+	 * Determines if the form is rendered again after a submission that failed
+	 * validation. In this case, the input fields should display the submitted
+	 * input instead of the values of the form elements.
+	 */
+	public boolean isSubmitted() {
+		return this.submission != null;
+	}
+
+	/**
+	 * Returns the raw submitted input of the given element.
+	 *
+	 * @return the submitted input or null if the form has not been submitted
+	 *         or nothing was submitted for this element.
+	 */
+	public String getInput(final AbstractFormElement element) {
+		return this.submission == null ? null : this.submission.getInput(element.getId());
+	}
+
+	/**
+	 * Returns all raw submitted input values of the given element.
+	 */
+	public String[] getInputs(final AbstractFormElement element) {
+		return this.submission == null ? new String[0] : this.submission.getInputs(element.getId());
+	}
+
+	/**
+	 * Returns the validation messages of the given element.
+	 */
+	public List<String> getErrors(final AbstractFormElement element) {
+		return this.submission == null ? Collections.<String> emptyList() : this.submission.getErrors(element.getId());
+	}
+
+	/**
+	 * Returns the HTML id of the given element.
+	 */
+	public String getMarkupId(final AbstractFormElement element) {
+		return "wf" + element.getId();
+	}
+
+}
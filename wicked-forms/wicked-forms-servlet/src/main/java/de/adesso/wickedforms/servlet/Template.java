@@ -0,0 +1,188 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A precompiled HTML snippet with placeholders. The template source is parsed
+ * once into its static parts and its placeholders, so that rendering merely
+ * writes the static parts and the placeholder values one after another into a
+ * {@link Writer} without building intermediate strings. Templates with up to
+ * three placeholders are rendered with the fixed-arity render methods, which
+ * do not allocate a varargs array per call.
+ * <p/>
+ * Placeholders have the form <code>${name}</code> and are HTML-escaped when
+ * written. Placeholders of the form <code>$!{name}</code> are written as they
+ * are and may thus contain markup.
+ * <p/>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class Template {
+
+	private final String[] parts;
+
+	private final int[] slots;
+
+	private final boolean[] escaped;
+
+	private final int slotCount;
+
+	private Template(final String[] parts, final int[] slots, final boolean[] escaped, final int slotCount) {
+		this.parts = parts;
+		this.slots = slots;
+		this.escaped = escaped;
+		this.slotCount = slotCount;
+	}
+
+	/**
+	 * Compiles a template.
+	 *
+	 * @param source
+	 *            the template source.
+	 * @param slotNames
+	 *            the names of the placeholders in the order in which their
+	 *            values are passed into {@link #render(Writer, String...)}.
+	 * @return the compiled template.
+	 * @throws IllegalArgumentException
+	 *             if the source contains a placeholder that is not contained
+	 *             in the given slot names.
+	 */
+	public static Template compile(final String source, final String... slotNames) {
+		List<String> parts = new ArrayList<String>();
+		List<Integer> slots = new ArrayList<Integer>();
+		List<Boolean> escaped = new ArrayList<Boolean>();
+		int position = 0;
+		while (true) {
+			int start = source.indexOf("${", position);
+			int rawStart = source.indexOf("$!{", position);
+			boolean raw = rawStart != -1 && (start == -1 || rawStart < start);
+			if (raw) {
+				start = rawStart;
+			}
+			if (start == -1) {
+				parts.add(source.substring(position));
+				break;
+			}
+			int nameStart = start + (raw ? 3 : 2);
+			int end = source.indexOf('}', nameStart);
+			if (end == -1) {
+				throw new IllegalArgumentException(String.format("Unterminated placeholder in template '%s'!", source));
+			}
+			parts.add(source.substring(position, start));
+			slots.add(indexOf(slotNames, source.substring(nameStart, end), source));
+			escaped.add(!raw);
+			position = end + 1;
+		}
+
+		int[] slotArray = new int[slots.size()];
+		boolean[] escapedArray = new boolean[slots.size()];
+		for (int i = 0; i < slotArray.length; i++) {
+			slotArray[i] = slots.get(i);
+			escapedArray[i] = escaped.get(i);
+		}
+		return new Template(parts.toArray(new String[parts.size()]), slotArray, escapedArray, slotNames.length);
+	}
+
+	private static int indexOf(final String[] slotNames, final String name, final String source) {
+		for (int i = 0; i < slotNames.length; i++) {
+			if (slotNames[i].equals(name)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException(String.format("Unknown placeholder '%s' in template '%s'!", name, source));
+	}
+
+	/**
+	 * Writes the template into the given writer. Callers rendering a template
+	 * with more than three placeholders in a loop should pass the same array
+	 * in each iteration instead of letting the compiler create one per call.
+	 *
+	 * @param out
+	 *            the writer to render into.
+	 * @param values
+	 *            the values of the placeholders in the order of the slot names
+	 *            passed into {@link #compile(String, String...)}. Null values
+	 *            are rendered as empty strings. The array is not modified or
+	 *            kept.
+	 */
+	public void render(final Writer out, final String... values) throws IOException {
+		for (int i = 0; i < this.slots.length; i++) {
+			out.write(this.parts[i]);
+			writeValue(out, i, values[this.slots[i]]);
+		}
+		out.write(this.parts[this.parts.length - 1]);
+	}
+
+	/**
+	 * Writes a template with a single placeholder into the given writer, see
+	 * {@link #render(Writer, String...)}.
+	 */
+	public void render(final Writer out, final String value) throws IOException {
+		checkSlotCount(1);
+		for (int i = 0; i < this.slots.length; i++) {
+			out.write(this.parts[i]);
+			writeValue(out, i, value);
+		}
+		out.write(this.parts[this.parts.length - 1]);
+	}
+
+	/**
+	 * Writes a template with two placeholders into the given writer, see
+	 * {@link #render(Writer, String...)}.
+	 */
+	public void render(final Writer out, final String value0, final String value1) throws IOException {
+		checkSlotCount(2);
+		for (int i = 0; i < this.slots.length; i++) {
+			out.write(this.parts[i]);
+			writeValue(out, i, this.slots[i] == 0 ? value0 : value1);
+		}
+		out.write(this.parts[this.parts.length - 1]);
+	}
+
+	/**
+	 * Writes a template with three placeholders into the given writer, see
+	 * {@link #render(Writer, String...)}.
+	 */
+	public void render(final Writer out, final String value0, final String value1, final String value2)
+			throws IOException {
+		checkSlotCount(3);
+		for (int i = 0; i < this.slots.length; i++) {
+			out.write(this.parts[i]);
+			int slot = this.slots[i];
+			writeValue(out, i, slot == 0 ? value0 : slot == 1 ? value1 : value2);
+		}
+		out.write(this.parts[this.parts.length - 1]);
+	}
+
+	private void writeValue(final Writer out, final int index, final String value) throws IOException {
+		if (this.escaped[index]) {
+			Html.escape(out, value);
+		} else if (value != null) {
+			out.write(value);
+		}
+	}
+
+	private void checkSlotCount(final int count) {
+		if (this.slotCount != count) {
+			throw new IllegalArgumentException(String.format("The template expects %d values instead of %d!",
+					this.slotCount, count));
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.util.Locale;
+
+/**
+ * Converts the values of text based input fields between their string
+ * representation in the HTML form and their model class.
+ * <p/>
+ * Override {@link #convertToObject(String, Class, Locale)} and
+ * {@link #convertToString(Object, Locale)} to support additional model
+ * classes.
+ */
+public class ValueConverter {
+
+	/**
+	 * Converts a submitted string into an object of the given class.
+	 *
+	 * @param value
+	 *            the submitted value. Must not be empty.
+	 * @param type
+	 *            the model class of the input field.
+	 * @param locale
+	 *            the locale of the user.
+	 * @return the converted value.
+	 * @throws ConversionException
+	 *             if the value cannot be converted into the given class.
+	 * @throws IllegalArgumentException
+	 *             if the model class is not supported by this converter.
+	 */
+	public Object convertToObject(final String value, final Class<?> type, final Locale locale) {
+		try {
+			if (type == String.class || type == Object.class) {
+				return value;
+			} else if (type == Integer.class || type == int.class) {
+				return Integer.valueOf(value.trim());
+			} else if (type == Long.class || type == long.class) {
+				return Long.valueOf(value.trim());
+			} else if (type == Short.class || type == short.class) {
+				return Short.valueOf(value.trim());
+			} else if (type == Byte.class || type == byte.class) {
+				return Byte.valueOf(value.trim());
+			} else if (type == BigInteger.class) {
+				return new BigInteger(value.trim());
+			} else if (type == Boolean.class || type == boolean.class) {
+				return Boolean.valueOf(value.trim());
+			} else if (type == Double.class || type == double.class) {
+				return parseDecimal(value, locale).doubleValue();
+			} else if (type == Float.class || type == float.class) {
+				return parseDecimal(value, locale).floatValue();
+			} else if (type == BigDecimal.class) {
+				return parseDecimal(value, locale);
+			}
+		} catch (NumberFormatException e) {
+			throw new ConversionException(value, type);
+		}
+		throw new IllegalArgumentException(String.format(
+				"%s does not support the conversion of values of type %s!", getClass().getName(), type.getName()));
+	}
+
+	/**
+	 * Converts a model value into the string to be displayed in the HTML form.
+	 *
+	 * @param value
+	 *            the value to convert. May be null.
+	 * @param locale
+	 *            the locale of the user.
+	 * @return the string representation of the value or null if the value is
+	 *         null.
+	 */
+	public String convertToString(final Object value, final Locale locale) {
+		if (value == null) {
+			return null;
+		}
+		if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+			NumberFormat format = NumberFormat.getInstance(locale);
+			format.setGroupingUsed(false);
+			format.setMaximumFractionDigits(Integer.MAX_VALUE);
+			return format.format(value);
+		}
+		return value.toString();
+	}
+
+	private BigDecimal parseDecimal(final String value, final Locale locale) {
+		String trimmed = value.trim();
+		NumberFormat format = NumberFormat.getInstance(locale);
+		ParsePosition position = new ParsePosition(0);
+		Number number = format.parse(trimmed, position);
+		if (number == null || position.getIndex() != trimmed.length()) {
+			throw new NumberFormatException(value);
+		}
+		return new BigDecimal(number.toString());
+	}
+
+	/**
+	 * Thrown if a submitted value cannot be converted into the model class of
+	 * its input field.
+	 */
+	public static class ConversionException extends RuntimeException {
+
+		private final String value;
+
+		private final Class<?> type;
+
+		public ConversionException(final String value, final Class<?> type) {
+			super(String.format("'%s' is not a valid %s.", value, type.getSimpleName()));
+			this.value = value;
+			this.type = type;
+		}
+
+		public String getValue() {
+			return this.value;
+		}
+
+		public Class<?> getType() {
+			return this.type;
+		}
+
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet.elements;
+
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.servlet.ElementRenderer;
+import de.adesso.wickedforms.servlet.Html;
+import de.adesso.wickedforms.servlet.RenderContext;
+import de.adesso.wickedforms.servlet.Template;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Base class for all renderers of input fields. Renders the label, the hint
+ * and the validation messages of the field around the actual input, which is
+ * rendered by subclasses.
+ *
+ * @param <F>
+ *            the type of input field rendered.
+ */
+public abstract class AbstractInputFieldRenderer<F extends AbstractInputField<?>> implements ElementRenderer<F> {
+
+	private static final Template LABEL = Template.compile("<label for=\"${for}\">${label}</label>", "for", "label");
+
+	private static final Template HINT = Template.compile("<span class=\"hint\">${hint}</span>", "hint");
+
+	private static final Template ERROR = Template.compile("<span class=\"error\">${message}</span>", "message");
+
+	@Override
+	public void render(final F field, final RenderContext context) throws IOException {
+		Writer out = context.getWriter();
+		renderLabel(field, context);
+		renderInput(field, context);
+		if (field.getHint() != null && !"".equals(field.getHint())) {
+			HINT.render(out, field.getHint());
+		}
+		for (String message : context.getErrors(field)) {
+			ERROR.render(out, message);
+		}
+	}
+
+	/**
+	 * Renders the label of the input field.
+	 */
+	protected void renderLabel(final F field, final RenderContext context) throws IOException {
+		LABEL.render(context.getWriter(), context.getMarkupId(field), field.getLabel());
+	}
+
+	/**
+	 * Renders the actual input of the field.
+	 */
+	protected abstract void renderInput(F field, RenderContext context) throws IOException;
+
+	/**
+	 * Returns the string to display in a text based input. This is the
+	 * submitted input if the form is rendered after a failed submission and
+	 * the value of the field otherwise.
+	 */
+	protected String getDisplayValue(final F field, final RenderContext context) {
+		if (context.isSubmitted()) {
+			return context.getInput(field);
+		}
+		return context.getConverter().convertToString(field.getValue(), context.getLocale());
+	}
+
+	/**
+	 * Writes the attributes that all input fields share (required and
+	 * disabled).
+	 */
+	protected void writeFieldAttributes(final F field, final Writer out) throws IOException {
+		if (field.isRequired()) {
+			out.write(" required=\"required\"");
+		}
+		if (!field.isEnabled()) {
+			out.write(" disabled=\"disabled\"");
+		}
+	}
+
+	/**
+	 * Writes an attribute if its value is not empty.
+	 */
+	protected static void writeAttribute(final Writer out, final String name, final String value) throws IOException {
+		if (value == null || "".equals(value)) {
+			return;
+		}
+		out.write(' ');
+		out.write(name);
+		out.write("=\"");
+		Html.escape(out, value);
+		out.write('"');
+	}
+
+}
@@ -0,0 +1,55 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet.elements;
+
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.servlet.RenderContext;
+import de.adesso.wickedforms.servlet.Template;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Renders a {@link Checkbox}. Other than with the other input fields, the
+ * label is rendered after the checkbox.
+ */
+public class CheckboxRenderer extends AbstractInputFieldRenderer<Checkbox> {
+
+	private static final Template INPUT = Template.compile(
+			"<input type=\"checkbox\" id=\"${id}\" name=\"${name}\" value=\"true\"", "id", "name");
+
+	private static final Template LABEL = Template.compile(" /><div class=\"checkbox\">${label}</div>", "label");
+
+	private static final String CHECKED = " checked=\"checked\"";
+
+	@Override
+	protected void renderLabel(final Checkbox field, final RenderContext context) {
+		// the label is rendered together with the input
+	}
+
+	@Override
+	protected void renderInput(final Checkbox field, final RenderContext context) throws IOException {
+		Writer out = context.getWriter();
+		INPUT.render(out, context.getMarkupId(field), field.getId());
+		boolean checked = context.isSubmitted() ? context.getInput(field) != null : Boolean.TRUE.equals(field
+				.getValue());
+		if (checked) {
+			out.write(CHECKED);
+		}
+		writeFieldAttributes(field, out);
+		LABEL.render(out, field.getLabel());
+	}
+
+}
@@ -0,0 +1,111 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet.elements;
+
+import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.elements.fields.ChoiceIds;
+import de.adesso.wickedforms.model.elements.fields.ChoiceLabeller;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSelection;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSource;
+import de.adesso.wickedforms.servlet.RenderContext;
+
+import java.util.List;
+
+/**
+ * Helper methods shared by the renderers of choice fields.
+ */
+final class ChoiceRenderers {
+
+	/**
+	 * The values of the first choices, so that rendering a choice usually
+	 * does not create a string from its index.
+	 */
+	private static final String[] VALUES = new String[128];
+
+	static {
+		for (int i = 0; i < VALUES.length; i++) {
+			VALUES[i] = String.valueOf(i);
+		}
+	}
+
+	private ChoiceRenderers() {
+	}
+
+	/**
+	 * Returns the value of the choice with the given index, i.e. the index as
+	 * string.
+	 */
+	static String getValue(final int index) {
+		return index < VALUES.length ? VALUES[index] : String.valueOf(index);
+	}
+
+	/**
+	 * Determines the index of the selected choice of a single choice field.
+	 *
+	 * @return the index or -1 if no choice is selected.
+	 */
+	static int getSelectedIndex(final AbstractSingleChoice<?> field, final RenderContext context) {
+		if (context.isSubmitted()) {
+			return ChoiceIds.parseIndex(context.getInput(field), field.getChoices().size());
+		}
+		return field.getValue() == null ? -1 : field.getChoices().indexOf(field.getValue());
+	}
+
+	/**
+	 * Determines which choices of a multi choice field are selected.
+	 *
+	 * @return an array containing a flag for each choice.
+	 */
+	static boolean[] getSelectedIndexes(final AbstractMultiChoice<?> field, final RenderContext context) {
+		List<?> choices = field.getChoices();
+		boolean[] selected = new boolean[choices.size()];
+		if (context.isSubmitted()) {
+			for (String input : context.getInputs(field)) {
+				int index = ChoiceIds.parseIndex(input, choices.size());
+				if (index != -1) {
+					selected[index] = true;
+				}
+			}
+		} else {
+			ChoiceSelection<?> selection = field.getSelection();
+			for (int i = 0; i < selected.length; i++) {
+				selected[i] = selection.isSelected(i);
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Retrieves the labels of the choices of a choice field. The labels of a
+	 * {@link ChoiceSource} are memoized by the source, all other labels are
+	 * created by the {@link ChoiceLabeller} of the field.
+	 *
+	 * @return the labels in the order of the choices.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static String[] getLabels(final List<?> choices, final ChoiceSource<?> source, final ChoiceLabeller labeller,
+			final RenderContext context) {
+		if (source != null) {
+			return source.getLabels(context.getLocale());
+		}
+		String[] labels = new String[choices.size()];
+		for (int i = 0; i < labels.length; i++) {
+			labels[i] = labeller.getLabel(choices.get(i));
+		}
+		return labels;
+	}
+
+}
@@ -0,0 +1,63 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet.elements;
+
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.servlet.RenderContext;
+import de.adesso.wickedforms.servlet.Template;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Renders a {@link DropDown}. The values of the options are the indexes of the
+ * choices.
+ */
+public class DropDownRenderer extends AbstractInputFieldRenderer<DropDown<?>> {
+
+	private static final Template SELECT = Template.compile(
+			"<span class=\"fieldContainer\"><select id=\"${id}\" name=\"${name}\"", "id", "name");
+
+	private static final String NULL_OPTION = "<option value=\"\">Choose One</option>";
+
+	private static final Template OPTION = Template.compile("<option value=\"${value}\"$!{selected}>${label}</option>",
+			"value", "selected", "label");
+
+	private static final String SELECTED = " selected=\"selected\"";
+
+	private static final String SELECT_END = "</select></span>";
+
+	@Override
+	protected void renderInput(final DropDown<?> field, final RenderContext context) throws IOException {
+		Writer out = context.getWriter();
+		SELECT.render(out, context.getMarkupId(field), field.getId());
+		writeFieldAttributes(field, out);
+		out.write('>');
+
+		int selectedIndex = ChoiceRenderers.getSelectedIndex(field, context);
+		if (selectedIndex == -1 || !field.isRequired()) {
+			out.write(NULL_OPTION);
+		}
+		List<?> choices = field.getChoices();
+		String[] labels = ChoiceRenderers.getLabels(field.getChoices(), field.getChoiceSource(),
+				field.getChoiceLabeller(), context);
+		for (int i = 0; i < choices.size(); i++) {
+			OPTION.render(out, ChoiceRenderers.getValue(i), i == selectedIndex ? SELECTED : null, labels[i]);
+		}
+		out.write(SELECT_END);
+	}
+
+}
@@ -0,0 +1,64 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet.elements;
+
+import de.adesso.wickedforms.model.elements.fields.RadioGroup;
+import de.adesso.wickedforms.servlet.RenderContext;
+import de.adesso.wickedforms.servlet.Template;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Renders a {@link RadioGroup}. The values of the radio buttons are the
+ * indexes of the choices.
+ */
+public class RadioGroupRenderer extends AbstractInputFieldRenderer<RadioGroup<?>> {
+
+	private static final Template GROUP = Template.compile("<div class=\"radioGroup\" id=\"${id}\">", "id");
+
+	private static final Template RADIO = Template.compile(
+			"<input name=\"${name}\" type=\"radio\"$!{checked} value=\"${value}\" id=\"${id}-${value}\"$!{attributes}/>"
+					+ "<label for=\"${id}-${value}\">${label}</label><br />",
+			"name", "checked", "value", "id", "attributes", "label");
+
+	private static final String CHECKED = " checked=\"checked\"";
+
+	private static final String DISABLED = " disabled=\"disabled\"";
+
+	private static final String GROUP_END = "</div>";
+
+	@Override
+	protected void renderInput(final RadioGroup<?> field, final RenderContext context) throws IOException {
+		Writer out = context.getWriter();
+		String markupId = context.getMarkupId(field);
+		GROUP.render(out, markupId);
+		int selectedIndex = ChoiceRenderers.getSelectedIndex(field, context);
+		List<?> choices = field.getChoices();
+		String[] labels = ChoiceRenderers.getLabels(field.getChoices(), field.getChoiceSource(),
+				field.getChoiceLabeller(), context);
+		// the values are passed as one array that is reused for all choices
+		String[] values = { field.getId(), null, null, markupId, field.isEnabled() ? null : DISABLED, null };
+		for (int i = 0; i < choices.size(); i++) {
+			values[1] = i == selectedIndex ? CHECKED : null;
+			values[2] = ChoiceRenderers.getValue(i);
+			values[5] = labels[i];
+			RADIO.render(out, values);
+		}
+		out.write(GROUP_END);
+	}
+
+}
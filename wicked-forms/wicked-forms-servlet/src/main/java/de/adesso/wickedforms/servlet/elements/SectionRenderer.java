@@ -0,0 +1,89 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet.elements;
+
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.servlet.ElementRenderer;
+import de.adesso.wickedforms.servlet.RenderContext;
+import de.adesso.wickedforms.servlet.Template;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Renders a {@link Section} with all of its visible form elements, sorted by
+ * their index.
+ */
+public class SectionRenderer implements ElementRenderer<Section> {
+
+	private static final Template FIELDSET_START = Template.compile("<fieldset><legend>${title}</legend><ul>", "title");
+
+	private static final String FIELDSET_END = "</ul></fieldset>";
+
+	private static final String LIST_START = "<ul>";
+
+	private static final String LIST_END = "</ul>";
+
+	private static final String ITEM_START = "<li>";
+
+	private static final String ITEM_END = "</li>";
+
+	private static final Comparator<AbstractFormElement> BY_INDEX = new Comparator<AbstractFormElement>() {
+		@Override
+		public int compare(final AbstractFormElement o1, final AbstractFormElement o2) {
+			return o1.getIndex().compareTo(o2.getIndex());
+		}
+	};
+
+	@Override
+	public void render(final Section section, final RenderContext context) throws IOException {
+		Writer out = context.getWriter();
+		if (section.isHidden()) {
+			out.write(LIST_START);
+		} else {
+			FIELDSET_START.render(out, section.getTitle());
+		}
+		for (AbstractFormElement element : sortedByIndex(section.getFormElements())) {
+			if (element.isVisible() && !element.isDiscarded()) {
+				out.write(ITEM_START);
+				context.render(element);
+				out.write(ITEM_END);
+			}
+		}
+		out.write(section.isHidden() ? LIST_END : FIELDSET_END);
+	}
+
+	/**
+	 * Returns the given elements sorted by their index. Since elements are
+	 * usually added in order, the list is only copied if it is not sorted
+	 * already.
+	 */
+	private List<AbstractFormElement> sortedByIndex(final List<AbstractFormElement> elements) {
+		for (int i = 1; i < elements.size(); i++) {
+			if (elements.get(i - 1).getIndex() > elements.get(i).getIndex()) {
+				List<AbstractFormElement> sorted = new ArrayList<AbstractFormElement>(elements);
+				Collections.sort(sorted, BY_INDEX);
+				return sorted;
+			}
+		}
+		return elements;
+	}
+
+}
@@ -0,0 +1,46 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet.elements;
+
+import de.adesso.wickedforms.model.elements.fields.TextArea;
+import de.adesso.wickedforms.servlet.Html;
+import de.adesso.wickedforms.servlet.RenderContext;
+import de.adesso.wickedforms.servlet.Template;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Renders a {@link TextArea}.
+ */
+public class TextAreaRenderer extends AbstractInputFieldRenderer<TextArea> {
+
+	private static final Template TEXTAREA = Template.compile(
+			"<span class=\"fieldContainer\"><textarea id=\"${id}\" name=\"${name}\"", "id", "name");
+
+	private static final String TEXTAREA_END = "</textarea></span>";
+
+	@Override
+	protected void renderInput(final TextArea field, final RenderContext context) throws IOException {
+		Writer out = context.getWriter();
+		TEXTAREA.render(out, context.getMarkupId(field), field.getId());
+		writeAttribute(out, "placeholder", field.getPlaceHolder());
+		writeFieldAttributes(field, out);
+		out.write('>');
+		Html.escape(out, getDisplayValue(field, context));
+		out.write(TEXTAREA_END);
+	}
+
+}
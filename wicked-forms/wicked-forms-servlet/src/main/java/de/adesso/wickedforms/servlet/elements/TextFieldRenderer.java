@@ -0,0 +1,55 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet.elements;
+
+import de.adesso.wickedforms.model.elements.fields.TextField;
+import de.adesso.wickedforms.servlet.RenderContext;
+import de.adesso.wickedforms.servlet.Template;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Renders a {@link TextField}.
+ */
+public class TextFieldRenderer extends AbstractInputFieldRenderer<TextField<?>> {
+
+	private static final String FLOAT_PATTERN = "-?[0-9.,]+";
+
+	private static final String INTEGER_PATTERN = "-?[0-9]+";
+
+	private static final Template INPUT = Template.compile(
+			"<span class=\"fieldContainer\"><input type=\"text\" id=\"${id}\" name=\"${name}\" value=\"${value}\"",
+			"id", "name", "value");
+
+	private static final String INPUT_END = " /></span>";
+
+	@Override
+	protected void renderInput(final TextField<?> field, final RenderContext context) throws IOException {
+		Writer out = context.getWriter();
+		INPUT.render(out, context.getMarkupId(field), field.getId(), getDisplayValue(field, context));
+		writeAttribute(out, "placeholder", field.getPlaceHolder());
+		Class<?> modelClass = field.getModelClass();
+		if (modelClass == Float.class || modelClass == BigDecimal.class || modelClass == Double.class) {
+			writeAttribute(out, "pattern", FLOAT_PATTERN);
+		} else if (modelClass == Integer.class) {
+			writeAttribute(out, "pattern", INTEGER_PATTERN);
+		}
+		writeFieldAttributes(field, out);
+		out.write(INPUT_END);
+	}
+
+}
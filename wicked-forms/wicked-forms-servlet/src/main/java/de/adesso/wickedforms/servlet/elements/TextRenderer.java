@@ -0,0 +1,36 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet.elements;
+
+import de.adesso.wickedforms.model.elements.Text;
+import de.adesso.wickedforms.servlet.ElementRenderer;
+import de.adesso.wickedforms.servlet.RenderContext;
+import de.adesso.wickedforms.servlet.Template;
+
+import java.io.IOException;
+
+/**
+ * Renders a {@link Text}.
+ */
+public class TextRenderer implements ElementRenderer<Text> {
+
+	private static final Template TEXT = Template.compile("<span>${text}</span>", "text");
+
+	@Override
+	public void render(final Text element, final RenderContext context) throws IOException {
+		TEXT.render(context.getWriter(), element.getValue());
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import de.adesso.wickedforms.model.elements.fields.TextArea;
+import de.adesso.wickedforms.wicket7.components.FormPanel;
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.util.tester.WicketTester;
+
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Compares the time and the memory allocated per rendering of a form by the
+ * {@link FormRenderer} and by the Wicket {@link FormPanel}. Run it with
+ * <code>gradle :wicked-forms:wicked-forms-servlet:benchmark</code>.
+ */
+public class FormRendererBenchmark {
+
+	private static final int SECTIONS = 20;
+
+	private static final int WARMUP = 200;
+
+	private static final int ITERATIONS = 500;
+
+	public static void main(final String[] args) throws Exception {
+		final FormRenderer renderer = new FormRenderer();
+		measure("FormRenderer", new Task() {
+			@Override
+			public void run() throws Exception {
+				Form form = createForm();
+				form.assignIds();
+				renderer.render(form, new StringWriter(16384), "/form", Locale.ENGLISH);
+			}
+		});
+
+		final WicketTester tester = new WicketTester(new MockApplication());
+		try {
+			measure("Wicket FormPanel", new Task() {
+				@Override
+				public void run() {
+					tester.startComponentInPage(new FormPanel("form", createForm()) {
+						@Override
+						public void onSubmit(final Form submittedData) {
+						}
+					});
+				}
+			});
+		} finally {
+			tester.destroy();
+		}
+	}
+
+	private static Form createForm() {
+		Form form = new Form("Benchmark");
+		for (int i = 0; i < SECTIONS; i++) {
+			Section section = new Section("Section " + i);
+			section.add(new StringTextField("Name", "Tom").setRequired(true));
+			section.add(new IntegerTextField("Age", 30));
+			section.add(new TextArea("Comment", "Lorem ipsum dolor sit amet"));
+			section.add(new Checkbox("Subscribe", Boolean.TRUE));
+			section.add(new DropDown<String>("Color", Arrays.asList("red", "green", "blue"), String.class)
+					.setValue("green"));
+			form.add(section);
+		}
+		return form;
+	}
+
+	private static void measure(final String name, final Task task) throws Exception {
+		for (int i = 0; i < WARMUP; i++) {
+			task.run();
+		}
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			task.run();
+		}
+		long nanos = System.nanoTime() - start;
+		bytes = allocatedBytes() - bytes;
+		System.out.println(String.format("%-20s %10.1f us/render %12d bytes/render", name, nanos / 1000.0
+				/ ITERATIONS, bytes / ITERATIONS));
+	}
+
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	private interface Task {
+		void run() throws Exception;
+	}
+
+}
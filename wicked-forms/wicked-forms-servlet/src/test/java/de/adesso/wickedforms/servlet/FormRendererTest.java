@@ -0,0 +1,114 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.Text;
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class FormRendererTest {
+
+	private final StringTextField name = new StringTextField("Name");
+
+	private final IntegerTextField age = new IntegerTextField("Age");
+
+	private final DropDown<String> color = new DropDown<String>("Color", Arrays.asList("red", "green"), String.class);
+
+	private final CheckboxGroup<String> pets = new CheckboxGroup<String>("Pets", Arrays.asList("cat", "dog"));
+
+	private final Checkbox newsletter = new Checkbox("Newsletter");
+
+	private Form createForm() {
+		Form form = new Form("Survey <1>");
+		name.setRequired(true);
+		form.add(new Text("Please tell us about you."));
+		form.add(new Section("Person").add(name).add(age));
+		form.add(new Section("Preferences").add(color).add(pets).add(newsletter));
+		form.assignIds();
+		return form;
+	}
+
+	private String render(final Form form, final FormSubmission submission) throws IOException {
+		StringWriter out = new StringWriter();
+		new FormRenderer().render(form, out, "/survey", Locale.ENGLISH, submission);
+		return out.toString();
+	}
+
+	@Test
+	public void testRender() throws IOException {
+		Form form = createForm();
+		color.setValue("green");
+		String html = render(form, null);
+
+		Assert.assertTrue(html.startsWith("<form class=\"wickedForm\" method=\"post\" action=\"/survey\">"));
+		Assert.assertTrue(html.contains("<h1>Survey &lt;1&gt;</h1>"));
+		Assert.assertTrue(html.contains("<span>Please tell us about you.</span>"));
+		Assert.assertTrue(html.contains("<fieldset><legend>Person</legend>"));
+		Assert.assertTrue(html.contains("name=\"" + name.getId() + "\" value=\"\" required=\"required\""));
+		Assert.assertTrue(html.contains("<option value=\"1\" selected=\"selected\">green</option>"));
+	}
+
+	@Test
+	public void testBindValid() {
+		Form form = createForm();
+		Map<String, String[]> parameters = new HashMap<String, String[]>();
+		parameters.put(name.getId(), new String[] { "Tom" });
+		parameters.put(age.getId(), new String[] { "30" });
+		parameters.put(color.getId(), new String[] { "0" });
+		parameters.put(pets.getId(), new String[] { "0", "1" });
+		parameters.put(newsletter.getId(), new String[] { "true" });
+
+		FormSubmission submission = new FormBinder().bind(form, parameters, Locale.ENGLISH);
+
+		Assert.assertFalse(submission.hasErrors());
+		Assert.assertEquals("Tom", name.getValue());
+		Assert.assertEquals(Integer.valueOf(30), age.getValue());
+		Assert.assertEquals("red", color.getValue());
+		Assert.assertEquals(Arrays.asList("cat", "dog"), pets.getValue());
+		Assert.assertEquals(Boolean.TRUE, newsletter.getValue());
+	}
+
+	@Test
+	public void testBindInvalid() throws IOException {
+		Form form = createForm();
+		Map<String, String[]> parameters = new HashMap<String, String[]>();
+		parameters.put(age.getId(), new String[] { "thirty" });
+
+		FormSubmission submission = new FormBinder().bind(form, parameters, Locale.ENGLISH);
+
+		Assert.assertEquals(2, submission.getErrors().size());
+		Assert.assertEquals("Please fill out the required field 'Name'.", submission.getErrors(name.getId()).get(0));
+		Assert.assertNull(age.getValue());
+
+		String html = render(form, submission);
+		Assert.assertTrue(html.contains("value=\"thirty\""));
+		Assert.assertTrue(html.contains("<span class=\"error\">&#039;thirty&#039; is not a valid Integer.</span>"));
+	}
+
+}
@@ -0,0 +1,64 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.servlet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+public class TemplateTest {
+
+	@Test
+	public void testFixedArity() throws IOException {
+		Template option = Template.compile("<option value=\"${value}\"$!{selected}>${label}</option>", "value",
+				"selected", "label");
+		StringWriter out = new StringWriter();
+		option.render(out, "1", " selected", "<b>");
+		option.render(out, "2", null, null);
+		Assert.assertEquals("<option value=\"1\" selected>&lt;b&gt;</option><option value=\"2\"></option>",
+				out.toString());
+
+		Template label = Template.compile("<label for=\"${for}\">${label}</label>", "label", "for");
+		out = new StringWriter();
+		label.render(out, "Name", "name-1");
+		Assert.assertEquals("<label for=\"name-1\">Name</label>", out.toString());
+
+		Template text = Template.compile("<span>${text}</span>", "text");
+		out = new StringWriter();
+		text.render(out, "a & b");
+		Assert.assertEquals("<span>a &amp; b</span>", out.toString());
+	}
+
+	@Test
+	public void testRepeatedSlots() throws IOException {
+		Template radio = Template.compile("<input id=\"${id}-${value}\" value=\"${value}\"$!{attributes}/>", "id",
+				"value", "attributes", "label");
+		String[] values = { "color", null, null, null };
+		StringWriter out = new StringWriter();
+		for (int i = 0; i < 2; i++) {
+			values[1] = String.valueOf(i);
+			radio.render(out, values);
+		}
+		Assert.assertEquals("<input id=\"color-0\" value=\"0\"/><input id=\"color-1\" value=\"1\"/>", out.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongNumberOfValues() throws IOException {
+		Template.compile("<span>${text}</span>", "text", "unused").render(new StringWriter(), "text");
+	}
+
+}
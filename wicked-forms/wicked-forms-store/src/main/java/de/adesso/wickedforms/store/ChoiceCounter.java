@@ -0,0 +1,107 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free counters of the answers to a choice question, indexed by the
+ * index of the choice. The counters are kept in pages of primitive longs, so
+ * that the number of choices may grow without losing concurrent increments:
+ * existing pages are never copied, only the array of pages is.
+ */
+final class ChoiceCounter {
+
+	private static final int PAGE_SIZE = 256;
+
+	private volatile AtomicLongArray[] pages;
+
+	private final AtomicLong unanswered = new AtomicLong();
+
+	ChoiceCounter(final int choices) {
+		this.pages = new AtomicLongArray[(choices + PAGE_SIZE - 1) / PAGE_SIZE];
+		for (int i = 0; i < this.pages.length; i++) {
+			this.pages[i] = new AtomicLongArray(PAGE_SIZE);
+		}
+	}
+
+	void increment(final int index) {
+		getPage(index / PAGE_SIZE).incrementAndGet(index % PAGE_SIZE);
+	}
+
+	void incrementUnanswered() {
+		this.unanswered.incrementAndGet();
+	}
+
+	private AtomicLongArray getPage(final int page) {
+		AtomicLongArray[] current = this.pages;
+		return page < current.length ? current[page] : grow(page);
+	}
+
+	private synchronized AtomicLongArray grow(final int page) {
+		AtomicLongArray[] current = this.pages;
+		if (page >= current.length) {
+			AtomicLongArray[] grown = new AtomicLongArray[page + 1];
+			System.arraycopy(current, 0, grown, 0, current.length);
+			for (int i = current.length; i < grown.length; i++) {
+				grown[i] = new AtomicLongArray(PAGE_SIZE);
+			}
+			this.pages = grown;
+		}
+		return this.pages[page];
+	}
+
+	/**
+	 * Copies the counters of the first choices.
+	 *
+	 * @param choices
+	 *            the number of choices to copy.
+	 */
+	ChoiceStatistics snapshot(final String elementId, final int choices) {
+		long[] counts = new long[choices];
+		AtomicLongArray[] current = this.pages;
+		for (int i = 0; i < counts.length && i / PAGE_SIZE < current.length; i++) {
+			counts[i] = current[i / PAGE_SIZE].get(i % PAGE_SIZE);
+		}
+		return new ChoiceStatistics(elementId, counts, this.unanswered.get());
+	}
+
+	void write(final DataOutput out) throws IOException {
+		AtomicLongArray[] current = this.pages;
+		out.writeLong(this.unanswered.get());
+		out.writeInt(current.length * PAGE_SIZE);
+		for (AtomicLongArray page : current) {
+			for (int i = 0; i < PAGE_SIZE; i++) {
+				out.writeLong(page.get(i));
+			}
+		}
+	}
+
+	static ChoiceCounter read(final DataInput in) throws IOException {
+		long unanswered = in.readLong();
+		int choices = in.readInt();
+		ChoiceCounter counter = new ChoiceCounter(choices);
+		counter.unanswered.set(unanswered);
+		for (int i = 0; i < choices; i++) {
+			counter.getPage(i / PAGE_SIZE).set(i % PAGE_SIZE, in.readLong());
+		}
+		return counter;
+	}
+
+}
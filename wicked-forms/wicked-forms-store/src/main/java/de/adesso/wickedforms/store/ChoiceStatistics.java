@@ -0,0 +1,71 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+/**
+ * Snapshot of the answers to a choice question aggregated by a
+ * {@link ResponseAggregator}. The answers are counted by the index of the
+ * choice in the choices of the field. The choices of a {@code Checkbox} are
+ * unchecked and checked, in this order.
+ */
+public class ChoiceStatistics {
+
+	private final String elementId;
+
+	private final long[] counts;
+
+	private final long unanswered;
+
+	ChoiceStatistics(final String elementId, final long[] counts, final long unanswered) {
+		this.elementId = elementId;
+		this.counts = counts;
+		this.unanswered = unanswered;
+	}
+
+	public String getElementId() {
+		return elementId;
+	}
+
+	/**
+	 * Returns the number of submissions in which the choice with the given
+	 * index has been selected.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the field has no choice with this index.
+	 */
+	public long getCount(final int index) {
+		return counts[index];
+	}
+
+	/**
+	 * Returns a copy of the counts of all choices, indexed by the index of
+	 * the choice.
+	 */
+	public long[] getCounts() {
+		return counts.clone();
+	}
+
+	public int getChoiceCount() {
+		return counts.length;
+	}
+
+	/**
+	 * Returns the number of submissions in which no choice has been selected.
+	 */
+	public long getUnanswered() {
+		return unanswered;
+	}
+
+}
@@ -0,0 +1,77 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A column of an export by {@link SubmissionExporter}, containing the values
+ * of a single form element.
+ */
+public class ExportColumn {
+
+	private final String elementId;
+
+	private final String name;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param elementId
+	 *            the id of the form element whose values are exported.
+	 * @param name
+	 *            the name of the column in the export.
+	 */
+	public ExportColumn(final String elementId, final String name) {
+		this.elementId = elementId;
+		this.name = name;
+	}
+
+	/**
+	 * Returns one column per input field of the given form definition, in the
+	 * order the fields are displayed. Each column is named after the label of
+	 * its field.
+	 *
+	 * @param definition
+	 *            the form whose submissions are exported. Its ids are
+	 *            assigned if this has not been done yet.
+	 * @return the columns.
+	 */
+	public static List<ExportColumn> of(final Form definition) {
+		List<ExportColumn> columns = new ArrayList<ExportColumn>();
+		for (AbstractInputField<?> field : InputFields.of(definition)) {
+			columns.add(new ExportColumn(field.getId(), field.getLabel() != null ? field.getLabel() : field.getId()));
+		}
+		return columns;
+	}
+
+	public String getElementId() {
+		return elementId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ExportColumn [elementId=%s, name=%s]", elementId, name);
+	}
+
+}
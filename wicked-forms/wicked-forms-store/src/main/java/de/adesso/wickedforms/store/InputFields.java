@@ -0,0 +1,68 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the input fields of a form, which are the elements whose values
+ * are stored.
+ */
+final class InputFields {
+
+	private InputFields() {
+	}
+
+	/**
+	 * Returns all input fields of the given form that have not been
+	 * discarded, in the order they are displayed. Ids are assigned to
+	 * elements that do not have one yet, e.g. to sections that have been
+	 * added by the user, ids of the other elements are kept.
+	 */
+	static List<AbstractInputField<?>> of(final Form form) {
+		form.assignIds();
+		List<AbstractInputField<?>> fields = new ArrayList<AbstractInputField<?>>();
+		collect(form.getMainSection(), fields);
+		return fields;
+	}
+
+	private static void collect(final Section section, final List<AbstractInputField<?>> fields) {
+		for (AbstractFormElement element : section.getFormElements()) {
+			if (element.isDiscarded()) {
+				continue;
+			}
+			if (element instanceof Section) {
+				collect((Section) element, fields);
+			} else if (element instanceof AbstractInputField) {
+				fields.add((AbstractInputField<?>) element);
+			}
+		}
+	}
+
+	/**
+	 * Returns the id of the form, which is its template id or, if it has
+	 * none, its label.
+	 */
+	static String getFormId(final Form form) {
+		return form.getTemplateId() != null ? form.getTemplateId() : form.getLabel();
+	}
+
+}
@@ -0,0 +1,93 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free running count, sum, minimum, maximum and histogram of the answers
+ * to a numeric question. See {@link NumberStatistics} for the buckets of the
+ * histogram.
+ */
+final class NumberCounter {
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong unanswered = new AtomicLong();
+
+	private final AtomicLong sum = new AtomicLong();
+
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+	private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+	private final AtomicLongArray histogram = new AtomicLongArray(NumberStatistics.BUCKETS);
+
+	void add(final long value) {
+		this.count.incrementAndGet();
+		this.sum.addAndGet(value);
+		this.histogram.incrementAndGet(NumberStatistics.getBucket(value));
+		long current = this.min.get();
+		while (value < current && !this.min.compareAndSet(current, value)) {
+			current = this.min.get();
+		}
+		current = this.max.get();
+		while (value > current && !this.max.compareAndSet(current, value)) {
+			current = this.max.get();
+		}
+	}
+
+	void incrementUnanswered() {
+		this.unanswered.incrementAndGet();
+	}
+
+	NumberStatistics snapshot(final String elementId) {
+		long[] buckets = new long[NumberStatistics.BUCKETS];
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = this.histogram.get(i);
+		}
+		return new NumberStatistics(elementId, this.count.get(), this.unanswered.get(), this.sum.get(),
+				this.min.get(), this.max.get(), buckets);
+	}
+
+	void write(final DataOutput out) throws IOException {
+		out.writeLong(this.count.get());
+		out.writeLong(this.unanswered.get());
+		out.writeLong(this.sum.get());
+		out.writeLong(this.min.get());
+		out.writeLong(this.max.get());
+		for (int i = 0; i < NumberStatistics.BUCKETS; i++) {
+			out.writeLong(this.histogram.get(i));
+		}
+	}
+
+	static NumberCounter read(final DataInput in) throws IOException {
+		NumberCounter counter = new NumberCounter();
+		counter.count.set(in.readLong());
+		counter.unanswered.set(in.readLong());
+		counter.sum.set(in.readLong());
+		counter.min.set(in.readLong());
+		counter.max.set(in.readLong());
+		for (int i = 0; i < NumberStatistics.BUCKETS; i++) {
+			counter.histogram.set(i, in.readLong());
+		}
+		return counter;
+	}
+
+}
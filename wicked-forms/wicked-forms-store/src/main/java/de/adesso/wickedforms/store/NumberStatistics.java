@@ -0,0 +1,153 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+/**
+ * Snapshot of the answers to a numeric question aggregated by a
+ * {@link ResponseAggregator}.
+ * <p/>
+ * The histogram has {@value #BUCKETS} buckets of exponentially growing width:
+ * bucket {@value #ZERO_BUCKET} contains 0, the buckets above contain the
+ * positive values from 1, 2 to 3, 4 to 7 and so on, and the buckets below
+ * contain the negative values from -1, -3 to -2, -7 to -4 and so on.
+ */
+public class NumberStatistics {
+
+	public static final int BUCKETS = 128;
+
+	public static final int ZERO_BUCKET = 64;
+
+	private final String elementId;
+
+	private final long count;
+
+	private final long unanswered;
+
+	private final long sum;
+
+	private final long min;
+
+	private final long max;
+
+	private final long[] histogram;
+
+	NumberStatistics(final String elementId, final long count, final long unanswered, final long sum,
+			final long min, final long max, final long[] histogram) {
+		this.elementId = elementId;
+		this.count = count;
+		this.unanswered = unanswered;
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+		this.histogram = histogram;
+	}
+
+	/**
+	 * Returns the bucket of the histogram that contains the given value.
+	 */
+	public static int getBucket(final long value) {
+		if (value >= 0) {
+			return ZERO_BUCKET + 64 - Long.numberOfLeadingZeros(value);
+		}
+		// the negation of Long.MIN_VALUE is Long.MIN_VALUE, which has no
+		// leading zeros and is therefore put into bucket 0
+		return ZERO_BUCKET - 64 + Long.numberOfLeadingZeros(-value);
+	}
+
+	/**
+	 * Returns the smallest value of the given bucket of the histogram.
+	 */
+	public static long getLowerBound(final int bucket) {
+		checkBucket(bucket);
+		if (bucket >= ZERO_BUCKET) {
+			return bucket == ZERO_BUCKET ? 0 : 1L << (bucket - ZERO_BUCKET - 1);
+		}
+		int bits = ZERO_BUCKET - bucket;
+		return bits == 64 ? Long.MIN_VALUE : -((1L << bits) - 1);
+	}
+
+	/**
+	 * Returns the largest value of the given bucket of the histogram.
+	 */
+	public static long getUpperBound(final int bucket) {
+		checkBucket(bucket);
+		if (bucket <= ZERO_BUCKET) {
+			return bucket == ZERO_BUCKET ? 0 : -(1L << (ZERO_BUCKET - bucket - 1));
+		}
+		return (1L << (bucket - ZERO_BUCKET)) - 1;
+	}
+
+	private static void checkBucket(final int bucket) {
+		if (bucket < 0 || bucket >= BUCKETS) {
+			throw new IndexOutOfBoundsException(String.format("There is no bucket %d!", bucket));
+		}
+	}
+
+	public String getElementId() {
+		return elementId;
+	}
+
+	/**
+	 * Returns the number of submissions in which the question has been
+	 * answered.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the number of submissions in which the question has not been
+	 * answered.
+	 */
+	public long getUnanswered() {
+		return unanswered;
+	}
+
+	public long getSum() {
+		return sum;
+	}
+
+	/**
+	 * Returns the smallest answer or {@link Long#MAX_VALUE} if the question
+	 * has not been answered yet.
+	 */
+	public long getMin() {
+		return min;
+	}
+
+	/**
+	 * Returns the largest answer or {@link Long#MIN_VALUE} if the question has
+	 * not been answered yet.
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns the mean of all answers or {@link Double#NaN} if the question
+	 * has not been answered yet.
+	 */
+	public double getMean() {
+		return count == 0 ? Double.NaN : (double) sum / count;
+	}
+
+	/**
+	 * Returns a copy of the number of answers per bucket of the histogram.
+	 */
+	public long[] getHistogram() {
+		return histogram.clone();
+	}
+
+}
@@ -0,0 +1,394 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.state.ValueCodec;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary encoding of the payload of the entries of a {@link SubmissionLog}.
+ * <p/>
+ * A submission is encoded as its type, its sequence, its timestamp, its form
+ * id and its values. Strings, lengths and values are written with
+ * {@link ValueCodec}, the same encoding that is used for form states and
+ * drafts. A tombstone is encoded as its type, its sequence and the sequence
+ * of the deleted submission.
+ */
+final class RecordCodec {
+
+	static final byte TYPE_SUBMISSION = 1;
+
+	static final byte TYPE_TOMBSTONE = 2;
+
+	/**
+	 * Offset of the sequence within the payload. The sequence is written as a
+	 * fixed length long, so that it can be assigned after encoding.
+	 */
+	static final int SEQUENCE_OFFSET = 1;
+
+	private RecordCodec() {
+	}
+
+	static Output encodeSubmission(final SubmissionRecord record) {
+		Output out = new Output(64 + 16 * record.getValues().size());
+		out.writeByte(TYPE_SUBMISSION);
+		out.writeLong(record.getSequence());
+		out.writeLong(record.getTimestamp());
+		try {
+			ValueCodec.writeString(out, record.getFormId());
+			ValueCodec.writeVarInt(out, record.getValues().size());
+			for (Map.Entry<String, Object> value : record.getValues().entrySet()) {
+				ValueCodec.writeString(out, value.getKey());
+				ValueCodec.writeValue(out, value.getValue());
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException(String.format("Submission of form %s could not be encoded!",
+					record.getFormId()), e);
+		}
+		return out;
+	}
+
+	static Output encodeTombstone(final long deletedSequence) {
+		Output out = new Output(17);
+		out.writeByte(TYPE_TOMBSTONE);
+		out.writeLong(-1);
+		out.writeLong(deletedSequence);
+		return out;
+	}
+
+	/**
+	 * Reads the header of an entry, i.e. everything up to the values of a
+	 * submission. The buffer is positioned at the start of the payload.
+	 */
+	static Header decodeHeader(final ByteBuffer buffer) {
+		return decodeHeader(new Input(buffer));
+	}
+
+	private static Header decodeHeader(final Input in) {
+		byte type = in.readByte();
+		long sequence = in.readLong();
+		if (type == TYPE_TOMBSTONE) {
+			return new Header(type, sequence, in.readLong(), 0, null);
+		}
+		if (type != TYPE_SUBMISSION) {
+			throw new IllegalStateException(String.format("Unknown entry type %d!", type));
+		}
+		long timestamp = in.readLong();
+		try {
+			return new Header(type, sequence, -1, timestamp, ValueCodec.readString(in));
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("Entry %d is corrupt!", sequence), e);
+		}
+	}
+
+	/**
+	 * Reads a submission. The buffer is positioned at the start of the
+	 * payload.
+	 */
+	static SubmissionRecord decodeSubmission(final ByteBuffer buffer) {
+		Input in = new Input(buffer);
+		Header header = decodeHeader(in);
+		if (header.type != TYPE_SUBMISSION) {
+			throw new IllegalStateException(String.format("Entry %d is not a submission!", header.sequence));
+		}
+		try {
+			int count = ValueCodec.readVarInt(in);
+			Map<String, Object> values = new LinkedHashMap<String, Object>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++) {
+				values.put(ValueCodec.readString(in), ValueCodec.readValue(in));
+			}
+			return new SubmissionRecord(header.sequence, header.formId, header.timestamp, values);
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("Entry %d is corrupt!", header.sequence), e);
+		}
+	}
+
+	/**
+	 * Writes a value with {@link ValueCodec}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the value cannot be serialized.
+	 */
+	static void writeValue(final Output out, final Object value) {
+		try {
+			ValueCodec.writeValue(out, value);
+		} catch (IOException e) {
+			throw new IllegalArgumentException(String.format("Value %s could not be serialized!", value), e);
+		}
+	}
+
+	/**
+	 * Reads a value written by {@link #writeValue(Output, Object)}. The buffer
+	 * is positioned after the value.
+	 */
+	static Object readValue(final ByteBuffer buffer) {
+		try {
+			return ValueCodec.readValue(new Input(buffer));
+		} catch (IOException e) {
+			throw new IllegalStateException("Stored value could not be read!", e);
+		}
+	}
+
+	/**
+	 * The leading fields of an encoded entry.
+	 */
+	static final class Header {
+
+		final byte type;
+
+		final long sequence;
+
+		final long deletedSequence;
+
+		final long timestamp;
+
+		final String formId;
+
+		Header(final byte type, final long sequence, final long deletedSequence, final long timestamp,
+				final String formId) {
+			this.type = type;
+			this.sequence = sequence;
+			this.deletedSequence = deletedSequence;
+			this.timestamp = timestamp;
+			this.formId = formId;
+		}
+
+	}
+
+	/**
+	 * Growable byte array that entries are encoded into before they are
+	 * appended to the log, so that encoding does not block other writers.
+	 */
+	static final class Output implements DataOutput {
+
+		private byte[] bytes;
+
+		private int size;
+
+		Output(final int capacity) {
+			this.bytes = new byte[capacity];
+		}
+
+		byte[] getBytes() {
+			return bytes;
+		}
+
+		int size() {
+			return size;
+		}
+
+		void reset() {
+			size = 0;
+		}
+
+		void setLong(final int position, final long value) {
+			for (int i = 0; i < 8; i++) {
+				bytes[position + i] = (byte) (value >>> (56 - 8 * i));
+			}
+		}
+
+		@Override
+		public void write(final int b) {
+			writeByte(b);
+		}
+
+		@Override
+		public void write(final byte[] b) {
+			write(b, 0, b.length);
+		}
+
+		@Override
+		public void write(final byte[] b, final int offset, final int length) {
+			ensureCapacity(length);
+			System.arraycopy(b, offset, bytes, size, length);
+			size += length;
+		}
+
+		@Override
+		public void writeBoolean(final boolean value) {
+			writeByte(value ? 1 : 0);
+		}
+
+		@Override
+		public void writeByte(final int b) {
+			ensureCapacity(1);
+			bytes[size++] = (byte) b;
+		}
+
+		@Override
+		public void writeShort(final int value) {
+			ensureCapacity(2);
+			bytes[size++] = (byte) (value >>> 8);
+			bytes[size++] = (byte) value;
+		}
+
+		@Override
+		public void writeChar(final int value) {
+			writeShort(value);
+		}
+
+		@Override
+		public void writeInt(final int value) {
+			ensureCapacity(4);
+			for (int shift = 24; shift >= 0; shift -= 8) {
+				bytes[size++] = (byte) (value >>> shift);
+			}
+		}
+
+		@Override
+		public void writeLong(final long value) {
+			ensureCapacity(8);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				bytes[size++] = (byte) (value >>> shift);
+			}
+		}
+
+		@Override
+		public void writeFloat(final float value) {
+			writeInt(Float.floatToIntBits(value));
+		}
+
+		@Override
+		public void writeDouble(final double value) {
+			writeLong(Double.doubleToLongBits(value));
+		}
+
+		@Override
+		public void writeBytes(final String value) {
+			for (int i = 0; i < value.length(); i++) {
+				writeByte(value.charAt(i));
+			}
+		}
+
+		@Override
+		public void writeChars(final String value) {
+			for (int i = 0; i < value.length(); i++) {
+				writeChar(value.charAt(i));
+			}
+		}
+
+		@Override
+		public void writeUTF(final String value) {
+			throw new UnsupportedOperationException("Strings are written with ValueCodec.writeString!");
+		}
+
+		private void ensureCapacity(final int additional) {
+			if (size + additional > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+			}
+		}
+
+	}
+
+	/**
+	 * Reads from a buffer, which may be a mapped segment. The position of the
+	 * buffer is advanced by each read.
+	 */
+	static final class Input implements DataInput {
+
+		private final ByteBuffer buffer;
+
+		Input(final ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public void readFully(final byte[] b) {
+			buffer.get(b);
+		}
+
+		@Override
+		public void readFully(final byte[] b, final int offset, final int length) {
+			buffer.get(b, offset, length);
+		}
+
+		@Override
+		public int skipBytes(final int n) {
+			int skipped = Math.min(n, buffer.remaining());
+			buffer.position(buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public boolean readBoolean() {
+			return buffer.get() != 0;
+		}
+
+		@Override
+		public byte readByte() {
+			return buffer.get();
+		}
+
+		@Override
+		public int readUnsignedByte() {
+			return buffer.get() & 0xFF;
+		}
+
+		@Override
+		public short readShort() {
+			return buffer.getShort();
+		}
+
+		@Override
+		public int readUnsignedShort() {
+			return buffer.getShort() & 0xFFFF;
+		}
+
+		@Override
+		public char readChar() {
+			return buffer.getChar();
+		}
+
+		@Override
+		public int readInt() {
+			return buffer.getInt();
+		}
+
+		@Override
+		public long readLong() {
+			return buffer.getLong();
+		}
+
+		@Override
+		public float readFloat() {
+			return buffer.getFloat();
+		}
+
+		@Override
+		public double readDouble() {
+			return buffer.getDouble();
+		}
+
+		@Override
+		public String readLine() {
+			throw new UnsupportedOperationException("Entries contain no lines!");
+		}
+
+		@Override
+		public String readUTF() throws IOException {
+			return DataInputStream.readUTF(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,275 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Aggregates the answers to the questions of a form incrementally, so that
+ * live results can be shown without reading the stored submissions. Each
+ * submitted form is passed to {@link #add(Form)}, for example in
+ * {@code Submittable.onSubmit}.
+ * <p/>
+ * The answers of {@code RadioGroup}s, {@code DropDown}s, {@code CheckboxGroup}s
+ * and {@code Checkbox}es are counted per choice, see {@link ChoiceStatistics}.
+ * For {@code IntegerTextField}s, the count, sum, minimum, maximum and a
+ * histogram of the answers are kept, see {@link NumberStatistics}. Questions
+ * are identified by the ids of their form elements, so an aggregator should
+ * only be used for forms with the same definition.
+ * <p/>
+ * All counters are updated without locks. A snapshot copies the counters of a
+ * single question and may thus miss submissions that are added concurrently.
+ * The counters are saved to a file with {@link #save(File)} and restored
+ * with {@link #load(File)}.
+ */
+public class ResponseAggregator {
+
+	private static final int MAGIC = 0x57464147;
+
+	private static final int VERSION = 1;
+
+	private static final byte TYPE_CHOICE = 1;
+
+	private static final byte TYPE_NUMBER = 2;
+
+	private static final int CHECKBOX_UNCHECKED = 0;
+
+	private static final int CHECKBOX_CHECKED = 1;
+
+	private final ConcurrentMap<String, ChoiceCounter> choiceCounters = new ConcurrentHashMap<String, ChoiceCounter>();
+
+	private final ConcurrentMap<String, NumberCounter> numberCounters = new ConcurrentHashMap<String, NumberCounter>();
+
+	/**
+	 * Adds the current values of the input fields of the given form to the
+	 * counters.
+	 *
+	 * @param form
+	 *            the submitted form. Its ids are assigned if this has not
+	 *            been done yet.
+	 */
+	public void add(final Form form) {
+		for (AbstractInputField<?> field : InputFields.of(form)) {
+			if (field instanceof AbstractSingleChoice) {
+				addSingleChoice((AbstractSingleChoice<?>) field);
+			} else if (field instanceof AbstractMultiChoice) {
+				addMultiChoice((AbstractMultiChoice<?>) field);
+			} else if (field instanceof Checkbox) {
+				addCheckbox((Checkbox) field);
+			} else if (field instanceof IntegerTextField) {
+				addNumber((IntegerTextField) field);
+			}
+		}
+	}
+
+	private <T> void addSingleChoice(final AbstractSingleChoice<T> field) {
+		ChoiceCounter counter = getChoiceCounter(field.getId(), field.getChoices().size());
+		T value = field.getValue();
+		int index = -1;
+		if (value != null) {
+			index = field.getChoiceSource() != null ? field.getChoiceSource().indexOf(value) : field.getChoices()
+					.indexOf(value);
+		}
+		if (index < 0) {
+			counter.incrementUnanswered();
+		} else {
+			counter.increment(index);
+		}
+	}
+
+	private void addMultiChoice(final AbstractMultiChoice<?> field) {
+		ChoiceCounter counter = getChoiceCounter(field.getId(), field.getChoices().size());
+		BitSet selected = field.getSelection().getSelectedIndexes();
+		if (selected.isEmpty()) {
+			counter.incrementUnanswered();
+		}
+		for (int index = selected.nextSetBit(0); index >= 0; index = selected.nextSetBit(index + 1)) {
+			counter.increment(index);
+		}
+	}
+
+	private void addCheckbox(final Checkbox field) {
+		ChoiceCounter counter = getChoiceCounter(field.getId(), 2);
+		Boolean value = field.getValue();
+		if (value == null) {
+			counter.incrementUnanswered();
+		} else {
+			counter.increment(value ? CHECKBOX_CHECKED : CHECKBOX_UNCHECKED);
+		}
+	}
+
+	private void addNumber(final IntegerTextField field) {
+		NumberCounter counter = this.numberCounters.get(field.getId());
+		if (counter == null) {
+			NumberCounter newCounter = new NumberCounter();
+			counter = this.numberCounters.putIfAbsent(field.getId(), newCounter);
+			counter = counter == null ? newCounter : counter;
+		}
+		Integer value = field.getValue();
+		if (value == null) {
+			counter.incrementUnanswered();
+		} else {
+			counter.add(value);
+		}
+	}
+
+	private ChoiceCounter getChoiceCounter(final String elementId, final int choices) {
+		ChoiceCounter counter = this.choiceCounters.get(elementId);
+		if (counter == null) {
+			ChoiceCounter newCounter = new ChoiceCounter(choices);
+			counter = this.choiceCounters.putIfAbsent(elementId, newCounter);
+			counter = counter == null ? newCounter : counter;
+		}
+		return counter;
+	}
+
+	/**
+	 * Returns the counts of the answers to a choice question.
+	 *
+	 * @param elementId
+	 *            the id of the form element of the question.
+	 * @param choices
+	 *            the number of choices of the question.
+	 * @return the counts or null if no answers to this question have been
+	 *         added.
+	 */
+	public ChoiceStatistics getChoiceStatistics(final String elementId, final int choices) {
+		ChoiceCounter counter = this.choiceCounters.get(elementId);
+		return counter == null ? null : counter.snapshot(elementId, choices);
+	}
+
+	/**
+	 * Returns the counts of the answers to a choice question, with one count
+	 * per choice of the given field.
+	 *
+	 * @return the counts or null if no answers to this question have been
+	 *         added.
+	 */
+	public ChoiceStatistics getChoiceStatistics(final AbstractInputField<?> field) {
+		int choices;
+		if (field instanceof AbstractSingleChoice) {
+			choices = ((AbstractSingleChoice<?>) field).getChoices().size();
+		} else if (field instanceof AbstractMultiChoice) {
+			choices = ((AbstractMultiChoice<?>) field).getChoices().size();
+		} else if (field instanceof Checkbox) {
+			choices = 2;
+		} else {
+			throw new IllegalArgumentException(String.format("%s is not a choice question!", field));
+		}
+		return getChoiceStatistics(field.getId(), choices);
+	}
+
+	/**
+	 * Returns the statistics of the answers to a numeric question.
+	 *
+	 * @param elementId
+	 *            the id of the form element of the question.
+	 * @return the statistics or null if no answers to this question have been
+	 *         added.
+	 */
+	public NumberStatistics getNumberStatistics(final String elementId) {
+		NumberCounter counter = this.numberCounters.get(elementId);
+		return counter == null ? null : counter.snapshot(elementId);
+	}
+
+	/**
+	 * Saves the counters to the given file. The file is written next to the
+	 * target and then renamed, so that the previously saved counters stay
+	 * intact if saving fails. Submissions may be added while the counters are
+	 * saved.
+	 *
+	 * @param file
+	 *            the file to write. An existing file is replaced.
+	 */
+	public void save(final File file) throws IOException {
+		File tmp = new File(file.getPath() + ".tmp");
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(this.choiceCounters.size() + this.numberCounters.size());
+			for (Map.Entry<String, ChoiceCounter> counter : this.choiceCounters.entrySet()) {
+				out.writeByte(TYPE_CHOICE);
+				out.writeUTF(counter.getKey());
+				counter.getValue().write(out);
+			}
+			for (Map.Entry<String, NumberCounter> counter : this.numberCounters.entrySet()) {
+				out.writeByte(TYPE_NUMBER);
+				out.writeUTF(counter.getKey());
+				counter.getValue().write(out);
+			}
+		} finally {
+			out.close();
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Creates an aggregator with the counters saved in the given file.
+	 *
+	 * @param file
+	 *            the file written by {@link #save(File)}. If it does not
+	 *            exist, an empty aggregator is returned.
+	 * @return the aggregator.
+	 */
+	public static ResponseAggregator load(final File file) throws IOException {
+		ResponseAggregator aggregator = new ResponseAggregator();
+		if (!file.exists()) {
+			return aggregator;
+		}
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IllegalArgumentException(String.format("%s is not an aggregation file!", file));
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				byte type = in.readByte();
+				String elementId = in.readUTF();
+				if (type == TYPE_CHOICE) {
+					aggregator.choiceCounters.put(elementId, ChoiceCounter.read(in));
+				} else if (type == TYPE_NUMBER) {
+					aggregator.numberCounters.put(elementId, NumberCounter.read(in));
+				} else {
+					throw new IllegalArgumentException(String.format("%s is not an aggregation file!", file));
+				}
+			}
+		} finally {
+			in.close();
+		}
+		return aggregator;
+	}
+
+}
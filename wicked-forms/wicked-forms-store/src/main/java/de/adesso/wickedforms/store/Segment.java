@@ -0,0 +1,524 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * A memory-mapped file of a {@link SubmissionLog}. The file starts with the
+ * sequence that was next when the segment was created, so that sequences are
+ * never reused even if all older entries have been compacted. Each entry is
+ * stored as a frame consisting of the length of its payload, the CRC32 checksum of its
+ * payload and the payload encoded by {@link RecordCodec}. A frame with length
+ * 0 or with an invalid checksum marks the end of the segment, so that a frame
+ * that has been written partially before a crash is ignored and overwritten.
+ * <p/>
+ * The segment keeps an index of its submissions by sequence and by form id
+ * and timestamp, which is built from the file when it is opened. Segments are
+ * not thread-safe, the log guards them with its lock. The mapping of a
+ * segment is released by {@link #release()} as soon as the segment has been
+ * replaced or the log has been closed, so that the file can be moved or
+ * deleted and mappings do not pile up until they are garbage collected.
+ */
+final class Segment {
+
+	static final int HEADER_LENGTH = 8;
+
+	static final int FRAME_HEADER_LENGTH = 8;
+
+	static final String FILE_SUFFIX = ".segment";
+
+	private final int number;
+
+	private final File file;
+
+	private final MappedByteBuffer buffer;
+
+	private boolean released;
+
+	private int writePosition;
+
+	private long lastSequence = -1;
+
+	/**
+	 * The sequences and offsets of the submissions in this segment, in the
+	 * order they have been appended.
+	 */
+	private long[] sequences = new long[64];
+
+	private int[] offsets = new int[64];
+
+	private int size;
+
+	private final Map<String, FormEntries> entriesByForm = new HashMap<String, FormEntries>();
+
+	/**
+	 * The sequences of the submissions deleted by tombstones in this segment.
+	 */
+	private final List<Long> tombstones = new ArrayList<Long>();
+
+	private Segment(final int number, final File file, final int capacity) throws IOException {
+		this.number = number;
+		this.file = file;
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			if (randomAccessFile.length() < capacity) {
+				randomAccessFile.setLength(capacity);
+			}
+			// the mapping stays valid after the file has been closed
+			this.buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+					randomAccessFile.length());
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	/**
+	 * Creates a new, empty segment file in the given directory.
+	 */
+	static Segment create(final File directory, final int number, final int capacity, final long nextSequence)
+			throws IOException {
+		File file = getFile(directory, number);
+		if (file.exists()) {
+			throw new IllegalStateException(String.format("Segment %s already exists!", file));
+		}
+		Segment segment = new Segment(number, file, capacity);
+		segment.buffer.putLong(0, nextSequence);
+		segment.lastSequence = nextSequence - 1;
+		segment.writePosition = HEADER_LENGTH;
+		return segment;
+	}
+
+	/**
+	 * Opens an existing segment file and indexes its entries.
+	 */
+	static Segment open(final File file) throws IOException {
+		Segment segment = new Segment(getNumber(file), file, 0);
+		if (segment.buffer.capacity() < HEADER_LENGTH) {
+			throw new IllegalStateException(String.format("%s is not a segment file!", file));
+		}
+		segment.lastSequence = segment.buffer.getLong(0) - 1;
+		segment.scan();
+		return segment;
+	}
+
+	static File getFile(final File directory, final int number) {
+		return new File(directory, String.format("%08d%s", number, FILE_SUFFIX));
+	}
+
+	static int getNumber(final File file) {
+		String name = file.getName();
+		try {
+			return Integer.parseInt(name.substring(0, name.length() - FILE_SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(String.format("%s is not a segment file!", file), e);
+		}
+	}
+
+	private void scan() {
+		int position = HEADER_LENGTH;
+		CRC32 crc = new CRC32();
+		while (position + FRAME_HEADER_LENGTH <= this.buffer.capacity()) {
+			int length = this.buffer.getInt(position);
+			if (length <= 0 || length > this.buffer.capacity() - position - FRAME_HEADER_LENGTH) {
+				break;
+			}
+			crc.reset();
+			crc.update(getPayload(position));
+			if ((int) crc.getValue() != this.buffer.getInt(position + 4)) {
+				break;
+			}
+			index(RecordCodec.decodeHeader(getPayload(position)), position);
+			position += FRAME_HEADER_LENGTH + length;
+		}
+		this.writePosition = position;
+	}
+
+	/**
+	 * Appends an entry to this segment.
+	 *
+	 * @return the offset of the entry or -1 if the segment is full.
+	 */
+	int append(final RecordCodec.Output payload) {
+		int position = this.writePosition;
+		if (payload.size() > this.buffer.capacity() - position - FRAME_HEADER_LENGTH) {
+			return -1;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(payload.getBytes(), 0, payload.size());
+		ByteBuffer writer = this.buffer.duplicate();
+		writer.position(position);
+		writer.putInt(payload.size());
+		writer.putInt((int) crc.getValue());
+		writer.put(payload.getBytes(), 0, payload.size());
+		if (writer.remaining() >= 4) {
+			// overwrites the remains of frames that have been written before a crash
+			writer.putInt(writer.position(), 0);
+		}
+		this.writePosition = position + FRAME_HEADER_LENGTH + payload.size();
+		index(RecordCodec.decodeHeader(ByteBuffer.wrap(payload.getBytes(), 0, payload.size())), position);
+		return position;
+	}
+
+	private void index(final RecordCodec.Header header, final int offset) {
+		this.lastSequence = Math.max(this.lastSequence, header.sequence);
+		if (header.type == RecordCodec.TYPE_TOMBSTONE) {
+			this.tombstones.add(header.deletedSequence);
+			return;
+		}
+		if (this.size == this.sequences.length) {
+			this.sequences = Arrays.copyOf(this.sequences, this.size * 2);
+			this.offsets = Arrays.copyOf(this.offsets, this.size * 2);
+		}
+		this.sequences[this.size] = header.sequence;
+		this.offsets[this.size] = offset;
+		FormEntries entries = this.entriesByForm.get(header.formId);
+		if (entries == null) {
+			entries = new FormEntries();
+			this.entriesByForm.put(header.formId, entries);
+		}
+		entries.add(header.timestamp, this.size);
+		this.size++;
+	}
+
+	/**
+	 * Returns the payload of the frame at the given offset.
+	 */
+	private ByteBuffer getPayload(final int offset) {
+		ByteBuffer payload = this.buffer.duplicate();
+		payload.position(offset + FRAME_HEADER_LENGTH);
+		payload.limit(offset + FRAME_HEADER_LENGTH + this.buffer.getInt(offset));
+		return payload;
+	}
+
+	/**
+	 * Writes the changes to this segment to the storage device. Does nothing
+	 * if the segment has been released, e.g. if it has been replaced by a
+	 * compaction while the log was syncing it without holding its lock.
+	 */
+	synchronized void force() {
+		if (!this.released) {
+			this.buffer.force();
+		}
+	}
+
+	/**
+	 * Writes the changes to this segment to the storage device and releases
+	 * its mapping. The segment must not be read afterwards.
+	 */
+	synchronized void release() {
+		if (this.released) {
+			return;
+		}
+		this.buffer.force();
+		this.released = true;
+		unmap(this.buffer);
+	}
+
+	/**
+	 * Unmaps the given buffer right away instead of waiting for it to be
+	 * garbage collected. There is no public API for this, so the cleaner of
+	 * the buffer is invoked by reflection. If this fails, the buffer is
+	 * unmapped when it is garbage collected.
+	 */
+	private static void unmap(final MappedByteBuffer buffer) {
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner;
+			try {
+				// Java 9 and later
+				invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			} catch (NoSuchMethodException e) {
+				// Java 8
+				Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(buffer);
+				if (cleaner != null) {
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+				}
+				return;
+			}
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			invokeCleaner.invoke(theUnsafe.get(null), buffer);
+		} catch (Exception e) {
+			// left to the garbage collector
+		}
+	}
+
+	int getNumber() {
+		return this.number;
+	}
+
+	File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * The highest sequence of all entries in this segment. If it is empty, the
+	 * sequence before the first sequence it was created for.
+	 */
+	long getLastSequence() {
+		return this.lastSequence;
+	}
+
+	List<Long> getTombstones() {
+		return Collections.unmodifiableList(this.tombstones);
+	}
+
+	Set<String> getFormIds() {
+		return this.entriesByForm.keySet();
+	}
+
+	/**
+	 * Returns the position of the submission with the given sequence in this
+	 * segment or a negative value if this segment does not contain it.
+	 */
+	int indexOf(final long sequence) {
+		return Arrays.binarySearch(this.sequences, 0, this.size, sequence);
+	}
+
+	long getSequence(final int entry) {
+		return this.sequences[entry];
+	}
+
+	SubmissionRecord read(final int entry) {
+		return RecordCodec.decodeSubmission(getPayload(this.offsets[entry]));
+	}
+
+	/**
+	 * Reads the submission at the given offset. Like all reads, this must be
+	 * called with the lock of the log held, since the mapping is released
+	 * when the segment is replaced.
+	 */
+	SubmissionRecord readAt(final int offset) {
+		return RecordCodec.decodeSubmission(getPayload(offset));
+	}
+
+	/**
+	 * Adds the positions of the submissions of the given form that have been
+	 * submitted in the given period to the list, in the order they have been
+	 * appended.
+	 */
+	void find(final String formId, final long from, final long to, final List<Integer> entries) {
+		FormEntries formEntries = this.entriesByForm.get(formId);
+		if (formEntries != null) {
+			formEntries.find(from, to, entries);
+		}
+	}
+
+	/**
+	 * Looks up the next batch of submissions of the given form that have been
+	 * submitted in the given period and have not been deleted.
+	 *
+	 * @param lastSequence
+	 *            the sequence of the last submission of the previous batch or
+	 *            -1 for the first batch.
+	 * @param offsets
+	 *            receives the offsets of the submissions, in the order they
+	 *            have been appended. The length of the array is the size of the
+	 *            batch.
+	 * @param sequences
+	 *            receives the sequences of the submissions.
+	 * @return the number of submissions in the batch.
+	 */
+	int find(final String formId, final long from, final long to, final long lastSequence, final Set<Long> deleted,
+			final int[] offsets, final long[] sequences) {
+		FormEntries formEntries = this.entriesByForm.get(formId);
+		if (formEntries == null) {
+			return 0;
+		}
+		int count = 0;
+		for (int i = formEntries.start(from, lastSequence); i < formEntries.size && count < offsets.length; i++) {
+			long timestamp = formEntries.timestamps[i];
+			if (timestamp >= to && formEntries.sorted) {
+				break;
+			}
+			int entry = formEntries.entries[i];
+			if (timestamp >= from && timestamp < to && !deleted.contains(this.sequences[entry])) {
+				offsets[count] = this.offsets[entry];
+				sequences[count] = this.sequences[entry];
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns true if this segment contains tombstones or any of the given
+	 * deleted submissions.
+	 */
+	boolean hasGarbage(final Set<Long> deleted) {
+		if (!this.tombstones.isEmpty()) {
+			return true;
+		}
+		for (Long sequence : deleted) {
+			if (indexOf(sequence) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes the header and all entries of this segment except tombstones and
+	 * the given deleted submissions to a new file. The sequences of the
+	 * dropped submissions and of the submissions deleted by the dropped
+	 * tombstones are added to the given list.
+	 *
+	 * @return the length of the written entries.
+	 */
+	int writeCompacted(final File target, final Set<Long> deleted, final List<Long> removed) throws IOException {
+		FileOutputStream out = new FileOutputStream(target);
+		try {
+			FileChannel channel = out.getChannel();
+			int length = -HEADER_LENGTH;
+			int keptFrom = 0;
+			int position = HEADER_LENGTH;
+			while (position < this.writePosition) {
+				int next = position + FRAME_HEADER_LENGTH + this.buffer.getInt(position);
+				RecordCodec.Header header = RecordCodec.decodeHeader(getPayload(position));
+				boolean drop;
+				if (header.type == RecordCodec.TYPE_TOMBSTONE) {
+					drop = true;
+					removed.add(header.deletedSequence);
+				} else {
+					drop = deleted.contains(header.sequence);
+					if (drop) {
+						removed.add(header.sequence);
+					}
+				}
+				if (drop) {
+					// frames are copied in contiguous runs
+					length += write(channel, keptFrom, position);
+					keptFrom = next;
+				}
+				position = next;
+			}
+			length += write(channel, keptFrom, position);
+			channel.force(true);
+			return length;
+		} finally {
+			out.close();
+		}
+	}
+
+	private int write(final FileChannel channel, final int from, final int to) throws IOException {
+		ByteBuffer frames = this.buffer.duplicate();
+		frames.position(from);
+		frames.limit(to);
+		while (frames.hasRemaining()) {
+			channel.write(frames);
+		}
+		return to - from;
+	}
+
+	/**
+	 * The timestamps of the submissions of a single form, each with the
+	 * position of the submission in the segment.
+	 */
+	private final class FormEntries {
+
+		private long[] timestamps = new long[16];
+
+		private int[] entries = new int[16];
+
+		private int size;
+
+		/**
+		 * Submissions are usually appended in the order of their timestamps,
+		 * which allows binary searches.
+		 */
+		private boolean sorted = true;
+
+		void add(final long timestamp, final int entry) {
+			if (this.size == this.timestamps.length) {
+				this.timestamps = Arrays.copyOf(this.timestamps, this.size * 2);
+				this.entries = Arrays.copyOf(this.entries, this.size * 2);
+			}
+			if (this.size > 0 && timestamp < this.timestamps[this.size - 1]) {
+				this.sorted = false;
+			}
+			this.timestamps[this.size] = timestamp;
+			this.entries[this.size] = entry;
+			this.size++;
+		}
+
+		void find(final long from, final long to, final List<Integer> result) {
+			if (this.sorted) {
+				for (int i = lowerBound(from); i < this.size && this.timestamps[i] < to; i++) {
+					result.add(this.entries[i]);
+				}
+			} else {
+				for (int i = 0; i < this.size; i++) {
+					if (this.timestamps[i] >= from && this.timestamps[i] < to) {
+						result.add(this.entries[i]);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the first position that may contain a submission after the
+		 * given sequence in the given period. Since entries are added in the
+		 * order of their sequences, the position is found by binary search.
+		 */
+		int start(final long from, final long lastSequence) {
+			int low = 0;
+			int high = this.size;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (Segment.this.sequences[this.entries[middle]] <= lastSequence) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return this.sorted ? Math.max(low, lowerBound(from)) : low;
+		}
+
+		private int lowerBound(final long timestamp) {
+			int low = 0;
+			int high = this.size;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (this.timestamps[middle] < timestamp) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+	}
+
+}
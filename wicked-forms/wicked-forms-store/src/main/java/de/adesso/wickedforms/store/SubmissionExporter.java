@@ -0,0 +1,332 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.state.ValueCodec;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Exports the stored submissions of a form to CSV or to a columnar binary
+ * format. Submissions are streamed from the {@link SubmissionLog} into the
+ * target channel one at a time, so that the memory used by an export does not
+ * depend on the number of submissions.
+ * <p/>
+ * Both formats start with the columns {@value #SEQUENCE_COLUMN} and
+ * {@value #TIMESTAMP_COLUMN}, followed by one column per
+ * {@link ExportColumn}.
+ * <p/>
+ * The columnar format consists of
+ * <ul>
+ * <li>the magic number {@value #COLUMNAR_MAGIC} and the format version, each
+ * as int,</li>
+ * <li>the number of columns and for each column its element id and its name,
+ * encoded as in the submission log,</li>
+ * <li>any number of row groups, each consisting of the number of rows as int
+ * and for each column the length of its values in bytes as int followed by
+ * the values. The values are encoded as in the submission log, so that they
+ * keep their types.</li>
+ * <li>a row group with 0 rows.</li>
+ * </ul>
+ * A reader may thus skip all columns it is not interested in.
+ */
+public class SubmissionExporter {
+
+	public static final String SEQUENCE_COLUMN = "sequence";
+
+	public static final String TIMESTAMP_COLUMN = "timestamp";
+
+	public static final int COLUMNAR_MAGIC = 0x57465345;
+
+	public static final int COLUMNAR_VERSION = 1;
+
+	public static final int DEFAULT_ROW_GROUP_SIZE = 4096;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final String CSV_SEPARATOR = ",";
+
+	private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+	private static final String LIST_SEPARATOR = ";";
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final SubmissionLog log;
+
+	private final String formId;
+
+	private final List<ExportColumn> columns;
+
+	private long from = Long.MIN_VALUE;
+
+	private long to = Long.MAX_VALUE;
+
+	private int rowGroupSize = DEFAULT_ROW_GROUP_SIZE;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param log
+	 *            the log to read the submissions from.
+	 * @param formId
+	 *            the id of the form whose submissions are exported.
+	 * @param columns
+	 *            the columns to export.
+	 */
+	public SubmissionExporter(final SubmissionLog log, final String formId, final List<ExportColumn> columns) {
+		this.log = log;
+		this.formId = formId;
+		this.columns = Collections.unmodifiableList(new ArrayList<ExportColumn>(columns));
+	}
+
+	/**
+	 * Creates an exporter for the submissions of the given form definition,
+	 * with one column per input field. See {@link ExportColumn#of(Form)}.
+	 */
+	public static SubmissionExporter of(final SubmissionLog log, final Form definition) {
+		return new SubmissionExporter(log, InputFields.getFormId(definition), ExportColumn.of(definition));
+	}
+
+	/**
+	 * Restricts the export to the submissions of the given period. By default,
+	 * all submissions are exported.
+	 *
+	 * @param from
+	 *            the start of the period in milliseconds since the epoch,
+	 *            inclusive.
+	 * @param to
+	 *            the end of the period in milliseconds since the epoch,
+	 *            exclusive.
+	 * @return this object for chaining
+	 */
+	public SubmissionExporter setPeriod(final long from, final long to) {
+		this.from = from;
+		this.to = to;
+		return this;
+	}
+
+	/**
+	 * Sets the number of rows that are buffered per row group of the columnar
+	 * format.
+	 *
+	 * @return this object for chaining
+	 */
+	public SubmissionExporter setRowGroupSize(final int rowGroupSize) {
+		if (rowGroupSize < 1) {
+			throw new IllegalArgumentException("The row group size must be positive!");
+		}
+		this.rowGroupSize = rowGroupSize;
+		return this;
+	}
+
+	public List<ExportColumn> getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Writes the submissions as UTF-8 encoded CSV according to RFC 4180,
+	 * starting with a header line of the column names. The channel is not
+	 * closed.
+	 *
+	 * @return the number of exported submissions.
+	 */
+	public long exportCsv(final WritableByteChannel channel) throws IOException {
+		final Writer writer = Channels.newWriter(channel, UTF8.newEncoder(), BUFFER_SIZE);
+		final StringBuilder line = new StringBuilder(256);
+		line.append(SEQUENCE_COLUMN).append(CSV_SEPARATOR).append(TIMESTAMP_COLUMN);
+		for (ExportColumn column : this.columns) {
+			line.append(CSV_SEPARATOR);
+			appendCsvField(line, column.getName());
+		}
+		writer.write(line.append(CSV_LINE_SEPARATOR).toString());
+
+		final long[] rows = new long[1];
+		this.log.forEach(this.formId, this.from, this.to, new SubmissionHandler() {
+			@Override
+			public void handle(final SubmissionRecord record) throws IOException {
+				line.setLength(0);
+				line.append(record.getSequence()).append(CSV_SEPARATOR);
+				line.append(format(new Date(record.getTimestamp())));
+				for (ExportColumn column : SubmissionExporter.this.columns) {
+					line.append(CSV_SEPARATOR);
+					appendCsvField(line, format(record.getValue(column.getElementId())));
+				}
+				writer.write(line.append(CSV_LINE_SEPARATOR).toString());
+				rows[0]++;
+			}
+		});
+		writer.flush();
+		return rows[0];
+	}
+
+	/**
+	 * Formats a value for the CSV export. Dates are formatted according to ISO
+	 * 8601 in UTC and the items of lists are separated by
+	 * {@value #LIST_SEPARATOR}. May be overridden to format values
+	 * differently.
+	 *
+	 * @param value
+	 *            the submitted value, may be null.
+	 * @return the formatted value, never null.
+	 */
+	protected String format(final Object value) {
+		if (value == null) {
+			return "";
+		}
+		if (value instanceof Date) {
+			return ((Date) value).toInstant().toString();
+		}
+		if (value instanceof List) {
+			StringBuilder items = new StringBuilder();
+			for (Object item : (List<?>) value) {
+				if (items.length() > 0) {
+					items.append(LIST_SEPARATOR);
+				}
+				items.append(format(item));
+			}
+			return items.toString();
+		}
+		return value.toString();
+	}
+
+	private static void appendCsvField(final StringBuilder line, final String value) {
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+		}
+		if (!quote) {
+			line.append(value);
+			return;
+		}
+		line.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				line.append('"');
+			}
+			line.append(c);
+		}
+		line.append('"');
+	}
+
+	/**
+	 * Writes the submissions in the columnar format described above. The
+	 * values of each column are buffered for one row group, which is then
+	 * written to the channel. The channel is not closed.
+	 *
+	 * @return the number of exported submissions.
+	 */
+	public long exportColumnar(final WritableByteChannel channel) throws IOException {
+		ColumnarWriter writer = new ColumnarWriter(channel);
+		this.log.forEach(this.formId, this.from, this.to, writer);
+		writer.finish();
+		return writer.rows;
+	}
+
+	/**
+	 * Buffers the values of the current row group by column.
+	 */
+	private class ColumnarWriter implements SubmissionHandler {
+
+		private final WritableByteChannel channel;
+
+		private final RecordCodec.Output[] chunks;
+
+		private final RecordCodec.Output header = new RecordCodec.Output(BUFFER_SIZE);
+
+		private int groupRows;
+
+		private long rows;
+
+		ColumnarWriter(final WritableByteChannel channel) throws IOException {
+			this.channel = channel;
+			this.chunks = new RecordCodec.Output[2 + columns.size()];
+			for (int i = 0; i < this.chunks.length; i++) {
+				this.chunks[i] = new RecordCodec.Output(BUFFER_SIZE);
+			}
+
+			this.header.writeInt(COLUMNAR_MAGIC);
+			this.header.writeInt(COLUMNAR_VERSION);
+			ValueCodec.writeVarInt(this.header, this.chunks.length);
+			ValueCodec.writeString(this.header, SEQUENCE_COLUMN);
+			ValueCodec.writeString(this.header, SEQUENCE_COLUMN);
+			ValueCodec.writeString(this.header, TIMESTAMP_COLUMN);
+			ValueCodec.writeString(this.header, TIMESTAMP_COLUMN);
+			for (ExportColumn column : columns) {
+				ValueCodec.writeString(this.header, column.getElementId());
+				ValueCodec.writeString(this.header, column.getName());
+			}
+			write(this.header);
+		}
+
+		@Override
+		public void handle(final SubmissionRecord record) throws IOException {
+			RecordCodec.writeValue(this.chunks[0], record.getSequence());
+			RecordCodec.writeValue(this.chunks[1], record.getTimestamp());
+			for (int i = 0; i < columns.size(); i++) {
+				RecordCodec.writeValue(this.chunks[2 + i], record.getValue(columns.get(i).getElementId()));
+			}
+			this.rows++;
+			if (++this.groupRows == rowGroupSize) {
+				writeRowGroup();
+			}
+		}
+
+		void finish() throws IOException {
+			if (this.groupRows > 0) {
+				writeRowGroup();
+			}
+			writeRowGroup();
+		}
+
+		private void writeRowGroup() throws IOException {
+			this.header.reset();
+			this.header.writeInt(this.groupRows);
+			write(this.header);
+			if (this.groupRows == 0) {
+				return;
+			}
+			for (RecordCodec.Output chunk : this.chunks) {
+				this.header.reset();
+				this.header.writeInt(chunk.size());
+				write(this.header);
+				write(chunk);
+				chunk.reset();
+			}
+			this.groupRows = 0;
+		}
+
+		private void write(final RecordCodec.Output output) throws IOException {
+			ByteBuffer buffer = ByteBuffer.wrap(output.getBytes(), 0, output.size());
+			while (buffer.hasRemaining()) {
+				this.channel.write(buffer);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,676 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.Form;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only log of form submissions, stored in a directory of
+ * memory-mapped segment files.
+ * <p/>
+ * A submission is encoded before the log is locked, so that concurrent
+ * writers only wait for each other while the encoded bytes are copied into
+ * the current segment. When a segment is full, the next one is created.
+ * Appended submissions are written to the storage device by a background
+ * thread in the configured sync interval, so that many submissions share a
+ * single sync. Callers that need to know that their submission has been
+ * written use {@link #appendAndSync(SubmissionRecord)}, which joins the next
+ * sync.
+ * <p/>
+ * Submissions are found by their sequence or by form id and time of
+ * submission. The index is kept in memory and rebuilt from the segments when
+ * the log is opened. Deleted submissions are marked by tombstones and removed
+ * from the segments by {@link #compact()}, which may also be run in the
+ * background by {@link #scheduleCompaction(long)}.
+ */
+public class SubmissionLog implements Closeable {
+
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	public static final long DEFAULT_SYNC_INTERVAL = 10;
+
+	private static final int MIN_SEGMENT_SIZE = 4096;
+
+	private static final String COMPACTED_SUFFIX = ".compacted";
+
+	private static final int FOR_EACH_BATCH_SIZE = 1024;
+
+	private final File directory;
+
+	private final int segmentSize;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The segments ordered by number. The last segment is the one that
+	 * submissions are appended to.
+	 */
+	private final List<Segment> segments = new ArrayList<Segment>();
+
+	private final Set<Long> deleted = new HashSet<Long>();
+
+	private long nextSequence;
+
+	private boolean closed;
+
+	private final Object syncMonitor = new Object();
+
+	private long syncedSequence;
+
+	private boolean syncing;
+
+	private final Object compactionMonitor = new Object();
+
+	private final ScheduledExecutorService executor;
+
+	/**
+	 * Opens the log in the given directory with the default segment size and
+	 * sync interval.
+	 *
+	 * @param directory
+	 *            the directory of the segment files. It is created if it does
+	 *            not exist.
+	 * @return the opened log.
+	 */
+	public static SubmissionLog open(final File directory) throws IOException {
+		return new SubmissionLog(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param directory
+	 *            the directory of the segment files. It is created if it does
+	 *            not exist.
+	 * @param segmentSize
+	 *            the size of new segment files in bytes. A single submission
+	 *            must fit into a segment.
+	 * @param syncInterval
+	 *            the interval in milliseconds in which appended submissions
+	 *            are written to the storage device. If 0, submissions are only
+	 *            written on {@link #sync()}, on
+	 *            {@link #appendAndSync(SubmissionRecord)}, when a segment is
+	 *            full and when the log is closed.
+	 */
+	public SubmissionLog(final File directory, final int segmentSize, final long syncInterval) throws IOException {
+		if (segmentSize < MIN_SEGMENT_SIZE) {
+			throw new IllegalArgumentException(String.format("The segment size must be at least %d bytes!",
+					MIN_SEGMENT_SIZE));
+		}
+		if (syncInterval < 0) {
+			throw new IllegalArgumentException("The sync interval must not be negative!");
+		}
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException(String.format("Directory %s could not be created!", directory));
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		openSegments();
+		this.syncedSequence = this.nextSequence - 1;
+
+		this.executor = Executors.newScheduledThreadPool(2, new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, "wicked-forms-store " + directory.getName());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		if (syncInterval > 0) {
+			this.executor.scheduleWithFixedDelay(new Runnable() {
+				@Override
+				public void run() {
+					sync();
+				}
+			}, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void openSegments() throws IOException {
+		// leftovers of a compaction that has been interrupted
+		for (File file : listFiles(COMPACTED_SUFFIX)) {
+			Files.delete(file.toPath());
+		}
+		File[] files = listFiles(Segment.FILE_SUFFIX);
+		Arrays.sort(files, new Comparator<File>() {
+			@Override
+			public int compare(final File o1, final File o2) {
+				return Integer.compare(Segment.getNumber(o1), Segment.getNumber(o2));
+			}
+		});
+		long lastSequence = -1;
+		for (File file : files) {
+			Segment segment = Segment.open(file);
+			this.segments.add(segment);
+			this.deleted.addAll(segment.getTombstones());
+			lastSequence = Math.max(lastSequence, segment.getLastSequence());
+		}
+		if (this.segments.isEmpty()) {
+			this.segments.add(Segment.create(this.directory, 0, this.segmentSize, 0));
+		}
+		this.nextSequence = lastSequence + 1;
+	}
+
+	private File[] listFiles(final String suffix) throws IOException {
+		File[] files = this.directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(final File file) {
+				return file.isFile() && file.getName().endsWith(suffix);
+			}
+		});
+		if (files == null) {
+			throw new IOException(String.format("Directory %s could not be read!", this.directory));
+		}
+		return files;
+	}
+
+	/**
+	 * Appends the current values of the given form, submitted now. See
+	 * {@link SubmissionRecord#of(Form, long)}.
+	 *
+	 * @return the sequence of the stored submission.
+	 */
+	public long append(final Form form) throws IOException {
+		return append(SubmissionRecord.of(form, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Appends a submission. The submission is written to the storage device
+	 * with the next sync.
+	 *
+	 * @param record
+	 *            the submission to store. Its sequence is ignored.
+	 * @return the sequence of the stored submission.
+	 */
+	public long append(final SubmissionRecord record) throws IOException {
+		RecordCodec.Output payload = RecordCodec.encodeSubmission(record);
+		this.lock.writeLock().lock();
+		try {
+			return appendEntry(payload);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Appends a submission and waits until it has been written to the storage
+	 * device. Concurrent callers share a single sync.
+	 *
+	 * @param record
+	 *            the submission to store. Its sequence is ignored.
+	 * @return the sequence of the stored submission.
+	 */
+	public long appendAndSync(final SubmissionRecord record) throws IOException {
+		long sequence = append(record);
+		sync(sequence);
+		return sequence;
+	}
+
+	/**
+	 * Assigns the next sequence to the given entry and appends it. Must be
+	 * called with the write lock held.
+	 */
+	private long appendEntry(final RecordCodec.Output payload) throws IOException {
+		checkOpen();
+		if (payload.size() > this.segmentSize - Segment.HEADER_LENGTH - Segment.FRAME_HEADER_LENGTH) {
+			throw new IllegalArgumentException(String.format(
+					"The entry of %d bytes does not fit into a segment of %d bytes!", payload.size(),
+					this.segmentSize));
+		}
+		long sequence = this.nextSequence;
+		payload.setLong(RecordCodec.SEQUENCE_OFFSET, sequence);
+		if (getActiveSegment().append(payload) < 0) {
+			// entries of a full segment are written right away, so that only
+			// the active segment has to be synced
+			getActiveSegment().force();
+			Segment segment = Segment.create(this.directory, getActiveSegment().getNumber() + 1, this.segmentSize,
+					sequence);
+			this.segments.add(segment);
+			segment.append(payload);
+		}
+		this.nextSequence++;
+		return sequence;
+	}
+
+	private Segment getActiveSegment() {
+		return this.segments.get(this.segments.size() - 1);
+	}
+
+	/**
+	 * Writes all appended submissions to the storage device.
+	 */
+	public void sync() {
+		long sequence;
+		this.lock.readLock().lock();
+		try {
+			sequence = this.nextSequence - 1;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		sync(sequence);
+	}
+
+	/**
+	 * Waits until the submission with the given sequence has been written to
+	 * the storage device. If no other thread is syncing, the calling thread
+	 * syncs all submissions appended so far, otherwise it waits for that sync
+	 * to finish.
+	 */
+	private void sync(final long sequence) {
+		synchronized (this.syncMonitor) {
+			while (this.syncing && this.syncedSequence < sequence) {
+				try {
+					this.syncMonitor.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for the log to be synced!", e);
+				}
+			}
+			if (this.syncedSequence >= sequence) {
+				return;
+			}
+			this.syncing = true;
+		}
+		long synced = -1;
+		try {
+			Segment segment;
+			this.lock.readLock().lock();
+			try {
+				synced = this.nextSequence - 1;
+				segment = getActiveSegment();
+			} finally {
+				this.lock.readLock().unlock();
+			}
+			segment.force();
+		} finally {
+			synchronized (this.syncMonitor) {
+				this.syncing = false;
+				this.syncedSequence = Math.max(this.syncedSequence, synced);
+				this.syncMonitor.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Returns the submission with the given sequence.
+	 *
+	 * @return the submission or null if there is no submission with this
+	 *         sequence or if it has been deleted.
+	 */
+	public SubmissionRecord get(final long sequence) {
+		this.lock.readLock().lock();
+		try {
+			checkOpen();
+			if (this.deleted.contains(sequence)) {
+				return null;
+			}
+			for (Segment segment : this.segments) {
+				if (sequence <= segment.getLastSequence()) {
+					int entry = segment.indexOf(sequence);
+					return entry < 0 ? null : segment.read(entry);
+				}
+			}
+			return null;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the submissions of the given form that have been submitted in
+	 * the given period, in the order they have been appended.
+	 *
+	 * @param formId
+	 *            the id of the form.
+	 * @param from
+	 *            the start of the period in milliseconds since the epoch,
+	 *            inclusive.
+	 * @param to
+	 *            the end of the period in milliseconds since the epoch,
+	 *            exclusive.
+	 * @return the submissions.
+	 */
+	public List<SubmissionRecord> find(final String formId, final long from, final long to) {
+		List<SubmissionRecord> records = new ArrayList<SubmissionRecord>();
+		List<Integer> entries = new ArrayList<Integer>();
+		this.lock.readLock().lock();
+		try {
+			checkOpen();
+			for (Segment segment : this.segments) {
+				entries.clear();
+				segment.find(formId, from, to, entries);
+				for (Integer entry : entries) {
+					if (!this.deleted.contains(segment.getSequence(entry))) {
+						records.add(segment.read(entry));
+					}
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return records;
+	}
+
+	/**
+	 * Passes the submissions of the given form that have been submitted in the
+	 * given period to the handler, in the order they have been appended.
+	 * <p/>
+	 * In contrast to {@link #find(String, long, long)}, the submissions are
+	 * looked up and decoded in small batches, so that the memory used does not
+	 * depend on the number of submissions. The log is not locked while the
+	 * handler runs, so that
+	 * submissions may be appended during long exports. Whether submissions
+	 * that are appended or deleted during the iteration are passed to the
+	 * handler is undefined.
+	 *
+	 * @param formId
+	 *            the id of the form.
+	 * @param from
+	 *            the start of the period in milliseconds since the epoch,
+	 *            inclusive.
+	 * @param to
+	 *            the end of the period in milliseconds since the epoch,
+	 *            exclusive.
+	 * @param handler
+	 *            the handler of the submissions.
+	 */
+	public void forEach(final String formId, final long from, final long to, final SubmissionHandler handler)
+			throws IOException {
+		List<Integer> segmentNumbers = new ArrayList<Integer>();
+		this.lock.readLock().lock();
+		try {
+			checkOpen();
+			for (Segment segment : this.segments) {
+				segmentNumbers.add(segment.getNumber());
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+
+		int[] offsets = new int[FOR_EACH_BATCH_SIZE];
+		long[] sequences = new long[FOR_EACH_BATCH_SIZE];
+		List<SubmissionRecord> batch = new ArrayList<SubmissionRecord>(FOR_EACH_BATCH_SIZE);
+		for (Integer segmentNumber : segmentNumbers) {
+			long lastSequence = -1;
+			int count;
+			do {
+				batch.clear();
+				this.lock.readLock().lock();
+				try {
+					checkOpen();
+					// the segment may have been replaced or removed by a compaction
+					// since the last batch, which is why batches continue after
+					// the last sequence rather than at a position. The batch is
+					// decoded before the lock is released, since the mapping of a
+					// replaced segment is released.
+					Segment segment = getSegment(segmentNumber);
+					count = segment == null ? 0 : segment.find(formId, from, to, lastSequence, this.deleted,
+							offsets, sequences);
+					for (int i = 0; i < count; i++) {
+						batch.add(segment.readAt(offsets[i]));
+					}
+				} finally {
+					this.lock.readLock().unlock();
+				}
+				for (SubmissionRecord record : batch) {
+					handler.handle(record);
+				}
+				if (count > 0) {
+					lastSequence = sequences[count - 1];
+				}
+			} while (count == FOR_EACH_BATCH_SIZE);
+		}
+	}
+
+	private Segment getSegment(final int number) {
+		for (Segment segment : this.segments) {
+			if (segment.getNumber() == number) {
+				return segment;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the ids of all forms that have stored submissions, including
+	 * deleted submissions that have not been compacted yet.
+	 */
+	public Set<String> getFormIds() {
+		Set<String> formIds = new TreeSet<String>();
+		this.lock.readLock().lock();
+		try {
+			checkOpen();
+			for (Segment segment : this.segments) {
+				formIds.addAll(segment.getFormIds());
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return Collections.unmodifiableSet(formIds);
+	}
+
+	/**
+	 * Deletes a submission by appending a tombstone. The submission is removed
+	 * from the segment files by the next compaction.
+	 *
+	 * @param sequence
+	 *            the sequence of the submission.
+	 * @return true if the submission has been deleted, false if there is no
+	 *         such submission.
+	 */
+	public boolean delete(final long sequence) throws IOException {
+		RecordCodec.Output payload = RecordCodec.encodeTombstone(sequence);
+		this.lock.writeLock().lock();
+		try {
+			checkOpen();
+			if (this.deleted.contains(sequence) || !contains(sequence)) {
+				return false;
+			}
+			appendEntry(payload);
+			this.deleted.add(sequence);
+			return true;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes all submissions of the given form that have been submitted
+	 * before the given time.
+	 *
+	 * @return the number of deleted submissions.
+	 */
+	public int deleteBefore(final String formId, final long timestamp) throws IOException {
+		List<Long> sequences = new ArrayList<Long>();
+		List<Integer> entries = new ArrayList<Integer>();
+		this.lock.readLock().lock();
+		try {
+			checkOpen();
+			for (Segment segment : this.segments) {
+				entries.clear();
+				segment.find(formId, Long.MIN_VALUE, timestamp, entries);
+				for (Integer entry : entries) {
+					sequences.add(segment.getSequence(entry));
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		int count = 0;
+		for (Long sequence : sequences) {
+			if (delete(sequence)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private boolean contains(final long sequence) {
+		for (Segment segment : this.segments) {
+			if (segment.indexOf(sequence) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes deleted submissions and tombstones from all segments except the
+	 * active one. Each affected segment is copied without the removed entries
+	 * and then replaced, so that appends and reads are only blocked while the
+	 * segment is exchanged. Segments without any remaining entries are
+	 * deleted. The mapping of a replaced or deleted segment is released
+	 * before its file is replaced or deleted, which is required on Windows.
+	 */
+	public void compact() throws IOException {
+		synchronized (this.compactionMonitor) {
+			List<Segment> sealed;
+			Set<Long> deletedSnapshot;
+			this.lock.readLock().lock();
+			try {
+				checkOpen();
+				sealed = new ArrayList<Segment>(this.segments.subList(0, this.segments.size() - 1));
+				deletedSnapshot = new HashSet<Long>(this.deleted);
+			} finally {
+				this.lock.readLock().unlock();
+			}
+
+			// segments are compacted from oldest to newest, so a submission is
+			// always removed before its tombstone
+			List<Long> removed = new ArrayList<Long>();
+			for (Segment segment : sealed) {
+				if (!segment.hasGarbage(deletedSnapshot)) {
+					continue;
+				}
+				File compacted = new File(this.directory, segment.getFile().getName() + COMPACTED_SUFFIX);
+				boolean empty = segment.writeCompacted(compacted, deletedSnapshot, removed) == 0;
+				if (empty) {
+					Files.delete(compacted.toPath());
+				}
+
+				this.lock.writeLock().lock();
+				try {
+					int index = this.segments.indexOf(segment);
+					segment.release();
+					if (empty) {
+						this.segments.remove(index);
+						Files.delete(segment.getFile().toPath());
+					} else {
+						try {
+							Files.move(compacted.toPath(), segment.getFile().toPath(),
+									StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+						} finally {
+							// the original file is opened again if it could not
+							// be replaced
+							this.segments.set(index, Segment.open(segment.getFile()));
+						}
+					}
+				} finally {
+					this.lock.writeLock().unlock();
+				}
+			}
+
+			this.lock.writeLock().lock();
+			try {
+				this.deleted.removeAll(removed);
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * Runs {@link #compact()} in the background in the given interval until
+	 * the log is closed. If a compaction fails, no further compactions are
+	 * run. The log remains consistent in this case, since a segment is only
+	 * replaced after its compacted copy has been written completely.
+	 *
+	 * @param interval
+	 *            the interval in milliseconds.
+	 * @return this object for chaining
+	 */
+	public SubmissionLog scheduleCompaction(final long interval) {
+		this.executor.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					compact();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}, interval, interval, TimeUnit.MILLISECONDS);
+		return this;
+	}
+
+	/**
+	 * Stops the background threads, waits for a running compaction, writes
+	 * all appended submissions to the storage device and releases the
+	 * mappings of all segments.
+	 */
+	@Override
+	public void close() {
+		this.lock.writeLock().lock();
+		try {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+		this.executor.shutdown();
+		synchronized (this.compactionMonitor) {
+			this.lock.writeLock().lock();
+			try {
+				for (Segment segment : this.segments) {
+					segment.release();
+				}
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+		}
+	}
+
+	private void checkOpen() {
+		if (this.closed) {
+			throw new IllegalStateException(String.format("The submission log in %s has been closed!",
+					this.directory));
+		}
+	}
+
+}
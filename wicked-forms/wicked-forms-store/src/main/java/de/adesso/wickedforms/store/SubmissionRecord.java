@@ -0,0 +1,157 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.submission.FormSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The values of a submitted form, keyed by the ids of the form elements. A
+ * record is created from a {@link Form} with {@link #of(Form, long)} and
+ * stored in a {@link SubmissionLog}.
+ * <p/>
+ * The values keep their types. Strings, booleans, integers, longs, floats,
+ * doubles, big decimals, dates and lists of these are stored in a compact
+ * binary form, all other values must be {@link java.io.Serializable}.
+ */
+public class SubmissionRecord {
+
+	private final long sequence;
+
+	private final String formId;
+
+	private final long timestamp;
+
+	private final Map<String, Object> values;
+
+	/**
+	 * Constructor for records that have not been stored yet.
+	 *
+	 * @param formId
+	 *            the id of the submitted form.
+	 * @param timestamp
+	 *            the time of submission in milliseconds since the epoch.
+	 * @param values
+	 *            the submitted values keyed by the ids of the form elements.
+	 */
+	public SubmissionRecord(final String formId, final long timestamp, final Map<String, ?> values) {
+		this(-1, formId, timestamp, values);
+	}
+
+	SubmissionRecord(final long sequence, final String formId, final long timestamp, final Map<String, ?> values) {
+		if (formId == null) {
+			throw new IllegalArgumentException("The form id of a submission must not be null!");
+		}
+		this.sequence = sequence;
+		this.formId = formId;
+		this.timestamp = timestamp;
+		this.values = Collections.unmodifiableMap(new LinkedHashMap<String, Object>(values));
+	}
+
+	/**
+	 * Creates a record of the current values of all input fields of the given
+	 * form that have not been discarded. The form is identified by its
+	 * template id or, if it has none, by its label.
+	 *
+	 * @param form
+	 *            the submitted form. Its ids are assigned if this has not
+	 *            been done yet.
+	 * @param timestamp
+	 *            the time of submission in milliseconds since the epoch.
+	 * @return the record of the submission.
+	 */
+	public static SubmissionRecord of(final Form form, final long timestamp) {
+		Map<String, Object> values = new LinkedHashMap<String, Object>();
+		for (AbstractInputField<?> field : InputFields.of(form)) {
+			values.put(field.getId(), copy(field.getValue()));
+		}
+		return new SubmissionRecord(InputFields.getFormId(form), timestamp, values);
+	}
+
+	/**
+	 * Creates a record of a snapshot taken when the form was submitted, e.g.
+	 * to store the submissions processed by a
+	 * {@link de.adesso.wickedforms.model.submission.SubmissionPipeline}.
+	 *
+	 * @param snapshot
+	 *            the values of the submitted form.
+	 * @return the record of the submission.
+	 */
+	public static SubmissionRecord of(final FormSnapshot snapshot) {
+		return new SubmissionRecord(snapshot.getFormId(), snapshot.getTimestamp(), snapshot.getValues());
+	}
+
+	/**
+	 * Copies collections, since they are usually changed by the form after
+	 * the submission.
+	 */
+	private static Object copy(final Object value) {
+		if (value instanceof Collection) {
+			List<Object> list = new ArrayList<Object>(((Collection<?>) value).size());
+			for (Object item : (Collection<?>) value) {
+				list.add(copy(item));
+			}
+			return list;
+		}
+		return value;
+	}
+
+	/**
+	 * The number of this record in the log, which is assigned when the record
+	 * is appended. Records that have not been stored have the sequence -1.
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	public String getFormId() {
+		return formId;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public Map<String, Object> getValues() {
+		return values;
+	}
+
+	/**
+	 * Returns the submitted value of the form element with the given id.
+	 *
+	 * @param elementId
+	 *            the id of the form element.
+	 * @return the value or null if the element has no value or is not part of
+	 *         this record.
+	 */
+	public Object getValue(final String elementId) {
+		return values.get(elementId);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("SubmissionRecord [sequence=%d, formId=%s, timestamp=%d, values=%s]", sequence,
+				formId, timestamp, values);
+	}
+
+}
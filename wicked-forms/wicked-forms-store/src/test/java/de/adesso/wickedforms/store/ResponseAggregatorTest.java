@@ -0,0 +1,180 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.RadioGroup;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ResponseAggregatorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final RadioGroup<String> rating = new RadioGroup<String>("Rating", Arrays.asList("good", "bad"),
+			String.class);
+
+	private final DropDown<String> color = new DropDown<String>("Color", Arrays.asList("red", "green", "blue"),
+			String.class);
+
+	private final CheckboxGroup<String> pets = new CheckboxGroup<String>("Pets", Arrays.asList("cat", "dog"));
+
+	private final Checkbox newsletter = new Checkbox("Newsletter");
+
+	private final IntegerTextField age = new IntegerTextField("Age");
+
+	private final Form form = new Form("Survey");
+
+	private final ResponseAggregator aggregator = new ResponseAggregator();
+
+	public ResponseAggregatorTest() {
+		this.form.add(this.rating).add(this.color).add(this.pets).add(this.newsletter).add(this.age);
+		this.form.assignIds();
+	}
+
+	private void submit(final String rating, final String color, final Boolean newsletter, final Integer age,
+			final String... pets) {
+		this.rating.setValue(rating);
+		this.color.setValue(color);
+		this.pets.setValue(Arrays.asList(pets));
+		this.newsletter.setValue(newsletter);
+		this.age.setValue(age);
+		this.aggregator.add(this.form);
+	}
+
+	@Test
+	public void testCounts() {
+		submit("good", "blue", true, 30, "cat", "dog");
+		submit("good", null, false, 50, "dog");
+		submit("bad", "blue", null, null);
+
+		assertCounts(this.aggregator, this.rating, 0, 2, 1);
+		assertCounts(this.aggregator, this.color, 1, 0, 0, 2);
+		assertCounts(this.aggregator, this.pets, 1, 1, 2);
+		assertCounts(this.aggregator, this.newsletter, 1, 1, 1);
+
+		NumberStatistics ages = this.aggregator.getNumberStatistics(this.age.getId());
+		Assert.assertEquals(2, ages.getCount());
+		Assert.assertEquals(1, ages.getUnanswered());
+		Assert.assertEquals(80, ages.getSum());
+		Assert.assertEquals(30, ages.getMin());
+		Assert.assertEquals(50, ages.getMax());
+		Assert.assertEquals(40.0, ages.getMean(), 0.0);
+		long[] histogram = ages.getHistogram();
+		Assert.assertEquals(1, histogram[NumberStatistics.getBucket(30)]);
+		Assert.assertEquals(1, histogram[NumberStatistics.getBucket(50)]);
+	}
+
+	private static void assertCounts(final ResponseAggregator aggregator, final AbstractInputField<?> field,
+			final long unanswered, final long... counts) {
+		ChoiceStatistics statistics = aggregator.getChoiceStatistics(field);
+		Assert.assertEquals(unanswered, statistics.getUnanswered());
+		Assert.assertArrayEquals(counts, statistics.getCounts());
+	}
+
+	@Test
+	public void testHistogramBuckets() {
+		long[] values = { 0, 1, 2, 3, 4, 7, 8, -1, -2, -3, -4, Long.MAX_VALUE, Long.MIN_VALUE,
+				Long.MIN_VALUE + 1, Integer.MIN_VALUE };
+		for (long value : values) {
+			int bucket = NumberStatistics.getBucket(value);
+			Assert.assertTrue(value + " in bucket " + bucket, NumberStatistics.getLowerBound(bucket) <= value);
+			Assert.assertTrue(value + " in bucket " + bucket, NumberStatistics.getUpperBound(bucket) >= value);
+		}
+		Assert.assertEquals(NumberStatistics.ZERO_BUCKET, NumberStatistics.getBucket(0));
+		Assert.assertEquals(0, NumberStatistics.getBucket(Long.MIN_VALUE));
+		Assert.assertEquals(NumberStatistics.BUCKETS - 1, NumberStatistics.getBucket(Long.MAX_VALUE));
+		for (int bucket = 1; bucket < NumberStatistics.BUCKETS; bucket++) {
+			Assert.assertEquals(NumberStatistics.getUpperBound(bucket - 1) + 1,
+					NumberStatistics.getLowerBound(bucket));
+		}
+	}
+
+	@Test
+	public void testConcurrentSubmissions() throws InterruptedException {
+		final ResponseAggregator shared = new ResponseAggregator();
+		final int threads = 4;
+		final int submissions = 10000;
+		Thread[] workers = new Thread[threads];
+		String choiceId = null;
+		String numberId = null;
+		for (int t = 0; t < threads; t++) {
+			// each thread submits its own form, as each request does
+			final Form form = new Form("Survey");
+			final RadioGroup<Integer> choice = new RadioGroup<Integer>("Choice", Arrays.asList(0, 1, 2, 3),
+					Integer.class);
+			final IntegerTextField number = new IntegerTextField("Number");
+			form.add(choice).add(number);
+			form.assignIds();
+			choiceId = choice.getId();
+			numberId = number.getId();
+			workers[t] = new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < submissions; i++) {
+						choice.setValue(i % 4);
+						number.setValue(i);
+						shared.add(form);
+					}
+				}
+			};
+			workers[t].start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		ChoiceStatistics choices = shared.getChoiceStatistics(choiceId, 4);
+		Assert.assertArrayEquals(new long[] { 10000, 10000, 10000, 10000 }, choices.getCounts());
+		NumberStatistics numbers = shared.getNumberStatistics(numberId);
+		Assert.assertEquals(threads * submissions, numbers.getCount());
+		Assert.assertEquals(threads * (long) submissions * (submissions - 1) / 2, numbers.getSum());
+		Assert.assertEquals(submissions - 1, numbers.getMax());
+	}
+
+	@Test
+	public void testSaveAndLoad() throws IOException {
+		submit("bad", "green", true, 7, "cat");
+		File file = new File(this.folder.getRoot(), "survey.aggregation");
+		Assert.assertNull(ResponseAggregator.load(file).getNumberStatistics(this.age.getId()));
+
+		this.aggregator.save(file);
+		ResponseAggregator loaded = ResponseAggregator.load(file);
+		assertCounts(loaded, this.rating, 0, 0, 1);
+		assertCounts(loaded, this.color, 0, 0, 1, 0);
+		assertCounts(loaded, this.pets, 0, 1, 0);
+		Assert.assertEquals(7, loaded.getNumberStatistics(this.age.getId()).getSum());
+
+		this.rating.setValue(null);
+		this.pets.setValue(Collections.<String> emptyList());
+		loaded.add(this.form);
+		assertCounts(loaded, this.rating, 1, 0, 1);
+		assertCounts(loaded, this.pets, 1, 1, 0);
+	}
+
+}
@@ -0,0 +1,137 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.Text;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SubmissionExporterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final StringTextField name = new StringTextField("Name");
+
+	private final IntegerTextField age = new IntegerTextField("Age");
+
+	private final CheckboxGroup<String> pets = new CheckboxGroup<String>("Pets", Arrays.asList("cat", "dog"));
+
+	private final Form form = new Form("Survey");
+
+	private SubmissionLog log;
+
+	@Before
+	public void setUp() throws IOException {
+		this.form.add(new Text("Please tell us about you."));
+		this.form.add(new Section("Person").add(this.name).add(this.age).add(this.pets));
+		this.form.assignIds();
+
+		this.log = new SubmissionLog(this.folder.getRoot(), 4096, 0);
+		submit("Alice", 42, Arrays.asList("cat", "dog"), 0);
+		submit("Bob \"the builder\", Jr.", null, Collections.<String> emptyList(), 1000);
+		this.log.delete(submit("Eve", 23, Arrays.asList("dog"), 2000));
+	}
+
+	@After
+	public void tearDown() {
+		this.log.close();
+	}
+
+	private long submit(final String name, final Integer age, final List<String> pets, final long timestamp)
+			throws IOException {
+		this.name.setValue(name);
+		this.age.setValue(age);
+		this.pets.setValue(pets);
+		return this.log.append(SubmissionRecord.of(this.form, timestamp));
+	}
+
+	@Test
+	public void testCsv() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = SubmissionExporter.of(this.log, this.form).exportCsv(Channels.newChannel(out));
+
+		Assert.assertEquals(2, rows);
+		Assert.assertEquals("sequence,timestamp,Name,Age,Pets\r\n"
+				+ "0,1970-01-01T00:00:00Z,Alice,42,cat;dog\r\n"
+				+ "1,1970-01-01T00:00:01Z,\"Bob \"\"the builder\"\", Jr.\",,\r\n", out.toString("UTF-8"));
+	}
+
+	@Test
+	public void testCsvPeriod() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = SubmissionExporter.of(this.log, this.form).setPeriod(500, 5000)
+				.exportCsv(Channels.newChannel(out));
+		Assert.assertEquals(1, rows);
+	}
+
+	@Test
+	public void testColumnar() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = SubmissionExporter.of(this.log, this.form).setRowGroupSize(1)
+				.exportColumnar(Channels.newChannel(out));
+		Assert.assertEquals(2, rows);
+
+		ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+		Assert.assertEquals(SubmissionExporter.COLUMNAR_MAGIC, in.getInt());
+		Assert.assertEquals(SubmissionExporter.COLUMNAR_VERSION, in.getInt());
+		Assert.assertEquals(5, in.get());
+		Assert.assertEquals(Arrays.asList("sequence", "sequence", "timestamp", "timestamp", this.name.getId(),
+				"Name", this.age.getId(), "Age", this.pets.getId(), "Pets"), readStrings(in, 10));
+
+		Object[][] expected = { { 0L, 0L, "Alice", 42, Arrays.asList("cat", "dog") },
+				{ 1L, 1000L, "Bob \"the builder\", Jr.", null, Collections.emptyList() } };
+		for (Object[] row : expected) {
+			Assert.assertEquals(1, in.getInt());
+			for (Object value : row) {
+				int length = in.getInt();
+				int start = in.position();
+				Assert.assertEquals(value, RecordCodec.readValue(in));
+				Assert.assertEquals(length, in.position() - start);
+			}
+		}
+		Assert.assertEquals(0, in.getInt());
+		Assert.assertFalse(in.hasRemaining());
+	}
+
+	private List<Object> readStrings(final ByteBuffer in, final int count) {
+		List<Object> strings = new ArrayList<Object>();
+		for (int i = 0; i < count; i++) {
+			byte[] bytes = new byte[in.get()];
+			in.get(bytes);
+			strings.add(new String(bytes));
+		}
+		return strings;
+	}
+
+}
@@ -0,0 +1,195 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.store;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SubmissionLogTest {
+
+	private static final int SEGMENT_SIZE = 4096;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private SubmissionRecord createRecord(final String formId, final long timestamp, final String name) {
+		Map<String, Object> values = new LinkedHashMap<String, Object>();
+		values.put("1", name);
+		values.put("2", Integer.valueOf(-42));
+		values.put("3", Long.valueOf(Long.MAX_VALUE));
+		values.put("4", Boolean.TRUE);
+		values.put("5", Double.valueOf(0.5));
+		values.put("6", new BigDecimal("12.30"));
+		values.put("7", new Date(timestamp));
+		values.put("8", Arrays.asList("cat", null, "dog"));
+		values.put("9", null);
+		values.put("10", Thread.State.NEW);
+		return new SubmissionRecord(formId, timestamp, values);
+	}
+
+	private SubmissionLog open(final File directory) throws IOException {
+		return new SubmissionLog(directory, SEGMENT_SIZE, 0);
+	}
+
+	@Test
+	public void testAppendAndRead() throws IOException {
+		SubmissionLog log = open(this.folder.getRoot());
+		SubmissionRecord record = createRecord("survey", 1000, "Jürgen");
+		long sequence = log.appendAndSync(record);
+
+		SubmissionRecord stored = log.get(sequence);
+		Assert.assertEquals(sequence, stored.getSequence());
+		Assert.assertEquals("survey", stored.getFormId());
+		Assert.assertEquals(1000, stored.getTimestamp());
+		Assert.assertEquals(record.getValues(), stored.getValues());
+		Assert.assertNull(log.get(sequence + 1));
+		log.close();
+	}
+
+	@Test
+	public void testEnumsAreStoredByName() {
+		RecordCodec.Output out = new RecordCodec.Output(16);
+		RecordCodec.writeValue(out, Thread.State.TIMED_WAITING);
+		// tag, class name and constant name instead of a serialized object
+		Assert.assertEquals(1 + 1 + "java.lang.Thread$State".length() + 1 + "TIMED_WAITING".length(), out.size());
+		Assert.assertSame(Thread.State.TIMED_WAITING, RecordCodec.readValue(ByteBuffer.wrap(out.getBytes(), 0,
+				out.size())));
+	}
+
+	@Test
+	public void testAppendForm() throws IOException {
+		StringTextField name = new StringTextField("Name", "Alice");
+		CheckboxGroup<String> pets = new CheckboxGroup<String>("Pets", Arrays.asList("cat", "dog"));
+		pets.setValue(Arrays.asList("dog"));
+		Form form = new Form("Survey").setTemplateId("survey");
+		form.add(new Section("Person").add(name).add(new IntegerTextField("Age", 42)).add(pets));
+		form.assignIds();
+
+		SubmissionLog log = open(this.folder.getRoot());
+		SubmissionRecord stored = log.get(log.append(form));
+		Assert.assertEquals("survey", stored.getFormId());
+		Assert.assertEquals("Alice", stored.getValue(name.getId()));
+		Assert.assertEquals(Arrays.asList("dog"), stored.getValue(pets.getId()));
+		Assert.assertEquals(3, stored.getValues().size());
+		log.close();
+	}
+
+	@Test
+	public void testAppendFormWithRepeatedSection() throws IOException {
+		StringTextField name = new StringTextField("Name", "Alice");
+		AddSectionButton addChild = new AddSectionButton("Add child") {
+			@Override
+			public Section createSection() {
+				return new Section("Child").add(new StringTextField("Child name")).add(new IntegerTextField("Age"));
+			}
+		};
+		Form form = new Form("Family").setTemplateId("family").add(name).add(addChild);
+		form.assignIds();
+		for (String childName : Arrays.asList("Bob", "Carol")) {
+			Section child = addChild.createSection();
+			((StringTextField) child.getFormElements().get(0)).setValue(childName);
+			((IntegerTextField) child.getFormElements().get(1)).setValue(childName.length());
+			form.getMainSection().insertBefore(child, addChild);
+		}
+
+		SubmissionLog log = open(this.folder.getRoot());
+		SubmissionRecord stored = log.get(log.append(form));
+		Assert.assertEquals(5, stored.getValues().size());
+		Assert.assertEquals("Alice", stored.getValue(name.getId()));
+		Assert.assertTrue(stored.getValues().containsValue("Bob"));
+		Assert.assertTrue(stored.getValues().containsValue("Carol"));
+		Assert.assertEquals(5, ExportColumn.of(form).size());
+		log.close();
+
+		ResponseAggregator aggregator = new ResponseAggregator();
+		aggregator.add(form);
+		Section carol = (Section) form.getMainSection().getFormElements().get(3);
+		Assert.assertEquals(1, aggregator.getNumberStatistics(carol.getFormElements().get(1).getId()).getCount());
+	}
+
+	@Test
+	public void testFindAndReopen() throws IOException {
+		File directory = this.folder.getRoot();
+		SubmissionLog log = open(directory);
+		for (int i = 0; i < 100; i++) {
+			log.append(createRecord(i % 2 == 0 ? "even" : "odd", i, "Name " + i));
+		}
+		Assert.assertTrue("the submissions should span several segments", directory.list().length > 1);
+		assertFound(log);
+		log.close();
+
+		log = open(directory);
+		assertFound(log);
+		Assert.assertEquals(100, log.append(createRecord("odd", 100, "Name 100")));
+		Assert.assertEquals(Arrays.asList("even", "odd"), Arrays.asList(log.getFormIds().toArray()));
+		log.close();
+	}
+
+	private void assertFound(final SubmissionLog log) {
+		List<SubmissionRecord> records = log.find("even", 10, 20);
+		Assert.assertEquals(5, records.size());
+		for (int i = 0; i < records.size(); i++) {
+			Assert.assertEquals(10 + 2 * i, records.get(i).getTimestamp());
+			Assert.assertEquals("Name " + (10 + 2 * i), records.get(i).getValue("1"));
+		}
+		Assert.assertTrue(log.find("unknown", 0, Long.MAX_VALUE).isEmpty());
+	}
+
+	@Test
+	public void testDeleteAndCompact() throws IOException {
+		File directory = this.folder.getRoot();
+		SubmissionLog log = open(directory);
+		for (int i = 0; i < 100; i++) {
+			log.append(createRecord("survey", i, "Name " + i));
+		}
+		Assert.assertEquals(50, log.deleteBefore("survey", 50));
+		Assert.assertTrue(log.delete(99));
+		Assert.assertFalse(log.delete(99));
+		Assert.assertNull(log.get(10));
+		int segments = directory.list().length;
+
+		log.compact();
+		Assert.assertTrue("empty segments should be deleted", directory.list().length < segments);
+		Assert.assertEquals(49, log.find("survey", 0, Long.MAX_VALUE).size());
+		Assert.assertEquals("Name 50", log.get(50).getValue("1"));
+		log.close();
+
+		log = open(directory);
+		Assert.assertEquals(49, log.find("survey", 0, Long.MAX_VALUE).size());
+		Assert.assertNull(log.get(10));
+		Assert.assertNull(log.get(99));
+		Assert.assertEquals(151, log.append(createRecord("survey", 100, "Name 100")));
+		log.close();
+	}
+
+}
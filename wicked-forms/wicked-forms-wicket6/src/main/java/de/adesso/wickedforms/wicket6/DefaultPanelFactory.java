@@ -17,19 +17,23 @@ package de.adesso.wickedforms.wicket6;
 import de.adesso.wickedforms.model.Section;
 import de.adesso.wickedforms.model.elements.fields.Checkbox;
 import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.model.elements.fields.ChoiceMatrix;
 import de.adesso.wickedforms.model.elements.fields.DropDown;
 import de.adesso.wickedforms.model.elements.fields.RadioGroup;
 import de.adesso.wickedforms.model.elements.fields.TextArea;
 import de.adesso.wickedforms.model.elements.fields.TextField;
+import de.adesso.wickedforms.model.elements.fields.TypeaheadChoice;
 import de.adesso.wickedforms.wicket6.components.fields.AddSectionButtonPanel;
 import de.adesso.wickedforms.wicket6.components.fields.CheckboxGroupPanel;
 import de.adesso.wickedforms.wicket6.components.fields.CheckboxPanel;
+import de.adesso.wickedforms.wicket6.components.fields.ChoiceMatrixPanel;
 import de.adesso.wickedforms.wicket6.components.fields.DropDownPanel;
 import de.adesso.wickedforms.wicket6.components.fields.RadioGroupPanel;
 import de.adesso.wickedforms.wicket6.components.fields.SectionPanel;
 import de.adesso.wickedforms.wicket6.components.fields.TextAreaPanel;
 import de.adesso.wickedforms.wicket6.components.fields.TextElementPanel;
 import de.adesso.wickedforms.wicket6.components.fields.TextFieldPanel;
+import de.adesso.wickedforms.wicket6.components.fields.TypeaheadPanel;
 import org.apache.wicket.markup.html.panel.Panel;
 import de.adesso.wickedforms.model.elements.AbstractFormElement;
 import de.adesso.wickedforms.model.elements.FormElementType;
@@ -75,6 +79,10 @@ public class DefaultPanelFactory implements PanelFactory {
 		return new CheckboxPanel(wicketId, model);
 	}
 
+	private <T> ChoiceMatrixPanel<T> createChoiceMatrixPanel(final String wicketId, final ChoiceMatrix<T> model) {
+		return new ChoiceMatrixPanel<T>(wicketId, model);
+	}
+
 	private <T> DropDownPanel<T> createDropDownPanel(final String wicketId, final DropDown<T> model) {
 		return new DropDownPanel<T>(wicketId, model);
 	}
@@ -108,6 +116,10 @@ public class DefaultPanelFactory implements PanelFactory {
 			return createSectionPanel(wicketId, (Section) element);
 		case ADDSECTIONBUTTON:
 			return createAddSectionButtonPanel(wicketId, (AddSectionButton) element);
+		case TYPEAHEAD:
+			return createTypeaheadPanel(wicketId, (TypeaheadChoice) element);
+		case CHOICEMATRIX:
+			return createChoiceMatrixPanel(wicketId, (ChoiceMatrix) element);
 		default:
 			throw new IllegalArgumentException("Unknown Wicked Forms element: " + elementType);
 		}
@@ -138,4 +150,8 @@ public class DefaultPanelFactory implements PanelFactory {
 		return new TextFieldPanel<T>(wicketId, model, model.getModelClass());
 	}
 
+	private <T> TypeaheadPanel<T> createTypeaheadPanel(final String wicketId, final TypeaheadChoice<T> model) {
+		return new TypeaheadPanel<T>(wicketId, model);
+	}
+
 }
@@ -0,0 +1,88 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.submission.FormSnapshot;
+import de.adesso.wickedforms.model.submission.SubmissionPipeline;
+import de.adesso.wickedforms.wicket6.PanelFactory;
+import org.apache.wicket.model.IModel;
+
+/**
+ * A {@link FormPanel} whose submissions are processed asynchronously by a
+ * {@link SubmissionPipeline}. On submit, a {@link FormSnapshot} of the form is
+ * enqueued and the request thread returns immediately, so that the user can
+ * be shown that the submission has been accepted, e.g. by calling
+ * {@link #setResponsePage(Class)} in {@link #onAccepted(FormSnapshot)}.
+ * <p/>
+ * The pipeline is not serializable and should thus be held by the
+ * application rather than by the panel, see {@link #getPipeline()}.
+ */
+public abstract class AsyncFormPanel extends FormPanel {
+
+	public AsyncFormPanel(final String id, final IModel<Form> model) {
+		super(id, model);
+	}
+
+	public AsyncFormPanel(final String id, final IModel<Form> model, final PanelFactory panelFactory) {
+		super(id, model, panelFactory);
+	}
+
+	/**
+	 * Enqueues a snapshot of the submitted form into the pipeline. Elements
+	 * that have been added to the form without an id are given one first.
+	 */
+	@Override
+	public final void onSubmit(final Form submittedData) {
+		submittedData.assignIds();
+		FormSnapshot snapshot = FormSnapshot.of(submittedData);
+		if (getPipeline().submit(snapshot)) {
+			onAccepted(snapshot);
+		} else {
+			onRejected(submittedData);
+		}
+	}
+
+	/**
+	 * Returns the pipeline that processes the submissions, which is usually
+	 * created once per application.
+	 */
+	protected abstract SubmissionPipeline getPipeline();
+
+	/**
+	 * Executed when the submission has been accepted by the pipeline. It will
+	 * be processed later on another thread.
+	 *
+	 * @param snapshot
+	 *            the values of the submitted form.
+	 */
+	protected abstract void onAccepted(final FormSnapshot snapshot);
+
+	/**
+	 * Executed when the submission has been rejected because the queue of the
+	 * pipeline is full. By default, an error message is shown above the form,
+	 * so that the user can submit it again later. The draft and the saved
+	 * state of the form are only discarded if no error has been reported on
+	 * the form, so an overriding implementation should report an error as
+	 * well.
+	 *
+	 * @param submittedData
+	 *            the submitted form.
+	 */
+	protected void onRejected(final Form submittedData) {
+		get("form").error(getString("submissionRejected"));
+	}
+
+}
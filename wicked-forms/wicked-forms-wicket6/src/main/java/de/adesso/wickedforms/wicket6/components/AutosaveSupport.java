@@ -0,0 +1,158 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.draft.DraftAutosaver;
+import de.adesso.wickedforms.wicket6.WickedFormsInitializer;
+import de.adesso.wickedforms.wicket6.components.fields.AbstractFormElementPanel;
+import org.apache.wicket.Component;
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.ajax.form.AjaxFormChoiceComponentUpdatingBehavior;
+import org.apache.wicket.ajax.form.AjaxFormComponentUpdatingBehavior;
+import org.apache.wicket.markup.html.form.CheckBoxMultipleChoice;
+import org.apache.wicket.markup.html.form.CheckGroup;
+import org.apache.wicket.markup.html.form.FormComponent;
+import org.apache.wicket.markup.html.form.RadioChoice;
+import org.apache.wicket.markup.html.form.RadioGroup;
+
+/**
+ * Saves the input of the fields of a form to its draft while the user fills
+ * in the form. Autosave is enabled for all forms with a draft id (see
+ * {@link Form#setDraftId(String)}) as soon as a {@link DraftAutosaver} has
+ * been registered with
+ * {@link WickedFormsInitializer#setDraftAutosaver(org.apache.wicket.Application, DraftAutosaver)}.
+ * <p/>
+ * Each input field of such a form gets a lightweight behavior that sends only
+ * the input of the field itself when it changes. Fields of other forms get no
+ * behavior at all. The input is converted and validated, but not written to
+ * the model, so that bindings are not updated before the form is submitted.
+ * Inputs that are sent for form actions are recorded as well.
+ */
+public final class AutosaveSupport {
+
+	private AutosaveSupport() {
+	}
+
+	/**
+	 * Adds the behavior that records the input of the given component whenever
+	 * it changes, if autosave is enabled for the form of the component. Must
+	 * be called when the component has been added to its {@link FormPanel},
+	 * e.g. in {@link Component#onInitialize()}.
+	 */
+	public static void addTo(final FormComponent<?> component) {
+		if (!isEnabled(component)) {
+			return;
+		}
+		if (component instanceof RadioChoice || component instanceof CheckBoxMultipleChoice
+				|| component instanceof RadioGroup || component instanceof CheckGroup) {
+			component.add(new ChoiceAutosaveBehavior());
+		} else {
+			component.add(new AutosaveBehavior());
+		}
+	}
+
+	/**
+	 * Records the input of a field in the draft of the form containing the
+	 * given component. Does nothing if autosave is not enabled for this form.
+	 *
+	 * @param component
+	 *            a component within a {@link FormPanel}.
+	 * @param elementId
+	 *            the id of the input field.
+	 * @param value
+	 *            the converted input of the field.
+	 */
+	public static void record(final Component component, final String elementId, final Object value) {
+		String draftId = getDraftId(component);
+		DraftAutosaver autosaver = WickedFormsInitializer.getDraftAutosaver(component.getApplication());
+		if (draftId != null && autosaver != null) {
+			autosaver.record(draftId, elementId, value);
+		}
+	}
+
+	/**
+	 * Deletes the draft of the given form, which has just been submitted
+	 * without errors.
+	 */
+	static void discard(final Component component, final Form form) {
+		DraftAutosaver autosaver = WickedFormsInitializer.getDraftAutosaver(component.getApplication());
+		if (form.getDraftId() != null && autosaver != null) {
+			autosaver.discard(form.getDraftId());
+		}
+	}
+
+	static boolean isEnabled(final Component component) {
+		return getDraftId(component) != null
+				&& WickedFormsInitializer.getDraftAutosaver(component.getApplication()) != null;
+	}
+
+	private static String getDraftId(final Component component) {
+		FormPanel formPanel = component instanceof FormPanel ? (FormPanel) component : component
+				.findParent(FormPanel.class);
+		return formPanel == null ? null : formPanel.getWickedFormModel().getDraftId();
+	}
+
+	private static void onUpdate(final FormComponent<?> component) {
+		String elementId = component.getMetaData(AbstractFormElementPanel.COMPONENT_ID_KEY);
+		if (elementId != null) {
+			record(component, elementId, component.getConvertedInput());
+		}
+	}
+
+	private static class AutosaveBehavior extends AjaxFormComponentUpdatingBehavior {
+
+		AutosaveBehavior() {
+			super("change");
+		}
+
+		@Override
+		protected boolean getUpdateModel() {
+			return false;
+		}
+
+		@Override
+		protected void onUpdate(final AjaxRequestTarget target) {
+			AutosaveSupport.onUpdate(getFormComponent());
+		}
+
+		@Override
+		protected void onError(final AjaxRequestTarget target, final RuntimeException e) {
+			// invalid input is not saved and reported when the form is submitted
+			getFormComponent().getFeedbackMessages().clear();
+		}
+
+	}
+
+	private static class ChoiceAutosaveBehavior extends AjaxFormChoiceComponentUpdatingBehavior {
+
+		@Override
+		protected boolean getUpdateModel() {
+			return false;
+		}
+
+		@Override
+		protected void onUpdate(final AjaxRequestTarget target) {
+			AutosaveSupport.onUpdate(getFormComponent());
+		}
+
+		@Override
+		protected void onError(final AjaxRequestTarget target, final RuntimeException e) {
+			getFormComponent().getFeedbackMessages().clear();
+		}
+
+	}
+
+}
@@ -51,6 +51,12 @@ public class DynamicForm extends org.apache.wicket.markup.html.form.Form {
 	@Override
 	protected void onSubmit() {
 		this.submittable.onSubmit((Form) getModelObject());
+		if (!hasError()) {
+			// the draft and the state are kept if the submission has been
+			// rejected, so that the user can submit the form again
+			AutosaveSupport.discard(this, (Form) getModelObject());
+			FormStateSupport.remove(this, (Form) getModelObject());
+		}
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.feedback.FeedbackMessage;
+import org.apache.wicket.markup.ComponentTag;
+import org.apache.wicket.markup.MarkupStream;
+import org.apache.wicket.markup.html.WebComponent;
+import org.apache.wicket.markup.html.panel.ComponentFeedbackPanel;
+import org.apache.wicket.util.string.AppendingStringBuffer;
+
+/**
+ * Displays the feedback messages of a single form component. In contrast to a
+ * {@link ComponentFeedbackPanel}, this is a single component without any
+ * children, and the list of messages is only written if the form component
+ * actually has messages. The markup of the messages is the same as that of a
+ * {@link ComponentFeedbackPanel}, so that existing stylesheets still apply.
+ */
+public class FieldFeedbackLabel extends WebComponent {
+
+	private final Component reporter;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param id
+	 *            the wicket id.
+	 * @param reporter
+	 *            the component whose messages are displayed.
+	 */
+	public FieldFeedbackLabel(final String id, final Component reporter) {
+		super(id);
+		this.reporter = reporter;
+	}
+
+	public Component getReporter() {
+		return this.reporter;
+	}
+
+	@Override
+	public void onComponentTagBody(final MarkupStream markupStream, final ComponentTag openTag) {
+		if (!this.reporter.hasFeedbackMessage()) {
+			replaceComponentTagBody(markupStream, openTag, "");
+			return;
+		}
+		AppendingStringBuffer buffer = new AppendingStringBuffer(128);
+		appendMessages(buffer, this.reporter);
+		replaceComponentTagBody(markupStream, openTag, buffer);
+	}
+
+	/**
+	 * Appends the list of feedback messages of the given component to the
+	 * buffer and marks the messages as rendered. Nothing is appended if the
+	 * component has no messages.
+	 */
+	public static void appendMessages(final AppendingStringBuffer buffer, final Component reporter) {
+		if (!reporter.hasFeedbackMessage()) {
+			return;
+		}
+		buffer.append("<ul class=\"feedbackPanel\">");
+		for (FeedbackMessage message : reporter.getFeedbackMessages()) {
+			String cssClass = "feedbackPanel" + message.getLevelAsString();
+			buffer.append("<li class=\"").append(cssClass).append("\"><span class=\"").append(cssClass).append("\">");
+			ChoiceMarkup.appendEscaped(buffer, String.valueOf(message.getMessage()));
+			buffer.append("</span></li>");
+			message.markRendered();
+		}
+		buffer.append("</ul>");
+	}
+
+}
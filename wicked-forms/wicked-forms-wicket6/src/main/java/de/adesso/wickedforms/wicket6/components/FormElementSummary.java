@@ -0,0 +1,210 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components;
+
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractBoundField;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.Text;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.elements.fields.Checkbox;
+import de.adesso.wickedforms.model.elements.fields.ChoiceCatalog;
+import de.adesso.wickedforms.model.elements.fields.ChoiceLabeller;
+import de.adesso.wickedforms.model.elements.fields.ChoiceMatrix;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSource;
+import de.adesso.wickedforms.model.elements.fields.TypeaheadChoice;
+import org.apache.wicket.markup.ComponentTag;
+import org.apache.wicket.markup.MarkupStream;
+import org.apache.wicket.markup.html.WebComponent;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.request.Response;
+import org.apache.wicket.util.convert.IConverter;
+import org.apache.wicket.util.string.Strings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-only view of a single form element, used by {@link FormSummaryPanel}.
+ * The markup of the element is written directly into the response in
+ * {@link #onComponentTagBody(MarkupStream, ComponentTag)}. If the element is a
+ * {@link Section}, all nested elements are rendered as part of the same
+ * component, so that no child components are needed.
+ * <p/>
+ * Invisible and discarded elements as well as {@link AddSectionButton}s are
+ * not rendered. Override {@link #renderElement(AbstractFormElement, Response)}
+ * to support custom form elements.
+ */
+public class FormElementSummary extends WebComponent {
+
+	private static final Comparator<AbstractFormElement> BY_INDEX = new Comparator<AbstractFormElement>() {
+		@Override
+		public int compare(final AbstractFormElement o1, final AbstractFormElement o2) {
+			return o1.getIndex().compareTo(o2.getIndex());
+		}
+	};
+
+	public FormElementSummary(final String id, final AbstractFormElement element) {
+		super(id, Model.of(element));
+	}
+
+	@Override
+	protected void onConfigure() {
+		super.onConfigure();
+		AbstractFormElement element = getElement();
+		setVisible(element.isVisible() && !element.isDiscarded() && !(element instanceof AddSectionButton));
+	}
+
+	@Override
+	public void onComponentTagBody(final MarkupStream markupStream, final ComponentTag openTag) {
+		renderElement(getElement(), getResponse());
+		markupStream.skipRawMarkup();
+	}
+
+	/**
+	 * Writes the markup of a form element into the response.
+	 */
+	protected void renderElement(final AbstractFormElement element, final Response response) {
+		if (element instanceof Section) {
+			renderSection((Section) element, response);
+		} else if (element instanceof Text) {
+			response.write("<span>");
+			response.write(escape(((Text) element).getValue()));
+			response.write("</span>");
+		} else if (element instanceof AbstractInputField) {
+			AbstractInputField<?> field = (AbstractInputField<?>) element;
+			response.write("<label>");
+			response.write(escape(field.getLabel()));
+			response.write("</label><span class=\"value\">");
+			response.write(escape(formatValue(field)));
+			response.write("</span>");
+		} else if (element instanceof AbstractBoundField) {
+			response.write("<span>");
+			response.write(escape(format(((AbstractBoundField<?>) element).getValue())));
+			response.write("</span>");
+		}
+	}
+
+	private void renderSection(final Section section, final Response response) {
+		if (!section.isHidden()) {
+			response.write("<fieldset><legend>");
+			response.write(escape(section.getTitle()));
+			response.write("</legend>");
+		}
+		response.write("<ul>");
+		for (AbstractFormElement element : sortedByIndex(section.getFormElements())) {
+			if (element.isVisible() && !element.isDiscarded() && !(element instanceof AddSectionButton)) {
+				response.write("<li>");
+				renderElement(element, response);
+				response.write("</li>");
+			}
+		}
+		response.write("</ul>");
+		if (!section.isHidden()) {
+			response.write("</fieldset>");
+		}
+	}
+
+	/**
+	 * Formats the value of an input field for display. Choices are formatted
+	 * with the {@link ChoiceSource}, {@link ChoiceLabeller} or
+	 * {@link ChoiceCatalog} of the field, all other values with the converter
+	 * registered in the application.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected String formatValue(final AbstractInputField<?> field) {
+		Object value = field.getValue();
+		if (value == null) {
+			return null;
+		}
+		if (field instanceof Checkbox) {
+			LocalizedString key = Boolean.TRUE.equals(value) ? LocalizedString.SUMMARY_YES : LocalizedString.SUMMARY_NO;
+			return getString(key.getResourceKey());
+		} else if (field instanceof AbstractSingleChoice) {
+			AbstractSingleChoice choice = (AbstractSingleChoice) field;
+			if (choice.getChoiceSource() != null) {
+				return choice.getChoiceSource().getLabel(value, getLocale());
+			}
+			return choice.getChoiceLabeller().getLabel(value);
+		} else if (field instanceof TypeaheadChoice) {
+			ChoiceCatalog catalog = ((TypeaheadChoice<?>) field).getChoiceCatalog();
+			return catalog.getLabel(catalog.getId(value));
+		} else if (field instanceof AbstractMultiChoice) {
+			AbstractMultiChoice multiChoice = (AbstractMultiChoice) field;
+			ChoiceSource source = multiChoice.getChoiceSource();
+			ChoiceLabeller labeller = multiChoice.getChoiceLabeller();
+			StringBuilder labels = new StringBuilder();
+			for (Object choice : (List<?>) value) {
+				if (labels.length() > 0) {
+					labels.append(", ");
+				}
+				labels.append(source != null ? source.getLabel(choice, getLocale()) : labeller.getLabel(choice));
+			}
+			return labels.toString();
+		} else if (field instanceof ChoiceMatrix) {
+			ChoiceMatrix matrix = (ChoiceMatrix) field;
+			StringBuilder answers = new StringBuilder();
+			for (int i = 0; i < matrix.getRows().size(); i++) {
+				Object answer = matrix.getAnswer(i);
+				if (answer != null) {
+					if (answers.length() > 0) {
+						answers.append(", ");
+					}
+					answers.append(matrix.getRows().get(i)).append(": ").append(matrix.getChoiceLabeller().getLabel(answer));
+				}
+			}
+			return answers.toString();
+		}
+		return format(value);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private String format(final Object value) {
+		if (value == null) {
+			return null;
+		}
+		IConverter converter = getConverter(value.getClass());
+		return converter.convertToString(value, getLocale());
+	}
+
+	private CharSequence escape(final String text) {
+		return text == null ? "" : Strings.escapeMarkup(text);
+	}
+
+	/**
+	 * Returns the elements sorted by {@link AbstractFormElement#getIndex()}.
+	 * The list itself is returned if it is sorted already.
+	 */
+	static List<AbstractFormElement> sortedByIndex(final List<AbstractFormElement> elements) {
+		for (int i = 1; i < elements.size(); i++) {
+			if (elements.get(i - 1).getIndex() > elements.get(i).getIndex()) {
+				List<AbstractFormElement> sorted = new ArrayList<AbstractFormElement>(elements);
+				Collections.sort(sorted, BY_INDEX);
+				return sorted;
+			}
+		}
+		return elements;
+	}
+
+	public AbstractFormElement getElement() {
+		return (AbstractFormElement) getDefaultModelObject();
+	}
+
+}
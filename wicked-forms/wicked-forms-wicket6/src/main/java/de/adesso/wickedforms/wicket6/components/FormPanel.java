@@ -20,11 +20,11 @@ import org.apache.wicket.markup.head.IHeaderResponse;
 import org.apache.wicket.markup.html.panel.Panel;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
-import org.apache.wicket.protocol.http.WebApplication;
-import org.apache.wicket.request.resource.PackageResourceReference;
 import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.state.FormState;
 import de.adesso.wickedforms.wicket6.DefaultPanelFactory;
 import de.adesso.wickedforms.wicket6.PanelFactory;
+import de.adesso.wickedforms.wicket6.WickedFormsInitializer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +33,13 @@ public abstract class FormPanel extends Panel implements Submittable {
 
 	private final PanelFactory panelFactory;
 
+	/**
+	 * The state last saved to the {@link de.adesso.wickedforms.model.state.FormStateStore}.
+	 */
+	private transient FormState savedState;
+
+	private boolean submitted;
+
 	/**
 	 * Constructor.
 	 * 
@@ -44,18 +51,18 @@ public abstract class FormPanel extends Panel implements Submittable {
 	public FormPanel(final String id, final IModel<Form> model) {
 		super(id, model);
 		model.getObject().assignIds();
+		this.savedState = FormStateSupport.restore(this, model.getObject());
 		this.panelFactory = new DefaultPanelFactory();
 		add(new DynamicForm("form", model, panelFactory, this));
-		mountResources();
 	}
 
 	@SuppressWarnings("unchecked")
 	public FormPanel(final String id, final Form form) {
 		super(id, Model.of(form));
 		form.assignIds();
+		this.savedState = FormStateSupport.restore(this, form);
 		this.panelFactory = new DefaultPanelFactory();
 		add(new DynamicForm("form", (IModel<Form>) getDefaultModel(), panelFactory, this));
-		mountResources();
 	}
 
 	/**
@@ -77,9 +84,9 @@ public abstract class FormPanel extends Panel implements Submittable {
 			final PanelFactory panelFactory) {
 		super(id, model);
 		model.getObject().assignIds();
+		this.savedState = FormStateSupport.restore(this, model.getObject());
 		this.panelFactory = panelFactory;
 		add(new DynamicForm("form", model, panelFactory, this));
-		mountResources();
 	}
 
 	/**
@@ -91,23 +98,10 @@ public abstract class FormPanel extends Panel implements Submittable {
 	 */
 	protected List<HeaderItem> getHeaderItems() {
 		List<HeaderItem> headerItems = new ArrayList<HeaderItem>();
-		headerItems.add(CssHeaderItem
-				.forReference(new PackageResourceReference(FormPanel.class,
-						"FormPanel.css")));
+		headerItems.add(CssHeaderItem.forReference(WickedFormsInitializer.getStylesheet(getApplication())));
 		return headerItems;
 	}
 
-	private void mountResources() {
-		WebApplication application = ((WebApplication) getApplication());
-		application.mountResource("wickedforms/invalid.png",
-				new PackageResourceReference(FormPanel.class, "invalid.png"));
-		application.mountResource("wickedforms/red_asterisk.png",
-				new PackageResourceReference(FormPanel.class,
-						"red_asterisk.png"));
-		application.mountResource("wickedforms/valid.png",
-				new PackageResourceReference(FormPanel.class, "valid.png"));
-	}
-
 	/**
 	 * Executed when the form is submitted.
 	 * 
@@ -139,4 +133,20 @@ public abstract class FormPanel extends Panel implements Submittable {
 		return (Form) getDefaultModelObject();
 	}
 
+	/**
+	 * Marks the form as submitted, so that its state is not saved anymore.
+	 */
+	void onSubmitted() {
+		this.submitted = true;
+		this.savedState = null;
+	}
+
+	@Override
+	protected void onDetach() {
+		if (!this.submitted) {
+			this.savedState = FormStateSupport.save(this, getWickedFormModel(), this.savedState);
+		}
+		super.onDetach();
+	}
+
 }
@@ -0,0 +1,108 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.wicket6.WickedFormsInitializer;
+import org.apache.wicket.Component;
+import org.apache.wicket.markup.head.CssHeaderItem;
+import org.apache.wicket.markup.head.HeaderItem;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.html.panel.Panel;
+import org.apache.wicket.markup.repeater.RepeatingView;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.model.Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Displays the values of a {@link Form} read-only, for example to let the
+ * user review or print their answers after submitting the form.
+ * <p/>
+ * Other than the {@link FormPanel}, this panel does not create any form
+ * components, validators or behaviors. Each top-level element of the form
+ * (usually a {@link de.adesso.wickedforms.model.Section}) is rendered by a
+ * single {@link FormElementSummary} component that streams the markup of the
+ * element and all its nested elements directly into the response. Rendering
+ * a summary is thus much cheaper than rendering the interactive form.
+ */
+public class FormSummaryPanel extends Panel {
+
+	/**
+	 * Constructor.
+	 *
+	 * @param id
+	 *            the wicket id this panel should bind to.
+	 * @param model
+	 *            the form model whose values should be displayed.
+	 */
+	public FormSummaryPanel(final String id, final IModel<Form> model) {
+		super(id, model);
+		Form form = model.getObject();
+		add(new Label("formTitle", form.getLabel()));
+		RepeatingView elements = new RepeatingView("elements");
+		for (AbstractFormElement element : FormElementSummary.sortedByIndex(form.getMainSection().getFormElements())) {
+			elements.add(newElementSummary(elements.newChildId(), element));
+		}
+		add(elements);
+	}
+
+	public FormSummaryPanel(final String id, final Form formModel) {
+		this(id, Model.of(formModel));
+	}
+
+	/**
+	 * Creates the component that displays a top-level element of the form.
+	 * Override this method to provide your own summary component, for example
+	 * to support custom form elements.
+	 *
+	 * @param id
+	 *            the wicket id of the component.
+	 * @param element
+	 *            the top-level element to display.
+	 * @return the component displaying the element.
+	 */
+	protected Component newElementSummary(final String id, final AbstractFormElement element) {
+		return new FormElementSummary(id, element);
+	}
+
+	/**
+	 * Retrieves all {@link HeaderItem}s like Javascript files and CSS files
+	 * that should be included in each page that contains a
+	 * {@link FormSummaryPanel}. Override this method to provide different CSS.
+	 *
+	 * @return all {@link HeaderItem}s to add to the page.
+	 */
+	protected List<HeaderItem> getHeaderItems() {
+		List<HeaderItem> headerItems = new ArrayList<HeaderItem>();
+		headerItems.add(CssHeaderItem.forReference(WickedFormsInitializer.getStylesheet(getApplication())));
+		return headerItems;
+	}
+
+	@Override
+	public void renderHead(final IHeaderResponse response) {
+		for (HeaderItem headerItem : getHeaderItems()) {
+			response.render(headerItem);
+		}
+	}
+
+	public Form getWickedFormModel() {
+		return (Form) getDefaultModelObject();
+	}
+
+}
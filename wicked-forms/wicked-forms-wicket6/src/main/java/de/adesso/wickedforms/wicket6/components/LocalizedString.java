@@ -16,7 +16,11 @@ package de.adesso.wickedforms.wicket6.components;
 
 public enum LocalizedString {
 
-	REMOVE_BUTTON_LABEL("removeButton.label");
+	REMOVE_BUTTON_LABEL("removeButton.label"),
+
+	SUMMARY_YES("summary.yes"),
+
+	SUMMARY_NO("summary.no");
 
 	private final String resourceKey;
 
@@ -15,6 +15,8 @@
 package de.adesso.wickedforms.wicket6.components;
 
 import de.adesso.wickedforms.model.elements.fields.ChoiceLabeller;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSource;
+import org.apache.wicket.Component;
 import org.apache.wicket.markup.html.form.ChoiceRenderer;
 import org.apache.wicket.markup.html.form.IChoiceRenderer;
 
@@ -32,18 +34,53 @@ public class WickedFormsChoiceRenderer {
 	 *         {@link ChoiceLabeller}
 	 */
 	public static <T> IChoiceRenderer<T> fromChoiceLabeller(final ChoiceLabeller<T> labeller) {
-		return new ChoiceRenderer<T>() {
+		return new IndexChoiceRenderer<T>() {
 
 			@Override
 			public Object getDisplayValue(final T object) {
 				return labeller.getLabel(object);
 			}
+		};
+	}
+
+	/**
+	 * Creates a Wicket {@link IChoiceRenderer} that displays the memoized
+	 * labels of a Wicked Forms {@link ChoiceSource}.
+	 * 
+	 * @param <T>
+	 *          the type of choice
+	 * @param source
+	 *          the Wicked Forms {@link ChoiceSource} providing the labels
+	 * @param component
+	 *          the component whose locale is used to look up the labels
+	 * @return a Wicket {@link IChoiceRenderer} that displays the labels of the
+	 *         given {@link ChoiceSource}
+	 */
+	public static <T> IChoiceRenderer<T> fromChoiceSource(final ChoiceSource<T> source, final Component component) {
+		return new IndexChoiceRenderer<T>() {
 
 			@Override
-			public String getIdValue(final T object, final int index) {
-				return String.valueOf(index);
+			public Object getDisplayValue(final T object) {
+				return source.getLabel(object, component.getLocale());
 			}
 		};
 	}
 
+	/**
+	 * Renderer that uses the index of a choice as its ID. Components may rely
+	 * on this to find the selected choice without asking the renderer for the
+	 * ID of each choice.
+	 * 
+	 * @param <T>
+	 *          the type of choice
+	 */
+	public abstract static class IndexChoiceRenderer<T> extends ChoiceRenderer<T> {
+
+		@Override
+		public final String getIdValue(final T object, final int index) {
+			return ChoiceMarkup.getIndexId(index);
+		}
+
+	}
+
 }
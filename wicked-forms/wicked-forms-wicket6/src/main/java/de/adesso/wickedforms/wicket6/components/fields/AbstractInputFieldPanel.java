@@ -22,13 +22,16 @@ import org.apache.wicket.markup.html.basic.Label;
 import org.apache.wicket.markup.html.form.AbstractSingleSelectChoice;
 import org.apache.wicket.markup.html.form.Form;
 import org.apache.wicket.markup.html.form.FormComponent;
-import org.apache.wicket.markup.html.panel.ComponentFeedbackPanel;
 import org.apache.wicket.util.convert.IConverter;
 import org.apache.wicket.util.visit.IVisit;
 import org.apache.wicket.util.visit.IVisitor;
 import de.adesso.wickedforms.model.actions.FormAction;
 import de.adesso.wickedforms.model.elements.AbstractFormElement;
 import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.metrics.Metrics;
+import de.adesso.wickedforms.model.metrics.Operation;
+import de.adesso.wickedforms.wicket6.components.AutosaveSupport;
+import de.adesso.wickedforms.wicket6.components.FieldFeedbackLabel;
 import de.adesso.wickedforms.wicket6.validators.WickedFieldValidator;
 import de.adesso.wickedforms.wicket6.validators.WickedRequiredValidator;
 
@@ -38,6 +41,8 @@ public abstract class AbstractInputFieldPanel<T> extends AbstractFormElementPane
 
 	private final Label label;
 
+	private FormComponent<?> autosaveComponent;
+
 	public AbstractInputFieldPanel(final String id, final AbstractInputField<T> model) {
 		super(id, model);
 
@@ -55,10 +60,21 @@ public abstract class AbstractInputFieldPanel<T> extends AbstractFormElementPane
 		if (field.isRequired()) {
 			WickedRequiredValidator<T> requiredValidator = new WickedRequiredValidator<T>(field);
 			component.add(requiredValidator);
-			component.add(new AttributeModifier("required", "true"));
+			if (hasRequiredAttribute()) {
+				component.add(new AttributeModifier("required", "true"));
+			}
 		}
 	}
 
+	/**
+	 * Whether the input field of a required field gets the HTML
+	 * <code>required</code> attribute. Panels whose input field is not attached
+	 * to an input tag return false.
+	 */
+	protected boolean hasRequiredAttribute() {
+		return true;
+	}
+
 	private void connectLabelAndInputField(final FormComponent<T> component, final Label label) {
 		component.setOutputMarkupId(true);
 		label.add(new AttributeModifier("for", component.getMarkupId()));
@@ -72,10 +88,19 @@ public abstract class AbstractInputFieldPanel<T> extends AbstractFormElementPane
 		AbstractInputField<T> model = (AbstractInputField<T>) this.getWickedFormModel();
 		this.addRequiredIfNeccessary(formComponent, model);
 		this.connectLabelAndInputField(formComponent, this.label);
-		formComponent.add(new WickedFieldValidator<T>(model));
+		formComponent.add(new WickedFieldValidator<T>(model, this));
 		formComponent.setEnabled(model.isEnabled());
-		this.add(new ComponentFeedbackPanel("feedback", component));
+		this.add(new FieldFeedbackLabel("feedback", component));
 		this.addActions((FormComponent) component);
+		this.autosaveComponent = formComponent;
+	}
+
+	@Override
+	protected void onInitialize() {
+		super.onInitialize();
+		if (this.autosaveComponent != null) {
+			AutosaveSupport.addTo(this.autosaveComponent);
+		}
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
@@ -86,7 +111,12 @@ public abstract class AbstractInputFieldPanel<T> extends AbstractFormElementPane
 				@Override
 				protected void onSubmit(AjaxRequestTarget target) {
 					AbstractInputFieldPanel.this.updateUserInput(this.getForm(), action.getTriggerInputFields());
+					long start = Metrics.start();
 					List<AbstractFormElement> changedModels = action.execute();
+					if (start != Metrics.DISABLED) {
+						Metrics.stop(Operation.EXECUTE_ACTION, action.getClass(),
+								AbstractInputFieldPanel.this.getMetricsFormId(), start);
+					}
 					AbstractInputFieldPanel.this.rerenderComponents(target, this.getForm(), changedModels);
 				}
 			};
@@ -146,6 +176,7 @@ public abstract class AbstractInputFieldPanel<T> extends AbstractFormElementPane
 							Object convertedInput = converter.convertToObject(component.getInput(),
 									AbstractInputFieldPanel.this.getLocale());
 							model.setUserInput(convertedInput);
+							AutosaveSupport.record(component, model.getId(), convertedInput);
 						} else {
 							throw new RuntimeException(
 									String.format(
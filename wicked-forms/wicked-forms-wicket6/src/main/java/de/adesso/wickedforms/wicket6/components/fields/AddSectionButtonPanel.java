@@ -15,12 +15,15 @@
 package de.adesso.wickedforms.wicket6.components.fields;
 
 import org.apache.wicket.AttributeModifier;
+import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.markup.html.form.AjaxSubmitLink;
 import org.apache.wicket.markup.html.form.AbstractSubmitLink;
 import org.apache.wicket.markup.html.form.Form;
 import de.adesso.wickedforms.model.Section;
 import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.metrics.Metrics;
+import de.adesso.wickedforms.model.metrics.Operation;
 import de.adesso.wickedforms.wicket6.PanelFactory;
 
 public class AddSectionButtonPanel extends AbstractFormElementPanel {
@@ -67,8 +70,10 @@ public class AddSectionButtonPanel extends AbstractFormElementPanel {
 		AjaxSubmitLink button = new AjaxSubmitLink(wicketId) {
 			@Override
 			protected void onSubmit(AjaxRequestTarget target, Form<?> form) {
-				addNewSection(buttonModel);
-				target.add(getParentSectionPanel());
+				Section newSection = addNewSection(buttonModel);
+				if (newSection != null) {
+					renderNewSection(target, newSection, getMarkupId());
+				}
 			}
 		};
 		return button;
@@ -76,13 +81,41 @@ public class AddSectionButtonPanel extends AbstractFormElementPanel {
 
 	/**
 	 * Adds the section defined by the {@link AddSectionButton} to the
-	 * {@link FormModel}.
+	 * {@link FormModel} and assigns ids to its elements.
+	 * 
+	 * @return the new section or null if no section was created.
 	 */
-	private void addNewSection(final AddSectionButton buttonModel) {
-		Section parentSection = getParentSectionModel();
-		Section sectionToAdd = buttonModel.createSection();
+	private Section addNewSection(final AddSectionButton buttonModel) {
+		long start = Metrics.start();
+		Section sectionToAdd = buttonModel.addSection();
+		if (start != Metrics.DISABLED) {
+			Metrics.stop(Operation.CREATE_SECTION, buttonModel.getClass(), getMetricsFormId(), start);
+		}
 		if (sectionToAdd != null) {
-			parentSection.insertBefore(sectionToAdd, buttonModel);
+			// the new elements need ids for their state, snapshots and markup
+			// caching, ids of existing elements are kept
+			getParentFormModel().assignIds();
+		}
+		return sectionToAdd;
+	}
+
+	/**
+	 * Renders only the new section and inserts it into the DOM before the
+	 * list item of this button. If the panel created for the new section
+	 * cannot be rendered on its own, the whole parent section is re-rendered.
+	 */
+	private void renderNewSection(final AjaxRequestTarget target, final Section newSection,
+			final String buttonMarkupId) {
+		SectionPanel parentSectionPanel = getParentSectionPanel();
+		Component sectionPanel = parentSectionPanel.appendElement(newSection);
+		if (!sectionPanel.getOutputMarkupId() || sectionPanel.getRenderBodyOnly()) {
+			target.add(parentSectionPanel);
+			return;
 		}
+		target.prependJavaScript(String.format(
+				"(function(){var b=document.getElementById('%s').parentNode;var li=document.createElement('li');"
+						+ "var p=document.createElement('div');p.id='%s';li.appendChild(p);b.parentNode.insertBefore(li,b);})();",
+				buttonMarkupId, sectionPanel.getMarkupId()));
+		target.add(sectionPanel);
 	}
 }
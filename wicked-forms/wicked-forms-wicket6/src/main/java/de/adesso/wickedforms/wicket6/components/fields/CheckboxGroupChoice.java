@@ -0,0 +1,128 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components.fields;
+
+import de.adesso.wickedforms.model.elements.fields.AbstractMultiChoice;
+import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
+import de.adesso.wickedforms.wicket6.components.WickedFormsChoiceRenderer;
+import org.apache.wicket.markup.html.form.CheckBoxMultipleChoice;
+import org.apache.wicket.model.PropertyModel;
+import org.apache.wicket.util.string.AppendingStringBuffer;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.StringTokenizer;
+
+/**
+ * {@link CheckBoxMultipleChoice} for a {@link CheckboxGroup} that checks the
+ * selection of each checkbox in constant time. Wicket compares each choice with
+ * every selected value, which gets slow for groups with hundreds of choices.
+ * <p/>
+ * The IDs of the choices must be their indexes, as created by the renderers of
+ * {@link WickedFormsChoiceRenderer}.
+ *
+ * @param <T>
+ *            the type of object that is each represented by one checkbox
+ */
+public class CheckboxGroupChoice<T> extends CheckBoxMultipleChoice<T> {
+
+	private transient String parsedValue;
+
+	private transient BitSet selectedIndexes;
+
+	public CheckboxGroupChoice(final String id, final CheckboxGroup<T> checkboxGroup) {
+		super(id, new PropertyModel<Collection<T>>(checkboxGroup, "value"), new IndexedChoiceList<T>(checkboxGroup));
+	}
+
+	@Override
+	protected void appendOptionHtml(final AppendingStringBuffer buffer, final T choice, final int index,
+			final String selected) {
+		// only the ID of the choice itself is passed on, so that Wicket does
+		// not need to search all selected values
+		String selectedId = getSelectedIndexes(selected).get(index) ? getChoiceRenderer().getIdValue(choice, index) : "";
+		super.appendOptionHtml(buffer, choice, index, selectedId);
+	}
+
+	/**
+	 * Parses the selected value once per rendering. The same string instance is
+	 * passed for all choices.
+	 */
+	private BitSet getSelectedIndexes(final String selected) {
+		if (this.selectedIndexes == null || selected != this.parsedValue) {
+			BitSet indexes = new BitSet();
+			if (selected != null) {
+				StringTokenizer tokenizer = new StringTokenizer(selected, VALUE_SEPARATOR);
+				while (tokenizer.hasMoreTokens()) {
+					try {
+						int index = Integer.parseInt(tokenizer.nextToken());
+						if (index >= 0) {
+							indexes.set(index);
+						}
+					} catch (NumberFormatException e) {
+						// not a choice of this group
+					}
+				}
+			}
+			this.parsedValue = selected;
+			this.selectedIndexes = indexes;
+		}
+		return this.selectedIndexes;
+	}
+
+	@Override
+	protected void onDetach() {
+		this.parsedValue = null;
+		this.selectedIndexes = null;
+		super.onDetach();
+	}
+
+	/**
+	 * The choices of a multi choice field with a constant time
+	 * {@link #indexOf(Object)}, which Wicket calls for each selected value.
+	 */
+	private static class IndexedChoiceList<T> extends AbstractList<T> implements RandomAccess, Serializable {
+
+		private final AbstractMultiChoice<T> field;
+
+		public IndexedChoiceList(final AbstractMultiChoice<T> field) {
+			this.field = field;
+		}
+
+		@Override
+		public T get(final int index) {
+			return this.field.getChoices().get(index);
+		}
+
+		@Override
+		public int size() {
+			return this.field.getChoices().size();
+		}
+
+		@Override
+		public int indexOf(final Object choice) {
+			return this.field.indexOf(choice);
+		}
+
+		@Override
+		public boolean contains(final Object choice) {
+			return this.field.indexOf(choice) != -1;
+		}
+
+	}
+
+}
@@ -0,0 +1,56 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components.fields;
+
+import de.adesso.wickedforms.model.elements.fields.ChoiceMatrix;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.model.PropertyModel;
+
+import java.util.List;
+
+/**
+ * A panel that represents a {@link ChoiceMatrix} in a form. All rows of the
+ * matrix are rendered by a single form component.
+ * <p/>
+ * <strong>Wicket IDs needed in the markup:</strong>
+ * <ul>
+ * <li><strong>label</strong>: a {@link Label} that displays the label of the
+ * matrix.
+ * <li><strong>inputField</strong>: a {@link ChoiceMatrixField} that takes the
+ * user's input. It must be attached to a <code>table</code> tag.
+ * </ul>
+ */
+public class ChoiceMatrixPanel<T> extends AbstractInputFieldPanel<List<T>> {
+
+	private final ChoiceMatrixField<T> matrix;
+
+	public ChoiceMatrixPanel(final String id, final ChoiceMatrix<T> model) {
+		super(id, model);
+
+		this.matrix = new ChoiceMatrixField<T>("inputField", new PropertyModel<List<T>>(model, "value"), model);
+		this.decorateComponent(this.matrix);
+		this.add(this.matrix);
+	}
+
+	/**
+	 * The matrix is rendered as a <code>table</code>, which does not support
+	 * the <code>required</code> attribute.
+	 */
+	@Override
+	protected boolean hasRequiredAttribute() {
+		return false;
+	}
+
+}
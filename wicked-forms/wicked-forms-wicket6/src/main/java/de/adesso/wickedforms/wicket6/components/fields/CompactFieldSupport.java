@@ -0,0 +1,123 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components.fields;
+
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.wicket6.components.ChoiceMarkup;
+import de.adesso.wickedforms.wicket6.components.FieldFeedbackLabel;
+import de.adesso.wickedforms.wicket6.validators.WickedFieldValidator;
+import de.adesso.wickedforms.wicket6.validators.WickedRequiredValidator;
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.markup.ComponentTag;
+import org.apache.wicket.markup.html.form.FormComponent;
+import org.apache.wicket.util.string.AppendingStringBuffer;
+import org.apache.wicket.validation.IValidatable;
+
+/**
+ * Shared implementation of the compact form components created by
+ * {@link de.adesso.wickedforms.wicket6.CompactPanelFactory}. A compact
+ * component writes the label, hint and feedback of its field around its own
+ * tag and validates the field itself, so that it needs no child components
+ * and no behaviors other than the one for autosave.
+ */
+final class CompactFieldSupport {
+
+	private CompactFieldSupport() {
+	}
+
+	/**
+	 * Does what {@link AbstractInputFieldPanel#decorateComponent} does with
+	 * behaviors and separate components.
+	 */
+	static void init(final FormComponent<?> component, final AbstractInputField<?> field) {
+		component.setMetaData(AbstractFormElementPanel.COMPONENT_ID_KEY, field.getId());
+		component.setOutputMarkupId(true);
+		component.setEnabled(field.isEnabled());
+	}
+
+	static void onComponentTag(final ComponentTag tag, final AbstractInputField<?> field, final String placeHolder,
+			final String pattern) {
+		if (field.isRequired()) {
+			tag.put("required", "true");
+		}
+		if (placeHolder != null && !"".equals(placeHolder)) {
+			tag.put("placeholder", placeHolder);
+		}
+		if (pattern != null) {
+			tag.put("pattern", pattern);
+		}
+	}
+
+	/**
+	 * Writes the label of the field and opens the container of the input
+	 * field. Nothing is written if only the component itself is updated via
+	 * AJAX.
+	 */
+	static void renderBefore(final FormComponent<?> component, final AbstractInputField<?> field) {
+		if (isAjaxUpdate(component)) {
+			return;
+		}
+		AppendingStringBuffer buffer = new AppendingStringBuffer(64);
+		buffer.append("<label for=\"").append(component.getMarkupId()).append("\">");
+		ChoiceMarkup.appendEscaped(buffer, field.getLabel());
+		buffer.append("</label><span class=\"fieldContainer\">");
+		component.getResponse().write(buffer);
+	}
+
+	/**
+	 * Closes the container of the input field and writes the hint of the
+	 * field and its feedback messages. Nothing is written if only the
+	 * component itself is updated via AJAX.
+	 */
+	static void renderAfter(final FormComponent<?> component, final AbstractInputField<?> field) {
+		if (isAjaxUpdate(component)) {
+			return;
+		}
+		AppendingStringBuffer buffer = new AppendingStringBuffer(64);
+		buffer.append("</span>");
+		if (field.getHint() != null && !"".equals(field.getHint())) {
+			buffer.append("<span class=\"hint\">");
+			ChoiceMarkup.appendEscaped(buffer, field.getHint());
+			buffer.append("</span>");
+		}
+		buffer.append("<span class=\"error\">");
+		FieldFeedbackLabel.appendMessages(buffer, component);
+		buffer.append("</span>");
+		component.getResponse().write(buffer);
+	}
+
+	/**
+	 * Validates the converted input of the component the same way as the
+	 * validators added by {@link AbstractInputFieldPanel}.
+	 */
+	static <T> void validate(final FormComponent<T> component, final AbstractInputField<T> field) {
+		if (!component.isValid()) {
+			return;
+		}
+		IValidatable<T> validatable = component.newValidatable();
+		if (field.isRequired()) {
+			new WickedRequiredValidator<T>(field).validate(validatable);
+		}
+		if (component.isValid() && validatable.getValue() != null) {
+			new WickedFieldValidator<T>(field, component).validate(validatable);
+		}
+	}
+
+	private static boolean isAjaxUpdate(final FormComponent<?> component) {
+		AjaxRequestTarget target = component.getRequestCycle().find(AjaxRequestTarget.class);
+		return target != null && target.getComponents().contains(component);
+	}
+
+}
@@ -0,0 +1,37 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components.fields;
+
+import de.adesso.wickedforms.model.elements.fields.TextField;
+
+/**
+ * A panel that represents a {@link TextField} in compact mode. The panel
+ * contains nothing but a {@link CompactTextField}, which renders the label,
+ * hint and feedback messages of the field itself.
+ * <p/>
+ * <strong>Wicket IDs needed in the markup:</strong>
+ * <ul>
+ * <li><strong>inputField</strong>: a {@link CompactTextField} that takes the
+ * user's input.
+ * </ul>
+ */
+public class CompactTextFieldPanel<T> extends AbstractFormElementPanel {
+
+	public CompactTextFieldPanel(final String id, final TextField<T> model) {
+		super(id, model);
+		add(new CompactTextField<T>("inputField", model, model.getModelClass()));
+	}
+
+}
@@ -19,6 +19,7 @@ import org.apache.wicket.markup.html.form.DropDownChoice;
 import org.apache.wicket.model.PropertyModel;
 import de.adesso.wickedforms.model.elements.fields.DropDown;
 import de.adesso.wickedforms.wicket6.components.WickedFormsChoiceRenderer;
+import de.adesso.wickedforms.wicket6.components.cache.CachedDropDownChoice;
 
 /**
  * A panel that represents a {@link DropDown} in a form.
@@ -41,10 +42,14 @@ public class DropDownPanel<T> extends AbstractInputFieldPanel<T> {
 	public DropDownPanel(final String id, final DropDown<T> model) {
 		super(id, model);
 
-		this.dropdown = new DropDownChoice<T>("inputField", new PropertyModel<T>(model, "value"),
-				model.getChoices());
+		this.dropdown = new CachedDropDownChoice<T>("inputField", new PropertyModel<T>(model, "value"),
+				model.getChoices(), model);
 		this.decorateComponent(this.dropdown);
-		this.dropdown.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(model.getChoiceLabeller()));
+		if (model.getChoiceSource() != null) {
+			this.dropdown.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceSource(model.getChoiceSource(), this));
+		} else {
+			this.dropdown.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(model.getChoiceLabeller()));
+		}
 		this.add(this.dropdown);
 	}
 
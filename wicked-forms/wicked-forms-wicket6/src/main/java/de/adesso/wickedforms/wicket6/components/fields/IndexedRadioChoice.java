@@ -0,0 +1,173 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components.fields;
+
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.elements.fields.ChoiceIds;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSource;
+import de.adesso.wickedforms.wicket6.components.ChoiceMarkup;
+import de.adesso.wickedforms.wicket6.components.WickedFormsChoiceRenderer;
+import org.apache.wicket.markup.html.form.RadioChoice;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.util.convert.IConverter;
+import org.apache.wicket.util.string.AppendingStringBuffer;
+import org.apache.wicket.util.string.Strings;
+
+/**
+ * {@link RadioChoice} for an {@link AbstractSingleChoice} that writes its
+ * radio buttons directly into the response buffer. The input name, markup ID
+ * and selected index are determined once per rendering instead of once per
+ * choice, the IDs of the choices are shared index IDs and the labels of a
+ * {@link ChoiceSource} are escaped only once, so that no strings are created
+ * per radio button.
+ * <p/>
+ * The choices must be rendered by a
+ * {@link WickedFormsChoiceRenderer.IndexChoiceRenderer}. Features that need
+ * the markup of each radio button to be created individually, like
+ * notifications about selection changes, a custom label position or
+ * additional attributes, are rendered by {@link RadioChoice} itself.
+ *
+ * @param <T>
+ *            type of the objects that the user may select from.
+ */
+public class IndexedRadioChoice<T> extends RadioChoice<T> {
+
+	private static final String CHECKED = " checked=\"checked\"";
+
+	private static final String DISABLED = " disabled=\"disabled\"";
+
+	private final AbstractSingleChoice<T> field;
+
+	private boolean customLabelPosition = false;
+
+	/**
+	 * The value that the state below has been prepared for. The same string
+	 * instance is passed for all choices of one rendering.
+	 */
+	private transient String preparedValue;
+
+	private transient boolean prepared;
+
+	private transient String inputName;
+
+	private transient String idPrefix;
+
+	private transient int selectedIndex;
+
+	private transient boolean enabled;
+
+	private transient String[] labels;
+
+	public IndexedRadioChoice(final String id, final IModel<T> model, final AbstractSingleChoice<T> field) {
+		super(id, model, field.getChoices());
+		this.field = field;
+	}
+
+	@Override
+	public RadioChoice<T> setLabelPosition(final LabelPosition labelPosition) {
+		this.customLabelPosition = true;
+		return super.setLabelPosition(labelPosition);
+	}
+
+	@Override
+	protected void appendOptionHtml(final AppendingStringBuffer buffer, final T choice, final int index,
+			final String selected) {
+		if (!isSinglePass(choice, index)) {
+			super.appendOptionHtml(buffer, choice, index, selected);
+			return;
+		}
+		if (!this.prepared || selected != this.preparedValue) {
+			prepare(selected);
+		}
+		boolean enabled = this.enabled && !isDisabled(choice, index, selected);
+		String choiceId = ChoiceMarkup.getIndexId(index);
+
+		buffer.append(getPrefix(index, choice));
+		buffer.append("<input name=\"");
+		buffer.append(this.inputName);
+		buffer.append("\" type=\"radio\"");
+		if (index == this.selectedIndex) {
+			buffer.append(CHECKED);
+		}
+		if (!enabled) {
+			buffer.append(DISABLED);
+		}
+		buffer.append(" value=\"");
+		buffer.append(choiceId);
+		buffer.append("\" id=\"");
+		buffer.append(this.idPrefix);
+		buffer.append(choiceId);
+		buffer.append("\"/><label for=\"");
+		buffer.append(this.idPrefix);
+		buffer.append(choiceId);
+		buffer.append("\">");
+		if (this.labels != null) {
+			buffer.append(this.labels[index]);
+		} else if (getEscapeModelStrings()) {
+			ChoiceMarkup.appendEscaped(buffer, getDisplayValue(choice));
+		} else {
+			buffer.append(getDisplayValue(choice));
+		}
+		buffer.append("</label>");
+		buffer.append(getSuffix(index, choice));
+	}
+
+	private boolean isSinglePass(final T choice, final int index) {
+		return getChoiceRenderer() instanceof WickedFormsChoiceRenderer.IndexChoiceRenderer
+				&& !wantOnSelectionChangedNotifications() && !localizeDisplayValues() && !this.customLabelPosition
+				&& getAdditionalAttributes(index, choice) == null
+				&& getAdditionalAttributesForLabel(index, choice) == null;
+	}
+
+	private void prepare(final String selected) {
+		this.preparedValue = selected;
+		this.prepared = true;
+		this.inputName = getInputName();
+		this.idPrefix = Strings.escapeMarkup(getMarkupId()) + "-";
+		this.selectedIndex = ChoiceIds.parseIndex(selected, getChoices().size());
+		this.enabled = isEnabledInHierarchy();
+		ChoiceSource<T> source = this.field.getChoiceSource();
+		if (source == null) {
+			this.labels = null;
+		} else if (getEscapeModelStrings()) {
+			this.labels = ChoiceMarkup.getEscapedLabels(source, getLocale());
+		} else {
+			this.labels = source.getLabels(getLocale());
+		}
+	}
+
+	/**
+	 * Converts the display value of a choice into a string, the same way
+	 * {@link RadioChoice} does.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private String getDisplayValue(final T choice) {
+		Object displayValue = getChoiceRenderer().getDisplayValue(choice);
+		if (displayValue != null && displayValue.getClass() != String.class) {
+			IConverter converter = getConverter(displayValue.getClass());
+			return converter.convertToString(displayValue, getLocale());
+		}
+		return displayValue != null ? displayValue.toString() : "";
+	}
+
+	@Override
+	protected void onDetach() {
+		this.prepared = false;
+		this.preparedValue = null;
+		this.labels = null;
+		super.onDetach();
+	}
+
+}
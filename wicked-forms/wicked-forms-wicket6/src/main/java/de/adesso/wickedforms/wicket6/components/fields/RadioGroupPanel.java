@@ -41,10 +41,13 @@ public class RadioGroupPanel<T> extends AbstractInputFieldPanel<T> {
 	public RadioGroupPanel(final String id, final RadioGroup<T> model) {
 		super(id, model);
 
-		this.radio = new RadioChoice<T>("inputField", new PropertyModel<T>(model, "value"),
-				model.getChoices());
+		this.radio = new IndexedRadioChoice<T>("inputField", new PropertyModel<T>(model, "value"), model);
 		this.decorateComponent(this.radio);
-		this.radio.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(model.getChoiceLabeller()));
+		if (model.getChoiceSource() != null) {
+			this.radio.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceSource(model.getChoiceSource(), this));
+		} else {
+			this.radio.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(model.getChoiceLabeller()));
+		}
 		this.add(this.radio);
 	}
 
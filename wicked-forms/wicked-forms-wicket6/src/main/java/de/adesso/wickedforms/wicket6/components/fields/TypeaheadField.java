@@ -0,0 +1,208 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components.fields;
+
+import de.adesso.wickedforms.model.elements.fields.ChoiceCatalog;
+import de.adesso.wickedforms.model.elements.fields.TypeaheadChoice;
+import org.apache.wicket.behavior.AbstractAjaxBehavior;
+import org.apache.wicket.markup.ComponentTag;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.markup.head.OnDomReadyHeaderItem;
+import org.apache.wicket.markup.html.form.FormComponent;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.handler.TextRequestHandler;
+import org.apache.wicket.request.resource.JavaScriptResourceReference;
+import org.apache.wicket.util.convert.ConversionException;
+import org.apache.wicket.util.convert.IConverter;
+import org.apache.wicket.util.string.StringValue;
+import org.apache.wicket.util.string.Strings;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Text input that lets the user search the choices of a
+ * {@link TypeaheadChoice}. The matches are requested via AJAX and returned as
+ * JSON, so that only the matches the user actually looks at are sent to the
+ * browser. The ID of the selected choice is submitted in a hidden input field
+ * named {@link #getSelectionInputName()}, while the text typed by the user is
+ * only used for searching.
+ *
+ * @param <T>
+ *            type of the objects that the user may select from.
+ */
+public class TypeaheadField<T> extends FormComponent<T> {
+
+	private static final JavaScriptResourceReference JAVASCRIPT = new JavaScriptResourceReference(
+			TypeaheadField.class, "TypeaheadField.js");
+
+	private final TypeaheadChoice<T> choice;
+
+	private final SearchBehavior searchBehavior = new SearchBehavior();
+
+	public TypeaheadField(final String id, final IModel<T> model, final TypeaheadChoice<T> choice) {
+		super(id, model);
+		this.choice = choice;
+		setType(choice.getModelClass());
+		add(this.searchBehavior);
+	}
+
+	/**
+	 * Returns a converter between the selected choice and its ID in the
+	 * {@link ChoiceCatalog}, regardless of the requested type.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <C> IConverter<C> getConverter(final Class<C> type) {
+		return (IConverter<C>) new ChoiceCatalogConverter<T>(this.choice.getChoiceCatalog());
+	}
+
+	/**
+	 * The submitted value of this component is the ID of the selected choice,
+	 * which is sent in a hidden input field.
+	 */
+	@Override
+	public String[] getInputAsArray() {
+		List<StringValue> values = getRequest().getRequestParameters().getParameterValues(getSelectionInputName());
+		if (values == null || values.isEmpty()) {
+			return null;
+		}
+		String[] input = new String[values.size()];
+		for (int i = 0; i < input.length; i++) {
+			input[i] = values.get(i).toString();
+		}
+		return input;
+	}
+
+	/**
+	 * The name of the hidden input field containing the ID of the selected
+	 * choice.
+	 */
+	public String getSelectionInputName() {
+		return getInputName() + "_id";
+	}
+
+	/**
+	 * The markup ID of the hidden input field containing the ID of the
+	 * selected choice.
+	 */
+	public String getSelectionMarkupId() {
+		return getMarkupId() + "_id";
+	}
+
+	@Override
+	protected void onComponentTag(final ComponentTag tag) {
+		checkComponentTag(tag, "input");
+		super.onComponentTag(tag);
+		// the text field itself is not submitted
+		tag.remove("name");
+		String label = this.choice.getChoiceCatalog().getLabel(getValue());
+		tag.put("value", label == null ? "" : label);
+		tag.put("autocomplete", "off");
+		tag.put("data-typeahead-url", this.searchBehavior.getCallbackUrl());
+		tag.put("data-typeahead-min", this.choice.getMinInputLength());
+	}
+
+	@Override
+	public void renderHead(final IHeaderResponse response) {
+		super.renderHead(response);
+		response.render(JavaScriptHeaderItem.forReference(JAVASCRIPT));
+		response.render(OnDomReadyHeaderItem.forScript(String.format("WickedForms.typeahead('%s', '%s');",
+				getMarkupId(), getSelectionMarkupId())));
+	}
+
+	/**
+	 * Answers the search requests of the typeahead script with a page of
+	 * matching choices in the form
+	 * <code>{"more":false,"matches":[{"id":"1","label":"..."}]}</code>.
+	 */
+	private class SearchBehavior extends AbstractAjaxBehavior {
+
+		@Override
+		public void onRequest() {
+			IRequestParameters parameters = getComponent().getRequest().getQueryParameters();
+			String query = parameters.getParameterValue("q").toString("");
+			int page = Math.max(0, parameters.getParameterValue("page").toInt(0));
+			int pageSize = TypeaheadField.this.choice.getPageSize();
+			ChoiceCatalog<T> catalog = TypeaheadField.this.choice.getChoiceCatalog();
+
+			StringBuilder json = new StringBuilder(64 * pageSize);
+			if (query.length() >= TypeaheadField.this.choice.getMinInputLength()) {
+				List<String> ids = catalog.find(query, page * pageSize, pageSize + 1);
+				json.append("{\"more\":").append(ids.size() > pageSize).append(",\"matches\":[");
+				for (int i = 0; i < ids.size() && i < pageSize; i++) {
+					if (i > 0) {
+						json.append(',');
+					}
+					json.append("{\"id\":\"").append(ids.get(i)).append("\",\"label\":\"");
+					appendJsonString(json, catalog.getLabel(ids.get(i)));
+					json.append("\"}");
+				}
+				json.append("]}");
+			} else {
+				json.append("{\"more\":false,\"matches\":[]}");
+			}
+			getComponent().getRequestCycle().scheduleRequestHandlerAfterCurrent(
+					new TextRequestHandler("application/json", "UTF-8", json.toString()));
+		}
+
+		private void appendJsonString(final StringBuilder json, final String value) {
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (c == '"' || c == '\\') {
+					json.append('\\').append(c);
+				} else if (c < 0x20 || c == '<' || c == '>' || c == '&') {
+					json.append(String.format("\\u%04x", (int) c));
+				} else {
+					json.append(c);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Converts between a choice and its ID in a {@link ChoiceCatalog}.
+	 */
+	private static class ChoiceCatalogConverter<T> implements IConverter<T> {
+
+		private final ChoiceCatalog<T> catalog;
+
+		public ChoiceCatalogConverter(final ChoiceCatalog<T> catalog) {
+			this.catalog = catalog;
+		}
+
+		@Override
+		public T convertToObject(final String value, final Locale locale) {
+			if (Strings.isEmpty(value)) {
+				return null;
+			}
+			T choice = this.catalog.getChoice(value);
+			if (choice == null) {
+				throw new ConversionException(String.format("Unknown choice: %s", value));
+			}
+			return choice;
+		}
+
+		@Override
+		public String convertToString(final T value, final Locale locale) {
+			return this.catalog.getId(value);
+		}
+
+	}
+
+}
@@ -0,0 +1,60 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components.fields;
+
+import de.adesso.wickedforms.model.elements.fields.TypeaheadChoice;
+import org.apache.wicket.markup.ComponentTag;
+import org.apache.wicket.markup.html.WebComponent;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.model.PropertyModel;
+
+/**
+ * A panel that represents a {@link TypeaheadChoice} in a form.
+ * <p/>
+ * <strong>Wicket IDs needed in the markup:</strong>
+ * <ul>
+ * <li><strong>label</strong>: a {@link Label} that displays the label of the
+ * field.
+ * <li><strong>inputField</strong>: a {@link TypeaheadField} in which the user
+ * searches the choices.
+ * <li><strong>selection</strong>: a hidden input field that contains the ID of
+ * the selected choice.
+ * </ul>
+ */
+public class TypeaheadPanel<T> extends AbstractInputFieldPanel<T> {
+
+	private final TypeaheadField<T> typeahead;
+
+	public TypeaheadPanel(final String id, final TypeaheadChoice<T> model) {
+		super(id, model);
+
+		this.typeahead = new TypeaheadField<T>("inputField", new PropertyModel<T>(model, "value"), model);
+		this.decorateComponent(this.typeahead);
+		this.add(this.typeahead);
+
+		this.add(new WebComponent("selection") {
+			@Override
+			protected void onComponentTag(final ComponentTag tag) {
+				checkComponentTag(tag, "input");
+				super.onComponentTag(tag);
+				tag.put("type", "hidden");
+				tag.put("id", TypeaheadPanel.this.typeahead.getSelectionMarkupId());
+				tag.put("name", TypeaheadPanel.this.typeahead.getSelectionInputName());
+				tag.put("value", TypeaheadPanel.this.typeahead.getValue());
+			}
+		});
+	}
+
+}
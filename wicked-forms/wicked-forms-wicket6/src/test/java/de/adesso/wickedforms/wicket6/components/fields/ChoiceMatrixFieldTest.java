@@ -0,0 +1,151 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components.fields;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.fields.ChoiceMatrix;
+import de.adesso.wickedforms.wicket6.components.FormPanel;
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.util.tester.FormTester;
+import org.apache.wicket.util.tester.TagTester;
+import org.apache.wicket.util.tester.WicketTester;
+import org.apache.wicket.util.visit.IVisit;
+import org.apache.wicket.util.visit.IVisitor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ChoiceMatrixFieldTest {
+
+	private WicketTester tester;
+
+	private ChoiceMatrix<String> matrix;
+
+	private Form form;
+
+	@Before
+	public void setUp() {
+		this.tester = new WicketTester(new MockApplication());
+		this.matrix = new ChoiceMatrix<String>("Rating", Arrays.asList("Food", "Service", "Price"), Arrays.asList(
+				"good", "fair", "poor"));
+		this.form = new Form("Survey").add(this.matrix);
+	}
+
+	@After
+	public void tearDown() {
+		this.tester.destroy();
+	}
+
+	@Test
+	public void testAllRowsAnswered() {
+		this.matrix.setRequired(true);
+		this.tester.startComponentInPage(new TestFormPanel(this.form));
+
+		submit("2", "0", "1");
+		this.tester.assertNoErrorMessage();
+		Assert.assertEquals(Arrays.asList("poor", "good", "fair"), this.matrix.getValue());
+		assertChecked(0, "2");
+		assertChecked(1, "0");
+		assertChecked(2, "1");
+	}
+
+	@Test
+	public void testOptionalRowsMayBeUnanswered() {
+		this.tester.startComponentInPage(new TestFormPanel(this.form));
+
+		submit("1", null, "0");
+		this.tester.assertNoErrorMessage();
+		Assert.assertEquals(Arrays.asList("fair", null, "good"), this.matrix.getValue());
+	}
+
+	@Test
+	public void testRequiredRowUnanswered() {
+		this.matrix.setRequired(true);
+		this.tester.startComponentInPage(new TestFormPanel(this.form));
+		TagTester table = TagTester.createTagByAttribute(this.tester.getLastResponseAsString(), "class",
+				"choiceMatrix");
+		Assert.assertNull(table.getAttribute("required"));
+
+		submit("1", null, "0");
+		this.tester.assertErrorMessages("Please fill out the required field 'Rating'.");
+		Assert.assertNull(this.matrix.getValue());
+
+		// the page is rendered again with the answers of the user
+		assertChecked(0, "1");
+		assertChecked(1, null);
+		assertChecked(2, "0");
+		this.tester.startPage(this.tester.getLastRenderedPage());
+		assertChecked(0, "1");
+		assertChecked(1, null);
+		assertChecked(2, "0");
+
+		submit("1", "2", "0");
+		this.tester.assertNoErrorMessage();
+		Assert.assertEquals(Arrays.asList("fair", "poor", "good"), this.matrix.getValue());
+	}
+
+	private void submit(final String... rowValues) {
+		FormTester formTester = this.tester.newFormTester("form:form");
+		ChoiceMatrixField<?> field = getField();
+		for (int row = 0; row < rowValues.length; row++) {
+			if (rowValues[row] != null) {
+				this.tester.getRequest().getPostParameters().setParameterValue(field.getRowInputName(row),
+						rowValues[row]);
+			}
+		}
+		formTester.submit();
+	}
+
+	private ChoiceMatrixField<?> getField() {
+		return this.tester.getLastRenderedPage().visitChildren(ChoiceMatrixField.class,
+				new IVisitor<ChoiceMatrixField<?>, ChoiceMatrixField<?>>() {
+					@Override
+					public void component(final ChoiceMatrixField<?> field, final IVisit<ChoiceMatrixField<?>> visit) {
+						visit.stop(field);
+					}
+				});
+	}
+
+	/**
+	 * Asserts that only the radio button with the given value is checked in
+	 * the given row of the last response.
+	 */
+	private void assertChecked(final int row, final String value) {
+		List<TagTester> radios = TagTester.createTagsByAttribute(this.tester.getLastResponseAsString(), "name",
+				getField().getRowInputName(row), false);
+		Assert.assertEquals(3, radios.size());
+		for (TagTester radio : radios) {
+			Assert.assertEquals(radio.getAttribute("value").equals(value), "checked".equals(radio
+					.getAttribute("checked")));
+		}
+	}
+
+	private static class TestFormPanel extends FormPanel {
+
+		TestFormPanel(final Form form) {
+			super("form", form);
+		}
+
+		@Override
+		public void onSubmit(final Form submittedData) {
+		}
+
+	}
+
+}
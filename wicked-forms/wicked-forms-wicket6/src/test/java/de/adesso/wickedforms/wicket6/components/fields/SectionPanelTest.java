@@ -0,0 +1,202 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket6.components.fields;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.buttons.AddSectionButton;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import de.adesso.wickedforms.wicket6.components.FormPanel;
+import org.apache.wicket.Component;
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.util.tester.WicketTester;
+import org.apache.wicket.util.visit.IVisit;
+import org.apache.wicket.util.visit.IVisitor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SectionPanelTest {
+
+	private WicketTester tester;
+
+	private Form form;
+
+	private AddSectionButton button;
+
+	@Before
+	public void setUp() {
+		this.tester = new WicketTester(new MockApplication());
+		this.form = new Form("Family").add(new StringTextField("Name")).add(new ChildButton());
+		this.button = (AddSectionButton) this.form.getMainSection().getFormElements().get(1);
+		this.tester.startComponentInPage(new TestFormPanel(this.form));
+	}
+
+	@After
+	public void tearDown() {
+		this.tester.destroy();
+	}
+
+	@Test
+	public void testAddedSectionsAreRenderedAlone() {
+		Component namePanel = findPanel(this.form.getMainSection().getFormElements().get(0));
+		List<SectionPanel> panels = new ArrayList<SectionPanel>();
+		Set<String> markupIds = new HashSet<String>();
+		for (int i = 0; i < 3; i++) {
+			Section section = clickAdd();
+			SectionPanel panel = findPanel(section);
+			Assert.assertNotNull(panel);
+			this.tester.assertComponentOnAjaxResponse(panel);
+			Assert.assertTrue(markupIds.add(panel.getMarkupId()));
+			// the panels of the other elements are kept and not re-rendered
+			Assert.assertSame(namePanel, findPanel(this.form.getMainSection().getFormElements().get(0)));
+			for (SectionPanel previous : panels) {
+				Assert.assertSame(previous, findPanel((Section) previous.getWickedFormModel()));
+				Assert.assertFalse(this.tester.getLastResponseAsString().contains("id=\"" + previous.getMarkupId()
+						+ "\""));
+			}
+			panels.add(panel);
+		}
+
+		// the items appended via AJAX are reused when the whole page is
+		// rendered again
+		this.tester.startPage(this.tester.getLastRenderedPage());
+		Assert.assertSame(namePanel, findPanel(this.form.getMainSection().getFormElements().get(0)));
+		for (SectionPanel panel : panels) {
+			Assert.assertSame(panel, findPanel((Section) panel.getWickedFormModel()));
+			this.tester.assertContains("id=\"" + panel.getMarkupId() + "\"");
+		}
+	}
+
+	@Test
+	public void testRemovedSectionsAreNotReused() {
+		Section bob = clickAdd();
+		Section carol = clickAdd();
+		SectionPanel bobPanel = findPanel(bob);
+		SectionPanel carolPanel = findPanel(carol);
+		String bobItemId = bobPanel.getParent().getId();
+		String bobMarkupId = bobPanel.getMarkupId();
+		List<String> bobIds = collectIds(bob);
+
+		clickRemove(bobPanel);
+		this.tester.assertContains(bobMarkupId);
+		Assert.assertEquals(1, this.button.getAddedSections().size());
+		Assert.assertFalse(this.form.getMainSection().getFormElements().contains(bob));
+		for (String id : bobIds) {
+			Assert.assertNull(this.form.getElementById(id));
+		}
+		Assert.assertNull(findPanel(bob));
+		Assert.assertNull(this.<SectionPanel> findPanel(this.form.getMainSection()).getElementView().get(bobItemId));
+		Assert.assertSame(carolPanel, findPanel(carol));
+
+		// neither the ids of the removed elements nor the ids of its
+		// components are assigned to a new section
+		Section dave = clickAdd();
+		SectionPanel davePanel = findPanel(dave);
+		for (String id : collectIds(dave)) {
+			Assert.assertFalse(bobIds.contains(id));
+			Assert.assertSame(this.form.getElementById(id), findElement(dave, id));
+		}
+		Assert.assertNotEquals(bobItemId, davePanel.getParent().getId());
+		Assert.assertNotEquals(bobMarkupId, davePanel.getMarkupId());
+		Assert.assertNotEquals(carolPanel.getMarkupId(), davePanel.getMarkupId());
+
+		clickRemove(carolPanel);
+		Assert.assertEquals(1, this.button.getAddedSections().size());
+		Assert.assertSame(dave, this.button.getAddedSections().get(0));
+		Assert.assertSame(davePanel, findPanel(dave));
+
+		this.tester.startPage(this.tester.getLastRenderedPage());
+		Assert.assertSame(davePanel, findPanel(dave));
+		this.tester.assertContains("id=\"" + davePanel.getMarkupId() + "\"");
+		Assert.assertFalse(this.tester.getLastResponseAsString().contains("id=\"" + bobMarkupId + "\""));
+		Assert.assertFalse(this.tester.getLastResponseAsString().contains("id=\"" + carolPanel.getMarkupId() + "\""));
+	}
+
+	private Section clickAdd() {
+		AddSectionButtonPanel panel = findPanel(this.button);
+		List<Section> before = this.button.getAddedSections();
+		this.tester.executeAjaxEvent(panel.get("button"), "click");
+		List<Section> after = this.button.getAddedSections();
+		Assert.assertEquals(before.size() + 1, after.size());
+		return after.get(after.size() - 1);
+	}
+
+	private void clickRemove(final SectionPanel panel) {
+		this.tester.executeAjaxEvent(panel.get("sectionFragment:removeButton"), "click");
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends AbstractFormElementPanel> T findPanel(final AbstractFormElement element) {
+		return (T) this.tester.getLastRenderedPage().visitChildren(AbstractFormElementPanel.class,
+				new IVisitor<AbstractFormElementPanel, AbstractFormElementPanel>() {
+					@Override
+					public void component(final AbstractFormElementPanel panel,
+							final IVisit<AbstractFormElementPanel> visit) {
+						if (panel.getWickedFormModel() == element) {
+							visit.stop(panel);
+						}
+					}
+				});
+	}
+
+	private static AbstractFormElement findElement(final Section section, final String id) {
+		return section.getId().equals(id) ? section : section.getElementById(id);
+	}
+
+	private static List<String> collectIds(final Section section) {
+		List<String> ids = new ArrayList<String>();
+		ids.add(section.getId());
+		for (AbstractFormElement element : section.getFormElements()) {
+			ids.add(element.getId());
+		}
+		return ids;
+	}
+
+	private static class ChildButton extends AddSectionButton {
+
+		ChildButton() {
+			super("Add child");
+		}
+
+		@Override
+		public Section createSection() {
+			return new Section("Child").add(new StringTextField("Child name")).add(new IntegerTextField("Age"))
+					.setShowRemoveButton(true);
+		}
+
+	}
+
+	private static class TestFormPanel extends FormPanel {
+
+		TestFormPanel(final Form form) {
+			super("form", form);
+		}
+
+		@Override
+		public void onSubmit(final Form submittedData) {
+		}
+
+	}
+
+}
@@ -0,0 +1,60 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7;
+
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.FormElementType;
+import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
+import de.adesso.wickedforms.model.elements.fields.TextArea;
+import de.adesso.wickedforms.model.elements.fields.TextField;
+import de.adesso.wickedforms.wicket7.components.fields.CompactTextAreaPanel;
+import de.adesso.wickedforms.wicket7.components.fields.CompactTextFieldPanel;
+import org.apache.wicket.markup.html.panel.Panel;
+
+/**
+ * {@link PanelFactory} that renders text fields and text areas in compact
+ * mode. In compact mode, a field consists of its panel and a single form
+ * component, which writes the label, hint, required attribute and feedback
+ * messages of the field itself instead of using separate components and
+ * behaviors. This considerably reduces the size of the component tree of
+ * large forms.
+ * <p/>
+ * Fields with {@link de.adesso.wickedforms.model.actions.FormAction}s and all
+ * other form elements are created by the {@link DefaultPanelFactory}.
+ */
+public class CompactPanelFactory extends DefaultPanelFactory {
+
+	@Override
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public Panel createFormElementPanel(final String wicketId, final AbstractFormElement element) {
+		FormElementType elementType = FormElementType.ofObject(element);
+		if (elementType == null || !((element instanceof AbstractInputField)
+				&& ((AbstractInputField<?>) element).getActions().isEmpty())) {
+			return super.createFormElementPanel(wicketId, element);
+		}
+
+		switch (elementType) {
+		case TEXTFIELD:
+		case TEXTFIELD_STRING:
+		case TEXTFIELD_INTEGER:
+			return new CompactTextFieldPanel(wicketId, (TextField) element);
+		case TEXTAREA:
+			return new CompactTextAreaPanel(wicketId, (TextArea) element);
+		default:
+			return super.createFormElementPanel(wicketId, element);
+		}
+	}
+
+}
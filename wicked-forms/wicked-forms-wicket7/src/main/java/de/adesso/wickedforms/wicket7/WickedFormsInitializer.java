@@ -0,0 +1,239 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7;
+
+import de.adesso.wickedforms.model.cache.MarkupFragmentCache;
+import de.adesso.wickedforms.model.draft.DraftAutosaver;
+import de.adesso.wickedforms.model.state.FormStateStore;
+import de.adesso.wickedforms.wicket7.components.FormPanel;
+import org.apache.wicket.Application;
+import org.apache.wicket.IInitializer;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.protocol.http.WebApplication;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.resource.ByteArrayResource;
+import org.apache.wicket.request.resource.IResource;
+import org.apache.wicket.request.resource.PackageResourceReference;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.util.crypt.Base64;
+import org.apache.wicket.util.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Initializes the resources of Wicked Forms once per application. Wicket runs
+ * this initializer on startup, since it is registered in
+ * <code>META-INF/services/org.apache.wicket.IInitializer</code>.
+ * <p/>
+ * The stylesheet of the forms is served as a single resource with the icons
+ * inlined as data URIs. Its URL contains a hash of its content, so that it is
+ * cached by the browser for as long as possible and still reloaded as soon as
+ * it changes. The icons are additionally mounted under
+ * <code>wickedforms/</code> for stylesheets that still reference them.
+ */
+public class WickedFormsInitializer implements IInitializer {
+
+	private static final MetaDataKey<ResourceReference> STYLESHEET_KEY = new MetaDataKey<ResourceReference>() {
+	};
+
+	private static final MetaDataKey<DraftAutosaver> AUTOSAVER_KEY = new MetaDataKey<DraftAutosaver>() {
+	};
+
+	private static final MetaDataKey<FormStateStore> STATE_STORE_KEY = new MetaDataKey<FormStateStore>() {
+	};
+
+	private static final MetaDataKey<MarkupFragmentCache> MARKUP_CACHE_KEY = new MetaDataKey<MarkupFragmentCache>() {
+	};
+
+	private static final String[] ICONS = { "invalid.png", "red_asterisk.png", "valid.png" };
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	@Override
+	public void init(final Application application) {
+		getStylesheet(application);
+	}
+
+	@Override
+	public void destroy(final Application application) {
+	}
+
+	/**
+	 * Returns the stylesheet of the forms. The resources are initialized if
+	 * this has not been done on startup, e.g. because the application has been
+	 * packaged without the service registration.
+	 *
+	 * @param application
+	 *            the application to serve the stylesheet.
+	 * @return the reference to the stylesheet.
+	 */
+	public static ResourceReference getStylesheet(final Application application) {
+		ResourceReference stylesheet = application.getMetaData(STYLESHEET_KEY);
+		if (stylesheet == null) {
+			synchronized (WickedFormsInitializer.class) {
+				stylesheet = application.getMetaData(STYLESHEET_KEY);
+				if (stylesheet == null) {
+					stylesheet = initResources(application);
+					application.setMetaData(STYLESHEET_KEY, stylesheet);
+				}
+			}
+		}
+		return stylesheet;
+	}
+
+	/**
+	 * Enables the autosave of drafts for all forms of the application that
+	 * have a draft id, see
+	 * {@link de.adesso.wickedforms.wicket7.components.AutosaveSupport}.
+	 *
+	 * @param application
+	 *            the application.
+	 * @param autosaver
+	 *            the autosaver to record the input with or null to disable
+	 *            autosave.
+	 */
+	public static void setDraftAutosaver(final Application application, final DraftAutosaver autosaver) {
+		application.setMetaData(AUTOSAVER_KEY, autosaver);
+	}
+
+	/**
+	 * Returns the autosaver of the application or null if autosave is not
+	 * enabled.
+	 */
+	public static DraftAutosaver getDraftAutosaver(final Application application) {
+		return application.getMetaData(AUTOSAVER_KEY);
+	}
+
+	/**
+	 * Keeps the state of all forms of the application that have an instance
+	 * id in the given store, see
+	 * {@link de.adesso.wickedforms.wicket7.components.FormStateSupport}.
+	 *
+	 * @param application
+	 *            the application.
+	 * @param store
+	 *            the store to keep the state in or null to keep the state in
+	 *            the pages only.
+	 */
+	public static void setFormStateStore(final Application application, final FormStateStore store) {
+		application.setMetaData(STATE_STORE_KEY, store);
+	}
+
+	/**
+	 * Returns the form state store of the application or null if the state is
+	 * not externalized.
+	 */
+	public static FormStateStore getFormStateStore(final Application application) {
+		return application.getMetaData(STATE_STORE_KEY);
+	}
+
+	/**
+	 * Returns the cache for the markup of the forms of the application, which
+	 * is created on first access.
+	 */
+	public static MarkupFragmentCache getMarkupFragmentCache(final Application application) {
+		MarkupFragmentCache cache = application.getMetaData(MARKUP_CACHE_KEY);
+		if (cache == null) {
+			synchronized (WickedFormsInitializer.class) {
+				cache = application.getMetaData(MARKUP_CACHE_KEY);
+				if (cache == null) {
+					cache = new MarkupFragmentCache();
+					application.setMetaData(MARKUP_CACHE_KEY, cache);
+				}
+			}
+		}
+		return cache;
+	}
+
+	private static ResourceReference initResources(final Application application) {
+		String css = new String(read("FormPanel.css"), UTF8);
+		for (String icon : ICONS) {
+			css = css.replace("url(/wickedforms/" + icon + ")",
+					"url(data:image/png;base64," + Base64.encodeBase64String(read(icon)) + ")");
+		}
+		byte[] content = css.getBytes(UTF8);
+		ResourceReference stylesheet = new StylesheetReference("FormPanel-" + hash(content) + ".css", content);
+		application.getResourceReferenceRegistry().registerResourceReference(stylesheet);
+
+		if (application instanceof WebApplication) {
+			WebApplication webApplication = (WebApplication) application;
+			webApplication.mountResource("wickedforms/" + stylesheet.getName(), stylesheet);
+			for (String icon : ICONS) {
+				webApplication.mountResource("wickedforms/" + icon, new PackageResourceReference(FormPanel.class, icon));
+			}
+		}
+		return stylesheet;
+	}
+
+	private static byte[] read(final String name) {
+		InputStream in = FormPanel.class.getResourceAsStream(name);
+		if (in == null) {
+			throw new IllegalStateException(String.format("Resource %s not found!", name));
+		}
+		try {
+			return IOUtils.toByteArray(in);
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("Resource %s could not be read!", name), e);
+		} finally {
+			IOUtils.closeQuietly(in);
+		}
+	}
+
+	private static String hash(final byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("MD5").digest(content);
+			StringBuilder hash = new StringBuilder(2 * digest.length);
+			for (byte b : digest) {
+				hash.append(String.format("%02x", b & 0xFF));
+			}
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("MD5 is not supported!", e);
+		}
+	}
+
+	/**
+	 * Reference to the stylesheet, which is sent with far-future cache headers
+	 * since its name changes with its content.
+	 */
+	private static class StylesheetReference extends ResourceReference {
+
+		private final IResource resource;
+
+		public StylesheetReference(final String name, final byte[] content) {
+			super(WickedFormsInitializer.class, name);
+			this.resource = new ByteArrayResource("text/css", content) {
+				@Override
+				protected ResourceResponse newResourceResponse(final Attributes attributes) {
+					ResourceResponse response = super.newResourceResponse(attributes);
+					response.setCacheDuration(WebResponse.MAX_CACHE_DURATION);
+					response.setCacheScope(WebResponse.CacheScope.PUBLIC);
+					return response;
+				}
+			};
+		}
+
+		@Override
+		public IResource getResource() {
+			return this.resource;
+		}
+
+	}
+
+}
@@ -0,0 +1,135 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7.components;
+
+import de.adesso.wickedforms.model.elements.fields.ChoiceSource;
+import org.apache.wicket.util.string.AppendingStringBuffer;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Helpers for choice components that write their options directly into the
+ * response buffer without creating strings for each option.
+ */
+public final class ChoiceMarkup {
+
+	/**
+	 * The highest number of index IDs that are kept in memory.
+	 */
+	private static final int MAX_INDEX_IDS = 1 << 14;
+
+	private static volatile String[] indexIds = createIndexIds(new String[0], 256);
+
+	/**
+	 * Escaped copies of the memoized labels of {@link ChoiceSource}s. The
+	 * arrays are compared by identity, so that an entry is discarded as soon as
+	 * its source discards the labels.
+	 */
+	private static final Map<String[], String[]> ESCAPED_LABELS = Collections
+			.synchronizedMap(new WeakHashMap<String[], String[]>());
+
+	private ChoiceMarkup() {
+	}
+
+	/**
+	 * Returns the ID of the choice with the given index, as used by the
+	 * renderers of {@link WickedFormsChoiceRenderer}. The IDs are created once
+	 * and shared by all components.
+	 */
+	public static String getIndexId(final int index) {
+		String[] ids = indexIds;
+		if (index >= 0 && index < ids.length) {
+			return ids[index];
+		}
+		if (index < 0 || index >= MAX_INDEX_IDS) {
+			return String.valueOf(index);
+		}
+		synchronized (ChoiceMarkup.class) {
+			ids = indexIds;
+			if (index >= ids.length) {
+				ids = createIndexIds(ids, Math.min(MAX_INDEX_IDS, Math.max(index + 1, ids.length * 2)));
+				indexIds = ids;
+			}
+			return ids[index];
+		}
+	}
+
+	private static String[] createIndexIds(final String[] existingIds, final int size) {
+		String[] ids = new String[size];
+		System.arraycopy(existingIds, 0, ids, 0, existingIds.length);
+		for (int i = existingIds.length; i < size; i++) {
+			ids[i] = String.valueOf(i);
+		}
+		return ids;
+	}
+
+	/**
+	 * Returns the labels of a {@link ChoiceSource} escaped for HTML. The
+	 * escaped labels are created once per locale and kept as long as the
+	 * source memoizes its labels.
+	 */
+	public static String[] getEscapedLabels(final ChoiceSource<?> source, final Locale locale) {
+		String[] labels = source.getLabels(locale);
+		String[] escapedLabels = ESCAPED_LABELS.get(labels);
+		if (escapedLabels == null) {
+			escapedLabels = new String[labels.length];
+			AppendingStringBuffer buffer = new AppendingStringBuffer(64);
+			for (int i = 0; i < labels.length; i++) {
+				buffer.setLength(0);
+				appendEscaped(buffer, labels[i]);
+				escapedLabels[i] = buffer.toString();
+			}
+			ESCAPED_LABELS.put(labels, escapedLabels);
+		}
+		return escapedLabels;
+	}
+
+	/**
+	 * Appends the given text to the buffer, escaping it the same way as
+	 * {@link org.apache.wicket.util.string.Strings#escapeMarkup(CharSequence)}
+	 * but without creating an escaped copy.
+	 */
+	public static void appendEscaped(final AppendingStringBuffer buffer, final CharSequence text) {
+		if (text == null) {
+			return;
+		}
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '<':
+				buffer.append("&lt;");
+				break;
+			case '>':
+				buffer.append("&gt;");
+				break;
+			case '&':
+				buffer.append("&amp;");
+				break;
+			case '"':
+				buffer.append("&quot;");
+				break;
+			case '\'':
+				buffer.append("&#039;");
+				break;
+			default:
+				buffer.append(c);
+			}
+		}
+	}
+
+}
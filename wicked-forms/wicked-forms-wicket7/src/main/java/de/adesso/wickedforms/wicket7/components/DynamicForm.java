@@ -60,6 +60,12 @@ public class DynamicForm extends org.apache.wicket.markup.html.form.Form<Form> {
 	@Override
 	protected void onSubmit() {
 		this.submittable.onSubmit(getModelObject());
+		if (!hasError()) {
+			// the draft and the state are kept if the submission has been
+			// rejected, so that the user can submit the form again
+			AutosaveSupport.discard(this, getModelObject());
+			FormStateSupport.remove(this, getModelObject());
+		}
 	}
 
 }
\ No newline at end of file
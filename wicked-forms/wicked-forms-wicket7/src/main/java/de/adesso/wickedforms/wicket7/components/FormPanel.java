@@ -15,16 +15,16 @@
 package de.adesso.wickedforms.wicket7.components;
 
 import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.state.FormState;
 import de.adesso.wickedforms.wicket7.DefaultPanelFactory;
 import de.adesso.wickedforms.wicket7.PanelFactory;
+import de.adesso.wickedforms.wicket7.WickedFormsInitializer;
 import org.apache.wicket.markup.head.CssHeaderItem;
 import org.apache.wicket.markup.head.HeaderItem;
 import org.apache.wicket.markup.head.IHeaderResponse;
 import org.apache.wicket.markup.html.panel.GenericPanel;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
-import org.apache.wicket.protocol.http.WebApplication;
-import org.apache.wicket.request.resource.PackageResourceReference;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +33,13 @@ public abstract class FormPanel extends GenericPanel<Form> implements Submittabl
 
     private final PanelFactory panelFactory;
 
+    /**
+     * The state last saved to the {@link de.adesso.wickedforms.model.state.FormStateStore}.
+     */
+    private transient FormState savedState;
+
+    private boolean submitted;
+
     public FormPanel(String id, final IModel<Form> model) {
         this(id, model, true);
     }
@@ -46,9 +53,9 @@ public abstract class FormPanel extends GenericPanel<Form> implements Submittabl
     public FormPanel(final String id, final IModel<Form> model, boolean showSubmittable) {
         super(id, model);
         model.getObject().assignIds();
+        this.savedState = FormStateSupport.restore(this, model.getObject());
         this.panelFactory = new DefaultPanelFactory();
         add(new DynamicForm("form", model, panelFactory, this, showSubmittable));
-        mountResources();
     }
 
     public FormPanel(final String id, final Form formModel) {
@@ -59,9 +66,9 @@ public abstract class FormPanel extends GenericPanel<Form> implements Submittabl
     public FormPanel(final String id, final Form formModel, boolean showSubmittable) {
         super(id, Model.of(formModel));
         formModel.assignIds();
+        this.savedState = FormStateSupport.restore(this, formModel);
         this.panelFactory = new DefaultPanelFactory();
         add(new DynamicForm("form", getModel(), panelFactory, this, showSubmittable));
-        mountResources();
     }
 
     public FormPanel(final String id, final IModel<Form> model, final PanelFactory panelFactory) {
@@ -85,9 +92,9 @@ public abstract class FormPanel extends GenericPanel<Form> implements Submittabl
                      final PanelFactory panelFactory, boolean showSubmittable) {
         super(id, model);
         model.getObject().assignIds();
+        this.savedState = FormStateSupport.restore(this, model.getObject());
         this.panelFactory = panelFactory;
         add(new DynamicForm("form", model, panelFactory, this, showSubmittable));
-        mountResources();
     }
 
     /**
@@ -99,23 +106,10 @@ public abstract class FormPanel extends GenericPanel<Form> implements Submittabl
      */
     protected List<HeaderItem> getHeaderItems() {
         List<HeaderItem> headerItems = new ArrayList<HeaderItem>();
-        headerItems.add(CssHeaderItem
-                .forReference(new PackageResourceReference(FormPanel.class,
-                        "FormPanel.css")));
+        headerItems.add(CssHeaderItem.forReference(WickedFormsInitializer.getStylesheet(getApplication())));
         return headerItems;
     }
 
-    private void mountResources() {
-        WebApplication application = ((WebApplication) getApplication());
-        application.mountResource("wickedforms/invalid.png",
-                new PackageResourceReference(FormPanel.class, "invalid.png"));
-        application.mountResource("wickedforms/red_asterisk.png",
-                new PackageResourceReference(FormPanel.class,
-                        "red_asterisk.png"));
-        application.mountResource("wickedforms/valid.png",
-                new PackageResourceReference(FormPanel.class, "valid.png"));
-    }
-
     /**
      * Executed when the form is submitted.
      *
@@ -146,4 +140,20 @@ public abstract class FormPanel extends GenericPanel<Form> implements Submittabl
         return (Form) getDefaultModelObject();
     }
 
+    /**
+     * Marks the form as submitted, so that its state is not saved anymore.
+     */
+    void onSubmitted() {
+        this.submitted = true;
+        this.savedState = null;
+    }
+
+    @Override
+    protected void onDetach() {
+        if (!this.submitted) {
+            this.savedState = FormStateSupport.save(this, getWickedFormModel(), this.savedState);
+        }
+        super.onDetach();
+    }
+
 }
@@ -0,0 +1,115 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7.components;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.state.FormState;
+import de.adesso.wickedforms.model.state.FormStateStore;
+import de.adesso.wickedforms.wicket7.WickedFormsInitializer;
+import org.apache.wicket.Component;
+
+import java.io.IOException;
+
+/**
+ * Keeps the state of a form in a {@link FormStateStore}, so that the form can
+ * be continued on any node of a cluster without sticky sessions or a
+ * replicated page store. Externalized state is enabled for all forms with an
+ * instance id (see {@link Form#setInstanceId(String)}) as soon as a store has
+ * been registered with
+ * {@link WickedFormsInitializer#setFormStateStore(org.apache.wicket.Application, FormStateStore)}.
+ * <p/>
+ * The state is saved at the end of each request in which it has changed. When
+ * a {@link FormPanel} is created for a form whose instance id has a saved
+ * state, the state is applied before the components are created. The page
+ * containing the form should thus be bookmarkable and recreate the form from
+ * its definition and the instance id passed as page parameter, so that any
+ * node can render it after the page has expired or the user has been routed
+ * to another node.
+ */
+public final class FormStateSupport {
+
+	private FormStateSupport() {
+	}
+
+	/**
+	 * Applies the saved state of the given form, if any.
+	 *
+	 * @return the applied state or null if there is none.
+	 */
+	static FormState restore(final Component component, final Form form) {
+		FormStateStore store = WickedFormsInitializer.getFormStateStore(component.getApplication());
+		if (form.getInstanceId() == null || store == null) {
+			return null;
+		}
+		try {
+			FormState state = store.load(form.getInstanceId());
+			if (state != null) {
+				state.applyTo(form);
+			}
+			return state;
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("The state of form instance %s could not be loaded!",
+					form.getInstanceId()), e);
+		}
+	}
+
+	/**
+	 * Saves the state of the given form if it differs from the state saved
+	 * before.
+	 *
+	 * @param savedState
+	 *            the state saved before or null.
+	 * @return the saved state or null if the state is not externalized.
+	 */
+	static FormState save(final Component component, final Form form, final FormState savedState) {
+		FormStateStore store = WickedFormsInitializer.getFormStateStore(component.getApplication());
+		if (form.getInstanceId() == null || store == null) {
+			return null;
+		}
+		FormState state = FormState.of(form);
+		if (state.equals(savedState)) {
+			return savedState;
+		}
+		try {
+			store.save(form.getInstanceId(), state);
+			return state;
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("The state of form instance %s could not be saved!",
+					form.getInstanceId()), e);
+		}
+	}
+
+	/**
+	 * Removes the state of the given form, which has just been submitted
+	 * without errors. The state of the form is not saved anymore afterwards.
+	 */
+	static void remove(final Component component, final Form form) {
+		FormPanel formPanel = component.findParent(FormPanel.class);
+		if (formPanel != null) {
+			formPanel.onSubmitted();
+		}
+		FormStateStore store = WickedFormsInitializer.getFormStateStore(component.getApplication());
+		if (form.getInstanceId() == null || store == null) {
+			return;
+		}
+		try {
+			store.remove(form.getInstanceId());
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("The state of form instance %s could not be removed!",
+					form.getInstanceId()), e);
+		}
+	}
+
+}
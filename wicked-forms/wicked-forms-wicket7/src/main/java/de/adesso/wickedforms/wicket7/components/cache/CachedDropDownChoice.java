@@ -0,0 +1,198 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7.components.cache;
+
+import de.adesso.wickedforms.model.cache.MarkupFragmentCache;
+import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.elements.fields.ChoiceIds;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSource;
+import de.adesso.wickedforms.wicket7.WickedFormsInitializer;
+import de.adesso.wickedforms.wicket7.components.ChoiceMarkup;
+import de.adesso.wickedforms.wicket7.components.FormPanel;
+import de.adesso.wickedforms.wicket7.components.WickedFormsChoiceRenderer;
+import org.apache.wicket.markup.ComponentTag;
+import org.apache.wicket.markup.MarkupStream;
+import org.apache.wicket.markup.html.form.DropDownChoice;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.util.convert.IConverter;
+import org.apache.wicket.util.string.AppendingStringBuffer;
+import org.apache.wicket.util.string.Strings;
+
+import java.util.List;
+
+/**
+ * A {@link DropDownChoice} whose option markup is taken from the
+ * {@link MarkupFragmentCache} of the application if the form has a template
+ * id. The markup is cached per template, element and locale, so the choices
+ * of the element must be defined by the template (see
+ * {@link de.adesso.wickedforms.model.Form#setTemplateId(String)}). Only the
+ * <code>selected</code> and <code>disabled</code> attributes are determined on
+ * each request.
+ * <p/>
+ * All options are written into a single buffer in one pass. If the choices
+ * are rendered by a {@link WickedFormsChoiceRenderer.IndexChoiceRenderer}, the
+ * selected option is found by its index and uncached options are written from
+ * the shared index IDs and the escaped labels of the element's
+ * {@link ChoiceSource}, so that no strings are created per option.
+ */
+public class CachedDropDownChoice<T> extends DropDownChoice<T> {
+
+	private static final String SELECTED = "selected=\"selected\" ";
+
+	private static final String DISABLED = "disabled=\"disabled\" ";
+
+	private final AbstractFormElement element;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param id
+	 *            the wicket id.
+	 * @param model
+	 *            the model of the selected choice.
+	 * @param choices
+	 *            the choices to select from.
+	 * @param element
+	 *            the form element represented by this component.
+	 */
+	public CachedDropDownChoice(final String id, final IModel<T> model, final List<? extends T> choices,
+			final AbstractFormElement element) {
+		super(id, model, choices);
+		this.element = element;
+	}
+
+	@Override
+	public void onComponentTagBody(final MarkupStream markupStream, final ComponentTag openTag) {
+		if (localizeDisplayValues()) {
+			super.onComponentTagBody(markupStream, openTag);
+			return;
+		}
+		List<? extends T> choices = getChoices();
+		String[] options = getCachedOptions(choices);
+		boolean indexIds = getChoiceRenderer() instanceof WickedFormsChoiceRenderer.IndexChoiceRenderer;
+		if (options == null && !indexIds) {
+			super.onComponentTagBody(markupStream, openTag);
+			return;
+		}
+		String[] labels = options == null ? getSourceLabels() : null;
+
+		String selectedValue = getValue();
+		int selectedIndex = indexIds ? ChoiceIds.parseIndex(selectedValue, choices.size()) : -1;
+		AppendingStringBuffer buffer = new AppendingStringBuffer(choices.size() * 50 + 16);
+		buffer.append(getDefaultChoice(selectedValue));
+		for (int index = 0; index < choices.size(); index++) {
+			T choice = choices.get(index);
+			buffer.append("\n<option ");
+			if (indexIds ? index == selectedIndex : isSelected(choice, index, selectedValue)) {
+				buffer.append(SELECTED);
+			}
+			if (isDisabled(choice, index, selectedValue)) {
+				buffer.append(DISABLED);
+			}
+			if (options != null) {
+				buffer.append(options[index]);
+			} else {
+				buffer.append("value=\"");
+				buffer.append(ChoiceMarkup.getIndexId(index));
+				buffer.append("\">");
+				if (labels != null) {
+					buffer.append(labels[index]);
+				} else if (getEscapeModelStrings()) {
+					ChoiceMarkup.appendEscaped(buffer, getDisplayValue(choice));
+				} else {
+					buffer.append(getDisplayValue(choice));
+				}
+				buffer.append("</option>");
+			}
+		}
+		buffer.append('\n');
+		replaceComponentTagBody(markupStream, openTag, buffer);
+	}
+
+	/**
+	 * Retrieves the option markup from the {@link MarkupFragmentCache}.
+	 *
+	 * @return the markup of each option after the selected and disabled
+	 *         attributes or null if the options must not be cached.
+	 */
+	private String[] getCachedOptions(final List<? extends T> choices) {
+		FormPanel formPanel = findParent(FormPanel.class);
+		if (formPanel == null) {
+			return null;
+		}
+		MarkupFragmentCache cache = WickedFormsInitializer.getMarkupFragmentCache(getApplication());
+		MarkupFragmentCache.Key key = cache.getKey(formPanel.getWickedFormModel(), this.element, getLocale());
+		if (key == null) {
+			return null;
+		}
+		String[] options = cache.get(key);
+		if (options == null || options.length != choices.size()) {
+			options = new String[choices.size()];
+			for (int index = 0; index < options.length; index++) {
+				options[index] = renderOption(choices.get(index), index);
+			}
+			cache.put(key, options);
+		}
+		return options;
+	}
+
+	/**
+	 * Retrieves the labels of the choice source of the element, which are
+	 * memoized by the source.
+	 *
+	 * @return the labels ready to be written into the markup or null if the
+	 *         element has no choice source.
+	 */
+	private String[] getSourceLabels() {
+		if (!(this.element instanceof AbstractSingleChoice)
+				|| ((AbstractSingleChoice<?>) this.element).getChoiceSource() == null) {
+			return null;
+		}
+		ChoiceSource<?> source = ((AbstractSingleChoice<?>) this.element).getChoiceSource();
+		return getEscapeModelStrings() ? ChoiceMarkup.getEscapedLabels(source, getLocale()) : source
+				.getLabels(getLocale());
+	}
+
+	/**
+	 * Renders the markup of an option after the selected and disabled
+	 * attributes, the same way {@link #appendOptionHtml} does.
+	 */
+	private String renderOption(final T choice, final int index) {
+		String display = getDisplayValue(choice);
+		StringBuilder option = new StringBuilder();
+		option.append("value=\"");
+		option.append(Strings.escapeMarkup(getChoiceRenderer().getIdValue(choice, index)));
+		option.append("\">");
+		option.append(getEscapeModelStrings() ? escapeOptionHtml(display) : display);
+		option.append("</option>");
+		return option.toString();
+	}
+
+	/**
+	 * Converts the display value of a choice into a string, the same way
+	 * {@link #appendOptionHtml} does.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private String getDisplayValue(final T choice) {
+		Object displayValue = getChoiceRenderer().getDisplayValue(choice);
+		if (displayValue != null && displayValue.getClass() != String.class) {
+			IConverter converter = getConverter(displayValue.getClass());
+			return converter.convertToString(displayValue, getLocale());
+		}
+		return displayValue != null ? displayValue.toString() : "";
+	}
+
+}
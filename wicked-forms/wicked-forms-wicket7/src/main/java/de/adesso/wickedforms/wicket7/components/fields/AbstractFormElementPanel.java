@@ -22,6 +22,7 @@ import org.apache.wicket.MetaDataKey;
 import org.apache.wicket.markup.html.form.TextField;
 import org.apache.wicket.markup.html.panel.Panel;
 import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.metrics.Metrics;
 
 /**
  * Base class for all panels that represent a form element within a form.
@@ -82,6 +83,18 @@ public abstract class AbstractFormElementPanel extends Panel {
 		}
 	}
 
+	/**
+	 * Returns the id the metrics of the parent form are recorded under, see
+	 * {@link Metrics#formId(Form)}.
+	 * 
+	 * @return the id or null if no {@link FormPanel} could be found in the
+	 *         parent hierarchy.
+	 */
+	protected String getMetricsFormId() {
+		FormPanel parentFormPanel = getParentFormPanel();
+		return parentFormPanel == null ? null : Metrics.formId(parentFormPanel.getWickedFormModel());
+	}
+
 	public FormPanel getParentFormPanel() {
 		Component parent = getParent();
 		while (parent != null) {
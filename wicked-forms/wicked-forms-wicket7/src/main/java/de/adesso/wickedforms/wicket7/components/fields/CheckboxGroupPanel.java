@@ -17,10 +17,8 @@ package de.adesso.wickedforms.wicket7.components.fields;
 import de.adesso.wickedforms.wicket7.components.WickedFormsChoiceRenderer;
 import org.apache.wicket.markup.html.basic.Label;
 import org.apache.wicket.markup.html.form.CheckBoxMultipleChoice;
-import org.apache.wicket.model.PropertyModel;
 import de.adesso.wickedforms.model.elements.fields.CheckboxGroup;
 
-import java.util.Collection;
 import java.util.List;
 
 /**
@@ -44,10 +42,13 @@ public class CheckboxGroupPanel<T> extends AbstractInputFieldPanel<List<T>> {
 	public CheckboxGroupPanel(final String id, final CheckboxGroup<T> model) {
 		super(id, model);
 
-		this.checkgroup = new CheckBoxMultipleChoice<T>("inputField",
-				new PropertyModel<Collection<T>>(model, "value"), model.getChoices());
+		this.checkgroup = new CheckboxGroupChoice<T>("inputField", model);
 		this.decorateComponent(this.checkgroup);
-		this.checkgroup.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(model.getChoiceLabeller()));
+		if (model.getChoiceSource() != null) {
+			this.checkgroup.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceSource(model.getChoiceSource(), this));
+		} else {
+			this.checkgroup.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(model.getChoiceLabeller()));
+		}
 		this.add(this.checkgroup);
 	}
 
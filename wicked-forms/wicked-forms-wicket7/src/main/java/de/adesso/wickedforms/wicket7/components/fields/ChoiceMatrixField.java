@@ -0,0 +1,201 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7.components.fields;
+
+import de.adesso.wickedforms.model.elements.fields.ChoiceIds;
+import de.adesso.wickedforms.model.elements.fields.ChoiceLabeller;
+import de.adesso.wickedforms.model.elements.fields.ChoiceMatrix;
+import de.adesso.wickedforms.wicket7.components.ChoiceMarkup;
+import org.apache.wicket.markup.ComponentTag;
+import org.apache.wicket.markup.MarkupStream;
+import org.apache.wicket.markup.html.form.FormComponent;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.util.convert.IConverter;
+import org.apache.wicket.util.string.AppendingStringBuffer;
+import org.apache.wicket.util.string.Strings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Form component that renders all rows of a {@link ChoiceMatrix} as a single
+ * table of radio buttons. Each row is submitted in its own request parameter
+ * named <code>inputName.row</code> containing the index of the selected
+ * choice, and all rows are converted at once into the list of answers.
+ * <p/>
+ * Unanswered rows are submitted as {@value #UNANSWERED}. If the matrix is
+ * required, the converted input is null as long as any row is unanswered.
+ *
+ * @param <T>
+ *            type of the objects that the user may select from.
+ */
+public class ChoiceMatrixField<T> extends FormComponent<List<T>> {
+
+	/**
+	 * Input value of a row that has not been answered.
+	 */
+	public static final String UNANSWERED = "-";
+
+	private final ChoiceMatrix<T> matrix;
+
+	public ChoiceMatrixField(final String id, final IModel<List<T>> model, final ChoiceMatrix<T> matrix) {
+		super(id, model);
+		this.matrix = matrix;
+	}
+
+	/**
+	 * Returns a converter between the list of answers and the indexes of the
+	 * selected choices, regardless of the requested type.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <C> IConverter<C> getConverter(final Class<C> type) {
+		return (IConverter<C>) new ChoiceMatrixConverter<T>(this.matrix);
+	}
+
+	/**
+	 * The submitted value of this component consists of one value per row,
+	 * each of which is sent in its own request parameter.
+	 */
+	@Override
+	public String[] getInputAsArray() {
+		IRequestParameters parameters = getRequest().getRequestParameters();
+		String[] input = new String[this.matrix.getRows().size()];
+		for (int i = 0; i < input.length; i++) {
+			input[i] = parameters.getParameterValue(getRowInputName(i)).toString(UNANSWERED);
+		}
+		return input;
+	}
+
+	/**
+	 * The name of the radio buttons of the given row.
+	 */
+	public String getRowInputName(final int row) {
+		return getInputName() + "." + row;
+	}
+
+	@Override
+	protected List<T> convertValue(final String[] value) {
+		List<T> answers = new ArrayList<T>(value.length);
+		for (String rowValue : value) {
+			T answer = getChoice(this.matrix, rowValue);
+			if (answer == null && this.matrix.isRequired()) {
+				// lets the required validator report the incomplete matrix
+				return null;
+			}
+			answers.add(answer);
+		}
+		return answers;
+	}
+
+	@Override
+	protected void onComponentTag(final ComponentTag tag) {
+		super.onComponentTag(tag);
+		// the table itself is not submitted
+		tag.remove("name");
+	}
+
+	@Override
+	public void onComponentTagBody(final MarkupStream markupStream, final ComponentTag openTag) {
+		List<String> rows = this.matrix.getRows();
+		List<T> choices = this.matrix.getChoices();
+		ChoiceLabeller<T> labeller = this.matrix.getChoiceLabeller();
+		String[] selection = Strings.split(getValue(), FormComponent.VALUE_SEPARATOR.charAt(0));
+		boolean enabled = isEnabledInHierarchy();
+
+		AppendingStringBuffer buffer = new AppendingStringBuffer(64 + rows.size() * (48 + choices.size() * 64));
+		buffer.append("<thead><tr><td></td>");
+		String[] columnLabels = new String[choices.size()];
+		for (int i = 0; i < columnLabels.length; i++) {
+			AppendingStringBuffer label = new AppendingStringBuffer(32);
+			ChoiceMarkup.appendEscaped(label, labeller.getLabel(choices.get(i)));
+			columnLabels[i] = label.toString();
+			buffer.append("<th>").append(columnLabels[i]).append("</th>");
+		}
+		buffer.append("</tr></thead><tbody>");
+
+		for (int row = 0; row < rows.size(); row++) {
+			String inputName = getRowInputName(row);
+			int selectedIndex = row < selection.length ? ChoiceIds.parseIndex(selection[row], choices.size()) : -1;
+			buffer.append("<tr><th>");
+			ChoiceMarkup.appendEscaped(buffer, rows.get(row));
+			buffer.append("</th>");
+			for (int column = 0; column < columnLabels.length; column++) {
+				buffer.append("<td><input type=\"radio\" name=\"").append(inputName).append("\" value=\"")
+						.append(ChoiceMarkup.getIndexId(column)).append("\" title=\"").append(columnLabels[column])
+						.append('"');
+				if (column == selectedIndex) {
+					buffer.append(" checked=\"checked\"");
+				}
+				if (!enabled) {
+					buffer.append(" disabled=\"disabled\"");
+				}
+				buffer.append("/></td>");
+			}
+			buffer.append("</tr>");
+		}
+		buffer.append("</tbody>");
+
+		replaceComponentTagBody(markupStream, openTag, buffer);
+	}
+
+	private static <T> T getChoice(final ChoiceMatrix<T> matrix, final String value) {
+		int index = ChoiceIds.parseIndex(value, matrix.getChoices().size());
+		return index < 0 ? null : matrix.getChoices().get(index);
+	}
+
+	/**
+	 * Converts between the list of answers of a {@link ChoiceMatrix} and the
+	 * indexes of the selected choices separated by
+	 * {@link FormComponent#VALUE_SEPARATOR}.
+	 */
+	private static class ChoiceMatrixConverter<T> implements IConverter<List<T>> {
+
+		private final ChoiceMatrix<T> matrix;
+
+		public ChoiceMatrixConverter(final ChoiceMatrix<T> matrix) {
+			this.matrix = matrix;
+		}
+
+		@Override
+		public List<T> convertToObject(final String value, final Locale locale) {
+			if (Strings.isEmpty(value)) {
+				return null;
+			}
+			List<T> answers = new ArrayList<T>(this.matrix.getRows().size());
+			for (String rowValue : Strings.split(value, FormComponent.VALUE_SEPARATOR.charAt(0))) {
+				answers.add(getChoice(this.matrix, rowValue));
+			}
+			return answers;
+		}
+
+		@Override
+		public String convertToString(final List<T> value, final Locale locale) {
+			StringBuilder string = new StringBuilder(4 * this.matrix.getRows().size());
+			for (int i = 0; i < this.matrix.getRows().size(); i++) {
+				if (i > 0) {
+					string.append(FormComponent.VALUE_SEPARATOR);
+				}
+				int index = i < value.size() ? this.matrix.getChoices().indexOf(value.get(i)) : -1;
+				string.append(index < 0 ? UNANSWERED : ChoiceMarkup.getIndexId(index));
+			}
+			return string.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,66 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7.components.fields;
+
+import de.adesso.wickedforms.model.elements.fields.TextField;
+import de.adesso.wickedforms.wicket7.components.AutosaveSupport;
+import org.apache.wicket.markup.ComponentTag;
+import org.apache.wicket.model.PropertyModel;
+
+/**
+ * Text field that renders a {@link TextField} including its label, hint and
+ * feedback messages on its own. Used by
+ * {@link de.adesso.wickedforms.wicket7.CompactPanelFactory}.
+ *
+ * @param <T>
+ *            the type of the user input
+ */
+public class CompactTextField<T> extends org.apache.wicket.markup.html.form.TextField<T> {
+
+	private final TextField<T> field;
+
+	public CompactTextField(final String id, final TextField<T> field, final Class<T> modelClass) {
+		super(id, new PropertyModel<T>(field, "value"), modelClass);
+		this.field = field;
+		CompactFieldSupport.init(this, field);
+	}
+
+	@Override
+	protected void onInitialize() {
+		super.onInitialize();
+		AutosaveSupport.addTo(this);
+	}
+
+	@Override
+	protected void onComponentTag(final ComponentTag tag) {
+		super.onComponentTag(tag);
+		CompactFieldSupport.onComponentTag(tag, this.field, this.field.getPlaceHolder(),
+				TextFieldPanel.getPattern(this.field.getModelClass()));
+	}
+
+	@Override
+	protected void onRender() {
+		CompactFieldSupport.renderBefore(this, this.field);
+		super.onRender();
+		CompactFieldSupport.renderAfter(this, this.field);
+	}
+
+	@Override
+	public void validate() {
+		super.validate();
+		CompactFieldSupport.validate(this, this.field);
+	}
+
+}
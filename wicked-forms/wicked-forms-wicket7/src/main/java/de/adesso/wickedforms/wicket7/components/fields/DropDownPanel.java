@@ -15,6 +15,7 @@
 package de.adesso.wickedforms.wicket7.components.fields;
 
 import de.adesso.wickedforms.wicket7.components.WickedFormsChoiceRenderer;
+import de.adesso.wickedforms.wicket7.components.cache.CachedDropDownChoice;
 import org.apache.wicket.markup.html.basic.Label;
 import org.apache.wicket.markup.html.form.DropDownChoice;
 import org.apache.wicket.model.PropertyModel;
@@ -41,10 +42,14 @@ public class DropDownPanel<T> extends AbstractInputFieldPanel<T> {
 	public DropDownPanel(final String id, final DropDown<T> model) {
 		super(id, model);
 
-		this.dropdown = new DropDownChoice<T>("inputField", new PropertyModel<T>(model, "value"),
-				model.getChoices());
+		this.dropdown = new CachedDropDownChoice<T>("inputField", new PropertyModel<T>(model, "value"),
+				model.getChoices(), model);
 		this.decorateComponent(this.dropdown);
-		this.dropdown.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(model.getChoiceLabeller()));
+		if (model.getChoiceSource() != null) {
+			this.dropdown.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceSource(model.getChoiceSource(), this));
+		} else {
+			this.dropdown.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(model.getChoiceLabeller()));
+		}
 		this.add(this.dropdown);
 	}
 
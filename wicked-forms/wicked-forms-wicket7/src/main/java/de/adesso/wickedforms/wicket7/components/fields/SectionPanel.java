@@ -16,6 +16,8 @@ package de.adesso.wickedforms.wicket7.components.fields;
 
 import de.adesso.wickedforms.model.Section;
 import de.adesso.wickedforms.model.elements.AbstractFormElement;
+import de.adesso.wickedforms.model.metrics.Metrics;
+import de.adesso.wickedforms.model.metrics.Operation;
 import de.adesso.wickedforms.wicket7.PanelFactory;
 import de.adesso.wickedforms.wicket7.components.LocalizedString;
 import org.apache.wicket.AttributeModifier;
@@ -25,12 +27,15 @@ import org.apache.wicket.ajax.markup.html.form.AjaxSubmitLink;
 import org.apache.wicket.markup.html.basic.Label;
 import org.apache.wicket.markup.html.form.AbstractSubmitLink;
 import org.apache.wicket.markup.html.form.Form;
-import org.apache.wicket.markup.html.list.ListItem;
-import org.apache.wicket.markup.html.list.ListView;
 import org.apache.wicket.markup.html.panel.Fragment;
+import org.apache.wicket.markup.repeater.Item;
+import org.apache.wicket.markup.repeater.RefreshingView;
+import org.apache.wicket.markup.repeater.ReuseIfModelsEqualStrategy;
 import org.apache.wicket.model.IModel;
-import org.apache.wicket.model.PropertyModel;
+import org.apache.wicket.model.Model;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -39,7 +44,7 @@ public class SectionPanel extends AbstractFormElementPanel {
 
 	private final PanelFactory panelFactory;
 
-	private ListView<AbstractFormElement> listView;
+	private ElementView elementView;
 
 	private AbstractSubmitLink removeButton;
 
@@ -63,8 +68,7 @@ public class SectionPanel extends AbstractFormElementPanel {
 				fragment.add(titleLabel);
 			}
 
-			ListView<AbstractFormElement> elementList = createElementList("elementList", model);
-			fragment.add(elementList);
+			fragment.add(createElementView("elementList"));
 			removeButton = createAjaxButton("removeButton");
 			removeButton.setDefaultFormProcessing(false);
 			removeButton
@@ -85,8 +89,15 @@ public class SectionPanel extends AbstractFormElementPanel {
 			protected void onSubmit(AjaxRequestTarget target, Form<?> form) {
 				Section sectionToRemove = (Section) getWickedFormModel();
 				sectionToRemove.discard();
-				SectionPanel.this.setVisible(false);
-				target.add(getParentSectionPanel());
+				// remove the list item containing this section instead of
+				// re-rendering the whole parent section
+				target.appendJavaScript(String.format(
+						"(function(){var e=document.getElementById('%s');if(e){var li=e.parentNode;li.parentNode.removeChild(li);}})();",
+						SectionPanel.this.getMarkupId()));
+				// remove the section from the model and the component tree, so
+				// that neither keeps growing while sections are added and removed
+				getParentFormModel().removeDiscardedElements();
+				getParentSectionPanel().removeElement(sectionToRemove);
 			}
 		};
 		return button;
@@ -106,54 +117,58 @@ public class SectionPanel extends AbstractFormElementPanel {
 	// }
 
 /**
-	 * Creates the {@link ListView} that contains the section's form elements.
-	 * <p/>
-	 * The created {@link ListView} will render it's items sorted by {@link AbstractFormElement#getIndex().
+	 * Creates the {@link RefreshingView} that contains the section's form
+	 * elements, sorted by {@link AbstractFormElement#getIndex()}. Items are
+	 * reused as long as their form element is contained in the section, so
+	 * that removing an element does not affect the components of the other
+	 * elements.
 	 * 
-	 * @param wicketId the wicket id of the ListView
-	 * @param section the model of the section for which to create the {@link ListView}
-	 * @return a sorted ListView of the sections elements.
+	 * @param wicketId
+	 *            the wicket id of the view
+	 * @return the view of the section's elements.
 	 */
-	private ListView<AbstractFormElement> createElementList(final String wicketId,
-			final Section section) {
-
-		IModel<List<AbstractFormElement>> model = new PropertyModel<List<AbstractFormElement>>(section,
-				"formElements");
-
-		listView = new ListView<AbstractFormElement>(wicketId, model) {
-			@Override
-			protected void populateItem(final ListItem<AbstractFormElement> item) {
-				AbstractFormElement element = item.getModelObject();
-				item.add(createFormElementPanel("elementPanel", element));
-				item.setRenderBodyOnly(true);
-			}
-
-			@Override
-			protected Iterator<Component> renderIterator() {
-				return iterator(new Comparator<Component>() {
-					@Override
-					@SuppressWarnings("unchecked")
-					public int compare(Component o1, Component o2) {
-						ListItem<AbstractFormElement> item1 = (ListItem<AbstractFormElement>) o1;
-						AbstractFormElement model1 = item1.getModelObject();
-						ListItem<AbstractFormElement> item2 = (ListItem<AbstractFormElement>) o2;
-						AbstractFormElement model2 = item2.getModelObject();
-						return model1.getIndex().compareTo(model2.getIndex());
-					}
-				});
-			};
-		};
-		listView.setReuseItems(true);
-		return listView;
+	private RefreshingView<AbstractFormElement> createElementView(final String wicketId) {
+		elementView = new ElementView(wicketId);
+		elementView.setItemReuseStrategy(ReuseIfModelsEqualStrategy.getInstance());
+		return elementView;
 	}
 
 	private <T> Component createFormElementPanel(final String wicketId, final AbstractFormElement element) {
-		return panelFactory.createFormElementPanel(wicketId, element);
+		long start = Metrics.start();
+		Component panel = panelFactory.createFormElementPanel(wicketId, element);
+		if (start != Metrics.DISABLED) {
+			Metrics.stop(Operation.CREATE_PANEL, element.getClass(), getMetricsFormId(), start);
+		}
+		return panel;
+	}
+
+	public RefreshingView<AbstractFormElement> getElementView() {
+		return elementView;
+	}
 
+	/**
+	 * Adds an item for an element that has been added to the section model
+	 * after this panel has been rendered. This allows to render only the new
+	 * element via AJAX instead of re-rendering the whole section.
+	 * 
+	 * @param element
+	 *            the element that has been added to the section model.
+	 * @return the panel displaying the new element.
+	 */
+	public Component appendElement(final AbstractFormElement element) {
+		Item<AbstractFormElement> item = elementView.appendItem(element);
+		return item.get("elementPanel");
 	}
 
-	public ListView<AbstractFormElement> getListView() {
-		return listView;
+	/**
+	 * Removes the item of an element that has been removed from the section
+	 * model from the component tree.
+	 * 
+	 * @param element
+	 *            the element that has been removed from the section model.
+	 */
+	public void removeElement(final AbstractFormElement element) {
+		elementView.removeItem(element);
 	}
 
 	public void showRemoveButton() {
@@ -163,4 +178,84 @@ public class SectionPanel extends AbstractFormElementPanel {
 	public void hideRemoveButton() {
 		removeButton.setVisible(false);
 	}
+
+	/**
+	 * {@link RefreshingView} containing the section's form elements, rendered
+	 * sorted by {@link AbstractFormElement#getIndex()}.
+	 */
+	private class ElementView extends RefreshingView<AbstractFormElement> {
+
+		public ElementView(final String id) {
+			super(id);
+		}
+
+		@Override
+		protected Iterator<IModel<AbstractFormElement>> getItemModels() {
+			List<AbstractFormElement> elements = new ArrayList<AbstractFormElement>(
+					((Section) getWickedFormModel()).getFormElements());
+			Collections.sort(elements, new Comparator<AbstractFormElement>() {
+				@Override
+				public int compare(AbstractFormElement o1, AbstractFormElement o2) {
+					return o1.getIndex().compareTo(o2.getIndex());
+				}
+			});
+			List<IModel<AbstractFormElement>> models = new ArrayList<IModel<AbstractFormElement>>(elements.size());
+			for (AbstractFormElement element : elements) {
+				models.add(new ElementModel(element));
+			}
+			return models.iterator();
+		}
+
+		@Override
+		protected void populateItem(final Item<AbstractFormElement> item) {
+			AbstractFormElement element = item.getModelObject();
+			item.add(createFormElementPanel("elementPanel", element));
+			item.setRenderBodyOnly(true);
+		}
+
+		/**
+		 * Creates and populates the item for an element without waiting for
+		 * the next rendering of the whole view. The item is reused when the
+		 * view is rendered the next time.
+		 */
+		private Item<AbstractFormElement> appendItem(final AbstractFormElement element) {
+			Item<AbstractFormElement> item = newItem(newChildId(), size(), new ElementModel(element));
+			add(item);
+			populateItem(item);
+			return item;
+		}
+
+		private void removeItem(final AbstractFormElement element) {
+			Iterator<Item<AbstractFormElement>> items = getItems();
+			while (items.hasNext()) {
+				Item<AbstractFormElement> item = items.next();
+				if (item.getModelObject() == element) {
+					remove(item);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Model of a single item of the {@link ElementView}. Two models are equal
+	 * if they contain the same form element instance, since form elements
+	 * added after the IDs have been assigned have no ID.
+	 */
+	private static class ElementModel extends Model<AbstractFormElement> {
+
+		public ElementModel(final AbstractFormElement element) {
+			super(element);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof ElementModel && ((ElementModel) obj).getObject() == getObject();
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(getObject());
+		}
+	}
 }
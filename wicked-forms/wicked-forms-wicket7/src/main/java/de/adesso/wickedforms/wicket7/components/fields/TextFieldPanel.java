@@ -55,14 +55,26 @@ public class TextFieldPanel<T> extends AbstractInputFieldPanel<T> {
 		}
 
 		// add "pattern" attribute
-		if (model.getModelClass() == Float.class ||
-				model.getModelClass() == BigDecimal.class ||
-				model.getModelClass() == Double.class) {
-			this.textField.add(new PatternAttributeModifier(FLOAT_PATTERN));
-		} else if (model.getModelClass() == Integer.class) {
-			this.textField.add(new PatternAttributeModifier(INTEGER_PATTERN));
+		String pattern = getPattern(model.getModelClass());
+		if (pattern != null) {
+			this.textField.add(new PatternAttributeModifier(pattern));
 		}
 
 		this.add(this.textField);
 	}
+
+	/**
+	 * Returns the html5 "pattern" of a text field taking input of the given
+	 * class or null if the input is not restricted.
+	 */
+	static String getPattern(final Class<?> modelClass) {
+		if (modelClass == Float.class ||
+				modelClass == BigDecimal.class ||
+				modelClass == Double.class) {
+			return FLOAT_PATTERN;
+		} else if (modelClass == Integer.class) {
+			return INTEGER_PATTERN;
+		}
+		return null;
+	}
 }
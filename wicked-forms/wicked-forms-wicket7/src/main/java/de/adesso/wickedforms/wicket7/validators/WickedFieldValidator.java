@@ -17,6 +17,10 @@ package de.adesso.wickedforms.wicket7.validators;
 import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
 import de.adesso.wickedforms.model.validation.FieldValidator;
 import de.adesso.wickedforms.model.validation.ValidationFeedback;
+import de.adesso.wickedforms.model.metrics.Metrics;
+import de.adesso.wickedforms.model.metrics.Operation;
+import de.adesso.wickedforms.wicket7.components.FormPanel;
+import org.apache.wicket.Component;
 import org.apache.wicket.validation.IValidatable;
 import org.apache.wicket.validation.IValidator;
 import org.apache.wicket.validation.ValidationError;
@@ -25,17 +29,48 @@ public class WickedFieldValidator<T> implements IValidator<T> {
 
 	private final AbstractInputField<T> field;
 
+	/**
+	 * The component the validator belongs to, used to find the form the
+	 * metrics of the validators are recorded for.
+	 */
+	private final Component owner;
+
 	public WickedFieldValidator(final AbstractInputField<T> field) {
+		this(field, null);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param field
+	 *            the input field whose validators are executed.
+	 * @param owner
+	 *            the component the validator belongs to, may be null. The
+	 *            metrics of the validators are recorded for the form of the
+	 *            {@link FormPanel} containing this component, see
+	 *            {@link Operation#VALIDATE_FIELD}.
+	 */
+	public WickedFieldValidator(final AbstractInputField<T> field, final Component owner) {
 		this.field = field;
+		this.owner = owner;
 	}
 
 	@Override
 	public void validate(final IValidatable<T> validatable) {
 		for (FieldValidator<T> v : this.field.getValidators()) {
+			long start = Metrics.start();
 			v.validate(this.field, validatable.getValue(), new WicketValidationFeedback<T>(validatable));
+			if (start != Metrics.DISABLED) {
+				Metrics.stop(Operation.VALIDATE_FIELD, v.getClass(), getMetricsFormId(), start);
+			}
 		}
 	}
 
+	private String getMetricsFormId() {
+		FormPanel formPanel = this.owner == null ? null : this.owner.findParent(FormPanel.class);
+		return formPanel == null ? null : Metrics.formId(formPanel.getWickedFormModel());
+	}
+
 	class WicketValidationFeedback<T> implements ValidationFeedback {
 
 		private final IValidatable<T> validatable;
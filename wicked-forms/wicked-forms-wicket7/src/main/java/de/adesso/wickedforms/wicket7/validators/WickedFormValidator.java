@@ -17,6 +17,9 @@ package de.adesso.wickedforms.wicket7.validators;
 import de.adesso.wickedforms.model.elements.fields.AbstractInputField;
 import de.adesso.wickedforms.model.validation.FormValidator;
 import de.adesso.wickedforms.model.validation.ValidationFeedback;
+import de.adesso.wickedforms.model.metrics.Metrics;
+import de.adesso.wickedforms.model.metrics.Operation;
+import de.adesso.wickedforms.wicket7.components.FormPanel;
 import org.apache.wicket.markup.html.form.Form;
 import org.apache.wicket.markup.html.form.FormComponent;
 import org.apache.wicket.markup.html.form.validation.IFormValidator;
@@ -71,7 +74,13 @@ public class WickedFormValidator implements IFormValidator {
 	@Override
 	public void validate(Form<?> form) {
 		updateFormComponents();
+		long start = Metrics.start();
 		validatorModel.validate(new WicketFormValidationFeedback(form));
+		if (start != Metrics.DISABLED) {
+			FormPanel formPanel = form.findParent(FormPanel.class);
+			Metrics.stop(Operation.VALIDATE_FORM, validatorModel.getClass(),
+					formPanel == null ? null : formPanel.getWickedFormModel(), start);
+		}
 	}
 
 	private void updateFormComponents() {
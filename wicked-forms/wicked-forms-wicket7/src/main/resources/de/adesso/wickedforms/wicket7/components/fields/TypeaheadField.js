@@ -0,0 +1,108 @@
+/*
+ * Client side of the TypeaheadField: requests the choices matching the text
+ * typed by the user and writes the ID of the selected choice into the hidden
+ * selection field.
+ */
+var WickedForms = WickedForms || {};
+
+WickedForms.typeahead = function(inputId, selectionId) {
+	var input = document.getElementById(inputId);
+	var selection = document.getElementById(selectionId);
+	if (!input || !selection || input.wickedTypeahead) {
+		return;
+	}
+	input.wickedTypeahead = true;
+
+	var url = input.getAttribute('data-typeahead-url');
+	var minLength = parseInt(input.getAttribute('data-typeahead-min'), 10) || 0;
+	var list = document.createElement('ul');
+	list.className = 'typeaheadMatches';
+	list.style.display = 'none';
+	input.parentNode.insertBefore(list, input.nextSibling);
+
+	var timer = null;
+	var request = null;
+
+	function clear() {
+		while (list.firstChild) {
+			list.removeChild(list.firstChild);
+		}
+		list.style.display = 'none';
+	}
+
+	function select(match) {
+		input.value = match.label;
+		selection.value = match.id;
+		clear();
+		if ('createEvent' in document) {
+			var event = document.createEvent('HTMLEvents');
+			event.initEvent('change', true, false);
+			input.dispatchEvent(event);
+		}
+	}
+
+	function addMatch(match) {
+		var item = document.createElement('li');
+		item.appendChild(document.createTextNode(match.label));
+		item.onmousedown = function(e) {
+			select(match);
+			return false;
+		};
+		list.appendChild(item);
+	}
+
+	function addMore(query, page) {
+		var item = document.createElement('li');
+		item.className = 'more';
+		item.appendChild(document.createTextNode('…'));
+		item.onmousedown = function() {
+			list.removeChild(item);
+			search(query, page);
+			return false;
+		};
+		list.appendChild(item);
+	}
+
+	function search(query, page) {
+		if (request) {
+			request.abort();
+		}
+		request = new XMLHttpRequest();
+		request.open('GET', url + (url.indexOf('?') < 0 ? '?' : '&') + 'q=' + encodeURIComponent(query) + '&page='
+				+ page, true);
+		request.onreadystatechange = function() {
+			if (this.readyState !== 4 || this.status !== 200 || input.value !== query) {
+				return;
+			}
+			var result = JSON.parse(this.responseText);
+			if (page === 0) {
+				clear();
+			}
+			for ( var i = 0; i < result.matches.length; i++) {
+				addMatch(result.matches[i]);
+			}
+			if (result.more) {
+				addMore(query, page + 1);
+			}
+			list.style.display = list.firstChild ? '' : 'none';
+		};
+		request.send();
+	}
+
+	input.oninput = function() {
+		selection.value = '';
+		clearTimeout(timer);
+		var query = input.value;
+		if (query.length < minLength) {
+			clear();
+			return;
+		}
+		timer = setTimeout(function() {
+			search(query, 0);
+		}, 200);
+	};
+
+	input.onblur = function() {
+		setTimeout(clear, 200);
+	};
+};
@@ -0,0 +1,154 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7.components;
+
+import de.adesso.wickedforms.model.elements.fields.AbstractSingleChoice;
+import de.adesso.wickedforms.model.elements.fields.ChoiceSources;
+import de.adesso.wickedforms.model.elements.fields.DropDown;
+import de.adesso.wickedforms.model.elements.fields.ListChoiceSource;
+import de.adesso.wickedforms.model.elements.fields.RadioGroup;
+import de.adesso.wickedforms.wicket7.components.cache.CachedDropDownChoice;
+import de.adesso.wickedforms.wicket7.components.fields.IndexedRadioChoice;
+import org.apache.wicket.markup.Markup;
+import org.apache.wicket.markup.html.form.AbstractChoice;
+import org.apache.wicket.markup.html.form.DropDownChoice;
+import org.apache.wicket.markup.html.form.Form;
+import org.apache.wicket.markup.html.form.RadioChoice;
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.util.tester.TagTester;
+import org.apache.wicket.util.tester.WicketTester;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that the single-pass rendering of {@link IndexedRadioChoice} and
+ * {@link CachedDropDownChoice} creates exactly the markup of the
+ * {@link RadioChoice} and {@link DropDownChoice} of Wicket.
+ */
+public class ChoiceMarkupTest {
+
+	private static final List<String> CHOICES = Arrays.asList("Tom & Jerry", "<b>bold</b>", "\"quoted\"",
+			"it's", "plain");
+
+	private WicketTester tester;
+
+	@Before
+	public void setUp() {
+		this.tester = new WicketTester(new MockApplication());
+	}
+
+	@After
+	public void tearDown() {
+		this.tester.destroy();
+		ChoiceSources.unregister("markup-test");
+	}
+
+	@Test
+	public void testRadioChoiceMarkup() {
+		RadioGroup<String> field = new RadioGroup<String>("Choice", CHOICES, String.class);
+		assertSameRadioMarkup(field, null, false, -1);
+		assertSameRadioMarkup(field, "<b>bold</b>", false, -1);
+		assertSameRadioMarkup(field, "it's", false, 3);
+		assertSameRadioMarkup(field, "plain", true, -1);
+	}
+
+	@Test
+	public void testRadioChoiceSourceMarkup() {
+		RadioGroup<String> field = new RadioGroup<String>("Choice", ChoiceSources.register(new ListChoiceSource<String>(
+				"markup-test", CHOICES)), String.class);
+		assertSameRadioMarkup(field, null, false, -1);
+		assertSameRadioMarkup(field, "Tom & Jerry", false, 1);
+		assertSameRadioMarkup(field, "\"quoted\"", true, -1);
+	}
+
+	@Test
+	public void testDropDownChoiceMarkup() {
+		DropDown<String> field = new DropDown<String>("Choice", CHOICES, String.class);
+		assertSameDropDownMarkup(field, null, false, -1);
+		assertSameDropDownMarkup(field, "<b>bold</b>", false, -1);
+		assertSameDropDownMarkup(field, "it's", false, 3);
+		assertSameDropDownMarkup(field, "plain", true, -1);
+	}
+
+	@Test
+	public void testDropDownChoiceSourceMarkup() {
+		DropDown<String> field = new DropDown<String>("Choice", ChoiceSources.register(new ListChoiceSource<String>(
+				"markup-test", CHOICES)), String.class);
+		assertSameDropDownMarkup(field, null, false, -1);
+		assertSameDropDownMarkup(field, "Tom & Jerry", false, 1);
+		assertSameDropDownMarkup(field, "\"quoted\"", true, -1);
+	}
+
+	private void assertSameRadioMarkup(final RadioGroup<String> field, final String selected,
+			final boolean disabled, final int disabledIndex) {
+		String expected = render(new RadioChoice<String>("choice", Model.of(selected), field.getChoices()) {
+			@Override
+			protected boolean isDisabled(final String object, final int index, final String selected) {
+				return index == disabledIndex;
+			}
+		}, field, disabled, "span");
+		String actual = render(new IndexedRadioChoice<String>("choice", Model.of(selected), field) {
+			@Override
+			protected boolean isDisabled(final String object, final int index, final String selected) {
+				return index == disabledIndex;
+			}
+		}, field, disabled, "span");
+		Assert.assertTrue(actual.contains("type=\"radio\""));
+		Assert.assertEquals(expected, actual);
+	}
+
+	private void assertSameDropDownMarkup(final DropDown<String> field, final String selected,
+			final boolean disabled, final int disabledIndex) {
+		String expected = render(new DropDownChoice<String>("choice", Model.of(selected), field.getChoices()) {
+			@Override
+			protected boolean isDisabled(final String object, final int index, final String selected) {
+				return index == disabledIndex;
+			}
+		}, field, disabled, "select");
+		String actual = render(new CachedDropDownChoice<String>("choice", Model.of(selected), field.getChoices(),
+				field) {
+			@Override
+			protected boolean isDisabled(final String object, final int index, final String selected) {
+				return index == disabledIndex;
+			}
+		}, field, disabled, "select");
+		Assert.assertTrue(actual.contains("<option"));
+		Assert.assertEquals(expected, actual);
+	}
+
+	private String render(final AbstractChoice<String, String> choice, final AbstractSingleChoice<String> field,
+			final boolean disabled, final String tag) {
+		if (field.getChoiceSource() != null) {
+			choice.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceSource(field.getChoiceSource(), choice));
+		} else {
+			choice.setChoiceRenderer(WickedFormsChoiceRenderer.fromChoiceLabeller(field.getChoiceLabeller()));
+		}
+		choice.setMarkupId("choice");
+		choice.setOutputMarkupId(true);
+		choice.setEnabled(!disabled);
+		Form<Void> form = new Form<Void>("form");
+		form.add(choice);
+		this.tester.startComponentInPage(form, Markup.of(String.format(
+				"<form wicket:id=\"form\"><%s wicket:id=\"choice\"></%s></form>", tag, tag)));
+		return TagTester.createTagByAttribute(this.tester.getLastResponseAsString(), "id", "choice").getMarkup();
+	}
+
+}
@@ -0,0 +1,70 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7.components;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.Section;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.util.tester.WicketTester;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FormSummaryPanelTest {
+
+	private WicketTester tester;
+
+	@Before
+	public void setUp() {
+		this.tester = new WicketTester(new MockApplication());
+	}
+
+	@After
+	public void tearDown() {
+		this.tester.destroy();
+	}
+
+	@Test
+	public void testElementsAreRenderedByIndex() {
+		StringTextField name = new StringTextField("Name");
+		Section address = new Section("Address");
+		StringTextField city = new StringTextField("City");
+		address.add(city);
+		Form form = new Form("Survey").add(name).add(address);
+		// inserted elements are appended to the lists and only get a lower
+		// index than the elements behind them
+		form.getMainSection().insertBefore(new StringTextField("Nickname"), address);
+		form.getMainSection().insertBefore(new Section("Contact").add(new StringTextField("Phone")), name);
+		address.insertBefore(new StringTextField("Street"), city);
+
+		this.tester.startComponentInPage(new FormSummaryPanel("summary", form));
+		assertOrder(this.tester.getLastResponseAsString(), "<legend>Contact</legend>", "<label>Phone</label>",
+				"<label>Name</label>", "<label>Nickname</label>", "<legend>Address</legend>", "<label>Street</label>",
+				"<label>City</label>");
+	}
+
+	private static void assertOrder(final String markup, final String... fragments) {
+		int position = -1;
+		for (String fragment : fragments) {
+			int next = markup.indexOf(fragment);
+			Assert.assertTrue(String.format("%s is missing!", fragment), next >= 0);
+			Assert.assertTrue(String.format("%s is rendered too early!", fragment), next > position);
+			position = next;
+		}
+	}
+
+}
@@ -0,0 +1,163 @@
+/**
+ *   Copyright 2013 Wicked Forms (https://github.com/thombergs/wicked-forms)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package de.adesso.wickedforms.wicket7.components.fields;
+
+import de.adesso.wickedforms.model.Form;
+import de.adesso.wickedforms.model.elements.fields.IntegerTextField;
+import de.adesso.wickedforms.model.elements.fields.StringTextField;
+import de.adesso.wickedforms.model.elements.fields.TextArea;
+import de.adesso.wickedforms.model.validation.NumberRangeValidator;
+import de.adesso.wickedforms.wicket7.CompactPanelFactory;
+import de.adesso.wickedforms.wicket7.DefaultPanelFactory;
+import de.adesso.wickedforms.wicket7.PanelFactory;
+import de.adesso.wickedforms.wicket7.components.FormPanel;
+import org.apache.wicket.markup.html.form.FormComponent;
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.util.tester.FormTester;
+import org.apache.wicket.util.tester.WicketTester;
+import org.apache.wicket.util.visit.IVisit;
+import org.apache.wicket.util.visit.IVisitor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class CompactTextFieldPanelTest {
+
+	private static final Pattern ID = Pattern.compile("(id|for)=\"([^\"]*)\"");
+
+	private WicketTester tester;
+
+	@Before
+	public void setUp() {
+		this.tester = new WicketTester(new MockApplication());
+		this.tester.getApplication().getMarkupSettings().setStripWicketTags(true);
+	}
+
+	@After
+	public void tearDown() {
+		this.tester.destroy();
+	}
+
+	@Test
+	public void testSameMarkup() {
+		String expected = render(new DefaultPanelFactory());
+		String actual = render(new CompactPanelFactory());
+		Assert.assertTrue(actual.contains("<span class=\"hint\">e.g. &lt;Dr.&gt; Smith</span>"));
+		Assert.assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testValidation() {
+		String expected = submit(new DefaultPanelFactory());
+		assertErrors();
+		String actual = submit(new CompactPanelFactory());
+		assertErrors();
+		Assert.assertTrue(actual.contains("above the maximum of 150"));
+		Assert.assertEquals(expected, actual);
+	}
+
+	/**
+	 * The required validator and the field validators have been run.
+	 */
+	private void assertErrors() {
+		this.tester.assertErrorMessages("Please fill out the required field 'Name & title'.",
+				"The value for 'Age' is above the maximum of 150");
+	}
+
+	private static Form newForm() {
+		StringTextField name = new StringTextField("Name & title");
+		name.setRequired(true);
+		name.setHint("e.g. <Dr.> Smith");
+		name.setPlaceHolder("Name");
+		IntegerTextField age = new IntegerTextField("Age");
+		age.add(new NumberRangeValidator<Integer>(0, 150));
+		return new Form("Contact").add(name).add(age).add(new TextArea("Comment"));
+	}
+
+	private String render(final PanelFactory panelFactory) {
+		this.tester.startComponentInPage(new TestFormPanel(newForm(), panelFactory));
+		return normalize(this.tester.getLastResponseAsString());
+	}
+
+	/**
+	 * Submits an empty name and an age out of range.
+	 */
+	private String submit(final PanelFactory panelFactory) {
+		this.tester.startComponentInPage(new TestFormPanel(newForm(), panelFactory));
+		FormTester formTester = this.tester.newFormTester("form:form");
+		List<FormComponent<?>> inputs = getInputs();
+		formTester.setValue(inputs.get(0), "");
+		formTester.setValue(inputs.get(1), "151");
+		formTester.setValue(inputs.get(2), "Hello");
+		formTester.submit();
+		return normalize(this.tester.getLastResponseAsString());
+	}
+
+	private List<FormComponent<?>> getInputs() {
+		final List<FormComponent<?>> inputs = new ArrayList<FormComponent<?>>();
+		this.tester.getLastRenderedPage().visitChildren(FormComponent.class,
+				new IVisitor<FormComponent<?>, Void>() {
+					@Override
+					public void component(final FormComponent<?> component, final IVisit<Void> visit) {
+						inputs.add(component);
+					}
+				});
+		return inputs;
+	}
+
+	/**
+	 * Extracts the fields of the form, replaces the generated markup ids,
+	 * which depend on the number of components, by their order of appearance
+	 * and removes the whitespace between tags.
+	 */
+	private static String normalize(final String markup) {
+		String fields = markup.substring(markup.indexOf("<div class=\"formFields\">"), markup.indexOf("</form>"));
+		Map<String, String> ids = new HashMap<String, String>();
+		Matcher matcher = ID.matcher(fields.replaceAll(">\\s+<", "><"));
+		StringBuffer normalized = new StringBuffer();
+		while (matcher.find()) {
+			String id = ids.get(matcher.group(2));
+			if (id == null) {
+				id = "id" + (ids.size() + 1);
+				ids.put(matcher.group(2), id);
+			}
+			matcher.appendReplacement(normalized, matcher.group(1) + "=\"" + id + "\"");
+		}
+		matcher.appendTail(normalized);
+		return normalized.toString();
+	}
+
+	private static class TestFormPanel extends FormPanel {
+
+		TestFormPanel(final Form form, final PanelFactory panelFactory) {
+			super("form", Model.of(form), panelFactory);
+		}
+
+		@Override
+		public void onSubmit(final Form submittedData) {
+		}
+
+	}
+
+}